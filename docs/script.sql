@@ -1,3 +1,6 @@
+-- 운영 DB에는 src/main/resources/db/migration 의 버전별 스크립트가 시작 시 순서대로 적용된다. (SchemaMigrator)
+-- 이 파일은 V1(기본 스키마)과 같으며, 인덱스 등 이후 변경은 V2 이후 스크립트를 참고한다.
+
 create table admins
 (
     admin_id   int auto_increment comment '관리자 id'
@@ -0,0 +1,200 @@
+package com.metabirth.benchmark;
+
+import com.metabirth.cache.ActiveEnrollmentIndex;
+import com.metabirth.dao.ReviewDAO;
+import com.metabirth.model.Enrollment;
+import com.metabirth.model.Payment;
+import com.metabirth.model.Review;
+import com.metabirth.service.BulkCommitMode;
+import com.metabirth.service.EnrollmentAggregateService;
+import com.metabirth.util.TransactionManager;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 📌 BenchmarkDatabase (벤치마크용 DB 준비)
+ * - 기본값은 프로세스 내장 H2(MySQL 호환 모드)이며, 매 실행(fork)마다 빈 스키마를 만들어 사용하므로 MySQL 없이 실행된다.
+ * - -Djmh.jdbcUrl 을 지정하면 해당 DB(MySQL)를 사용한다. 이때 스키마는 이미 있어야 하며, 벤치마크가 만든 행은 남는다.
+ * - DAO가 쓰는 커넥션 공급원을 이 풀로 바꾸므로 JDBCConnection(config.properties)은 사용하지 않는다.
+ */
+final class BenchmarkDatabase {
+    static final String JDBC_URL_PROPERTY = "jmh.jdbcUrl";
+    private static final String EMBEDDED_URL =
+            "jdbc:h2:mem:metabirth;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+    private static final String SCHEMA = "/schema-h2.sql";
+
+    // 벤치마크 데이터의 수업/학생 ID는 실제 데이터와 겹치지 않도록 큰 값부터 사용
+    private static final AtomicInteger NEXT_KEY = new AtomicInteger(900_000_000);
+
+    private static HikariDataSource dataSource;
+    private static int users;
+
+    private BenchmarkDatabase() {
+    }
+
+    static boolean isEmbedded() {
+        return System.getProperty(JDBC_URL_PROPERTY) == null;
+    }
+
+    /**
+     * 📌 커넥션 풀 생성 및 DAO 커넥션 공급원 교체 (같은 fork 안의 여러 State가 공유)
+     */
+    static synchronized void open() throws SQLException {
+        if (users++ > 0) {
+            return;
+        }
+        HikariConfig config = new HikariConfig();
+        config.setPoolName("benchmark-pool");
+        config.setJdbcUrl(System.getProperty(JDBC_URL_PROPERTY, EMBEDDED_URL));
+        config.setUsername(System.getProperty("jmh.username", "sa"));
+        config.setPassword(System.getProperty("jmh.password", ""));
+        config.setMaximumPoolSize(Math.max(4, Runtime.getRuntime().availableProcessors()));
+        config.addDataSourceProperty("rewriteBatchedStatements", "true");
+        config.addDataSourceProperty("useServerPrepStmts", "true");
+        dataSource = new HikariDataSource(config);
+        TransactionManager.setConnectionProvider(dataSource::getConnection);
+
+        if (isEmbedded()) {
+            createSchema();
+        }
+    }
+
+    static synchronized void close() {
+        if (--users > 0) {
+            return;
+        }
+        dataSource.close();
+        dataSource = null;
+    }
+
+    static Connection getConnection() throws SQLException {
+        return dataSource.getConnection();
+    }
+
+    private static void createSchema() throws SQLException {
+        String script;
+        try (InputStream in = BenchmarkDatabase.class.getResourceAsStream(SCHEMA)) {
+            if (in == null) {
+                throw new IllegalStateException(SCHEMA + " 를 찾을 수 없습니다.");
+            }
+            script = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new IllegalStateException(SCHEMA + " 읽기 실패", e);
+        }
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            for (String sql : script.replaceAll("--[^\n]*", "").split(";")) {
+                if (!sql.isBlank()) {
+                    statement.execute(sql);
+                }
+            }
+        }
+    }
+
+    // 다른 벤치마크 데이터와 겹치지 않는 수업/학생 ID
+    static int nextKey() {
+        return NEXT_KEY.getAndIncrement();
+    }
+
+    // 벤치마크용 수업 등록 (수강신청 등록 시 수업 정원을 확인하므로 수업 행이 있어야 한다. 정원은 사실상 무제한)
+    static int newClass() {
+        int classId = nextKey();
+        String sql = "INSERT INTO classes (class_id, class_name, class_time, capacity, price) VALUES (?, ?, ?, ?, ?)";
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement ps = connection.prepareStatement(sql)) {
+            ps.setInt(1, classId);
+            ps.setString(2, "벤치마크 수업 " + classId);
+            ps.setString(3, "상시");
+            ps.setInt(4, 1_000_000_000);
+            ps.setBigDecimal(5, new BigDecimal("150000.00"));
+            ps.executeUpdate();
+        } catch (SQLException e) {
+            throw new IllegalStateException("벤치마크 수업 등록 실패", e);
+        }
+        return classId;
+    }
+
+    static Enrollment newEnrollment(int studentId, int classId) {
+        return new Enrollment(0, studentId, classId, (byte) 0, null, null, null);
+    }
+
+    static Payment newPayment() {
+        return new Payment(0, new BigDecimal("150000.00"), (byte) 0, null, null, null, 0);
+    }
+
+    /**
+     * 📌 수강신청 + 결제내역 + 리뷰 일괄 등록
+     * - 같은 수업(classId)에 count명의 학생을 등록하고, 생성된 수강신청 ID 목록을 반환한다.
+     */
+    static List<Integer> seed(int classId, int count) {
+        List<Enrollment> enrollments = new ArrayList<>(count);
+        List<Payment> payments = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            enrollments.add(newEnrollment(nextKey(), classId));
+            payments.add(newPayment());
+        }
+        new EnrollmentAggregateService().registerEnrollmentsAndPayments(enrollments, payments, BulkCommitMode.PER_CHUNK);
+
+        List<Review> reviews = new ArrayList<>(count);
+        List<Integer> enrollmentIds = new ArrayList<>(count);
+        for (Enrollment enrollment : enrollments) {
+            if (enrollment.getEnrollmentId() > 0) {
+                enrollmentIds.add(enrollment.getEnrollmentId());
+                reviews.add(new Review(0, (byte) 5, "수업 내용이 좋았습니다.", (byte) 0, null, null, null,
+                        enrollment.getEnrollmentId()));
+            }
+        }
+        new ReviewDAO().addReviews(reviews);
+        if (enrollmentIds.size() != count) {
+            throw new IllegalStateException("벤치마크 데이터 등록 실패: " + enrollmentIds.size() + " / " + count);
+        }
+        return enrollmentIds;
+    }
+
+    // 등록한 데이터의 ID 조회 (sql의 파라미터 두 개에 from, to를 바인딩)
+    static int[] selectIds(String sql, int from, int to) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement ps = connection.prepareStatement(sql)) {
+            ps.setInt(1, from);
+            ps.setInt(2, to);
+            List<Integer> ids = new ArrayList<>();
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    ids.add(rs.getInt(1));
+                }
+            }
+            return ids.stream().mapToInt(Integer::intValue).toArray();
+        }
+    }
+
+    /**
+     * 📌 활성 수강신청 인덱스를 현재 DB 기준으로 적재 (isActiveEnrollment가 인덱스로 응답하도록)
+     * - DAO의 스트리밍 조회(fetchSize = Integer.MIN_VALUE)는 MySQL 전용이므로 일반 조회로 적재한다.
+     */
+    static void loadActiveEnrollmentIndex() {
+        ActiveEnrollmentIndex.getInstance().reload(action -> {
+            try (Connection connection = dataSource.getConnection();
+                 Statement statement = connection.createStatement();
+                 ResultSet rs = statement.executeQuery("SELECT enrollment_id FROM enrollments WHERE status = 0")) {
+                while (rs.next()) {
+                    action.accept(rs.getInt(1));
+                }
+                return true;
+            } catch (SQLException e) {
+                return false;
+            }
+        });
+    }
+}
@@ -0,0 +1,86 @@
+package com.metabirth.benchmark;
+
+import com.metabirth.service.CascadeDeleteResult;
+import com.metabirth.service.EnrollmentAggregateService;
+import org.openjdk.jmh.annotations.*;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * 연쇄 논리 삭제 (수강신청 -> 결제내역/리뷰)
+ * - deleteEnrollment : 수강신청 한 건의 multi-table UPDATE (반복마다 BATCH건 삭제, 결과는 BATCH건 전체 시간)
+ * - cancelClass : 수강신청 CLASS_SIZE건인 수업 하나를 chunk 단위로 취소
+ * - 삭제할 데이터는 반복(iteration)마다 Setup에서 새로 등록하므로 측정에는 포함되지 않는다.
+ * - MySQL 전용 : multi-table UPDATE(UPDATE ... JOIN ... SET)는 H2에서 지원되지 않으므로
+ *   ./gradlew jmh -Pjmh.jdbcUrl=jdbc:mysql://... 로 실행했을 때만 포함된다.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+public class CascadeDeleteBenchmark {
+    static final int BATCH = 1_000;
+    static final int CLASS_SIZE = 5_000;
+
+    @State(Scope.Thread)
+    public static class Database {
+        final EnrollmentAggregateService enrollmentAggregateService = new EnrollmentAggregateService();
+
+        @Setup(Level.Trial)
+        public void open() throws SQLException {
+            if (BenchmarkDatabase.isEmbedded()) {
+                throw new IllegalStateException("연쇄 삭제 벤치마크는 MySQL이 필요합니다. (-Pjmh.jdbcUrl 지정)");
+            }
+            BenchmarkDatabase.open();
+        }
+
+        @TearDown(Level.Trial)
+        public void close() {
+            BenchmarkDatabase.close();
+        }
+    }
+
+    // 반복마다 서로 다른 수업에 등록된 수강신청 BATCH건
+    @State(Scope.Thread)
+    public static class Enrollments {
+        private List<Integer> enrollmentIds;
+        private int next;
+
+        @Setup(Level.Iteration)
+        public void seed(Database database) {
+            enrollmentIds = BenchmarkDatabase.seed(BenchmarkDatabase.newClass(), BATCH);
+            next = 0;
+        }
+
+        int next() {
+            return enrollmentIds.get(next++);
+        }
+    }
+
+    // 반복마다 수강신청 CLASS_SIZE건이 등록된 수업 하나
+    @State(Scope.Thread)
+    public static class Course {
+        private int classId;
+
+        @Setup(Level.Iteration)
+        public void seed(Database database) {
+            classId = BenchmarkDatabase.newClass();
+            BenchmarkDatabase.seed(classId, CLASS_SIZE);
+        }
+    }
+
+    @Benchmark
+    @Warmup(iterations = 3, batchSize = BATCH)
+    @Measurement(iterations = 5, batchSize = BATCH)
+    public boolean deleteEnrollment(Database database, Enrollments enrollments) {
+        return database.enrollmentAggregateService.deleteEnrollment(enrollments.next());
+    }
+
+    @Benchmark
+    @Warmup(iterations = 3)
+    @Measurement(iterations = 5)
+    public CascadeDeleteResult cancelClass(Database database, Course course) {
+        return database.enrollmentAggregateService.cancelClass(course.classId);
+    }
+}
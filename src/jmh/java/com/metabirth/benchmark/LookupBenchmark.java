@@ -0,0 +1,98 @@
+package com.metabirth.benchmark;
+
+import com.metabirth.cache.EntityCaches;
+import com.metabirth.dao.EnrollmentDAO;
+import com.metabirth.dao.PaymentDAO;
+import com.metabirth.dao.ReviewDAO;
+import org.openjdk.jmh.annotations.*;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * ID 단건 조회 (getXxxById / isActiveEnrollment)
+ * - cached = true  : 엔티티 캐시/활성 수강신청 인덱스 적중 경로
+ * - cached = false : 매번 캐시를 비워 DB(PreparedStatement 캐시 포함)로 조회하는 경로
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LookupBenchmark {
+    // 엔티티 캐시 최대 크기(10,000)보다 작게 두어 cached = true 에서 모두 적중하도록 함
+    private static final int ROWS = 5_000;
+
+    @Param({"true", "false"})
+    public boolean cached;
+
+    private final EnrollmentDAO enrollmentDAO = new EnrollmentDAO();
+    private final PaymentDAO paymentDAO = new PaymentDAO();
+    private final ReviewDAO reviewDAO = new ReviewDAO();
+
+    private int[] enrollmentIds;
+    private int[] paymentIds;
+    private int[] reviewIds;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        BenchmarkDatabase.open();
+        List<Integer> seeded = BenchmarkDatabase.seed(BenchmarkDatabase.newClass(), ROWS);
+        enrollmentIds = seeded.stream().mapToInt(Integer::intValue).toArray();
+        paymentIds = BenchmarkDatabase.selectIds("SELECT payment_id FROM payments WHERE enrollment_id BETWEEN ? AND ?",
+                enrollmentIds[0], enrollmentIds[ROWS - 1]);
+        reviewIds = BenchmarkDatabase.selectIds("SELECT review_id FROM reviews WHERE enrollment_id BETWEEN ? AND ?",
+                enrollmentIds[0], enrollmentIds[ROWS - 1]);
+        if (cached) {
+            BenchmarkDatabase.loadActiveEnrollmentIndex();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        EntityCaches.ENROLLMENTS.invalidateAll();
+        EntityCaches.PAYMENTS.invalidateAll();
+        EntityCaches.REVIEWS.invalidateAll();
+        BenchmarkDatabase.close();
+    }
+
+    private static int pick(int[] ids) {
+        return ids[ThreadLocalRandom.current().nextInt(ids.length)];
+    }
+
+    @Benchmark
+    public Object getEnrollmentById() {
+        int enrollmentId = pick(enrollmentIds);
+        if (!cached) {
+            EntityCaches.ENROLLMENTS.invalidate(enrollmentId);
+        }
+        return enrollmentDAO.getEnrollmentById(enrollmentId);
+    }
+
+    @Benchmark
+    public Object getPaymentById() {
+        int paymentId = pick(paymentIds);
+        if (!cached) {
+            EntityCaches.PAYMENTS.invalidate(paymentId);
+        }
+        return paymentDAO.getPaymentById(paymentId);
+    }
+
+    @Benchmark
+    public Object getReviewById() {
+        int reviewId = pick(reviewIds);
+        if (!cached) {
+            EntityCaches.REVIEWS.invalidate(reviewId);
+        }
+        return reviewDAO.getReviewById(reviewId);
+    }
+
+    // cached = false 이면 인덱스를 적재하지 않으므로 DB로 확인한다.
+    @Benchmark
+    public boolean isActiveEnrollment() {
+        return enrollmentDAO.isActiveEnrollment(pick(enrollmentIds));
+    }
+}
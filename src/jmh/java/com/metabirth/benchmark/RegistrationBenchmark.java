@@ -0,0 +1,47 @@
+package com.metabirth.benchmark;
+
+import com.metabirth.model.Enrollment;
+import com.metabirth.model.Payment;
+import com.metabirth.service.EnrollmentAggregateService;
+import org.openjdk.jmh.annotations.*;
+
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * 수강신청 + 결제내역 원자적 등록 (registerEnrollmentAndPayment)
+ * - 호출마다 커넥션 획득 -> INSERT 2건 -> 커밋 -> 커밋 후 콜백(인덱스 갱신) -> 반납 까지의 비용
+ * - 등록된 행은 계속 쌓이므로 측정 시간 동안 테이블이 커진다. (내장 DB는 fork마다 새로 만듦)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RegistrationBenchmark {
+    private final EnrollmentAggregateService enrollmentAggregateService = new EnrollmentAggregateService();
+    private int classId;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        BenchmarkDatabase.open();
+        classId = BenchmarkDatabase.newClass();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        BenchmarkDatabase.close();
+    }
+
+    @Benchmark
+    public boolean registerEnrollmentAndPayment() {
+        Enrollment enrollment = BenchmarkDatabase.newEnrollment(BenchmarkDatabase.nextKey(), classId);
+        Payment payment = BenchmarkDatabase.newPayment();
+        boolean registered = enrollmentAggregateService.registerEnrollmentAndPayment(enrollment, payment);
+        if (!registered) {
+            throw new IllegalStateException("등록 실패 - 벤치마크 중단");
+        }
+        return registered;
+    }
+}
@@ -0,0 +1,152 @@
+package com.metabirth.benchmark;
+
+import com.metabirth.dao.EnrollmentRowMapper;
+import com.metabirth.dao.PaymentRowMapper;
+import com.metabirth.dao.ReviewRowMapper;
+import com.metabirth.dao.RowMapper;
+import com.metabirth.model.Enrollment;
+import com.metabirth.model.Payment;
+import com.metabirth.model.Review;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * 대용량 조회 시 기존 매핑과 RowMapper 비교 (기본 1M 행, -p rows=... 로 변경)
+ * - legacy* : 변경 전 DAO 방식 (SELECT * + 컬럼명 조회 + Timestamp -> LocalDateTime 변환)
+ * - mapper* : RowMapper 방식 (명시적 컬럼 + 인덱스 조회 + LocalDateTime 직접 변환)
+ * - 한 번의 호출이 rows개 행을 조회하고 모두 매핑한다. 할당량은 -prof gc 의 gc.alloc.rate.norm (B/op) 을 rows로 나누면 행당 할당량이다.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class RowMappingBenchmark {
+    // 데이터 등록 시 한 번에 등록할 수강신청 수
+    private static final int SEED_CHUNK = 100_000;
+
+    @Param("1000000")
+    private int rows;
+
+    private Connection connection;
+    private PreparedStatement legacyEnrollments;
+    private PreparedStatement legacyPayments;
+    private PreparedStatement legacyReviews;
+    private PreparedStatement enrollments;
+    private PreparedStatement payments;
+    private PreparedStatement reviews;
+
+    // 변경 전 DAO의 매핑 방식
+    private static final RowMapper<Enrollment> LEGACY_ENROLLMENT_MAPPER = rs -> new Enrollment(
+            rs.getInt("enrollment_id"),
+            rs.getInt("student_id"),
+            rs.getInt("class_id"),
+            rs.getByte("status"),
+            rs.getTimestamp("created_at").toLocalDateTime(),
+            toLocalDateTime(rs.getTimestamp("updated_at")),
+            toLocalDateTime(rs.getTimestamp("deleted_at"))
+    );
+
+    private static final RowMapper<Payment> LEGACY_PAYMENT_MAPPER = rs -> new Payment(
+            rs.getInt("payment_id"),
+            rs.getBigDecimal("amount"),
+            rs.getByte("status"),
+            rs.getTimestamp("created_at").toLocalDateTime(),
+            toLocalDateTime(rs.getTimestamp("updated_at")),
+            toLocalDateTime(rs.getTimestamp("deleted_at")),
+            rs.getInt("enrollment_id")
+    );
+
+    private static final RowMapper<Review> LEGACY_REVIEW_MAPPER = rs -> new Review(
+            rs.getInt("review_id"),
+            rs.getByte("rating"),
+            rs.getString("content"),
+            rs.getByte("status"),
+            rs.getTimestamp("created_at").toLocalDateTime(),
+            toLocalDateTime(rs.getTimestamp("updated_at")),
+            toLocalDateTime(rs.getTimestamp("deleted_at")),
+            rs.getInt("enrollment_id")
+    );
+
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toLocalDateTime() : null;
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        BenchmarkDatabase.open();
+        int classId = BenchmarkDatabase.newClass();
+        for (int seeded = 0; seeded < rows; seeded += SEED_CHUNK) {
+            BenchmarkDatabase.seed(classId, Math.min(SEED_CHUNK, rows - seeded));
+        }
+
+        connection = BenchmarkDatabase.getConnection();
+        legacyEnrollments = prepare("SELECT * FROM enrollments WHERE status = 0");
+        legacyPayments = prepare("SELECT * FROM payments WHERE status = 0");
+        legacyReviews = prepare("SELECT * FROM reviews WHERE status = 0");
+        enrollments = prepare("SELECT " + EnrollmentRowMapper.COLUMNS + " FROM enrollments WHERE status = 0");
+        payments = prepare("SELECT " + PaymentRowMapper.COLUMNS + " FROM payments WHERE status = 0");
+        reviews = prepare("SELECT " + ReviewRowMapper.COLUMNS + " FROM reviews WHERE status = 0");
+    }
+
+    // 다른 벤치마크가 같은 DB에 등록한 행은 제외하고 rows개만 읽는다.
+    private PreparedStatement prepare(String sql) throws SQLException {
+        PreparedStatement ps = connection.prepareStatement(sql);
+        ps.setMaxRows(rows);
+        return ps;
+    }
+
+    // 커넥션을 닫으면 PreparedStatement도 함께 닫힌다.
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        connection.close();
+        BenchmarkDatabase.close();
+    }
+
+    @Benchmark
+    public void legacyEnrollments(Blackhole blackhole) throws SQLException {
+        readAll(legacyEnrollments, LEGACY_ENROLLMENT_MAPPER, blackhole);
+    }
+
+    @Benchmark
+    public void mapperEnrollments(Blackhole blackhole) throws SQLException {
+        readAll(enrollments, EnrollmentRowMapper.INSTANCE, blackhole);
+    }
+
+    @Benchmark
+    public void legacyPayments(Blackhole blackhole) throws SQLException {
+        readAll(legacyPayments, LEGACY_PAYMENT_MAPPER, blackhole);
+    }
+
+    @Benchmark
+    public void mapperPayments(Blackhole blackhole) throws SQLException {
+        readAll(payments, PaymentRowMapper.INSTANCE, blackhole);
+    }
+
+    @Benchmark
+    public void legacyReviews(Blackhole blackhole) throws SQLException {
+        readAll(legacyReviews, LEGACY_REVIEW_MAPPER, blackhole);
+    }
+
+    @Benchmark
+    public void mapperReviews(Blackhole blackhole) throws SQLException {
+        readAll(reviews, ReviewRowMapper.INSTANCE, blackhole);
+    }
+
+    private static <T> void readAll(PreparedStatement ps, RowMapper<T> rowMapper, Blackhole blackhole) throws SQLException {
+        try (ResultSet rs = ps.executeQuery()) {
+            while (rs.next()) {
+                blackhole.consume(rowMapper.mapRow(rs));
+            }
+        }
+    }
+}
@@ -0,0 +1,95 @@
+-- 벤치마크용 H2(MySQL 호환 모드) 스키마 : docs/script.sql 의 classes / enrollments / payments / reviews 와 같은 구조
+-- MySQL의 생성 컬럼(int as (...) stored)은 H2 문법(GENERATED ALWAYS AS)으로 바꾸었다.
+
+create table classes
+(
+    class_id   int auto_increment primary key,
+    class_name varchar(100)                        not null,
+    class_time varchar(100)                        not null,
+    capacity   int                                 not null,
+    price      decimal(10, 2)                      not null,
+    status     tinyint   default 0                 null,
+    created_at timestamp default CURRENT_TIMESTAMP not null,
+    updated_at timestamp                           null,
+    deleted_at timestamp                           null
+);
+
+create table enrollments
+(
+    enrollment_id int auto_increment primary key,
+    student_id    int                                 not null,
+    class_id      int                                 not null,
+    status        tinyint   default 0                 null,
+    created_at    timestamp default CURRENT_TIMESTAMP not null,
+    updated_at    timestamp                           null,
+    deleted_at    timestamp                           null
+);
+
+create table payments
+(
+    payment_id           int auto_increment primary key,
+    amount               decimal(10, 2)                      not null,
+    status               tinyint   default 0                 null,
+    created_at           timestamp default CURRENT_TIMESTAMP not null,
+    updated_at           timestamp                           null,
+    deleted_at           timestamp                           null,
+    enrollment_id        int                                 not null,
+    active_enrollment_id int generated always as (case when status = 0 then enrollment_id end),
+    constraint uq_payments_active unique (active_enrollment_id)
+);
+
+create table reviews
+(
+    review_id            int auto_increment primary key,
+    rating               tinyint                             not null,
+    content              text                                null,
+    status               tinyint   default 0                 null,
+    created_at           timestamp default CURRENT_TIMESTAMP not null,
+    updated_at           timestamp                           null,
+    deleted_at           timestamp                           null,
+    enrollment_id        int                                 not null,
+    active_enrollment_id int generated always as (case when status = 0 then enrollment_id end),
+    constraint uq_reviews_active unique (active_enrollment_id)
+);
+
+-- V2 : DAO 조회 경로 인덱스 (src/main/resources/db/migration/V2__dao_access_path_indexes.sql)
+create index idx_enrollments_status on enrollments (status, enrollment_id);
+create index idx_enrollments_class on enrollments (class_id, status, enrollment_id);
+create index idx_enrollments_student on enrollments (student_id, status, enrollment_id);
+create index idx_payments_enrollment_status on payments (enrollment_id, status);
+create index idx_reviews_enrollment_status on reviews (enrollment_id, status);
+
+-- V4 : 수업별 좌석 카운터 (src/main/resources/db/migration/V4__class_seats.sql)
+create table class_seats
+(
+    class_id   int                                 not null primary key,
+    capacity   int                                 not null,
+    reserved   int       default 0                 not null,
+    updated_at timestamp default CURRENT_TIMESTAMP not null
+);
+
+-- V6 : 수업별 별점 통계 (src/main/resources/db/migration/V6__class_rating_stats.sql)
+create table class_rating_stats
+(
+    class_id     int                                 not null primary key,
+    review_count int       default 0                 not null,
+    rating_sum   bigint    default 0                 not null,
+    rating_1     int       default 0                 not null,
+    rating_2     int       default 0                 not null,
+    rating_3     int       default 0                 not null,
+    rating_4     int       default 0                 not null,
+    rating_5     int       default 0                 not null,
+    updated_at   timestamp default CURRENT_TIMESTAMP not null
+);
+
+-- V7 : 수업별 일별 매출 집계 (src/main/resources/db/migration/V7__revenue_rollups.sql)
+create table revenue_rollups
+(
+    class_id      int                                 not null,
+    revenue_date  date                                not null,
+    payment_count bigint    default 0                 not null,
+    amount_minor  bigint    default 0                 not null,
+    updated_at    timestamp default CURRENT_TIMESTAMP not null,
+    primary key (class_id, revenue_date)
+);
+create index idx_revenue_rollups_date on revenue_rollups (revenue_date);
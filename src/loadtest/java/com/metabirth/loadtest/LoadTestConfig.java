@@ -0,0 +1,86 @@
+package com.metabirth.loadtest;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * 📌 LoadTestConfig (부하 테스트 설정)
+ * - 인자는 --key=value 형식이며, 지정하지 않은 값은 기본값을 사용한다.
+ *   (예: --rate=500 --duration=60 --mix=register:80,review:15,cancel:5 --arrival=poisson)
+ *
+ * @param ratePerSecond   초당 요청 도착 수 (응답과 상관없이 일정하게 도착하는 open 모델)
+ * @param durationSeconds 도착을 발생시키는 시간 (초)
+ * @param mix             작업별 비중 (합이 100일 필요는 없음)
+ * @param poisson         true 이면 도착 간격을 지수 분포로(무작위), false 이면 일정 간격으로 발생
+ * @param maxInFlight     동시에 처리 중인 요청 수 상한 (초과한 도착은 처리하지 않고 dropped로 집계)
+ * @param classId         등록 대상 수업 ID (인기 수업 하나에 몰리는 상황, 정원을 넘는 등록은 실패로 집계된다)
+ * @param firstStudentId  학생 ID 시작값 (요청마다 1씩 증가)
+ * @param quiet           true 이면 실행 중 애플리케이션 로그를 끈다. (실패는 집계로 확인)
+ */
+record LoadTestConfig(double ratePerSecond, int durationSeconds, Map<Operation, Integer> mix, boolean poisson,
+                      int maxInFlight, int classId, int firstStudentId, boolean quiet) {
+
+    static LoadTestConfig parse(String[] args) {
+        double rate = 200;
+        int duration = 30;
+        Map<Operation, Integer> mix = parseMix("register:80,review:15,cancel:5");
+        boolean poisson = true;
+        int maxInFlight = 1_000;
+        int classId = 1;
+        int firstStudentId = 1_000_000;
+        boolean quiet = true;
+
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("인자는 --key=value 형식이어야 합니다: " + arg);
+            }
+            String key = arg.substring(2, arg.indexOf('='));
+            String value = arg.substring(arg.indexOf('=') + 1);
+            switch (key) {
+                case "rate" -> rate = Double.parseDouble(value);
+                case "duration" -> duration = Integer.parseInt(value);
+                case "mix" -> mix = parseMix(value);
+                case "arrival" -> poisson = switch (value) {
+                    case "poisson" -> true;
+                    case "constant" -> false;
+                    default -> throw new IllegalArgumentException("arrival은 poisson 또는 constant 입니다: " + value);
+                };
+                case "maxInFlight" -> maxInFlight = Integer.parseInt(value);
+                case "classId" -> classId = Integer.parseInt(value);
+                case "firstStudentId" -> firstStudentId = Integer.parseInt(value);
+                case "quiet" -> quiet = Boolean.parseBoolean(value);
+                default -> throw new IllegalArgumentException("알 수 없는 인자입니다: " + arg);
+            }
+        }
+        if (rate <= 0 || duration <= 0 || maxInFlight <= 0) {
+            throw new IllegalArgumentException("rate, duration, maxInFlight는 0보다 커야 합니다.");
+        }
+        return new LoadTestConfig(rate, duration, mix, poisson, maxInFlight, classId, firstStudentId, quiet);
+    }
+
+    // register:80,review:15,cancel:5
+    static Map<Operation, Integer> parseMix(String value) {
+        Map<Operation, Integer> mix = new EnumMap<>(Operation.class);
+        for (String entry : value.split(",")) {
+            String[] pair = entry.split(":");
+            if (pair.length != 2) {
+                throw new IllegalArgumentException("mix 형식은 작업:비중 입니다: " + entry);
+            }
+            int weight = Integer.parseInt(pair[1].trim());
+            if (weight < 0) {
+                throw new IllegalArgumentException("비중은 0 이상이어야 합니다: " + entry);
+            }
+            mix.put(Operation.of(pair[0].trim()), weight);
+        }
+        if (mix.values().stream().mapToInt(Integer::intValue).sum() == 0) {
+            throw new IllegalArgumentException("mix의 비중 합이 0 입니다: " + value);
+        }
+        return mix;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("rate=%.0f/s, duration=%ds, arrival=%s, mix=%s, maxInFlight=%d, classId=%d",
+                ratePerSecond, durationSeconds, poisson ? "poisson" : "constant", mix, maxInFlight, classId);
+    }
+}
@@ -0,0 +1,340 @@
+package com.metabirth.loadtest;
+
+import ch.qos.logback.classic.Level;
+import com.metabirth.cache.ActiveEnrollmentIndex;
+import com.metabirth.cache.ClassSeatCounter;
+import com.metabirth.config.JDBCConnection;
+import com.metabirth.dao.EnrollmentDAO;
+import com.metabirth.metrics.LatencyHistogram;
+import com.metabirth.metrics.MetricsRegistry;
+import com.metabirth.metrics.SqlErrorStats;
+import com.metabirth.model.Enrollment;
+import com.metabirth.model.Payment;
+import com.metabirth.model.Review;
+import com.metabirth.service.ClassSeatService;
+import com.metabirth.service.EnrollmentAggregateService;
+import org.slf4j.LoggerFactory;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Stream;
+
+/**
+ * 📌 LoadTestRunner (인기 수업 오픈 시 수강신청 폭주 재현)
+ * - 설정한 도착률(rate)로 요청을 발생시켜 EnrollmentAggregateService를 여러 스레드에서 동시에 호출한다.
+ *   응답이 느려져도 도착은 계속되므로(open 모델) 실제 오픈 순간처럼 대기열과 커넥션 풀 대기가 쌓인다.
+ * - 지연 시간은 요청이 도착해야 했던 시각부터 측정하므로, 처리가 밀려 늦게 시작된 시간도 포함된다.
+ * - Java 21 이상에서 실행하면 요청마다 가상 스레드를, 그 이하에서는 고정 크기 스레드 풀을 사용한다.
+ * - 모든 등록이 한 수업에 몰리지만 좌석은 메모리 카운터에서 예약하므로 등록 트랜잭션은 좌석 카운터 행(class_seats)을 잠그지 않는다.
+ *   결과의 [좌석 카운터]에서 백그라운드 DB 반영 시간과 InnoDB 행 잠금 대기를 함께 출력한다.
+ * - 실행 : ./gradlew loadTest --args="--rate=500 --duration=60 --mix=register:80,review:15,cancel:5"
+ *   (config.properties의 DB를 사용하며, 등록된 데이터는 남는다)
+ */
+public final class LoadTestRunner {
+    // 가상 스레드를 사용할 수 없을 때의 스레드 수 상한
+    private static final int PLATFORM_THREAD_LIMIT = 256;
+    private static final BigDecimal PRICE = new BigDecimal("150000.00");
+    private static final long PROGRESS_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(5);
+
+    private final LoadTestConfig config;
+    private final EnrollmentAggregateService enrollmentAggregateService = new EnrollmentAggregateService();
+    private final Operation[] weightedOperations;
+    private final AtomicInteger nextStudentId;
+    private final RecentIds registered = new RecentIds(1 << 16);
+    private final Map<Operation, OperationStats> stats = new EnumMap<>(Operation.class);
+
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder completed = new LongAdder();
+
+    LoadTestRunner(LoadTestConfig config) {
+        this.config = config;
+        this.nextStudentId = new AtomicInteger(config.firstStudentId());
+        this.weightedOperations = config.mix().entrySet().stream()
+                .flatMap(entry -> Stream.generate(entry::getKey).limit(entry.getValue()))
+                .toArray(Operation[]::new);
+        for (Operation operation : Operation.values()) {
+            stats.put(operation, new OperationStats(operation));
+        }
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        LoadTestConfig config = LoadTestConfig.parse(args);
+        JDBCConnection.printSettings();
+        // 애플리케이션과 같이 좌석 증감을 주기적으로 DB 카운터에 반영한다.
+        ClassSeatCounter.getInstance().startFlushing(new ClassSeatService()::applySeatDeltas,
+                ClassSeatCounter.DEFAULT_FLUSH_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+        try {
+            new LoadTestRunner(config).run();
+        } finally {
+            ClassSeatCounter.getInstance().stop();
+            JDBCConnection.close();
+        }
+    }
+
+    // 작업별 결과
+    private static final class OperationStats {
+        private final LatencyHistogram latency;
+        private final LongAdder succeeded = new LongAdder();
+        private final LongAdder failed = new LongAdder();
+        private final LongAdder skipped = new LongAdder();
+
+        private OperationStats(Operation operation) {
+            this.latency = MetricsRegistry.latency("loadtest." + operation.label());
+        }
+    }
+
+    /*
+     * 최근 등록된 수강신청 ID (리뷰/취소 대상)
+     * - 고정 크기 링 버퍼에 덮어쓰며 기록하고, 무작위로 하나를 고른다.
+     */
+    private static final class RecentIds {
+        private final AtomicIntegerArray ids;
+        private final AtomicLong written = new AtomicLong();
+
+        private RecentIds(int capacity) {
+            this.ids = new AtomicIntegerArray(capacity);
+        }
+
+        void add(int id) {
+            ids.set((int) (written.getAndIncrement() % ids.length()), id);
+        }
+
+        // 등록된 ID가 없으면 -1
+        int random() {
+            long size = Math.min(written.get(), ids.length());
+            if (size == 0) {
+                return -1;
+            }
+            int id = ids.get(ThreadLocalRandom.current().nextInt((int) size));
+            return id == 0 ? -1 : id;
+        }
+    }
+
+    void run() throws InterruptedException {
+        System.out.println("[부하 테스트] " + config);
+        if (config.quiet()) {
+            // 실패는 결과 집계로 확인하므로 요청마다 출력되는 경고 로그는 끈다.
+            ((ch.qos.logback.classic.Logger) LoggerFactory.getLogger("com.metabirth")).setLevel(Level.OFF);
+        }
+        // 운영과 같이 리뷰 등록 시 활성 여부를 인덱스로 확인하도록 적재
+        ActiveEnrollmentIndex.getInstance().reload(new EnrollmentDAO()::forEachActiveEnrollmentId);
+
+        long deadlocksBefore = SqlErrorStats.count(SqlErrorStats.DEADLOCK);
+        long lockWaitTimeoutsBefore = SqlErrorStats.count(SqlErrorStats.LOCK_WAIT_TIMEOUT);
+        long paymentViolationsBefore = SqlErrorStats.duplicateKeyCount("uq_payments_active");
+        long reviewViolationsBefore = SqlErrorStats.duplicateKeyCount("uq_reviews_active");
+        long timeoutsBefore = MetricsRegistry.getConnectionTimeouts();
+        long[] rowLocksBefore = readRowLockStatus();
+
+        ExecutorService executor = newExecutor();
+        Semaphore inFlight = new Semaphore(config.maxInFlight());
+        long arrivals = 0;
+        long startNanos = System.nanoTime();
+        long endNanos = startNanos + TimeUnit.SECONDS.toNanos(config.durationSeconds());
+        long nextProgress = startNanos + PROGRESS_INTERVAL_NANOS;
+        long intendedStart = startNanos;
+
+        while (intendedStart < endNanos) {
+            long wait = intendedStart - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            Operation operation = pickOperation();
+            long scheduled = intendedStart;
+            arrivals++;
+            if (inFlight.tryAcquire()) {
+                executor.execute(() -> {
+                    try {
+                        execute(operation, scheduled);
+                    } finally {
+                        inFlight.release();
+                    }
+                });
+            } else {
+                dropped.increment();
+            }
+            intendedStart += nextInterval();
+
+            if (System.nanoTime() >= nextProgress) {
+                nextProgress += PROGRESS_INTERVAL_NANOS;
+                System.out.printf("  %5.1fs : 도착 %d, 완료 %d, 처리 중 %d, 미처리(dropped) %d%n",
+                        (System.nanoTime() - startNanos) / 1e9, arrivals, completed.sum(),
+                        config.maxInFlight() - inFlight.availablePermits(), dropped.sum());
+            }
+        }
+
+        executor.shutdown();
+        if (!executor.awaitTermination(5, TimeUnit.MINUTES)) {
+            System.out.println("❌ 5분 안에 끝나지 않은 요청이 있어 중단합니다.");
+            executor.shutdownNow();
+        }
+        double elapsedSeconds = (System.nanoTime() - startNanos) / 1e9;
+
+        System.out.println("\n===== 부하 테스트 결과 =====");
+        System.out.printf("경과 시간 : %.1fs, 도착 %d건 (목표 %.0f/s), 완료 %d건, 미처리(dropped) %d건%n",
+                elapsedSeconds, arrivals, config.ratePerSecond(), completed.sum(), dropped.sum());
+        System.out.printf("처리량 (Throughput) : %.1f 건/s%n", completed.sum() / elapsedSeconds);
+
+        System.out.println("\n[작업별 지연 시간 (도착 시각 기준, 단위: ms)]");
+        System.out.printf("%-10s %8s %8s %8s %8s %9s %9s %9s %9s%n",
+                "operation", "ok", "failed", "skipped", "tps", "p50", "p99", "p999", "max");
+        stats.forEach((operation, result) -> System.out.printf("%-10s %8d %8d %8d %8.1f %9.2f %9.2f %9.2f %9.2f%n",
+                operation.label(), result.succeeded.sum(), result.failed.sum(), result.skipped.sum(),
+                result.succeeded.sum() / elapsedSeconds,
+                result.latency.getP50Micros() / 1_000, result.latency.getP99Micros() / 1_000,
+                result.latency.getP999Micros() / 1_000, result.latency.getMaxMicros() / 1_000));
+
+        LatencyHistogram acquire = MetricsRegistry.latency("pool.metabirth-pool.acquire");
+        System.out.println("\n[커넥션 풀 대기]");
+        System.out.printf("획득 대기 시간 (ms) : p50 %.2f, p99 %.2f, max %.2f (프로세스 시작 이후 전체)%n",
+                acquire.getP50Micros() / 1_000, acquire.getP99Micros() / 1_000, acquire.getMaxMicros() / 1_000);
+        System.out.println("획득 타임아웃 : " + (MetricsRegistry.getConnectionTimeouts() - timeoutsBefore));
+        JDBCConnection.printConnectionPoolStatus();
+
+        // 등록 트랜잭션은 카운터 행을 잠그지 않는다. 카운터 행은 백그라운드 반영(flush)에서만 갱신된다.
+        LatencyHistogram flush = MetricsRegistry.latency("ClassSeatDAO.applySeatDeltas");
+        LatencyHistogram commit = MetricsRegistry.latency("EnrollmentAggregateService.commit");
+        System.out.println("\n[좌석 카운터 (수업 " + config.classId() + ")]");
+        System.out.printf("DB 카운터 반영 (ms) : p50 %.2f, p99 %.2f, max %.2f (%d회, 반영 대기 %d석)%n",
+                flush.getP50Micros() / 1_000, flush.getP99Micros() / 1_000, flush.getMaxMicros() / 1_000,
+                flush.getCount(), ClassSeatCounter.getInstance().getUnflushedCount());
+        System.out.printf("등록 트랜잭션 (ms) : p50 %.2f, p99 %.2f, max %.2f (시작 ~ 커밋)%n",
+                commit.getP50Micros() / 1_000, commit.getP99Micros() / 1_000, commit.getMaxMicros() / 1_000);
+        long[] rowLocksAfter = readRowLockStatus();
+        if (rowLocksBefore != null && rowLocksAfter != null) {
+            long waits = rowLocksAfter[0] - rowLocksBefore[0];
+            long waitMillis = rowLocksAfter[1] - rowLocksBefore[1];
+            System.out.printf("InnoDB 행 잠금 대기 : %d회, 합계 %dms, 평균 %.2fms (DB 전체)%n",
+                    waits, waitMillis, waits == 0 ? 0.0 : (double) waitMillis / waits);
+        } else {
+            System.out.println("InnoDB 행 잠금 대기 : 조회 실패");
+        }
+
+        System.out.println("\n[DB 오류]");
+        System.out.println("교착 상태 (Deadlock, 1213) : " + (SqlErrorStats.count(SqlErrorStats.DEADLOCK) - deadlocksBefore));
+        System.out.println("잠금 대기 초과 (Lock wait timeout, 1205) : "
+                + (SqlErrorStats.count(SqlErrorStats.LOCK_WAIT_TIMEOUT) - lockWaitTimeoutsBefore));
+        System.out.println("uq_payments_active 위반 : "
+                + (SqlErrorStats.duplicateKeyCount("uq_payments_active") - paymentViolationsBefore));
+        System.out.println("uq_reviews_active 위반 : "
+                + (SqlErrorStats.duplicateKeyCount("uq_reviews_active") - reviewViolationsBefore));
+    }
+
+    // InnoDB 행 잠금 대기 누적값 {Innodb_row_lock_waits, Innodb_row_lock_time(ms)}, 조회 실패 시 null
+    private static long[] readRowLockStatus() {
+        long[] status = new long[2];
+        try (Connection connection = JDBCConnection.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SHOW GLOBAL STATUS LIKE 'Innodb_row_lock_%'")) {
+            while (rs.next()) {
+                switch (rs.getString(1)) {
+                    case "Innodb_row_lock_waits" -> status[0] = rs.getLong(2);
+                    case "Innodb_row_lock_time" -> status[1] = rs.getLong(2);
+                    default -> {
+                    }
+                }
+            }
+            return status;
+        } catch (SQLException e) {
+            return null;
+        }
+    }
+
+    private void execute(Operation operation, long intendedStartNanos) {
+        OperationStats result = stats.get(operation);
+        try {
+            Boolean succeeded = switch (operation) {
+                case REGISTER -> register();
+                case REVIEW -> review();
+                case CANCEL -> cancel();
+            };
+            if (succeeded == null) {
+                result.skipped.increment();
+                return;
+            }
+            (succeeded ? result.succeeded : result.failed).increment();
+        } catch (RuntimeException e) {
+            result.failed.increment();
+        } finally {
+            result.latency.recordSince(intendedStartNanos);
+            completed.increment();
+        }
+    }
+
+    private boolean register() {
+        Enrollment enrollment = new Enrollment(0, nextStudentId.getAndIncrement(), config.classId(), (byte) 0,
+                null, null, null);
+        Payment payment = new Payment(0, PRICE, (byte) 0, null, null, null, 0);
+        boolean registeredNow = enrollmentAggregateService.registerEnrollmentAndPayment(enrollment, payment);
+        if (registeredNow) {
+            registered.add(enrollment.getEnrollmentId());
+        }
+        return registeredNow;
+    }
+
+    // 대상이 될 수강신청이 아직 없으면 null (skipped)
+    private Boolean review() {
+        int enrollmentId = registered.random();
+        if (enrollmentId < 0) {
+            return null;
+        }
+        byte rating = (byte) ThreadLocalRandom.current().nextInt(1, 6);
+        return enrollmentAggregateService.registerReview(
+                new Review(0, rating, "부하 테스트 리뷰", (byte) 0, null, null, null, enrollmentId));
+    }
+
+    private Boolean cancel() {
+        int enrollmentId = registered.random();
+        if (enrollmentId < 0) {
+            return null;
+        }
+        return enrollmentAggregateService.deleteEnrollment(enrollmentId);
+    }
+
+    private Operation pickOperation() {
+        return weightedOperations[ThreadLocalRandom.current().nextInt(weightedOperations.length)];
+    }
+
+    // 다음 도착까지의 간격 (poisson 이면 평균이 1/rate 인 지수 분포)
+    private long nextInterval() {
+        double meanNanos = 1e9 / config.ratePerSecond();
+        if (!config.poisson()) {
+            return (long) meanNanos;
+        }
+        return (long) (-Math.log(1 - ThreadLocalRandom.current().nextDouble()) * meanNanos);
+    }
+
+    private ExecutorService newExecutor() {
+        try {
+            // Java 21 이상 : 요청마다 가상 스레드 (컴파일 대상은 Java 17이므로 리플렉션으로 확인)
+            ExecutorService executor = (ExecutorService) Executors.class
+                    .getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+            System.out.println("실행 스레드 : 가상 스레드 (요청마다 1개)");
+            return executor;
+        } catch (ReflectiveOperationException e) {
+            int threads = Math.min(config.maxInFlight(), PLATFORM_THREAD_LIMIT);
+            System.out.println("실행 스레드 : 플랫폼 스레드 " + threads + "개 (가상 스레드는 Java 21 이상 필요)");
+            AtomicInteger sequence = new AtomicInteger();
+            return Executors.newFixedThreadPool(threads, runnable -> {
+                Thread thread = new Thread(runnable, "loadtest-" + sequence.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+}
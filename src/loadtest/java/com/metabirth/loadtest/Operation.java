@@ -0,0 +1,23 @@
+package com.metabirth.loadtest;
+
+import java.util.Locale;
+
+/**
+ * 📌 Operation (부하 테스트 작업 종류)
+ * - REGISTER : 수강신청 + 결제 등록 (registerEnrollmentAndPayment)
+ * - REVIEW : 이미 등록된 수강신청 중 하나에 리뷰 등록 (중복 등록 시 uq_reviews_active 위반)
+ * - CANCEL : 이미 등록된 수강신청 중 하나를 연쇄 삭제 (deleteEnrollment)
+ */
+enum Operation {
+    REGISTER,
+    REVIEW,
+    CANCEL;
+
+    static Operation of(String name) {
+        return valueOf(name.toUpperCase(Locale.ROOT));
+    }
+
+    String label() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+}
@@ -1,24 +1,52 @@
 package com.metabirth;
 
+import com.metabirth.cache.ActiveEnrollmentIndex;
+import com.metabirth.cache.ClassRatingIndex;
+import com.metabirth.cache.ClassSeatCounter;
+import com.metabirth.cache.EntityCaches;
+import com.metabirth.cache.RecentRequestKeys;
+import com.metabirth.cache.RevenueRollup;
+import com.metabirth.config.DatabaseSettings;
 import com.metabirth.config.JDBCConnection;
+import com.metabirth.config.SchemaMigrator;
+import com.metabirth.dao.ClassRatingDAO;
+import com.metabirth.dao.EnrollmentDAO;
+import com.metabirth.dao.RevenueRollupDAO;
+import com.metabirth.dao.SlowQueryLog;
+import com.metabirth.dao.StatementCache;
+import com.metabirth.metrics.MetricsRegistry;
+import com.metabirth.service.ArchivalService;
+import com.metabirth.service.ClassSeatService;
 import com.metabirth.view.EnrollmentView;
 import com.metabirth.view.PaymentView;
 import com.metabirth.view.ReviewView;
 
-import java.sql.Connection;
-import java.sql.SQLException;
 import java.util.Scanner;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntConsumer;
 
 public class Application {
-    public static void main(String[] args) throws SQLException {
-        Connection connection = JDBCConnection.getConnection();
+    private static final ArchivalService archivalService = new ArchivalService();
+
+    public static void main(String[] args) {
         Scanner scanner = new Scanner(System.in);
+        JDBCConnection.printSettings();
+        if (!migrateSchema()) {
+            JDBCConnection.close();
+            return;
+        }
+        startActiveEnrollmentIndex();
+        startClassSeatCounter();
+        startClassRatingIndex();
+        startRevenueRollup();
+        startArchival();
 
         while (true) {
             System.out.println("\n===== 아카데미 관리자 시스템 =====");
             System.out.println("1. 수강신청(Enrollment) 관리");
             System.out.println("2. 결제내역(Payment) 관리");
             System.out.println("3. 리뷰(Review) 관리");
+            System.out.println("4. 모니터링(Metrics) 현황");
             System.out.println("0. 종료");
             System.out.print("선택: ");
 
@@ -26,11 +54,17 @@ public class Application {
             scanner.nextLine(); // 개행 문자 처리
 
             switch (choice) {
-                case 1 -> startEnrollmentManagement(connection);
-                case 2 -> startPaymentManagement(connection);
-                case 3 -> startReviewManagement(connection);
+                case 1 -> startEnrollmentManagement();
+                case 2 -> startPaymentManagement();
+                case 3 -> startReviewManagement();
+                case 4 -> printMonitoringStatus();
                 case 0 -> {
-                    connection.close();
+                    ActiveEnrollmentIndex.getInstance().stopReconciliation();
+                    ClassSeatCounter.getInstance().stop();
+                    ClassRatingIndex.getInstance().stopReconciliation();
+                    RevenueRollup.getInstance().stopReconciliation();
+                    archivalService.stop();
+                    JDBCConnection.close();
                     System.out.println("🚀 프로그램을 종료합니다.");
                     return;
                 }
@@ -39,12 +73,107 @@ public class Application {
         }
     }
 
+    /**
+     * 📌 스키마 마이그레이션
+     * - 적용되지 않은 스키마 버전을 적용한다. 실패하면 스키마가 맞지 않으므로 프로그램을 종료한다.
+     */
+    private static boolean migrateSchema() {
+        try {
+            SchemaMigrator.Result result = JDBCConnection.migrateSchema();
+            if (result != null) {
+                System.out.println("✅ 스키마 버전 V" + result.currentVersion()
+                        + (result.applied().isEmpty() ? "" : " (이번에 적용: " + result.applied() + ")"));
+            }
+            return true;
+        } catch (IllegalStateException e) {
+            System.out.println("❌ 스키마 마이그레이션 실패: " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * 📌 활성 수강신청 인덱스 적재
+     * - 시작 시 한 번 적재하고, 이후 주기적으로 재적재하여 DB와의 불일치를 보정한다.
+     * - 적재에 실패해도 수강신청 활성 여부는 DB로 확인되므로 프로그램은 계속 실행된다.
+     */
+    private static void startActiveEnrollmentIndex() {
+        ActiveEnrollmentIndex index = ActiveEnrollmentIndex.getInstance();
+        index.reload(Application::scanActiveEnrollmentIds);
+        index.startReconciliation(Application::scanActiveEnrollmentIds,
+                ActiveEnrollmentIndex.DEFAULT_RECONCILE_INTERVAL_MINUTES, TimeUnit.MINUTES);
+    }
+
+    /**
+     * 📌 수업 좌석 카운터 적재
+     * - 시작 시 모든 수업의 좌석 수를 다시 계산하여 적재하고, 이후 주기적으로 카운터를 거치지 않은 변경을 반영한다.
+     * - 카운터에 쌓인 좌석 증감은 DEFAULT_FLUSH_INTERVAL_MILLIS 마다 DB 카운터에 반영하며, 종료 시 남은 증감을 반영한다.
+     * - 적재에 실패해도 수업마다 처음 등록할 때 DB에서 읽으므로 프로그램은 계속 실행된다.
+     */
+    private static void startClassSeatCounter() {
+        ClassSeatCounter counter = ClassSeatCounter.getInstance();
+        ClassSeatService classSeatService = new ClassSeatService();
+        counter.reconcile(classSeatService::reconcile);
+        counter.startReconciliation(classSeatService::reconcile,
+                ClassSeatCounter.DEFAULT_RECONCILE_INTERVAL_MINUTES, TimeUnit.MINUTES);
+        counter.startFlushing(classSeatService::applySeatDeltas,
+                ClassSeatCounter.DEFAULT_FLUSH_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 📌 수업 별점 통계 적재
+     * - 시작 시 모든 수업의 별점 통계를 적재하고, 이후 주기적으로 다른 인스턴스에서 바뀐 통계를 반영한다.
+     * - 적재에 실패해도 수업마다 처음 조회할 때 DB에서 읽으므로 프로그램은 계속 실행된다.
+     */
+    private static void startClassRatingIndex() {
+        ClassRatingIndex index = ClassRatingIndex.getInstance();
+        ClassRatingDAO classRatingDAO = new ClassRatingDAO();
+        index.reconcile(classRatingDAO::forEachClassRating);
+        index.startReconciliation(classRatingDAO::forEachClassRating,
+                ClassRatingIndex.DEFAULT_RECONCILE_INTERVAL_MINUTES, TimeUnit.MINUTES);
+    }
+
+    /**
+     * 📌 수업별 / 일별 매출 집계 적재
+     * - 시작 시 revenue_rollups 전체를 적재하고, 이후 주기적으로 다시 적재하여 다른 인스턴스의 변경을 반영한다.
+     * - 적재에 실패하면 처음 매출을 조회할 때 다시 적재한다.
+     */
+    private static void startRevenueRollup() {
+        RevenueRollup rollup = RevenueRollup.getInstance();
+        RevenueRollupDAO revenueRollupDAO = new RevenueRollupDAO();
+        rollup.reconcile(revenueRollupDAO::forEachRollup);
+        rollup.startReconciliation(revenueRollupDAO::forEachRollup,
+                RevenueRollup.DEFAULT_RECONCILE_INTERVAL_MINUTES, TimeUnit.MINUTES);
+    }
+
+    /**
+     * 📌 논리 삭제된 행 보관 작업 시작 (db.archive.enabled=true 일 때만)
+     * - intervalMinutes마다 실행되며, 여러 인스턴스 중 한 곳에서만 실행된다.
+     */
+    private static void startArchival() {
+        DatabaseSettings settings = JDBCConnection.getSettings();
+        if (!Boolean.parseBoolean(settings.get("db.archive.enabled", "false"))) {
+            return;
+        }
+        ArchivalService.Config config = new ArchivalService.Config(
+                settings.getInt("db.archive.retentionDays", 90),
+                settings.getInt("db.archive.purgeAfterDays", 0),
+                settings.getInt("db.archive.chunkSize", 500),
+                settings.getLong("db.archive.pauseMs", 200),
+                settings.getLong("db.archive.maxReplicaLagMs", 1000));
+        archivalService.start(config, settings.getLong("db.archive.intervalMinutes", 60), TimeUnit.MINUTES);
+    }
+
+    // 재적재 스레드에는 열린 작업 단위가 없으므로 조회할 때마다 풀에서 별도의 커넥션을 빌려 사용
+    private static boolean scanActiveEnrollmentIds(IntConsumer action) {
+        return new EnrollmentDAO().forEachActiveEnrollmentId(action);
+    }
+
     /**
      * 📌 수강신청(Enrollment) 관리 시작
      * - 수강신청(Enrollment) 관련 기능 실행
      */
-    private static void startEnrollmentManagement(Connection connection) {
-        EnrollmentView enrollmentView = new EnrollmentView(connection);
+    private static void startEnrollmentManagement() {
+        EnrollmentView enrollmentView = new EnrollmentView();
         enrollmentView.showMenu();
     }
 
@@ -52,8 +181,8 @@ public class Application {
      * 📌 결제내역(Payment) 관리 시작
      * - 결제내역(Payment) 관련 기능 실행
      */
-    private static void startPaymentManagement(Connection connection) {
-        PaymentView paymentView = new PaymentView(connection);
+    private static void startPaymentManagement() {
+        PaymentView paymentView = new PaymentView();
         paymentView.showMenu();
     }
 
@@ -61,9 +190,27 @@ public class Application {
      * 📌 리뷰(Review) 관리 시작
      * - 리뷰(Review) 관련 기능 실행
      */
-    private static void startReviewManagement(Connection connection) {
-        ReviewView reviewView = new ReviewView(connection);
+    private static void startReviewManagement() {
+        ReviewView reviewView = new ReviewView();
         reviewView.showMenu();
     }
 
+    /**
+     * 📌 모니터링(Metrics) 현황 출력
+     * - 지연 시간 히스토그램과 커넥션 풀, 캐시, 인덱스 상태를 출력한다. (같은 값은 JMX로도 조회 가능)
+     */
+    private static void printMonitoringStatus() {
+        MetricsRegistry.printSnapshot();
+        JDBCConnection.printConnectionPoolStatus();
+        JDBCConnection.printReplicaStatus();
+        StatementCache.printStatus();
+        SlowQueryLog.printStatus();
+        EntityCaches.printStatus();
+        ActiveEnrollmentIndex.getInstance().printStatus();
+        ClassSeatCounter.getInstance().printStatus();
+        ClassRatingIndex.getInstance().printStatus();
+        RevenueRollup.getInstance().printStatus();
+        RecentRequestKeys.getInstance().printStatus();
+    }
+
 }
\ No newline at end of file
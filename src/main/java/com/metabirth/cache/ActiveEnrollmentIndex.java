@@ -0,0 +1,211 @@
+package com.metabirth.cache;
+
+import org.roaringbitmap.RoaringBitmap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.IntConsumer;
+
+/**
+ * 📌 ActiveEnrollmentIndex (활성 수강신청 ID 비트맵)
+ * - 활성(status = 0) 수강신청 ID를 압축 비트맵(RoaringBitmap)으로 메모리에 보관하여 DB 조회 없이 활성 여부를 확인한다.
+ * - 시작 시 스트리밍 조회 한 번으로 적재하고, 이후에는 DAO의 등록/삭제가 커밋된 뒤 갱신된다. (TransactionCallbacks 참고)
+ * - 다른 프로세스의 변경처럼 놓친 변경은 주기적인 재적재(reconcile)로 보정한다.
+ *   적재 후에는 포함/미포함 모두 이 인덱스의 답을 그대로 쓰므로, 다른 프로세스의 변경은 최대 재적재 주기만큼 늦게 보인다.
+ */
+public final class ActiveEnrollmentIndex {
+    private static final Logger log = LoggerFactory.getLogger(ActiveEnrollmentIndex.class);
+    private static final ActiveEnrollmentIndex INSTANCE = new ActiveEnrollmentIndex();
+
+    // 기본 재적재 주기 (분)
+    public static final long DEFAULT_RECONCILE_INTERVAL_MINUTES = 10;
+
+    /**
+     * 📌 활성 수강신청 ID 공급원
+     * - 모든 활성 수강신청 ID를 action에 전달하고, 조회에 성공하면 true를 반환한다.
+     */
+    @FunctionalInterface
+    public interface IdSource {
+        boolean forEachId(IntConsumer action);
+    }
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private RoaringBitmap activeIds = new RoaringBitmap();
+    private volatile boolean loaded;
+
+    // 재적재 중에 반영된 변경 내역 (재적재 중이 아니면 null)
+    private List<Change> pendingChanges;
+    private ScheduledExecutorService reconciler;
+
+    private record Change(int enrollmentId, boolean active) {
+    }
+
+    ActiveEnrollmentIndex() {
+    }
+
+    public static ActiveEnrollmentIndex getInstance() {
+        return INSTANCE;
+    }
+
+    // 적재가 끝나기 전에는 DB로 확인해야 한다.
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    public boolean contains(int enrollmentId) {
+        lock.readLock().lock();
+        try {
+            return activeIds.contains(enrollmentId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void add(int enrollmentId) {
+        apply(new Change(enrollmentId, true));
+    }
+
+    public void remove(int enrollmentId) {
+        apply(new Change(enrollmentId, false));
+    }
+
+    public void removeAll(Collection<Integer> enrollmentIds) {
+        enrollmentIds.forEach(this::remove);
+    }
+
+    public long size() {
+        lock.readLock().lock();
+        try {
+            return activeIds.getLongCardinality();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // 비트맵이 차지하는 메모리 (byte)
+    public long getSizeInBytes() {
+        lock.readLock().lock();
+        try {
+            return activeIds.getLongSizeInBytes();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void apply(Change change) {
+        lock.writeLock().lock();
+        try {
+            applyTo(activeIds, change);
+            if (pendingChanges != null) {
+                pendingChanges.add(change);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static void applyTo(RoaringBitmap bitmap, Change change) {
+        if (change.active()) {
+            bitmap.add(change.enrollmentId());
+        } else {
+            bitmap.remove(change.enrollmentId());
+        }
+    }
+
+    /**
+     * 📌 전체 재적재
+     * - 새 비트맵을 만든 뒤 교체하므로 재적재 중에도 기존 비트맵으로 조회할 수 있다.
+     * - 스캔 도중 커밋된 변경은 스캔 결과에 포함되지 않을 수 있으므로, 그동안의 변경을 기록해 두었다가 교체 전에 다시 반영한다.
+     * - 반환값 : 조회 실패 시 false (기존 비트맵 유지)
+     */
+    public boolean reload(IdSource source) {
+        lock.writeLock().lock();
+        try {
+            pendingChanges = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        RoaringBitmap fresh = new RoaringBitmap();
+        boolean succeeded = false;
+        try {
+            succeeded = source.forEachId(fresh::add);
+        } finally {
+            lock.writeLock().lock();
+            try {
+                if (succeeded) {
+                    pendingChanges.forEach(change -> applyTo(fresh, change));
+                    fresh.runOptimize();
+                    swap(fresh);
+                }
+                pendingChanges = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        if (!succeeded) {
+            log.warn("활성 수강신청 인덱스 적재 실패 - 기존 인덱스를 유지합니다.");
+        }
+        return succeeded;
+    }
+
+    // 쓰기 락을 잡은 상태에서 호출
+    private void swap(RoaringBitmap fresh) {
+        if (loaded) {
+            int drift = RoaringBitmap.xorCardinality(activeIds, fresh);
+            if (drift > 0) {
+                log.warn("활성 수강신청 인덱스 불일치 {}건 보정", drift);
+            }
+        }
+        activeIds = fresh;
+        loaded = true;
+        log.info("활성 수강신청 인덱스 적재 완료 - {}건, {} bytes",
+                fresh.getLongCardinality(), fresh.getLongSizeInBytes());
+    }
+
+    /**
+     * 📌 주기적 재적재 시작
+     * - 백그라운드(daemon) 스레드 하나에서 interval 마다 reload를 수행한다.
+     * - source는 매번 별도의 커넥션으로 조회해야 한다. (스트리밍 조회 중에는 같은 커넥션을 쓸 수 없음)
+     */
+    public synchronized void startReconciliation(IdSource source, long interval, TimeUnit unit) {
+        if (reconciler != null) {
+            return;
+        }
+        reconciler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "active-enrollment-reconciler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        reconciler.scheduleWithFixedDelay(() -> {
+            try {
+                reload(source);
+            } catch (RuntimeException e) {
+                // 예외가 전파되면 이후 실행이 취소되므로 기록만 한다.
+                log.error("활성 수강신청 인덱스 재적재 중 오류: {}", e.getMessage(), e);
+            }
+        }, interval, interval, unit);
+    }
+
+    public synchronized void stopReconciliation() {
+        if (reconciler != null) {
+            reconciler.shutdownNow();
+            reconciler = null;
+        }
+    }
+
+    public void printStatus() {
+        System.out.println("[활성 수강신청 인덱스 상태]");
+        System.out.println("적재 여부 (Loaded) : " + isLoaded());
+        System.out.println("활성 수강신청 수 (Active Enrollments) : " + size());
+        System.out.println("메모리 사용량 (Bytes) : " + getSizeInBytes());
+    }
+}
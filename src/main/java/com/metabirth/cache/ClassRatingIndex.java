@@ -0,0 +1,123 @@
+package com.metabirth.cache;
+
+import com.metabirth.model.ClassRatingSummary;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+
+/**
+ * 📌 ClassRatingIndex (수업별 별점 통계)
+ * - DB의 class_rating_stats 행을 메모리에 보관하여, 수업의 평균 별점과 별점 분포를 리뷰를 읽지 않고 바로 조회한다.
+ * - 리뷰 등록/수정/삭제 트랜잭션이 DB 통계에 반영한 변경분을 커밋 이후 그대로 더한다. (ClassRatingDAO 참고)
+ * - 다른 인스턴스의 변경처럼 놓친 변경분은 주기적인 재적재(reconcile)로 보정한다.
+ */
+public final class ClassRatingIndex {
+    private static final Logger log = LoggerFactory.getLogger(ClassRatingIndex.class);
+    private static final ClassRatingIndex INSTANCE = new ClassRatingIndex();
+
+    // 기본 재적재 주기 (분)
+    public static final long DEFAULT_RECONCILE_INTERVAL_MINUTES = 10;
+
+    /**
+     * 📌 수업별 별점 통계 공급원
+     * - 모든 수업의 통계를 action에 전달하고, 조회에 성공하면 true를 반환한다.
+     */
+    @FunctionalInterface
+    public interface RatingSource {
+        boolean forEachClass(BiConsumer<Integer, ClassRatingSummary> action);
+    }
+
+    private final ConcurrentHashMap<Integer, ClassRatingSummary> ratings = new ConcurrentHashMap<>();
+    private ScheduledExecutorService reconciler;
+
+    ClassRatingIndex() {
+    }
+
+    public static ClassRatingIndex getInstance() {
+        return INSTANCE;
+    }
+
+    // 수업의 별점 통계 (적재되지 않은 수업이면 null)
+    public ClassRatingSummary get(int classId) {
+        return ratings.get(classId);
+    }
+
+    // 처음 보는 수업 등록 (이미 있으면 현재 값을 유지)
+    public void track(int classId, ClassRatingSummary summary) {
+        ratings.putIfAbsent(classId, summary);
+    }
+
+    // DB에서 읽은 값으로 덮어쓰기
+    public void update(int classId, ClassRatingSummary summary) {
+        ratings.put(classId, summary);
+    }
+
+    /**
+     * 📌 커밋된 변경분 반영
+     * - 적재되지 않은 수업은 건너뛴다. (처음 조회할 때 변경분이 반영된 DB 값을 읽음)
+     */
+    public void apply(Map<Integer, ClassRatingSummary> deltas) {
+        deltas.forEach((classId, delta) -> ratings.computeIfPresent(classId, (key, current) -> current.plus(delta)));
+    }
+
+    public int size() {
+        return ratings.size();
+    }
+
+    /**
+     * 📌 전체 재적재
+     * - 반환값 : 조회 실패 시 false (조회 전까지 덮어쓴 수업은 그대로 유지)
+     */
+    public boolean reconcile(RatingSource source) {
+        boolean succeeded = source.forEachClass(this::update);
+        if (succeeded) {
+            log.info("수업 별점 통계 재적재 완료 - {}개 수업", ratings.size());
+        } else {
+            log.warn("수업 별점 통계 재적재 실패 - 기존 값을 유지합니다.");
+        }
+        return succeeded;
+    }
+
+    /**
+     * 📌 주기적 재적재 시작
+     * - 백그라운드(daemon) 스레드 하나에서 interval 마다 reconcile을 수행한다.
+     */
+    public synchronized void startReconciliation(RatingSource source, long interval, TimeUnit unit) {
+        if (reconciler != null) {
+            return;
+        }
+        reconciler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "class-rating-reconciler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        reconciler.scheduleWithFixedDelay(() -> {
+            try {
+                reconcile(source);
+            } catch (RuntimeException e) {
+                // 예외가 전파되면 이후 실행이 취소되므로 기록만 한다.
+                log.error("수업 별점 통계 재적재 중 오류: {}", e.getMessage(), e);
+            }
+        }, interval, interval, unit);
+    }
+
+    public synchronized void stopReconciliation() {
+        if (reconciler != null) {
+            reconciler.shutdownNow();
+            reconciler = null;
+        }
+    }
+
+    public void printStatus() {
+        long reviewed = ratings.values().stream().filter(summary -> summary.getReviewCount() > 0).count();
+        System.out.println("[수업 별점 통계 상태]");
+        System.out.println("관리 중인 수업 수 (Classes) : " + size());
+        System.out.println("리뷰가 있는 수업 수 (Reviewed) : " + reviewed);
+    }
+}
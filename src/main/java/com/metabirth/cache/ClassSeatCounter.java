@@ -0,0 +1,366 @@
+package com.metabirth.cache;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 📌 ClassSeatCounter (수업별 좌석 카운터)
+ * - 수업별 정원과 좌석 수를 메모리에 보관하며, 수강신청을 삽입하는 DAO 메서드는 이 카운터에서 좌석을 예약한다. (ClassSeatDAO.admitSeats)
+ *   등록 트랜잭션은 DB 카운터 행을 잠그지 않으므로, 같은 수업의 등록끼리 DB에서 차례를 기다리지 않는다.
+ * - 예약한 좌석은 트랜잭션이 끝날 때까지 진행 중(inFlight)으로 잡혀 있다가, 커밋되면 확정(committed)되고 롤백되면 취소된다.
+ * - 확정과 반납(수강신청 삭제)은 DB 반영 대기열에 쌓였다가 백그라운드 스레드가 주기적으로 class_seats에 한 번에 반영하고(flush),
+ *   반영한 뒤 읽은 DB 값으로 다른 인스턴스의 변경을 가져온다.
+ * - 한 인스턴스 안에서는 정원을 넘지 않는다. 여러 인스턴스가 같은 수업에 등록하면 서로의 등록이 flush 주기
+ *   (DEFAULT_FLUSH_INTERVAL_MILLIS)만큼 늦게 보이므로, 그 사이에 들어온 등록만큼 정원을 넘을 수 있다.
+ * - 카운터를 거치지 않은 변경(직접 수정한 데이터, 정원 변경 등)은 주기적인 재계산(reconcile)으로 보정한다.
+ */
+public final class ClassSeatCounter {
+    private static final Logger log = LoggerFactory.getLogger(ClassSeatCounter.class);
+    private static final ClassSeatCounter INSTANCE = new ClassSeatCounter();
+
+    // 기본 재계산 주기 (분)
+    public static final long DEFAULT_RECONCILE_INTERVAL_MINUTES = 10;
+    // 기본 DB 반영 주기 (밀리초)
+    public static final long DEFAULT_FLUSH_INTERVAL_MILLIS = 1_000;
+
+    /**
+     * 📌 수업별 좌석 공급원
+     * - 모든 수업의 정원과 예약된 좌석 수를 action에 전달하고, 조회에 성공하면 true를 반환한다.
+     */
+    @FunctionalInterface
+    public interface SeatSource {
+        boolean forEachClass(SeatConsumer action);
+    }
+
+    @FunctionalInterface
+    public interface SeatConsumer {
+        void accept(int classId, int capacity, int reserved);
+    }
+
+    /**
+     * 📌 DB 카운터 반영 대상
+     * - 수업별 좌석 증감(classId -> delta)을 DB에 반영하고, 커밋한 뒤 반영한 수업의 현재 값을 current에 전달한다.
+     * - 반영에 실패하면 false를 반환한다. (증감은 다음 반영 때 다시 시도)
+     */
+    @FunctionalInterface
+    public interface SeatSink {
+        boolean apply(Map<Integer, Integer> deltas, SeatConsumer current);
+    }
+
+    // 수업 하나의 좌석 (같은 수업의 예약끼리만 짧게 동기화)
+    private static final class Seats {
+        private int capacity;
+        // 커밋된 좌석 수 (DB 값 + 아직 DB에 반영하지 않은 증감)
+        private int committed;
+        // 트랜잭션이 끝나지 않은 예약
+        private int inFlight;
+        // DB 반영 대기 중인 확정/반납
+        private int pendingAdds;
+        private int pendingReleases;
+        // 반영 중인 확정/반납 (flush가 끝나면 0)
+        private int flushingAdds;
+        private int flushingReleases;
+        // 마지막 반영 이후 예약이 있었는지 (다른 인스턴스의 변경을 읽어 오기 위함)
+        private boolean touched;
+
+        private Seats(int capacity, int committed) {
+            this.capacity = capacity;
+            this.committed = committed;
+        }
+
+        // DB 값에 아직 반영되지 않은 변경을 더한다. (반영 중인 반납은 빼지 않으므로 남은 좌석이 실제보다 많게 보이지는 않는다.)
+        private void sync(int capacity, int reserved) {
+            this.capacity = capacity;
+            this.committed = Math.max(0, reserved + pendingAdds + flushingAdds - pendingReleases);
+        }
+
+        private int remaining() {
+            return Math.max(0, capacity - committed - inFlight);
+        }
+    }
+
+    private final ConcurrentHashMap<Integer, Seats> seats = new ConcurrentHashMap<>();
+    // flush와 재계산은 한 번에 하나씩만 실행한다.
+    private final Object flushLock = new Object();
+    private volatile SeatSink sink;
+    private ScheduledExecutorService worker;
+
+    ClassSeatCounter() {
+    }
+
+    public static ClassSeatCounter getInstance() {
+        return INSTANCE;
+    }
+
+    public boolean isTracked(int classId) {
+        return seats.containsKey(classId);
+    }
+
+    // 처음 보는 수업 등록 (이미 있으면 현재 값을 유지)
+    public void track(int classId, int capacity, int reserved) {
+        seats.putIfAbsent(classId, new Seats(capacity, reserved));
+    }
+
+    // DB에서 읽은 값으로 갱신 (아직 DB에 반영하지 않은 이 인스턴스의 변경과 진행 중인 예약은 유지)
+    public void update(int classId, int capacity, int reserved) {
+        seats.compute(classId, (key, current) -> {
+            if (current == null) {
+                return new Seats(capacity, reserved);
+            }
+            synchronized (current) {
+                current.sync(capacity, reserved);
+            }
+            return current;
+        });
+    }
+
+    /**
+     * 📌 좌석 예약
+     * - 남은 좌석이 count개 이상이면 진행 중으로 예약하고 true, 모자라거나 알 수 없는 수업이면 false를 반환한다.
+     * - 예약한 좌석은 트랜잭션이 끝나면 confirm 또는 cancel 해야 한다.
+     */
+    public boolean tryReserve(int classId, int count) {
+        Seats classSeats = seats.get(classId);
+        if (classSeats == null) {
+            return false;
+        }
+        synchronized (classSeats) {
+            classSeats.touched = true;
+            if (classSeats.remaining() < count) {
+                return false;
+            }
+            classSeats.inFlight += count;
+            return true;
+        }
+    }
+
+    // 예약 확정 (등록 트랜잭션이 커밋된 경우)
+    public void confirm(int classId, int count) {
+        Seats classSeats = seats.get(classId);
+        if (classSeats == null) {
+            return;
+        }
+        synchronized (classSeats) {
+            classSeats.inFlight = Math.max(0, classSeats.inFlight - count);
+            classSeats.committed += count;
+            classSeats.pendingAdds += count;
+        }
+    }
+
+    // 예약 취소 (등록 트랜잭션이 롤백되었거나 삽입에 실패한 경우)
+    public void cancel(int classId, int count) {
+        Seats classSeats = seats.get(classId);
+        if (classSeats == null) {
+            return;
+        }
+        synchronized (classSeats) {
+            classSeats.inFlight = Math.max(0, classSeats.inFlight - count);
+        }
+    }
+
+    // 좌석 반납 (수강신청 삭제가 커밋된 경우)
+    public void release(int classId, int count) {
+        Seats classSeats = seats.get(classId);
+        if (classSeats == null) {
+            return;
+        }
+        synchronized (classSeats) {
+            classSeats.committed = Math.max(0, classSeats.committed - count);
+            classSeats.pendingReleases += count;
+        }
+    }
+
+    // 남은 좌석 수 (알 수 없는 수업이면 -1)
+    public int getRemaining(int classId) {
+        Seats classSeats = seats.get(classId);
+        if (classSeats == null) {
+            return -1;
+        }
+        synchronized (classSeats) {
+            return classSeats.remaining();
+        }
+    }
+
+    // DB에 반영되지 않은 확정/반납 좌석 수 합계
+    public int getUnflushedCount() {
+        int unflushed = 0;
+        for (Seats classSeats : seats.values()) {
+            synchronized (classSeats) {
+                unflushed += classSeats.pendingAdds + classSeats.pendingReleases
+                        + classSeats.flushingAdds + classSeats.flushingReleases;
+            }
+        }
+        return unflushed;
+    }
+
+    public int size() {
+        return seats.size();
+    }
+
+    /**
+     * 📌 DB 반영 (flush)
+     * - 마지막 반영 이후 쌓인 확정/반납을 수업별 증감으로 모아 sink에 한 번에 전달하고, 돌려받은 DB 값으로 카운터를 갱신한다.
+     * - 반영에 실패하면 증감을 대기열로 되돌려 다음 반영 때 다시 시도한다.
+     * - 반환값 : 반영할 변경이 없거나 반영에 성공하면 true
+     */
+    public boolean flush(SeatSink sink) {
+        synchronized (flushLock) {
+            Map<Integer, Integer> deltas = new TreeMap<>();
+            seats.forEach((classId, classSeats) -> {
+                synchronized (classSeats) {
+                    if (!classSeats.touched && classSeats.pendingAdds == 0 && classSeats.pendingReleases == 0) {
+                        return;
+                    }
+                    classSeats.flushingAdds = classSeats.pendingAdds;
+                    classSeats.flushingReleases = classSeats.pendingReleases;
+                    classSeats.pendingAdds = 0;
+                    classSeats.pendingReleases = 0;
+                    classSeats.touched = false;
+                    deltas.put(classId, classSeats.flushingAdds - classSeats.flushingReleases);
+                }
+            });
+            if (deltas.isEmpty()) {
+                return true;
+            }
+
+            boolean succeeded = false;
+            try {
+                succeeded = sink.apply(deltas, this::flushed);
+            } finally {
+                for (int classId : deltas.keySet()) {
+                    Seats classSeats = seats.get(classId);
+                    synchronized (classSeats) {
+                        if (!succeeded) {
+                            classSeats.pendingAdds += classSeats.flushingAdds;
+                            classSeats.pendingReleases += classSeats.flushingReleases;
+                            classSeats.touched = true;
+                        }
+                        classSeats.flushingAdds = 0;
+                        classSeats.flushingReleases = 0;
+                    }
+                }
+            }
+            if (!succeeded) {
+                log.warn("수업 좌석 카운터 DB 반영 실패 - {}개 수업의 변경을 다음 반영 때 다시 시도합니다.", deltas.size());
+            }
+            return succeeded;
+        }
+    }
+
+    // 반영이 커밋된 수업의 DB 값 (반영 중이던 증감은 이제 DB 값에 포함되어 있다.)
+    private void flushed(int classId, int capacity, int reserved) {
+        Seats classSeats = seats.get(classId);
+        if (classSeats == null) {
+            return;
+        }
+        synchronized (classSeats) {
+            classSeats.flushingAdds = 0;
+            classSeats.flushingReleases = 0;
+            classSeats.sync(capacity, reserved);
+        }
+    }
+
+    /**
+     * 📌 전체 재계산
+     * - 쌓인 변경을 먼저 DB에 반영한 뒤, 다시 계산한 DB 값으로 수업별 좌석을 덮어쓴다.
+     * - 재계산 중에 커밋된 반납은 DB 값에 이미 빠져 있을 수 있으므로 버린다. (남은 좌석이 실제보다 적게 보일 뿐이며 다음 재계산에서 맞춰진다.)
+     * - 반환값 : 조회 실패 시 false (조회 전까지 덮어쓴 수업은 그대로 유지)
+     */
+    public boolean reconcile(SeatSource source) {
+        synchronized (flushLock) {
+            SeatSink currentSink = sink;
+            if (currentSink != null) {
+                flush(currentSink);
+            }
+            boolean succeeded = source.forEachClass(this::reset);
+            if (succeeded) {
+                log.info("수업 좌석 카운터 재계산 완료 - {}개 수업", seats.size());
+            } else {
+                log.warn("수업 좌석 카운터 재계산 실패 - 기존 값을 유지합니다.");
+            }
+            return succeeded;
+        }
+    }
+
+    private void reset(int classId, int capacity, int reserved) {
+        seats.compute(classId, (key, current) -> {
+            if (current == null) {
+                return new Seats(capacity, reserved);
+            }
+            synchronized (current) {
+                current.pendingReleases = 0;
+                current.sync(capacity, reserved);
+            }
+            return current;
+        });
+    }
+
+    /**
+     * 📌 주기적 재계산 시작
+     * - 백그라운드(daemon) 스레드 하나에서 interval 마다 reconcile을 수행한다.
+     */
+    public synchronized void startReconciliation(SeatSource source, long interval, TimeUnit unit) {
+        worker().scheduleWithFixedDelay(() -> {
+            try {
+                reconcile(source);
+            } catch (RuntimeException e) {
+                // 예외가 전파되면 이후 실행이 취소되므로 기록만 한다.
+                log.error("수업 좌석 카운터 재계산 중 오류: {}", e.getMessage(), e);
+            }
+        }, interval, interval, unit);
+    }
+
+    /**
+     * 📌 주기적 DB 반영 시작
+     * - 재계산과 같은 백그라운드 스레드에서 interval 마다 flush를 수행한다.
+     */
+    public synchronized void startFlushing(SeatSink sink, long interval, TimeUnit unit) {
+        this.sink = sink;
+        worker().scheduleWithFixedDelay(() -> {
+            try {
+                flush(sink);
+            } catch (RuntimeException e) {
+                log.error("수업 좌석 카운터 DB 반영 중 오류: {}", e.getMessage(), e);
+            }
+        }, interval, interval, unit);
+    }
+
+    private ScheduledExecutorService worker() {
+        if (worker == null) {
+            worker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "class-seat-counter");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return worker;
+    }
+
+    // 주기 작업을 멈추고, 남은 변경을 DB에 반영한다.
+    public synchronized void stop() {
+        if (worker != null) {
+            worker.shutdownNow();
+            worker = null;
+        }
+        SeatSink currentSink = sink;
+        sink = null;
+        if (currentSink != null) {
+            flush(currentSink);
+        }
+    }
+
+    public void printStatus() {
+        long full = seats.keySet().stream().filter(classId -> getRemaining(classId) == 0).count();
+        System.out.println("[수업 좌석 카운터 상태]");
+        System.out.println("관리 중인 수업 수 (Classes) : " + size());
+        System.out.println("정원이 찬 수업 수 (Full) : " + full);
+        System.out.println("DB 반영 대기 좌석 수 (Unflushed) : " + getUnflushedCount());
+    }
+}
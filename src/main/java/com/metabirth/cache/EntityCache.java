@@ -0,0 +1,129 @@
+package com.metabirth.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Predicate;
+
+/**
+ * 📌 EntityCache (ID 기반 단건 조회 캐시)
+ * - Caffeine(W-TinyLFU) 기반으로 최대 크기와 TTL(쓰기 후 만료)을 가진다.
+ * - 캐시된 객체는 여러 호출자가 공유하므로 읽기 전용으로 취급해야 한다.
+ * - 무효화는 DAO의 수정/삭제가 커밋된 이후에 수행된다. (TransactionCallbacks 참고)
+ * - DB에서 읽어 채우는 경우(read-through)에는 읽기 전에 loadTicket으로 세대 값을 받고 putIfUnchanged로 넣는다.
+ *   읽는 동안 같은 ID가 무효화되었으면 넣지 않으므로, 커밋 직후의 무효화를 이전 값이 덮어써 TTL 동안 남는 일이 없다.
+ * - 세대 값은 ID를 STRIPES개 구간으로 나눠 관리한다. (같은 구간의 다른 ID가 무효화되어도 한 번 채우지 못할 뿐 정합성은 유지)
+ */
+public class EntityCache<T> {
+    // 세대 값 구간 수 (2의 거듭제곱)
+    private static final int STRIPES = 1024;
+
+    private final String name;
+    private final Cache<Integer, T> cache;
+    private final AtomicLongArray generations = new AtomicLongArray(STRIPES);
+
+    public EntityCache(String name, long maximumSize, Duration timeToLive) {
+        this.name = name;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(timeToLive)
+                .recordStats()
+                .build();
+    }
+
+    // 캐시에 있으면 반환, 없으면 null
+    public T get(int id) {
+        return cache.getIfPresent(id);
+    }
+
+    public void put(int id, T entity) {
+        cache.put(id, entity);
+    }
+
+    // DB에서 읽기 전에 호출 (putIfUnchanged에 그대로 전달)
+    public long loadTicket(int id) {
+        return generations.get(stripe(id));
+    }
+
+    /**
+     * 📌 읽는 동안 무효화되지 않았을 때만 캐시에 넣기
+     * - 세대 값 확인과 저장을 같은 키의 compute 안에서 수행하고, 무효화는 세대 값을 올린 뒤 제거하므로
+     *   확인 이후의 무효화도 넣은 값을 지운다.
+     * @return 캐시에 넣었으면 true
+     */
+    public boolean putIfUnchanged(int id, T entity, long ticket) {
+        int stripe = stripe(id);
+        boolean[] stored = {false};
+        cache.asMap().compute(id, (key, current) -> {
+            if (generations.get(stripe) != ticket) {
+                return current;
+            }
+            stored[0] = true;
+            return entity;
+        });
+        return stored[0];
+    }
+
+    public void invalidate(int id) {
+        generations.incrementAndGet(stripe(id));
+        cache.invalidate(id);
+    }
+
+    // 조건에 맞는 항목을 모두 무효화 (연쇄 삭제처럼 ID를 모르는 경우 사용, 캐시 크기에 비례)
+    public void invalidateIf(Predicate<? super T> condition) {
+        advanceAllGenerations();
+        cache.asMap().values().removeIf(condition);
+    }
+
+    public void invalidateAll() {
+        advanceAllGenerations();
+        cache.invalidateAll();
+    }
+
+    // ID를 모르는 무효화는 진행 중인 모든 read-through 저장을 막는다.
+    private void advanceAllGenerations() {
+        for (int i = 0; i < STRIPES; i++) {
+            generations.incrementAndGet(i);
+        }
+    }
+
+    private static int stripe(int id) {
+        int hash = id * 0x9E3779B9;
+        return (hash ^ (hash >>> 16)) & (STRIPES - 1);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    public double getHitRatio() {
+        return cache.stats().hitRate();
+    }
+
+    public long getEvictionCount() {
+        return cache.stats().evictionCount();
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    // Caffeine의 지연된 유지보수 작업(크기 초과 제거 등)을 즉시 수행
+    public void cleanUp() {
+        cache.cleanUp();
+    }
+
+    @Override
+    public String toString() {
+        CacheStats stats = cache.stats();
+        return String.format("%s{size=%d, hits=%d, misses=%d, hitRatio=%.2f%%, evictions=%d}",
+                name, size(), stats.hitCount(), stats.missCount(), stats.hitRate() * 100, stats.evictionCount());
+    }
+}
@@ -0,0 +1,41 @@
+package com.metabirth.cache;
+
+import com.metabirth.model.Enrollment;
+import com.metabirth.model.Payment;
+import com.metabirth.model.Review;
+
+import java.time.Duration;
+
+/**
+ * 📌 EntityCaches (DAO가 공유하는 엔티티 캐시 모음)
+ * - DAO 인스턴스는 서비스마다 새로 생성되므로 캐시는 애플리케이션 전역으로 하나씩 둔다.
+ * - 활성(status = 0) 상태의 행만 캐시된다.
+ */
+public final class EntityCaches {
+    // 엔티티 종류별 최대 캐시 건수
+    private static final long MAXIMUM_SIZE = 10_000;
+
+    // 쓰기 후 만료 시간 (다른 인스턴스에서 변경된 값이 최대 이 시간까지 보일 수 있음)
+    private static final Duration TIME_TO_LIVE = Duration.ofMinutes(5);
+
+    public static final EntityCache<Enrollment> ENROLLMENTS = new EntityCache<>("enrollments", MAXIMUM_SIZE, TIME_TO_LIVE);
+    public static final EntityCache<Payment> PAYMENTS = new EntityCache<>("payments", MAXIMUM_SIZE, TIME_TO_LIVE);
+    public static final EntityCache<Review> REVIEWS = new EntityCache<>("reviews", MAXIMUM_SIZE, TIME_TO_LIVE);
+
+    private EntityCaches() {
+    }
+
+    // 수강신청과 연결된 결제내역/리뷰 캐시를 함께 무효화 (연쇄 삭제 후 호출)
+    public static void invalidateEnrollmentGroup(int enrollmentId) {
+        ENROLLMENTS.invalidate(enrollmentId);
+        PAYMENTS.invalidateIf(payment -> payment.getEnrollmentId() == enrollmentId);
+        REVIEWS.invalidateIf(review -> review.getEnrollmentId() == enrollmentId);
+    }
+
+    public static void printStatus() {
+        System.out.println("[엔티티 캐시 상태]");
+        System.out.println(ENROLLMENTS);
+        System.out.println(PAYMENTS);
+        System.out.println(REVIEWS);
+    }
+}
@@ -0,0 +1,48 @@
+package com.metabirth.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.metabirth.model.RegistrationRequest;
+
+import java.time.Duration;
+
+/**
+ * 📌 RecentRequestKeys (최근 처리한 등록 요청 키)
+ * - 타임아웃 후 재시도된 등록 요청을 DB 조회 없이 원래 결과로 응답하기 위한 캐시이다.
+ * - 등록 트랜잭션이 커밋된 뒤에만 추가된다. 캐시에 없으면 registration_requests 테이블을 조회한다.
+ * - 처리 결과는 바뀌지 않으므로 무효화하지 않고, 재시도가 몰리는 시간만큼만 보관한다.
+ */
+public final class RecentRequestKeys {
+    private static final RecentRequestKeys INSTANCE = new RecentRequestKeys(100_000, Duration.ofMinutes(10));
+
+    private final Cache<String, RegistrationRequest> cache;
+
+    RecentRequestKeys(long maximumSize, Duration timeToLive) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(timeToLive)
+                .recordStats()
+                .build();
+    }
+
+    public static RecentRequestKeys getInstance() {
+        return INSTANCE;
+    }
+
+    // 캐시에 있으면 반환, 없으면 null
+    public RegistrationRequest get(String requestKey) {
+        return cache.getIfPresent(requestKey);
+    }
+
+    public void put(RegistrationRequest request) {
+        cache.put(request.getRequestKey(), request);
+    }
+
+    public void printStatus() {
+        CacheStats stats = cache.stats();
+        System.out.println("[최근 등록 요청 키 캐시 상태]");
+        System.out.printf("requestKeys{size=%d, hits=%d, misses=%d, hitRatio=%.2f%%}%n",
+                cache.estimatedSize(), stats.hitCount(), stats.missCount(), stats.hitRate() * 100);
+    }
+}
@@ -0,0 +1,228 @@
+package com.metabirth.cache;
+
+import com.metabirth.model.RevenueKey;
+import com.metabirth.model.RevenueTotal;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.BiConsumer;
+
+/**
+ * 📌 RevenueRollup (수업별 / 일별 매출 집계)
+ * - DB의 revenue_rollups 행((수업, 결제일)별 결제 수와 금액 합계)을 메모리에 보관하여,
+ *   기간 매출을 payments 테이블을 읽지 않고 O(log n + 기간 안의 행 수)로 계산한다.
+ * - 같은 행을 수업 -> 날짜 순, 날짜 -> 수업 순 두 가지 정렬로 보관하여 수업별 기간 조회와 전체 기간 조회 모두 범위 조회로 처리한다.
+ * - 결제를 바꾸는 트랜잭션이 DB 집계에 반영한 변경분을 커밋 이후 더한다. (RevenueRollupDAO 참고)
+ *   다른 인스턴스의 변경처럼 놓친 변경분은 주기적인 재적재(reconcile)로 보정한다.
+ */
+public final class RevenueRollup {
+    private static final Logger log = LoggerFactory.getLogger(RevenueRollup.class);
+    private static final RevenueRollup INSTANCE = new RevenueRollup();
+
+    // 기본 재적재 주기 (분)
+    public static final long DEFAULT_RECONCILE_INTERVAL_MINUTES = 10;
+
+    /**
+     * 📌 매출 집계 공급원
+     * - 모든 (수업, 결제일) 집계를 action에 전달하고, 조회에 성공하면 true를 반환한다.
+     */
+    @FunctionalInterface
+    public interface RevenueSource {
+        boolean forEachRollup(BiConsumer<RevenueKey, RevenueTotal> action);
+    }
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private TreeMap<RevenueKey, RevenueTotal> byClass = new TreeMap<>(RevenueKey.CLASS_FIRST);
+    private TreeMap<RevenueKey, RevenueTotal> byDate = new TreeMap<>(RevenueKey.DATE_FIRST);
+    private volatile boolean loaded;
+    private ScheduledExecutorService reconciler;
+
+    RevenueRollup() {
+    }
+
+    public static RevenueRollup getInstance() {
+        return INSTANCE;
+    }
+
+    // 적재가 끝나기 전에는 조회할 수 없다.
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    /**
+     * 📌 커밋된 변경분 반영
+     * - 적재 전이면 건너뛴다. (적재할 때 변경분이 반영된 DB 값을 읽음)
+     */
+    public void apply(Map<RevenueKey, RevenueTotal> deltas) {
+        if (!loaded) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            deltas.forEach((key, delta) -> {
+                addTo(byClass, key, delta);
+                addTo(byDate, key, delta);
+            });
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static void addTo(TreeMap<RevenueKey, RevenueTotal> rollups, RevenueKey key, RevenueTotal delta) {
+        RevenueTotal total = rollups.getOrDefault(key, RevenueTotal.EMPTY).plus(delta);
+        if (total.isEmpty()) {
+            rollups.remove(key);
+        } else {
+            rollups.put(key, total);
+        }
+    }
+
+    // 수업 하나의 집계를 다시 계산한 값으로 교체 (재구축 후 호출)
+    public void replaceClass(int classId, Map<LocalDate, RevenueTotal> totals) {
+        if (!loaded) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            classRange(byClass, classId, LocalDate.MIN, LocalDate.MAX).clear();
+            byDate.keySet().removeIf(key -> key.classId() == classId);
+            totals.forEach((date, total) -> {
+                RevenueKey key = new RevenueKey(classId, date);
+                byClass.put(key, total);
+                byDate.put(key, total);
+            });
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static NavigableMap<RevenueKey, RevenueTotal> classRange(TreeMap<RevenueKey, RevenueTotal> rollups,
+                                                                     int classId, LocalDate from, LocalDate to) {
+        return rollups.subMap(new RevenueKey(classId, from), true, new RevenueKey(classId, to), true);
+    }
+
+    /**
+     * 📌 기간 일별 매출 (전체 수업 합계, from ~ to 포함)
+     */
+    public SortedMap<LocalDate, RevenueTotal> getDailyRevenue(LocalDate from, LocalDate to) {
+        SortedMap<LocalDate, RevenueTotal> daily = new TreeMap<>();
+        lock.readLock().lock();
+        try {
+            byDate.subMap(new RevenueKey(Integer.MIN_VALUE, from), true, new RevenueKey(Integer.MAX_VALUE, to), true)
+                    .forEach((key, total) -> daily.merge(key.date(), total, RevenueTotal::plus));
+        } finally {
+            lock.readLock().unlock();
+        }
+        return daily;
+    }
+
+    /**
+     * 📌 기간 수업별 매출 (from ~ to 포함)
+     */
+    public SortedMap<Integer, RevenueTotal> getRevenueByClass(LocalDate from, LocalDate to) {
+        SortedMap<Integer, RevenueTotal> byClassId = new TreeMap<>();
+        lock.readLock().lock();
+        try {
+            byDate.subMap(new RevenueKey(Integer.MIN_VALUE, from), true, new RevenueKey(Integer.MAX_VALUE, to), true)
+                    .forEach((key, total) -> byClassId.merge(key.classId(), total, RevenueTotal::plus));
+        } finally {
+            lock.readLock().unlock();
+        }
+        return byClassId;
+    }
+
+    /**
+     * 📌 수업 하나의 기간 일별 매출 (from ~ to 포함)
+     */
+    public SortedMap<LocalDate, RevenueTotal> getClassDailyRevenue(int classId, LocalDate from, LocalDate to) {
+        SortedMap<LocalDate, RevenueTotal> daily = new TreeMap<>();
+        lock.readLock().lock();
+        try {
+            classRange(byClass, classId, from, to).forEach((key, total) -> daily.put(key.date(), total));
+        } finally {
+            lock.readLock().unlock();
+        }
+        return daily;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return byClass.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 📌 전체 재적재
+     * - 새 맵을 만든 뒤 교체하므로 재적재 중에도 기존 값으로 조회할 수 있다.
+     * - 반환값 : 조회 실패 시 false (기존 값 유지)
+     */
+    public boolean reconcile(RevenueSource source) {
+        TreeMap<RevenueKey, RevenueTotal> freshByClass = new TreeMap<>(RevenueKey.CLASS_FIRST);
+        boolean succeeded = source.forEachRollup(freshByClass::put);
+        if (!succeeded) {
+            log.warn("매출 집계 재적재 실패 - 기존 값을 유지합니다.");
+            return false;
+        }
+        TreeMap<RevenueKey, RevenueTotal> freshByDate = new TreeMap<>(RevenueKey.DATE_FIRST);
+        freshByDate.putAll(freshByClass);
+
+        lock.writeLock().lock();
+        try {
+            byClass = freshByClass;
+            byDate = freshByDate;
+            loaded = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("매출 집계 재적재 완료 - {}개 (수업, 결제일)", freshByClass.size());
+        return true;
+    }
+
+    /**
+     * 📌 주기적 재적재 시작
+     * - 백그라운드(daemon) 스레드 하나에서 interval 마다 reconcile을 수행한다.
+     */
+    public synchronized void startReconciliation(RevenueSource source, long interval, TimeUnit unit) {
+        if (reconciler != null) {
+            return;
+        }
+        reconciler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "revenue-rollup-reconciler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        reconciler.scheduleWithFixedDelay(() -> {
+            try {
+                reconcile(source);
+            } catch (RuntimeException e) {
+                // 예외가 전파되면 이후 실행이 취소되므로 기록만 한다.
+                log.error("매출 집계 재적재 중 오류: {}", e.getMessage(), e);
+            }
+        }, interval, interval, unit);
+    }
+
+    public synchronized void stopReconciliation() {
+        if (reconciler != null) {
+            reconciler.shutdownNow();
+            reconciler = null;
+        }
+    }
+
+    public void printStatus() {
+        System.out.println("[매출 집계 상태]");
+        System.out.println("적재 여부 (Loaded) : " + loaded);
+        System.out.println("(수업, 결제일) 행 수 (Rows) : " + size());
+    }
+}
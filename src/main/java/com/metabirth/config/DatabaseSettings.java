@@ -0,0 +1,280 @@
+package com.metabirth.config;
+
+import com.metabirth.dao.StatementCache;
+import com.zaxxer.hikari.HikariConfig;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * 📌 DatabaseSettings (커넥션 풀 / MySQL 드라이버 설정)
+ * - 설정값은 환경변수 > 시스템 속성(-D) > config.properties > 기본값 순서로 결정된다.
+ *   환경변수 이름은 키를 대문자와 '_'로 바꾼 형태이다. (예: db.pool.maximumPoolSize -> DB_POOL_MAXIMUM_POOL_SIZE)
+ * - db.driver.* 로 시작하는 키는 그대로 MySQL 드라이버 속성으로 전달된다. (예: db.driver.useCompression=true)
+ * - 풀 크기를 지정하지 않으면 CPU 코어 수와 예상 DB 지연 시간으로 계산한다.
+ * - 재빌드 없이 배포 환경마다 조정할 수 있도록, 시작 시 printReport()로 실제 적용된 값과 출처를 출력한다.
+ */
+public final class DatabaseSettings {
+    static final String CONFIG_FILE = "config.properties";
+    static final String DRIVER_PREFIX = "db.driver.";
+
+    // 자동 계산된 풀 크기의 하한/상한 (MySQL max_connections를 여러 인스턴스가 나눠 쓰는 것을 고려)
+    static final int MIN_POOL_SIZE = 2;
+    static final int MAX_AUTO_POOL_SIZE = 50;
+
+    /*
+     * MySQL 드라이버 기본 속성
+     * - rewriteBatchedStatements : JDBC 배치를 multi-row INSERT 한 번으로 재작성 (일괄 삽입 시 왕복 횟수 감소)
+     * - useServerPrepStmts / cachePrepStmts / prepStmtCache* : 서버 측 prepare와 드라이버의 PreparedStatement 캐시
+     *   (DAO는 StatementCache를 통해 드라이버 캐시로만 문장을 재사용한다)
+     * - connectionLifecycleInterceptors : 물리 커넥션의 열림/닫힘을 StatementCache에 알려 드라이버 캐시 적중 수를 집계
+     * - cacheResultSetMetadata / cacheServerConfiguration / useLocalSessionState / elideSetAutoCommits :
+     *   메타데이터와 세션 상태를 드라이버에 캐시하여 불필요한 왕복을 줄인다.
+     * - maintainTimeStats : 드라이버 내부 시간 측정 비활성화
+     * - useCompression : 네트워크 압축 (DB가 원격이고 대역폭이 부족할 때만 true)
+     * - connectTimeout / socketTimeout : 접속 및 응답 대기 제한 시간 (ms)
+     */
+    private static final Map<String, String> DRIVER_DEFAULTS = new LinkedHashMap<>();
+
+    static {
+        DRIVER_DEFAULTS.put("rewriteBatchedStatements", "true");
+        DRIVER_DEFAULTS.put("useServerPrepStmts", "true");
+        DRIVER_DEFAULTS.put("cachePrepStmts", "true");
+        DRIVER_DEFAULTS.put("prepStmtCacheSize", "250");
+        DRIVER_DEFAULTS.put("prepStmtCacheSqlLimit", "2048");
+        DRIVER_DEFAULTS.put("connectionLifecycleInterceptors", StatementCache.ConnectionTracker.class.getName());
+        DRIVER_DEFAULTS.put("cacheResultSetMetadata", "true");
+        DRIVER_DEFAULTS.put("cacheServerConfiguration", "true");
+        DRIVER_DEFAULTS.put("useLocalSessionState", "true");
+        DRIVER_DEFAULTS.put("elideSetAutoCommits", "true");
+        DRIVER_DEFAULTS.put("maintainTimeStats", "false");
+        DRIVER_DEFAULTS.put("useCompression", "false");
+        DRIVER_DEFAULTS.put("connectTimeout", "3000");
+        DRIVER_DEFAULTS.put("socketTimeout", "30000");
+        DRIVER_DEFAULTS.put("tcpKeepAlive", "true");
+    }
+
+    // 설정값의 출처 (시작 보고서에 함께 출력)
+    enum Source {
+        ENV("환경변수"), SYSTEM("시스템 속성"), FILE(CONFIG_FILE), DEFAULT("기본값"), AUTO("자동 계산");
+
+        private final String label;
+
+        Source(String label) {
+            this.label = label;
+        }
+    }
+
+    record Setting(String value, Source source) {
+    }
+
+    private final Properties fileProperties;
+    private final Map<String, String> environment;
+    private final Properties systemProperties;
+    private final int availableProcessors;
+
+    // 시작 보고서용 : 실제로 조회된 설정값을 조회 순서대로 보관
+    private final Map<String, Setting> effective = new LinkedHashMap<>();
+
+    DatabaseSettings(Properties fileProperties, Map<String, String> environment, Properties systemProperties,
+                     int availableProcessors) {
+        this.fileProperties = fileProperties;
+        this.environment = environment;
+        this.systemProperties = systemProperties;
+        this.availableProcessors = availableProcessors;
+    }
+
+    /**
+     * 📌 현재 실행 환경의 설정 읽기
+     * - config.properties는 클래스패스에서 읽으며, 없으면 환경변수/시스템 속성/기본값만 사용한다.
+     */
+    public static DatabaseSettings load() {
+        /*
+         * properties
+         * 키 - 값을 쌍으로 저장하는 방식이다.
+         * 주로 설정 정보나 구성 데이터를 관리하는데 유용하게 사용된다.
+         * */
+        Properties props = new Properties();
+        /*
+         * getClassLoader() : 클래스를 메모리에 로드하는 역할을 수행하며 이를 통해 설정 파일에 접근이 가능하다.
+         * getResourceAsStream ("config") : 매개변수로 전달된 파일을 스트림으로 가져오는 역할을 수행한다.
+         * */
+        try (InputStream in = DatabaseSettings.class.getClassLoader().getResourceAsStream(CONFIG_FILE)) {
+            if (in != null) {
+                props.load(in);
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException(CONFIG_FILE + " 읽기 실패", e);
+        }
+        return new DatabaseSettings(props, System.getenv(), System.getProperties(),
+                Runtime.getRuntime().availableProcessors());
+    }
+
+    // 환경변수 이름 변환 : db.pool.maximumPoolSize -> DB_POOL_MAXIMUM_POOL_SIZE
+    static String toEnvironmentName(String key) {
+        return key.replaceAll("([a-z0-9])([A-Z])", "$1_$2").replace('.', '_').toUpperCase();
+    }
+
+    Setting resolve(String key, String defaultValue) {
+        Setting setting;
+        String value;
+        if ((value = environment.get(toEnvironmentName(key))) != null) {
+            setting = new Setting(value.trim(), Source.ENV);
+        } else if ((value = systemProperties.getProperty(key)) != null) {
+            setting = new Setting(value.trim(), Source.SYSTEM);
+        } else if ((value = fileProperties.getProperty(key)) != null) {
+            setting = new Setting(value.trim(), Source.FILE);
+        } else {
+            setting = new Setting(defaultValue, Source.DEFAULT);
+        }
+        effective.put(key, setting);
+        return setting;
+    }
+
+    public String get(String key, String defaultValue) {
+        return resolve(key, defaultValue).value();
+    }
+
+    public int getInt(String key, int defaultValue) {
+        return (int) getLong(key, defaultValue);
+    }
+
+    public long getLong(String key, long defaultValue) {
+        String value = get(key, Long.toString(defaultValue));
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalStateException("숫자 설정값이 올바르지 않습니다: " + key + "=" + value, e);
+        }
+    }
+
+    /**
+     * 📌 풀 크기 자동 계산
+     * - 커넥션 하나는 쿼리를 보낸 뒤 DB 응답(지연 시간) 동안 대기하므로,
+     *   코어 하나를 계속 사용하려면 (1 + 지연 시간 / 쿼리당 CPU 시간) 개의 커넥션이 필요하다.
+     * - poolSize = cores * (1 + expectedLatencyMs / expectedCpuMs), [MIN_POOL_SIZE, MAX_AUTO_POOL_SIZE] 범위로 제한
+     */
+    static int computePoolSize(int cores, double expectedLatencyMs, double expectedCpuMs) {
+        double perCore = 1 + expectedLatencyMs / Math.max(expectedCpuMs, 0.1);
+        int size = (int) Math.ceil(cores * perCore);
+        return Math.max(MIN_POOL_SIZE, Math.min(MAX_AUTO_POOL_SIZE, size));
+    }
+
+    private int resolvePoolSize() {
+        Setting configured = resolve("db.pool.maximumPoolSize", "auto");
+        if (!"auto".equalsIgnoreCase(configured.value())) {
+            return getInt("db.pool.maximumPoolSize", 0);
+        }
+        long latencyMs = getLong("db.pool.expectedLatencyMs", 2);
+        long cpuMs = getLong("db.pool.expectedCpuMs", 1);
+        int size = computePoolSize(availableProcessors, latencyMs, cpuMs);
+        effective.put("db.pool.maximumPoolSize", new Setting(size + " (cores=" + availableProcessors + ")", Source.AUTO));
+        return size;
+    }
+
+    /**
+     * 📌 HikariCP 설정 생성
+     */
+    public HikariConfig toHikariConfig() {
+        HikariConfig config = new HikariConfig();
+        config.setPoolName("metabirth-pool");
+
+        /* DB 접속을 위한 설정 정보 */
+        String url = get("db.url", null);
+        if (url == null || url.isBlank()) {
+            throw new IllegalStateException("db.url 설정이 없습니다. " + CONFIG_FILE + " 또는 환경변수 DB_URL을 설정하세요.");
+        }
+        config.setJdbcUrl(url);
+        config.setUsername(get("db.username", null));
+        config.setPassword(get("db.password", null));
+
+        // 최대 커넥션 (지정하지 않으면 자동 계산)
+        int maximumPoolSize = resolvePoolSize();
+        config.setMaximumPoolSize(maximumPoolSize);
+
+        // 최소 유휴 커넥션 (기본값은 최대 커넥션과 같은 고정 크기 풀)
+        config.setMinimumIdle(getInt("db.pool.minimumIdle", maximumPoolSize));
+        applyCommonPoolSettings(config);
+        return config;
+    }
+
+    /**
+     * 📌 읽기 복제본별 HikariCP 설정 생성
+     * - db.replica.urls에 쉼표로 구분하여 지정한 URL마다 하나씩 만든다. (지정하지 않으면 빈 목록)
+     * - 계정은 db.replica.username/password, 없으면 주 DB 계정을 사용한다.
+     * - 복제본 커넥션은 read-only로 열린다.
+     */
+    public List<HikariConfig> toReplicaHikariConfigs() {
+        List<HikariConfig> configs = new ArrayList<>();
+        String urls = get("db.replica.urls", "");
+        if (urls.isBlank()) {
+            return configs;
+        }
+        int maximumPoolSize = getInt("db.replica.maximumPoolSize", resolvePoolSize());
+        for (String url : urls.split(",")) {
+            if (url.isBlank()) {
+                continue;
+            }
+            HikariConfig config = new HikariConfig();
+            config.setPoolName("metabirth-replica-" + (configs.size() + 1));
+            config.setJdbcUrl(url.trim());
+            config.setUsername(get("db.replica.username", get("db.username", null)));
+            config.setPassword(get("db.replica.password", get("db.password", null)));
+            config.setReadOnly(true);
+            config.setMaximumPoolSize(maximumPoolSize);
+            config.setMinimumIdle(maximumPoolSize);
+            applyCommonPoolSettings(config);
+            configs.add(config);
+        }
+        return configs;
+    }
+
+    // 주 DB와 복제본 풀에 공통으로 적용하는 타임아웃, JMX, 드라이버 속성
+    private void applyCommonPoolSettings(HikariConfig config) {
+        // 유휴 상태면 커넥션 닫기 즉, 30초 동안 아무런 요청이 없으면 커넥션을 닫는다 (minimumIdle < maximumPoolSize 일 때만 적용)
+        config.setIdleTimeout(getLong("db.pool.idleTimeout", 30000));
+
+        // 30분 후 커넥션을 새로 생성한다.
+        config.setMaxLifetime(getLong("db.pool.maxLifetime", 1800000));
+
+        // 최대 2초 대기 후 타임 아웃
+        config.setConnectionTimeout(getLong("db.pool.connectionTimeout", 2000));
+
+        // HikariCP 풀 상태(활성/유휴/대기 커넥션 수)를 JMX(com.zaxxer.hikari:type=Pool)로 노출
+        config.setRegisterMbeans(Boolean.parseBoolean(get("db.pool.registerMbeans", "true")));
+
+        driverProperties().forEach(config::addDataSourceProperty);
+    }
+
+    // 기본 드라이버 속성 + 추가로 지정된 db.driver.* 속성
+    Map<String, String> driverProperties() {
+        Map<String, String> properties = new LinkedHashMap<>();
+        DRIVER_DEFAULTS.forEach((name, defaultValue) -> properties.put(name, get(DRIVER_PREFIX + name, defaultValue)));
+        for (Properties source : new Properties[]{fileProperties, systemProperties}) {
+            for (String key : source.stringPropertyNames()) {
+                if (key.startsWith(DRIVER_PREFIX)) {
+                    String name = key.substring(DRIVER_PREFIX.length());
+                    properties.computeIfAbsent(name, ignored -> get(key, null));
+                }
+            }
+        }
+        return properties;
+    }
+
+    /**
+     * 📌 시작 보고서 출력
+     * - toHikariConfig() 이후 호출하면 실제 적용된 모든 값과 출처를 출력한다. (비밀번호는 가림)
+     */
+    public void printReport() {
+        System.out.println("[DB 설정 (우선순위: 환경변수 > 시스템 속성 > " + CONFIG_FILE + " > 기본값)]");
+        effective.forEach((key, setting) -> {
+            String value = key.endsWith("password") && setting.value() != null ? "********" : setting.value();
+            System.out.printf("%-40s = %-30s (%s)%n", key, value, setting.source().label);
+        });
+    }
+}
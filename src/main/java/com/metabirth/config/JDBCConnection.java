@@ -1,13 +1,18 @@
 package com.metabirth.config;
 
+import com.metabirth.dao.SlowQueryLog;
+import com.metabirth.metrics.PoolMetricsTrackerFactory;
+import com.metabirth.util.TransactionManager;
+import com.metabirth.util.TransientRetry;
 import com.zaxxer.hikari.HikariConfig;
 import com.zaxxer.hikari.HikariDataSource;
 import com.zaxxer.hikari.HikariPoolMXBean;
 
-import java.io.IOException;
 import java.sql.Connection;
 import java.sql.SQLException;
-import java.util.Properties;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
 /*
 * config 패키지
@@ -15,46 +20,54 @@ import java.util.Properties;
 * */
 public class JDBCConnection {
 
+    private static final DatabaseSettings settings;
     private static final HikariDataSource dataSource;
+    // 읽기 복제본 (db.replica.urls를 지정하지 않으면 null)
+    private static final ReplicaRouter replicaRouter;
 
     static {
-        try {
-            /*
-             * properties
-             * 키 - 값을 쌍으로 저장하는 방식이다.
-             * 주로 설정 정보나 구성 데이터를 관리하는데 유용하게 사용된다.
-             * */
-            Properties props = new Properties();
-            /*
-             * properties.load 외부 파일을 읽어오는 역할을 수행
-             * JDBCConnection.class.GetClassLoader() : 클래스를 메모리에 로드하는 역할을 수행하며 이를 통해 설정 파일에 접근이 가능하다.
-             * getResourceAsStream ("config") : 매개변수로 전달된 파일을 스트림으로 가져오는 역할을 수행한다.
-             * */
-            props.load(JDBCConnection.class.getClassLoader().getResourceAsStream("config.properties"));
-            HikariConfig config = new HikariConfig();
-
-            /* DB 접속을 위한 설정 정보 */
-            config.setJdbcUrl(props.getProperty("db.url"));
-            config.setUsername(props.getProperty("db.username"));
-            config.setPassword(props.getProperty("db.password"));
-
-            // 최대 커넥션
-            config.setMaximumPoolSize(10);
-
-            // 최소 커넥션
-            config.setMinimumIdle(5);
-
-            // 유휴 상태면 커넥션 닫기 즉, 30초 동안 아무런 요청이 없으면 커넥션을 닫는다
-            config.setIdleTimeout(30000);
-
-            config.setMaxLifetime(1800000); // 30분 후 커넥션을 새로 생성한다.
-
-            config.setConnectionTimeout(2000);// 최대 2초 대기 후 타임 아웃
-
-            dataSource = new HikariDataSource(config);
-
-        } catch (IOException e){
-            throw new RuntimeException(e);
+        /*
+         * 풀 크기, 타임아웃, MySQL 드라이버 속성은 DatabaseSettings에서 읽는다.
+         * config.properties / 환경변수 / 시스템 속성으로 재빌드 없이 조정할 수 있다.
+         * */
+        settings = DatabaseSettings.load();
+        HikariConfig config = settings.toHikariConfig();
+        // 커넥션 획득/사용 시간과 타임아웃을 MetricsRegistry에 기록
+        config.setMetricsTrackerFactory(new PoolMetricsTrackerFactory());
+        dataSource = new HikariDataSource(config);
+
+        // 느린 쿼리 로그 (기본 비활성화, 운영에서는 sampleEvery로 측정 비율을 낮춘다)
+        SlowQueryLog.configure(new SlowQueryLog.Config(
+                Boolean.parseBoolean(settings.get("db.slowQuery.enabled", "false")),
+                settings.getLong("db.slowQuery.thresholdMs", 200),
+                settings.getInt("db.slowQuery.sampleEvery", 1),
+                settings.getInt("db.slowQuery.maxLogsPerSecond", 10),
+                settings.getInt("db.slowQuery.explainAfter", 3)));
+
+        // 교착 상태 / 잠금 대기 초과 시 재시도 (지수 백오프, 재시도 예산)
+        TransientRetry.configure(new TransientRetry.Config(
+                settings.getInt("db.retry.maxAttempts", 4),
+                settings.getLong("db.retry.baseDelayMs", 20),
+                settings.getLong("db.retry.maxDelayMs", 1000),
+                Double.parseDouble(settings.get("db.retry.budgetRatio", "0.1")),
+                settings.getInt("db.retry.budgetMaxTokens", 20)));
+
+        /*
+         * 읽기 복제본 (읽기 전용 DAO 호출을 복제본으로 분산)
+         * - 복제 지연이 maxLagMs를 넘는 복제본은 제외하고, 모두 제외되면 주 DB에서 읽는다.
+         * - 쓰기 직후 readYourWritesMs 동안은 같은 스레드의 읽기를 주 DB로 보낸다.
+         * */
+        List<HikariConfig> replicaConfigs = settings.toReplicaHikariConfigs();
+        if (replicaConfigs.isEmpty()) {
+            replicaRouter = null;
+        } else {
+            Map<String, HikariDataSource> replicas = new LinkedHashMap<>();
+            for (HikariConfig replicaConfig : replicaConfigs) {
+                replicas.put(replicaConfig.getPoolName(), new HikariDataSource(replicaConfig));
+            }
+            replicaRouter = new ReplicaRouter(replicas, settings.getLong("db.replica.maxLagMs", 1000));
+            replicaRouter.startMonitor(settings.getLong("db.replica.lagCheckIntervalMs", 1000));
+            TransactionManager.setReadConnectionProvider(replicaRouter, settings.getLong("db.replica.readYourWritesMs", 2000));
         }
     }
 
@@ -74,14 +87,63 @@ public class JDBCConnection {
         return dataSource.getConnection();
     }
 
+    /*
+     * 스키마 마이그레이션 (db/migrations.xml)
+     * - db.migration.enabled=false 이면 건너뛰고 null을 반환한다. (스키마를 별도로 관리하는 환경)
+     * - 실패하면 IllegalStateException을 던진다.
+     * */
+    public static SchemaMigrator.Result migrateSchema() {
+        if (!Boolean.parseBoolean(settings.get("db.migration.enabled", "true"))) {
+            return null;
+        }
+        SchemaMigrator migrator = new SchemaMigrator(SchemaMigrator.load(SchemaMigrator.MANIFEST),
+                settings.getInt("db.migration.lockTimeoutSeconds", 60));
+        try (Connection connection = dataSource.getConnection()) {
+            return migrator.migrate(connection);
+        } catch (SQLException e) {
+            throw new IllegalStateException(e.getMessage(), e);
+        }
+    }
+
+    // 커넥션 풀의 최대 크기 (비동기 실행의 동시 실행 한도로 사용)
+    public static int getMaximumPoolSize() {
+        return dataSource.getMaximumPoolSize();
+    }
+
+    // 복제본 중 가장 큰 복제 지연 (ms), 복제본을 설정하지 않았으면 0, 알 수 없으면 ReplicaRouter.UNKNOWN_LAG_MILLIS
+    public static long getMaxReplicaLagMillis() {
+        return replicaRouter == null ? 0 : replicaRouter.getMaxLagMillis();
+    }
+
+    // 적용된 DB 설정 (DB 관련 백그라운드 작업의 설정 조회용)
+    public static DatabaseSettings getSettings() {
+        return settings;
+    }
+
     // hikaricp 전체 커넥션 풀을 종료하는 메서드
     // application -> 전체 종료 -> connection pool 더 이상 사용 불가.
     public static void close(){
+        if(replicaRouter != null){
+            TransactionManager.setReadConnectionProvider(null, 0);
+            replicaRouter.close();
+        }
         if(dataSource != null){
             dataSource.close();
         }
     }
 
+    // 실제 적용된 DB 설정과 출처 출력 (시작 보고서)
+    public static void printSettings() {
+        settings.printReport();
+    }
+
+    // 읽기 복제본 상태 출력 (복제본을 설정하지 않았으면 출력하지 않음)
+    public static void printReplicaStatus() {
+        if (replicaRouter != null) {
+            replicaRouter.printStatus();
+        }
+    }
+
     public static void printConnectionPoolStatus() {
         HikariPoolMXBean poolMXBean = dataSource.getHikariPoolMXBean();
         System.out.println("[hikariCp 커넥션 풀 상태 ]");
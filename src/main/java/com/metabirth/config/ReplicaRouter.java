@@ -0,0 +1,235 @@
+package com.metabirth.config;
+
+import com.metabirth.util.TransactionManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 📌 ReplicaRouter (읽기 복제본 선택 및 복제 지연 감시)
+ * - TransactionManager의 읽기 커넥션 공급원으로 등록되어, 읽기 전용 DAO 호출에 복제본 커넥션을 순서대로(round-robin) 빌려준다.
+ * - 감시 스레드가 주기적으로 복제본마다 SHOW REPLICA STATUS의 Seconds_Behind_Source를 조회한다.
+ *   지연이 maxLagMillis를 넘거나, 복제가 중단되었거나, 조회에 실패한 복제본은 다음 측정까지 제외한다.
+ * - 사용 가능한 복제본이 없으면 null을 반환하여 주 DB에서 읽도록 한다.
+ * - Seconds_Behind_Source는 초 단위이므로 maxLagMillis는 1000 이상으로 지정하는 것이 의미 있다.
+ */
+public final class ReplicaRouter implements TransactionManager.ConnectionProvider, AutoCloseable {
+    private static final Logger log = LoggerFactory.getLogger(ReplicaRouter.class);
+
+    // 지연을 알 수 없음 (측정 전, 복제 중단, 측정 실패) - 지연 기준과 비교하면 항상 초과로 판단된다.
+    public static final long UNKNOWN_LAG_MILLIS = Long.MAX_VALUE;
+
+    private final List<Replica> replicas = new ArrayList<>();
+    private final long maxLagMillis;
+    private final AtomicInteger next = new AtomicInteger();
+    private final LongAdder replicaReads = new LongAdder();
+    private final LongAdder primaryFallbacks = new LongAdder();
+    private ScheduledExecutorService monitor;
+
+    // 복제본 하나 (lagMillis : 마지막으로 측정한 지연, 측정 전이거나 사용할 수 없으면 -1)
+    static final class Replica {
+        private final String name;
+        private final DataSource dataSource;
+        private volatile long lagMillis = -1;
+        private volatile String unavailableReason = "지연 측정 전";
+        // MySQL 8.0.22 이전 서버는 SHOW SLAVE STATUS / Seconds_Behind_Master 를 사용한다.
+        private volatile boolean legacySyntax;
+
+        Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+    }
+
+    public ReplicaRouter(Map<String, ? extends DataSource> dataSources, long maxLagMillis) {
+        if (dataSources.isEmpty()) {
+            throw new IllegalArgumentException("복제본이 하나 이상 필요합니다.");
+        }
+        dataSources.forEach((name, dataSource) -> replicas.add(new Replica(name, dataSource)));
+        this.maxLagMillis = maxLagMillis;
+    }
+
+    /**
+     * 📌 복제 지연 감시 시작 (첫 측정 전까지는 모든 읽기가 주 DB로 간다.)
+     */
+    public synchronized void startMonitor(long intervalMillis) {
+        if (monitor != null) {
+            return;
+        }
+        monitor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "replica-lag-monitor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        monitor.scheduleWithFixedDelay(this::checkLag, 0, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 📌 읽기용 복제본 커넥션 (사용 가능한 복제본이 없으면 null)
+     */
+    @Override
+    public Connection getConnection() {
+        int size = replicas.size();
+        int start = Math.floorMod(next.getAndIncrement(), size);
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if (!isAvailable(replica)) {
+                continue;
+            }
+            try {
+                Connection connection = replica.dataSource.getConnection();
+                replicaReads.increment();
+                return connection;
+            } catch (SQLException e) {
+                markUnavailable(replica, "커넥션 획득 실패 - " + e.getMessage());
+            }
+        }
+        primaryFallbacks.increment();
+        return null;
+    }
+
+    private boolean isAvailable(Replica replica) {
+        long lag = replica.lagMillis;
+        return lag >= 0 && lag <= maxLagMillis;
+    }
+
+    // 모든 복제본의 지연 측정 (감시 스레드에서 호출)
+    void checkLag() {
+        for (Replica replica : replicas) {
+            try (Connection connection = replica.dataSource.getConnection()) {
+                long lag = measureLagMillis(replica, connection);
+                if (lag < 0) {
+                    markUnavailable(replica, "복제 중단 (Seconds_Behind_Source = NULL)");
+                } else {
+                    updateLag(replica, lag);
+                }
+            } catch (SQLException e) {
+                markUnavailable(replica, "지연 측정 실패 - " + e.getMessage());
+            } catch (RuntimeException e) {
+                // 감시 스레드가 멈추지 않도록 예외를 삼킨다.
+                markUnavailable(replica, "지연 측정 실패 - " + e);
+            }
+        }
+    }
+
+    private static long measureLagMillis(Replica replica, Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            if (!replica.legacySyntax) {
+                try (ResultSet rs = statement.executeQuery("SHOW REPLICA STATUS")) {
+                    return lagMillis(rs, "Seconds_Behind_Source");
+                } catch (SQLException e) {
+                    replica.legacySyntax = true;
+                }
+            }
+            try (ResultSet rs = statement.executeQuery("SHOW SLAVE STATUS")) {
+                return lagMillis(rs, "Seconds_Behind_Master");
+            }
+        }
+    }
+
+    // 복제 설정이 없는 서버(개발 환경에서 주 DB를 복제본으로 지정한 경우 등)는 지연 0으로 본다.
+    private static long lagMillis(ResultSet rs, String column) throws SQLException {
+        if (!rs.next()) {
+            return 0;
+        }
+        long seconds = rs.getLong(column);
+        return rs.wasNull() ? -1 : TimeUnit.SECONDS.toMillis(seconds);
+    }
+
+    // 상태가 바뀔 때만 로그를 남긴다. (측정 주기마다 같은 로그가 쌓이지 않도록)
+    void updateLag(Replica replica, long lagMillis) {
+        boolean wasAvailable = isAvailable(replica);
+        replica.lagMillis = lagMillis;
+        boolean available = isAvailable(replica);
+        if (available) {
+            replica.unavailableReason = null;
+        } else {
+            replica.unavailableReason = "복제 지연 " + lagMillis + "ms > " + maxLagMillis + "ms";
+        }
+        if (wasAvailable != available) {
+            if (available) {
+                log.warn("[복제본] {} 읽기 재개 - 지연: {}ms", replica.name, lagMillis);
+            } else {
+                log.warn("[복제본] {} 읽기 제외 - 사유: {}", replica.name, replica.unavailableReason);
+            }
+        }
+    }
+
+    private void markUnavailable(Replica replica, String reason) {
+        boolean wasAvailable = isAvailable(replica);
+        replica.lagMillis = -1;
+        replica.unavailableReason = reason;
+        if (wasAvailable) {
+            log.warn("[복제본] {} 읽기 제외 - 사유: {}", replica.name, reason);
+        }
+    }
+
+    // 복제본 중 가장 큰 지연 (ms) (보관 작업 등 대량 변경의 속도 조절에 사용)
+    // 지연을 알 수 없는 복제본이 하나라도 있으면 UNKNOWN_LAG_MILLIS (복제가 멈춘 복제본을 지연 0으로 보지 않도록)
+    public long getMaxLagMillis() {
+        long max = 0;
+        for (Replica replica : replicas) {
+            long lag = replica.lagMillis;
+            if (lag < 0) {
+                return UNKNOWN_LAG_MILLIS;
+            }
+            max = Math.max(max, lag);
+        }
+        return max;
+    }
+
+    public long getReplicaReads() {
+        return replicaReads.sum();
+    }
+
+    public long getPrimaryFallbacks() {
+        return primaryFallbacks.sum();
+    }
+
+    List<Replica> replicas() {
+        return replicas;
+    }
+
+    public void printStatus() {
+        System.out.println("[읽기 복제본 (최대 허용 지연: " + maxLagMillis + "ms)]");
+        for (Replica replica : replicas) {
+            if (isAvailable(replica)) {
+                System.out.printf("%s : 사용 중 (지연 %dms)%n", replica.name, replica.lagMillis);
+            } else {
+                System.out.printf("%s : 제외 (%s)%n", replica.name, replica.unavailableReason);
+            }
+        }
+        System.out.println("복제본 읽기 : " + getReplicaReads() + "건, 주 DB로 대체 : " + getPrimaryFallbacks() + "건");
+    }
+
+    // 감시 스레드 종료 및 복제본 풀 종료
+    @Override
+    public synchronized void close() {
+        if (monitor != null) {
+            monitor.shutdownNow();
+            monitor = null;
+        }
+        for (Replica replica : replicas) {
+            if (replica.dataSource instanceof AutoCloseable closeable) {
+                try {
+                    closeable.close();
+                } catch (Exception e) {
+                    log.warn("[복제본] {} 풀 종료 실패 - 사유: {}", replica.name, e.getMessage());
+                }
+            }
+        }
+    }
+}
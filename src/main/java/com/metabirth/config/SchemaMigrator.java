@@ -0,0 +1,273 @@
+package com.metabirth.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
+import org.xml.sax.SAXException;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.zip.CRC32;
+
+/**
+ * 📌 SchemaMigrator (버전별 스키마 마이그레이션)
+ * - db/migrations.xml에 등록된 스크립트를 버전 순서대로 한 번씩 적용하고 schema_history 테이블에 기록한다.
+ * - 여러 인스턴스가 동시에 시작해도 한 곳에서만 적용하도록 MySQL 네임드 락(GET_LOCK)을 잡고 실행한다.
+ * - 이미 적용된 스크립트의 체크섬이 바뀌었으면 적용하지 않고 실패한다. (적용된 스크립트는 수정하지 않고 새 버전을 추가)
+ * - MySQL의 DDL은 자동 커밋되므로, 스크립트 중간에 실패하면 앞의 문장은 이미 반영되어 있다.
+ *   이 경우 이력이 기록되지 않으므로 원인을 해결하고 반영된 부분을 되돌린 뒤 다시 시작해야 한다.
+ */
+public final class SchemaMigrator {
+    private static final Logger log = LoggerFactory.getLogger(SchemaMigrator.class);
+
+    public static final String MANIFEST = "db/migrations.xml";
+    static final String LOCK_NAME = "metabirth.schema_migration";
+
+    private static final String CREATE_HISTORY_TABLE = """
+            create table if not exists schema_history
+            (
+                version      int                                 not null primary key,
+                description  varchar(200)                        not null,
+                script       varchar(200)                        not null,
+                checksum     bigint                              not null,
+                execution_ms bigint                              not null,
+                installed_at timestamp default CURRENT_TIMESTAMP not null
+            )
+            """;
+
+    private final List<Migration> migrations;
+    private final int lockTimeoutSeconds;
+
+    /**
+     * 📌 마이그레이션 하나
+     *
+     * @param version     적용 순서 (1부터 증가)
+     * @param description 설명
+     * @param script      클래스패스 기준 스크립트 경로
+     * @param sql         스크립트 내용
+     */
+    public record Migration(int version, String description, String script, String sql) {
+        public long checksum() {
+            CRC32 crc = new CRC32();
+            crc.update(sql.getBytes(StandardCharsets.UTF_8));
+            return crc.getValue();
+        }
+    }
+
+    /**
+     * 📌 마이그레이션 결과
+     *
+     * @param applied        이번에 적용한 버전
+     * @param currentVersion 적용 후 DB의 스키마 버전
+     */
+    public record Result(List<Integer> applied, int currentVersion) {
+    }
+
+    public SchemaMigrator(List<Migration> migrations, int lockTimeoutSeconds) {
+        List<Migration> sorted = new ArrayList<>(migrations);
+        sorted.sort(Comparator.comparingInt(Migration::version));
+        for (int i = 1; i < sorted.size(); i++) {
+            if (sorted.get(i).version() == sorted.get(i - 1).version()) {
+                throw new IllegalStateException("마이그레이션 버전이 중복되었습니다: V" + sorted.get(i).version());
+            }
+        }
+        this.migrations = List.copyOf(sorted);
+        this.lockTimeoutSeconds = lockTimeoutSeconds;
+    }
+
+    /**
+     * 📌 클래스패스의 목록 파일과 스크립트 읽기
+     */
+    public static List<Migration> load(String manifest) {
+        List<Migration> migrations = new ArrayList<>();
+        try (InputStream in = resource(manifest)) {
+            Document document = DocumentBuilderFactory.newInstance().newDocumentBuilder().parse(in);
+            NodeList nodes = document.getElementsByTagName("migration");
+            for (int i = 0; i < nodes.getLength(); i++) {
+                Element element = (Element) nodes.item(i);
+                String script = element.getAttribute("script");
+                String sql;
+                try (InputStream scriptIn = resource(script)) {
+                    sql = new String(scriptIn.readAllBytes(), StandardCharsets.UTF_8);
+                }
+                migrations.add(new Migration(Integer.parseInt(element.getAttribute("version")),
+                        element.getAttribute("description"), script, sql));
+            }
+        } catch (IOException | ParserConfigurationException | SAXException | RuntimeException e) {
+            throw new IllegalStateException("마이그레이션 목록 읽기 실패 - " + manifest + ": " + e.getMessage(), e);
+        }
+        return migrations;
+    }
+
+    private static InputStream resource(String path) throws IOException {
+        InputStream in = SchemaMigrator.class.getClassLoader().getResourceAsStream(path);
+        if (in == null) {
+            throw new IOException("파일을 찾을 수 없습니다: " + path);
+        }
+        return in;
+    }
+
+    /**
+     * 📌 적용되지 않은 마이그레이션 적용
+     * - 커넥션은 autocommit 상태여야 한다. (DDL은 트랜잭션으로 묶이지 않음)
+     */
+    public Result migrate(Connection connection) throws SQLException {
+        acquireLock(connection);
+        try {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute(CREATE_HISTORY_TABLE);
+            }
+            TreeMap<Integer, Long> appliedChecksums = appliedChecksums(connection);
+            verifyChecksums(appliedChecksums);
+
+            List<Integer> applied = new ArrayList<>();
+            int currentVersion = appliedChecksums.isEmpty() ? 0 : appliedChecksums.lastKey();
+            for (Migration migration : migrations) {
+                if (appliedChecksums.containsKey(migration.version())) {
+                    continue;
+                }
+                if (migration.version() < currentVersion) {
+                    // 브랜치 병합 등으로 낮은 버전이 나중에 추가된 경우 (순서가 바뀌어도 적용은 한다)
+                    log.warn("[마이그레이션] V{} 가 현재 버전 V{} 보다 낮지만 적용되지 않았으므로 적용합니다.",
+                            migration.version(), currentVersion);
+                }
+                apply(connection, migration);
+                applied.add(migration.version());
+                currentVersion = Math.max(currentVersion, migration.version());
+            }
+            return new Result(applied, currentVersion);
+        } finally {
+            releaseLock(connection);
+        }
+    }
+
+    private void acquireLock(Connection connection) throws SQLException {
+        try (PreparedStatement ps = connection.prepareStatement("SELECT GET_LOCK(?, ?)")) {
+            ps.setString(1, LOCK_NAME);
+            ps.setInt(2, lockTimeoutSeconds);
+            try (ResultSet rs = ps.executeQuery()) {
+                if (!rs.next() || rs.getInt(1) != 1) {
+                    throw new SQLException("다른 인스턴스가 마이그레이션 중입니다. (" + lockTimeoutSeconds + "초 동안 락을 얻지 못함)");
+                }
+            }
+        }
+    }
+
+    private static void releaseLock(Connection connection) {
+        try (PreparedStatement ps = connection.prepareStatement("SELECT RELEASE_LOCK(?)")) {
+            ps.setString(1, LOCK_NAME);
+            ps.executeQuery().close();
+        } catch (SQLException e) {
+            // 커넥션이 닫히면 락도 해제되므로 실패해도 계속 진행
+            log.warn("[마이그레이션] 락 해제 실패 - 사유: {}", e.getMessage());
+        }
+    }
+
+    private static TreeMap<Integer, Long> appliedChecksums(Connection connection) throws SQLException {
+        TreeMap<Integer, Long> checksums = new TreeMap<>();
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT version, checksum FROM schema_history")) {
+            while (rs.next()) {
+                checksums.put(rs.getInt(1), rs.getLong(2));
+            }
+        }
+        return checksums;
+    }
+
+    private void verifyChecksums(Map<Integer, Long> appliedChecksums) {
+        for (Migration migration : migrations) {
+            Long applied = appliedChecksums.get(migration.version());
+            if (applied != null && applied != migration.checksum()) {
+                throw new IllegalStateException("이미 적용된 마이그레이션이 수정되었습니다: V" + migration.version()
+                        + " (" + migration.script() + ")");
+            }
+        }
+        for (int version : appliedChecksums.keySet()) {
+            if (migrations.stream().noneMatch(migration -> migration.version() == version)) {
+                log.warn("[마이그레이션] DB에 적용된 V{} 를 이 버전의 애플리케이션은 알지 못합니다.", version);
+            }
+        }
+    }
+
+    private static void apply(Connection connection, Migration migration) throws SQLException {
+        long startNanos = System.nanoTime();
+        List<String> statements = splitStatements(migration.sql());
+        try (Statement statement = connection.createStatement()) {
+            for (int i = 0; i < statements.size(); i++) {
+                try {
+                    statement.execute(statements.get(i));
+                } catch (SQLException e) {
+                    throw new SQLException("V" + migration.version() + " (" + migration.script() + ") "
+                            + (i + 1) + "번째 문장 실패 - " + e.getMessage(), e.getSQLState(), e.getErrorCode(), e);
+                }
+            }
+        }
+        long elapsedMillis = (System.nanoTime() - startNanos) / 1_000_000;
+
+        String sql = "INSERT INTO schema_history (version, description, script, checksum, execution_ms) VALUES (?, ?, ?, ?, ?)";
+        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+            ps.setInt(1, migration.version());
+            ps.setString(2, migration.description());
+            ps.setString(3, migration.script());
+            ps.setLong(4, migration.checksum());
+            ps.setLong(5, elapsedMillis);
+            ps.executeUpdate();
+        }
+        log.info("[마이그레이션] V{} {} 적용 완료 ({}ms)", migration.version(), migration.description(), elapsedMillis);
+    }
+
+    /**
+     * 📌 스크립트를 문장 단위로 나누기
+     * - 세미콜론으로 나누며, 따옴표(' " `) 안의 세미콜론과 -- 주석은 무시한다.
+     */
+    static List<String> splitStatements(String script) {
+        List<String> statements = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        char quote = 0;
+        for (int i = 0; i < script.length(); i++) {
+            char c = script.charAt(i);
+            if (quote != 0) {
+                current.append(c);
+                if (c == quote) {
+                    quote = 0;
+                }
+            } else if (c == '-' && i + 1 < script.length() && script.charAt(i + 1) == '-') {
+                int end = script.indexOf('\n', i);
+                i = end < 0 ? script.length() : end;
+                current.append('\n');
+            } else if (c == ';') {
+                addStatement(statements, current);
+            } else {
+                if (c == '\'' || c == '"' || c == '`') {
+                    quote = c;
+                }
+                current.append(c);
+            }
+        }
+        addStatement(statements, current);
+        return statements;
+    }
+
+    private static void addStatement(List<String> statements, StringBuilder current) {
+        String statement = current.toString().trim();
+        if (!statement.isEmpty()) {
+            statements.add(statement);
+        }
+        current.setLength(0);
+    }
+}
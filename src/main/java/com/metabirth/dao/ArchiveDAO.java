@@ -0,0 +1,210 @@
+package com.metabirth.dao;
+
+import com.metabirth.metrics.LatencyHistogram;
+import com.metabirth.metrics.MetricsRegistry;
+import com.metabirth.util.ConnectionScope;
+import com.metabirth.util.TransactionManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 📌 ArchiveDAO (논리 삭제된 행 보관)
+ * - 논리 삭제 후 일정 기간이 지난 수강신청을 결제/리뷰와 함께 보관 테이블(*_archive)로 옮기고 원본에서 지운다.
+ * - 수강신청 그룹(수강신청 + 결제 + 리뷰)은 항상 함께 옮긴다.
+ *   결제나 리뷰 중 하나라도 활성 상태이거나 아직 보관 기간이 지나지 않았으면 그룹 전체를 옮기지 않는다.
+ * - 호출하는 쪽의 트랜잭션 안에서 기본키 구간 단위로 실행한다. (ArchivalService 참고)
+ */
+public class ArchiveDAO {
+    private static final Logger log = LoggerFactory.getLogger(ArchiveDAO.class);
+
+    static final String JOB_LOCK_NAME = "metabirth.archival";
+
+    private static final LatencyHistogram GET_ARCHIVABLE_ENROLLMENT_ID_CHUNK_LATENCY = MetricsRegistry.latency("ArchiveDAO.getArchivableEnrollmentIdChunk");
+    private static final LatencyHistogram ARCHIVE_ENROLLMENT_GROUPS_LATENCY = MetricsRegistry.latency("ArchiveDAO.archiveEnrollmentGroups");
+    private static final LatencyHistogram PURGE_ARCHIVED_LATENCY = MetricsRegistry.latency("ArchiveDAO.purgeArchived");
+
+    // 보관 대상 그룹 조건 : 수강신청과 모든 결제/리뷰가 cutoff 이전에 논리 삭제됨
+    private static final String ARCHIVABLE_GROUP = """
+            e.status = 1 AND e.deleted_at < ?
+            AND NOT EXISTS (SELECT 1 FROM payments p WHERE p.enrollment_id = e.enrollment_id
+                            AND (p.status = 1 AND p.deleted_at < ?) IS NOT TRUE)
+            AND NOT EXISTS (SELECT 1 FROM reviews r WHERE r.enrollment_id = e.enrollment_id
+                            AND (r.status = 1 AND r.deleted_at < ?) IS NOT TRUE)
+            """;
+
+    /**
+     * 📌 한 구간에서 옮긴 행 수
+     */
+    public record ArchivedRows(int enrollments, int payments, int reviews) {
+        static final ArchivedRows NONE = new ArchivedRows(0, 0, 0);
+    }
+
+    // 보관 대상 수강신청 ID를 기본키 순으로 최대 limit개 조회 (chunk 경계 계산용, 실패 시 null)
+    public List<Integer> getArchivableEnrollmentIdChunk(Timestamp cutoff, int afterId, int limit) {
+        long startNanos = System.nanoTime();
+        List<Integer> enrollmentIds = new ArrayList<>(limit);
+        String sql = "SELECT e.enrollment_id FROM enrollments e WHERE " + ARCHIVABLE_GROUP
+                + " AND e.enrollment_id > ? ORDER BY e.enrollment_id LIMIT ?";
+        try (ConnectionScope scope = TransactionManager.openScope();
+             PreparedStatement ps = StatementCache.prepare(scope.connection(), sql)) {
+            ps.setTimestamp(1, cutoff);
+            ps.setTimestamp(2, cutoff);
+            ps.setTimestamp(3, cutoff);
+            ps.setInt(4, afterId);
+            ps.setInt(5, limit);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    enrollmentIds.add(rs.getInt(1));
+                }
+            }
+        } catch (SQLException e) {
+            log.warn("[DAO] 보관 대상 수강신청 조회 실패 - afterId: {}, 사유: {}", afterId, e.getMessage());
+            return null;
+        } finally {
+            GET_ARCHIVABLE_ENROLLMENT_ID_CHUNK_LATENCY.recordSince(startNanos);
+        }
+        return enrollmentIds;
+    }
+
+    // 기본키 구간 [fromId, toId] 의 보관 대상 그룹을 보관 테이블로 옮김
+    /* - 수강신청을 먼저 복사하고, 이번에 복사한 수강신청(archived_at 으로 구분)의 결제/리뷰를 복사한 뒤 원본을 지운다.
+     * - INSERT ... SELECT 는 읽은 행에 공유 잠금을 걸므로, 복사와 삭제 사이에 그룹에 새 결제/리뷰가 추가되지 않는다.
+     * - 복사한 행 수와 지운 행 수가 다르면 실패로 처리한다. (호출한 쪽에서 롤백)
+     * - 반환값 : 옮긴 행 수, 실패 시 null */
+    public ArchivedRows archiveEnrollmentGroups(int fromId, int toId, Timestamp cutoff, Timestamp archivedAt) {
+        long startNanos = System.nanoTime();
+        String copyEnrollments = """
+                INSERT INTO enrollments_archive
+                    (enrollment_id, student_id, class_id, status, created_at, updated_at, deleted_at, archived_at)
+                SELECT e.enrollment_id, e.student_id, e.class_id, e.status, e.created_at, e.updated_at, e.deleted_at, ?
+                FROM enrollments e
+                WHERE e.enrollment_id BETWEEN ? AND ? AND
+                """ + ARCHIVABLE_GROUP;
+        String copyPayments = """
+                INSERT INTO payments_archive
+                    (payment_id, amount, status, created_at, updated_at, deleted_at, enrollment_id, archived_at)
+                SELECT p.payment_id, p.amount, p.status, p.created_at, p.updated_at, p.deleted_at, p.enrollment_id, a.archived_at
+                FROM payments p
+                JOIN enrollments_archive a ON a.enrollment_id = p.enrollment_id
+                WHERE a.enrollment_id BETWEEN ? AND ? AND a.archived_at = ?
+                """;
+        String copyReviews = """
+                INSERT INTO reviews_archive
+                    (review_id, rating, content, status, created_at, updated_at, deleted_at, enrollment_id, archived_at)
+                SELECT r.review_id, r.rating, r.content, r.status, r.created_at, r.updated_at, r.deleted_at, r.enrollment_id, a.archived_at
+                FROM reviews r
+                JOIN enrollments_archive a ON a.enrollment_id = r.enrollment_id
+                WHERE a.enrollment_id BETWEEN ? AND ? AND a.archived_at = ?
+                """;
+        String deletePayments = """
+                DELETE p FROM payments p
+                JOIN enrollments_archive a ON a.enrollment_id = p.enrollment_id
+                WHERE a.enrollment_id BETWEEN ? AND ? AND a.archived_at = ?
+                """;
+        String deleteReviews = """
+                DELETE r FROM reviews r
+                JOIN enrollments_archive a ON a.enrollment_id = r.enrollment_id
+                WHERE a.enrollment_id BETWEEN ? AND ? AND a.archived_at = ?
+                """;
+        String deleteEnrollments = """
+                DELETE e FROM enrollments e
+                JOIN enrollments_archive a ON a.enrollment_id = e.enrollment_id
+                WHERE a.enrollment_id BETWEEN ? AND ? AND a.archived_at = ?
+                """;
+
+        try (ConnectionScope scope = TransactionManager.openScope()) {
+            Connection connection = scope.connection();
+            int enrollments;
+            try (PreparedStatement ps = StatementCache.prepare(connection, copyEnrollments)) {
+                ps.setTimestamp(1, archivedAt);
+                ps.setInt(2, fromId);
+                ps.setInt(3, toId);
+                ps.setTimestamp(4, cutoff);
+                ps.setTimestamp(5, cutoff);
+                ps.setTimestamp(6, cutoff);
+                enrollments = ps.executeUpdate();
+            }
+            if (enrollments == 0) {
+                return ArchivedRows.NONE;
+            }
+
+            int payments = executeForArchivedRange(connection, copyPayments, fromId, toId, archivedAt);
+            int reviews = executeForArchivedRange(connection, copyReviews, fromId, toId, archivedAt);
+            int deletedPayments = executeForArchivedRange(connection, deletePayments, fromId, toId, archivedAt);
+            int deletedReviews = executeForArchivedRange(connection, deleteReviews, fromId, toId, archivedAt);
+            int deletedEnrollments = executeForArchivedRange(connection, deleteEnrollments, fromId, toId, archivedAt);
+            if (deletedEnrollments != enrollments || deletedPayments != payments || deletedReviews != reviews) {
+                log.warn("[DAO] 보관 행 수 불일치 - 범위: [{}, {}], 복사(수강신청/결제/리뷰): {}/{}/{}, 삭제: {}/{}/{}",
+                        fromId, toId, enrollments, payments, reviews, deletedEnrollments, deletedPayments, deletedReviews);
+                return null;
+            }
+            return new ArchivedRows(enrollments, payments, reviews);
+        } catch (SQLException e) {
+            log.warn("[DAO] 수강신청 그룹 보관 실패 - 범위: [{}, {}], 사유: {}", fromId, toId, e.getMessage());
+            return null;
+        } finally {
+            ARCHIVE_ENROLLMENT_GROUPS_LATENCY.recordSince(startNanos);
+        }
+    }
+
+    private static int executeForArchivedRange(Connection connection, String sql, int fromId, int toId,
+                                               Timestamp archivedAt) throws SQLException {
+        try (PreparedStatement ps = StatementCache.prepare(connection, sql)) {
+            ps.setInt(1, fromId);
+            ps.setInt(2, toId);
+            ps.setTimestamp(3, archivedAt);
+            return ps.executeUpdate();
+        }
+    }
+
+    // before 이전에 보관된 행을 보관 테이블에서 최대 limit개씩 영구 삭제 (리뷰, 결제, 수강신청 순)
+    /* - 반환값 : 삭제된 행 수 (0 이면 더 지울 행 없음), 실패 시 -1 */
+    public int purgeArchived(Timestamp before, int limit) {
+        long startNanos = System.nanoTime();
+        int purged = 0;
+        try (ConnectionScope scope = TransactionManager.openScope()) {
+            for (String table : new String[]{"reviews_archive", "payments_archive", "enrollments_archive"}) {
+                String sql = "DELETE FROM " + table + " WHERE archived_at < ? LIMIT ?";
+                try (PreparedStatement ps = StatementCache.prepare(scope.connection(), sql)) {
+                    ps.setTimestamp(1, before);
+                    ps.setInt(2, limit);
+                    purged += ps.executeUpdate();
+                }
+            }
+            return purged;
+        } catch (SQLException e) {
+            log.warn("[DAO] 보관 행 영구 삭제 실패 - 기준: {}, 사유: {}", before, e.getMessage());
+            return -1;
+        } finally {
+            PURGE_ARCHIVED_LATENCY.recordSince(startNanos);
+        }
+    }
+
+    // 보관 작업 락 획득 (여러 인스턴스 중 한 곳에서만 실행, 기다리지 않음), 현재 작업 단위의 커넥션(세션)에 잡힌다.
+    public boolean tryAcquireJobLock() {
+        try (ConnectionScope scope = TransactionManager.openScope();
+             PreparedStatement ps = scope.connection().prepareStatement("SELECT GET_LOCK(?, 0)")) {
+            ps.setString(1, JOB_LOCK_NAME);
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next() && rs.getInt(1) == 1;
+            }
+        } catch (SQLException e) {
+            log.warn("[DAO] 보관 작업 락 획득 실패 - 사유: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    public void releaseJobLock() {
+        try (ConnectionScope scope = TransactionManager.openScope();
+             PreparedStatement ps = scope.connection().prepareStatement("SELECT RELEASE_LOCK(?)")) {
+            ps.setString(1, JOB_LOCK_NAME);
+            ps.executeQuery().close();
+        } catch (SQLException e) {
+            log.warn("[DAO] 보관 작업 락 해제 실패 - 사유: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.metabirth.dao;
+
+import com.metabirth.util.ConnectionScope;
+import com.metabirth.util.TransactionManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.BatchUpdateException;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+/**
+ * 📌 BatchInsert (JDBC 배치 기반 일괄 삽입)
+ * - chunkSize 건씩 addBatch 후 executeBatch 하며, 드라이버의 rewriteBatchedStatements 설정에 의해
+ *   chunk 하나가 multi-row INSERT 한 번(네트워크 왕복 1회)으로 전송된다.
+ * - 생성된 기본키는 입력 순서대로 각 모델 객체에 다시 기록한다.
+ * - 실패한 chunk는 결과 객체에 행 단위로 기록하고 다음 chunk를 계속 진행한다.
+ */
+final class BatchInsert {
+    private static final Logger log = LoggerFactory.getLogger(BatchInsert.class);
+
+    // chunkSize를 지정하지 않았을 때 한 번에 전송할 행 수
+    static final int DEFAULT_CHUNK_SIZE = 500;
+
+    private BatchInsert() {
+    }
+
+    // PreparedStatement에 한 행의 파라미터를 바인딩
+    @FunctionalInterface
+    interface ParameterBinder<T> {
+        void bind(PreparedStatement ps, T item) throws SQLException;
+    }
+
+    // 생성된 기본키를 모델 객체에 기록
+    @FunctionalInterface
+    interface KeyAssigner<T> {
+        void assign(T item, int generatedKey);
+    }
+
+    static <T> BatchResult execute(String sql, List<T> items, int chunkSize,
+                                   ParameterBinder<T> binder, KeyAssigner<T> keyAssigner, String label) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("chunkSize는 1 이상이어야 합니다: " + chunkSize);
+        }
+        BatchResult result = new BatchResult(items.size());
+        if (items.isEmpty()) {
+            return result;
+        }
+
+        try (ConnectionScope scope = TransactionManager.openScope();
+             PreparedStatement ps = StatementCache.prepare(scope.connection(), sql, Statement.RETURN_GENERATED_KEYS)) {
+            for (int from = 0; from < items.size(); from += chunkSize) {
+                int to = Math.min(from + chunkSize, items.size());
+                executeChunk(ps, items, from, to, binder, keyAssigner, result, label);
+            }
+        } catch (SQLException e) {
+            // 아직 처리되지 않은 행은 실패(false) 상태로 남는다.
+            log.warn("[DAO] {} 일괄 등록 실패 - 사유: {}", label, e.getMessage());
+        }
+        return result;
+    }
+
+    private static <T> void executeChunk(PreparedStatement ps, List<T> items, int from, int to,
+                                         ParameterBinder<T> binder, KeyAssigner<T> keyAssigner,
+                                         BatchResult result, String label) throws SQLException {
+        for (int i = from; i < to; i++) {
+            binder.bind(ps, items.get(i));
+            ps.addBatch();
+        }
+
+        int[] updateCounts;
+        try {
+            updateCounts = ps.executeBatch();
+        } catch (BatchUpdateException e) {
+            log.warn("[DAO] {} 일괄 등록 중 일부 실패 - 범위: [{}, {}), 사유: {}", label, from, to, e.getMessage());
+            updateCounts = e.getUpdateCounts();
+            ps.clearBatch();
+        }
+
+        // 생성 키는 성공한 행에 대해서만, 입력 순서대로 반환된다.
+        try (ResultSet generatedKeys = ps.getGeneratedKeys()) {
+            for (int i = from; i < to; i++) {
+                int offset = i - from;
+                boolean succeeded = offset < updateCounts.length
+                        && (updateCounts[offset] > 0 || updateCounts[offset] == Statement.SUCCESS_NO_INFO);
+                if (succeeded && generatedKeys.next()) {
+                    int key = generatedKeys.getInt(1);
+                    keyAssigner.assign(items.get(i), key);
+                    result.markSucceeded(i, key);
+                } else {
+                    result.markFailed(i);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.metabirth.dao;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 📌 BatchResult (일괄 삽입 결과)
+ * - 입력 목록과 같은 순서로 행별 성공/실패 여부와 생성된 기본키를 보관
+ * - 실패한 행의 생성 키는 0 이다.
+ */
+public class BatchResult {
+    private final boolean[] succeeded;
+    private final int[] generatedKeys;
+
+    BatchResult(int size) {
+        this.succeeded = new boolean[size];
+        this.generatedKeys = new int[size];
+    }
+
+    void markSucceeded(int index, int generatedKey) {
+        succeeded[index] = true;
+        generatedKeys[index] = generatedKey;
+    }
+
+    void markFailed(int index) {
+        succeeded[index] = false;
+        generatedKeys[index] = 0;
+    }
+
+    // 전체 행 수
+    public int size() {
+        return succeeded.length;
+    }
+
+    public boolean isSucceeded(int index) {
+        return succeeded[index];
+    }
+
+    public int getGeneratedKey(int index) {
+        return generatedKeys[index];
+    }
+
+    public int getSuccessCount() {
+        int count = 0;
+        for (boolean ok : succeeded) {
+            if (ok) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    public int getFailureCount() {
+        return size() - getSuccessCount();
+    }
+
+    public boolean isAllSucceeded() {
+        return getFailureCount() == 0;
+    }
+
+    // 실패한 행의 인덱스 목록 (입력 목록 기준)
+    public List<Integer> getFailedIndexes() {
+        List<Integer> failed = new ArrayList<>();
+        for (int i = 0; i < succeeded.length; i++) {
+            if (!succeeded[i]) {
+                failed.add(i);
+            }
+        }
+        return failed;
+    }
+
+    @Override
+    public String toString() {
+        return "BatchResult{" +
+                "size=" + size() +
+                ", succeeded=" + getSuccessCount() +
+                ", failed=" + getFailureCount() +
+                '}';
+    }
+}
@@ -0,0 +1,129 @@
+package com.metabirth.dao;
+
+import com.metabirth.model.ClassRatingSummary;
+import com.metabirth.model.RevenueKey;
+import com.metabirth.model.RevenueTotal;
+import com.metabirth.util.AsyncExecutor;
+import com.metabirth.util.TransactionCallbacks;
+import com.metabirth.util.TransactionManager;
+import com.metabirth.util.TransientRetry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * 📌 CascadeTarget (연쇄 삭제 대상)
+ * - 연쇄 삭제 직전에 잠금 없이 읽은 수강신청과 그에 연결된 활성 결제/리뷰 한 묶음 (활성 결제와 리뷰는 수강신청당 최대 1건)
+ * - 삭제 UPDATE는 읽은 값이 그대로일 때만 적용되도록 조건(GUARD)을 걸고, 적용된 경우에만 이 값으로 좌석/별점/매출 증감을 만든다.
+ *   관련 테이블을 미리 잠그지 않으므로 삭제 한 건은 조회 1번 + UPDATE 1번으로 끝난다.
+ * - 별점 통계와 매출 집계는 커밋 후 별도 스레드의 짧은 트랜잭션으로 반영하므로 삭제 직후 잠시 늦게 보일 수 있다.
+ */
+record CascadeTarget(int enrollmentId, int classId, boolean enrollmentActive, int reviewId, int rating,
+                     int paymentId, Timestamp paymentCreatedAt, BigDecimal amount) {
+    private static final Logger log = LoggerFactory.getLogger(CascadeTarget.class);
+
+    // 조회 컬럼 (enrollments e, reviews r, payments p 별칭, 연결된 결제/리뷰가 없으면 NULL)
+    static final String COLUMNS = "e.enrollment_id, e.class_id, e.status = 0, r.review_id, r.rating, "
+            + "p.payment_id, p.created_at, p.amount";
+
+    // 삭제 UPDATE에 붙이는 조건 (읽은 뒤 다른 트랜잭션이 대상 행을 바꿨으면 0건 적용, e 는 활성 수강신청만 조인)
+    static final String GUARD = "COALESCE(e.class_id, 0) = ? AND COALESCE(r.review_id, 0) = ? AND COALESCE(r.rating, 0) = ? "
+            + "AND COALESCE(p.payment_id, 0) = ? AND COALESCE(p.amount, 0) = ?";
+
+    // 조건이 맞지 않을 때 다시 읽어 시도하는 최대 횟수
+    private static final int MAX_ATTEMPTS = 3;
+
+    /**
+     * 📌 조회 후 조건부 삭제
+     * - select 는 COLUMNS 를, update 는 마지막에 GUARD 를 포함하고 둘 다 첫 번째 파라미터로 id 를 받는다.
+     * - 삭제되면 좌석을 반납하고, 커밋 후 onCommit 과 별점/매출 반영을 실행한다.
+     * - 반환값 : 영향받은 전체 행 수 (0 이면 활성 상태의 대상이 없음)
+     */
+    static int delete(Connection connection, String select, String update, int id,
+                      Consumer<CascadeTarget> onCommit) throws SQLException {
+        for (int attempt = 1; attempt <= MAX_ATTEMPTS; attempt++) {
+            CascadeTarget target = read(connection, select, id);
+            if (target == null) {
+                return 0;
+            }
+            try (PreparedStatement ps = StatementCache.prepare(connection, update)) {
+                ps.setInt(1, id);
+                target.bindGuard(ps, 2);
+                int affectedRows = ps.executeUpdate();
+                if (affectedRows > 0) {
+                    ClassSeatDAO.releaseSeats(connection, target.seats());
+                    TransactionCallbacks.afterCommit(connection, () -> {
+                        onCommit.accept(target);
+                        target.applyAggregatesAsync();
+                    });
+                    return affectedRows;
+                }
+            }
+        }
+        throw new SQLException("연쇄 삭제 대상이 계속 변경되어 " + MAX_ATTEMPTS + "회 시도 후 중단 - id: " + id);
+    }
+
+    private static CascadeTarget read(Connection connection, String select, int id) throws SQLException {
+        try (PreparedStatement ps = StatementCache.prepare(connection, select)) {
+            ps.setInt(1, id);
+            try (ResultSet rs = ps.executeQuery()) {
+                if (!rs.next()) {
+                    return null;
+                }
+                return new CascadeTarget(rs.getInt(1), rs.getInt(2), rs.getBoolean(3), rs.getInt(4), rs.getInt(5),
+                        rs.getInt(6), rs.getTimestamp(7), rs.getBigDecimal(8));
+            }
+        }
+    }
+
+    private void bindGuard(PreparedStatement ps, int index) throws SQLException {
+        ps.setInt(index, enrollmentActive ? classId : 0);
+        ps.setInt(index + 1, reviewId);
+        ps.setInt(index + 2, rating);
+        ps.setInt(index + 3, paymentId);
+        ps.setBigDecimal(index + 4, paymentId != 0 ? amount : BigDecimal.ZERO);
+    }
+
+    Map<Integer, Integer> seats() {
+        return enrollmentActive ? Map.of(classId, 1) : Map.of();
+    }
+
+    Map<Integer, ClassRatingSummary> ratings() {
+        return reviewId != 0 ? Map.of(classId, ClassRatingSummary.of(rating)) : Map.of();
+    }
+
+    Map<RevenueKey, RevenueTotal> revenue() {
+        if (paymentId == 0) {
+            return Map.of();
+        }
+        return Map.of(new RevenueKey(classId, paymentCreatedAt.toLocalDateTime().toLocalDate()), RevenueTotal.of(amount));
+    }
+
+    // 삭제된 리뷰 별점과 결제 금액을 통계/집계에서 뺀다. (삭제 트랜잭션과 별개의 트랜잭션, 실패하면 기록만 하고 재구축으로 보정)
+    private void applyAggregatesAsync() {
+        if (reviewId == 0 && paymentId == 0) {
+            return;
+        }
+        AsyncExecutor.getDefault().supply(() -> {
+            try {
+                return TransientRetry.call("CascadeTarget.applyAggregates", () -> TransactionManager.inTransaction(connection -> {
+                    ClassRatingDAO.applyChange(connection, ratings(), Map.of());
+                    RevenueRollupDAO.applyChange(connection, revenue(), Map.of());
+                    return true;
+                }));
+            } catch (TransientDataAccessException | SQLException e) {
+                log.error("[DAO] 연쇄 삭제 후 별점/매출 집계 반영 실패 (재구축 필요) - 수업 ID: {}, 수강신청 ID: {}, 사유: {}",
+                        classId, enrollmentId, e.getMessage());
+                return false;
+            }
+        });
+    }
+}
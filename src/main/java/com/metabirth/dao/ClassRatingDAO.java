@@ -0,0 +1,148 @@
+package com.metabirth.dao;
+
+import com.metabirth.cache.ClassRatingIndex;
+import com.metabirth.metrics.LatencyHistogram;
+import com.metabirth.metrics.MetricsRegistry;
+import com.metabirth.model.ClassRatingSummary;
+import com.metabirth.util.ConnectionScope;
+import com.metabirth.util.TransactionCallbacks;
+import com.metabirth.util.TransactionManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.*;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.BiConsumer;
+
+/**
+ * 📌 ClassRatingDAO (수업별 리뷰 별점 통계)
+ * - class_rating_stats 행 하나가 수업 하나의 활성 리뷰 수, 별점 합계, 1 ~ 5점 분포를 보관한다.
+ * - 리뷰를 바꾸는 DAO 메서드는 같은 트랜잭션 안에서 변경 전후의 별점을 잠금 조회(lockActiveRatings)하고,
+ *   그 차이를 applyChange로 통계 행에 더한다. 커밋되면 같은 차이가 메모리 통계(ClassRatingIndex)에도 더해진다.
+ */
+public class ClassRatingDAO {
+    private static final Logger log = LoggerFactory.getLogger(ClassRatingDAO.class);
+
+    private static final LatencyHistogram GET_CLASS_RATING_LATENCY = MetricsRegistry.latency("ClassRatingDAO.getClassRating");
+    private static final LatencyHistogram FOR_EACH_CLASS_RATING_LATENCY = MetricsRegistry.latency("ClassRatingDAO.forEachClassRating");
+
+    private static final String COLUMNS = "review_count, rating_sum, rating_1, rating_2, rating_3, rating_4, rating_5";
+
+    // 수업 하나의 별점 통계 조회 (리뷰가 없는 수업이면 EMPTY, 실패 시 null)
+    // 메모리 통계에 올린 뒤에는 커밋된 변경분만 더하므로, 복제 지연이 없는 주 DB에서 읽는다.
+    public ClassRatingSummary getClassRating(int classId) {
+        long startNanos = System.nanoTime();
+        String sql = "SELECT " + COLUMNS + " FROM class_rating_stats WHERE class_id = ?";
+        try (ConnectionScope scope = TransactionManager.openScope();
+             PreparedStatement ps = StatementCache.prepare(scope.connection(), sql)) {
+            ps.setInt(1, classId);
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next() ? mapSummary(rs, 1) : ClassRatingSummary.EMPTY;
+            }
+        } catch (SQLException e) {
+            log.warn("[DAO] 수업 별점 통계 조회 실패 - ID: {}, 사유: {}", classId, e.getMessage());
+            return null;
+        } finally {
+            GET_CLASS_RATING_LATENCY.recordSince(startNanos);
+        }
+    }
+
+    // 모든 수업의 별점 통계를 한 행씩 action에 전달 (ClassRatingIndex.RatingSource)
+    public boolean forEachClassRating(BiConsumer<Integer, ClassRatingSummary> action) {
+        long startNanos = System.nanoTime();
+        String sql = "SELECT class_id, " + COLUMNS + " FROM class_rating_stats";
+        try (ConnectionScope scope = TransactionManager.openScope();
+             PreparedStatement ps = StatementCache.prepare(scope.connection(), sql);
+             ResultSet rs = ps.executeQuery()) {
+            while (rs.next()) {
+                action.accept(rs.getInt(1), mapSummary(rs, 2));
+            }
+            return true;
+        } catch (SQLException e) {
+            log.warn("[DAO] 수업 별점 통계 전체 조회 실패 - 사유: {}", e.getMessage());
+            return false;
+        } finally {
+            FOR_EACH_CLASS_RATING_LATENCY.recordSince(startNanos);
+        }
+    }
+
+    private static ClassRatingSummary mapSummary(ResultSet rs, int firstColumn) throws SQLException {
+        int[] histogram = new int[ClassRatingSummary.MAX_RATING];
+        for (int i = 0; i < histogram.length; i++) {
+            histogram[i] = rs.getInt(firstColumn + 2 + i);
+        }
+        return new ClassRatingSummary(rs.getInt(firstColumn), rs.getLong(firstColumn + 1), histogram);
+    }
+
+    // 조건에 맞는 활성 리뷰를 잠그고 수업별 별점 통계로 합산 (리뷰를 바꾸는 트랜잭션 안에서 호출)
+    /* - condition 은 reviews r, enrollments e 별칭을 사용하는 고정 SQL 조각이며, 값은 params로 바인딩한다.
+     * - 삭제는 변경 전에, 등록은 변경 후에 호출한다. 잠근 리뷰는 커밋할 때까지 다른 트랜잭션이 바꾸지 못하므로
+     *   조회한 별점과 실제로 바뀐 행이 일치한다. */
+    static Map<Integer, ClassRatingSummary> lockActiveRatings(Connection connection, String condition, int... params)
+            throws SQLException {
+        String sql = "SELECT e.class_id, r.rating FROM reviews r "
+                + "JOIN enrollments e ON e.enrollment_id = r.enrollment_id "
+                + "WHERE r.status = 0 AND " + condition + " FOR UPDATE";
+        Map<Integer, ClassRatingSummary> ratings = new TreeMap<>();
+        try (PreparedStatement ps = StatementCache.prepare(connection, sql)) {
+            for (int i = 0; i < params.length; i++) {
+                ps.setInt(i + 1, params[i]);
+            }
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    ratings.merge(rs.getInt(1), ClassRatingSummary.of(rs.getByte(2)), ClassRatingSummary::plus);
+                }
+            }
+        }
+        return ratings;
+    }
+
+    // 리뷰 ID 목록의 활성 리뷰를 잠그고 수업별로 합산 (일괄 등록 후 호출, chunkSize개씩 IN 조건으로 조회)
+    static Map<Integer, ClassRatingSummary> lockActiveRatings(Connection connection, List<Integer> reviewIds,
+                                                              int chunkSize) throws SQLException {
+        Map<Integer, ClassRatingSummary> ratings = new TreeMap<>();
+        for (int from = 0; from < reviewIds.size(); from += chunkSize) {
+            List<Integer> chunk = reviewIds.subList(from, Math.min(from + chunkSize, reviewIds.size()));
+            String condition = "r.review_id IN (" + String.join(", ", Collections.nCopies(chunk.size(), "?")) + ")";
+            lockActiveRatings(connection, condition, chunk.stream().mapToInt(Integer::intValue).toArray())
+                    .forEach((classId, summary) -> ratings.merge(classId, summary, ClassRatingSummary::plus));
+        }
+        return ratings;
+    }
+
+    // 변경 전후 별점의 차이를 통계 행에 더하고, 커밋 이후 메모리 통계에도 더한다.
+    /* - 수업 ID 순서로 갱신하여 여러 수업의 통계를 바꾸는 트랜잭션끼리 교착되지 않도록 한다.
+     * - 통계 행은 커밋할 때까지 잠기므로, 리뷰를 바꾼 뒤 트랜잭션의 마지막 문장으로 호출한다. */
+    static void applyChange(Connection connection, Map<Integer, ClassRatingSummary> before,
+                            Map<Integer, ClassRatingSummary> after) throws SQLException {
+        Map<Integer, ClassRatingSummary> deltas = new TreeMap<>(after);
+        before.forEach((classId, summary) -> deltas.merge(classId, summary.negate(), ClassRatingSummary::plus));
+        deltas.values().removeIf(ClassRatingSummary::isEmpty);
+        if (deltas.isEmpty()) {
+            return;
+        }
+
+        String sql = "INSERT INTO class_rating_stats (class_id, " + COLUMNS + ") VALUES (?, ?, ?, ?, ?, ?, ?, ?) "
+                + "ON DUPLICATE KEY UPDATE review_count = review_count + VALUES(review_count), "
+                + "rating_sum = rating_sum + VALUES(rating_sum), "
+                + "rating_1 = rating_1 + VALUES(rating_1), rating_2 = rating_2 + VALUES(rating_2), "
+                + "rating_3 = rating_3 + VALUES(rating_3), rating_4 = rating_4 + VALUES(rating_4), "
+                + "rating_5 = rating_5 + VALUES(rating_5), updated_at = NOW()";
+        try (PreparedStatement ps = StatementCache.prepare(connection, sql)) {
+            for (Map.Entry<Integer, ClassRatingSummary> entry : deltas.entrySet()) {
+                ClassRatingSummary delta = entry.getValue();
+                ps.setInt(1, entry.getKey());
+                ps.setInt(2, delta.getReviewCount());
+                ps.setLong(3, delta.getRatingSum());
+                for (int rating = ClassRatingSummary.MIN_RATING; rating <= ClassRatingSummary.MAX_RATING; rating++) {
+                    ps.setInt(3 + rating, delta.getCount(rating));
+                }
+                ps.executeUpdate();
+            }
+        }
+        TransactionCallbacks.afterCommit(connection, () -> ClassRatingIndex.getInstance().apply(deltas));
+    }
+}
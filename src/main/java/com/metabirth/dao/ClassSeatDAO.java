@@ -0,0 +1,290 @@
+package com.metabirth.dao;
+
+import com.metabirth.cache.ClassSeatCounter;
+import com.metabirth.metrics.LatencyHistogram;
+import com.metabirth.metrics.MetricsRegistry;
+import com.metabirth.util.ConnectionScope;
+import com.metabirth.util.TransactionCallbacks;
+import com.metabirth.util.TransactionManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 📌 ClassSeatDAO (수업별 좌석 카운터)
+ * - class_seats 행 하나가 수업 하나의 정원(capacity)과 등록된 좌석 수(reserved)를 보관한다.
+ * - 좌석 예약은 메모리 카운터(ClassSeatCounter)가 한다. 수강신청을 삽입하는 DAO 메서드는 같은 트랜잭션 안에서 admitSeats로 예약하고
+ *   settleSeats로 커밋/롤백 시의 처리를 등록하므로, 등록 트랜잭션은 이 행을 잠그지 않는다.
+ * - 이 행은 메모리 카운터가 주기적으로 모아서 반영(applySeatDeltas)하는 공유 값이며, 여러 인스턴스는 이 값을 읽어 서로의 등록을 반영한다.
+ * - 수강신청을 논리 삭제하거나 다른 수업으로 옮기는 DAO 메서드는 같은 트랜잭션 안에서 대상 수강신청을 잠금 조회(lockActiveSeats)하고,
+ *   releaseSeats로 좌석을 반납한다. 커밋되면 메모리 카운터에서 반납되어 빈 좌석을 바로 다시 예약할 수 있다.
+ */
+public class ClassSeatDAO {
+    private static final Logger log = LoggerFactory.getLogger(ClassSeatDAO.class);
+
+    private static final LatencyHistogram GET_SEAT_COUNT_LATENCY = MetricsRegistry.latency("ClassSeatDAO.getSeatCount");
+    private static final LatencyHistogram APPLY_SEAT_DELTAS_LATENCY = MetricsRegistry.latency("ClassSeatDAO.applySeatDeltas");
+    private static final LatencyHistogram RECONCILE_SEAT_COUNT_LATENCY = MetricsRegistry.latency("ClassSeatDAO.reconcileSeatCount");
+
+    // 활성 수강신청 수 (idx_enrollments_class 인덱스만으로 계산)
+    private static final String ACTIVE_ENROLLMENT_COUNT =
+            "(SELECT COUNT(*) FROM enrollments e WHERE e.class_id = c.class_id AND e.status = 0)";
+    // 카운터 행이 없는 수업의 행 생성 (수업 정원과 활성 수강신청 수로 계산)
+    private static final String SEED_SEAT_COUNT = "INSERT IGNORE INTO class_seats (class_id, capacity, reserved) "
+            + "SELECT c.class_id, c.capacity, " + ACTIVE_ENROLLMENT_COUNT + " FROM classes c WHERE c.class_id = ?";
+
+    /**
+     * 📌 수업 하나의 좌석 수
+     */
+    public record SeatCount(int classId, int capacity, int reserved) {
+    }
+
+    // 좌석 수 조회 (카운터 행이 없으면 수업 정보로 만든 뒤 조회, 수업이 없거나 실패 시 null)
+    public SeatCount getSeatCount(int classId) {
+        long startNanos = System.nanoTime();
+        try (ConnectionScope scope = TransactionManager.openScope()) {
+            SeatCount seatCount = selectSeatCount(scope.connection(), classId);
+            if (seatCount == null) {
+                seedSeatCount(scope.connection(), classId);
+                seatCount = selectSeatCount(scope.connection(), classId);
+            }
+            return seatCount;
+        } catch (SQLException e) {
+            log.warn("[DAO] 수업 좌석 조회 실패 - ID: {}, 사유: {}", classId, e.getMessage());
+            return null;
+        } finally {
+            GET_SEAT_COUNT_LATENCY.recordSince(startNanos);
+        }
+    }
+
+    private static SeatCount selectSeatCount(Connection connection, int classId) throws SQLException {
+        String sql = "SELECT capacity, reserved FROM class_seats WHERE class_id = ?";
+        try (PreparedStatement ps = StatementCache.prepare(connection, sql)) {
+            ps.setInt(1, classId);
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next() ? new SeatCount(classId, rs.getInt(1), rs.getInt(2)) : null;
+            }
+        }
+    }
+
+    private static void seedSeatCount(Connection connection, int classId) throws SQLException {
+        try (PreparedStatement ps = StatementCache.prepare(connection, SEED_SEAT_COUNT)) {
+            ps.setInt(1, classId);
+            ps.executeUpdate();
+        }
+    }
+
+    // 카운터 행을 만들지 않고 좌석 수 계산 (등록 트랜잭션 안에서 처음 보는 수업을 메모리 카운터에 올릴 때, 수업이 없으면 null)
+    private static SeatCount loadSeatCount(Connection connection, int classId) throws SQLException {
+        SeatCount seatCount = selectSeatCount(connection, classId);
+        if (seatCount != null) {
+            return seatCount;
+        }
+        String sql = "SELECT c.capacity, " + ACTIVE_ENROLLMENT_COUNT + " FROM classes c WHERE c.class_id = ?";
+        try (PreparedStatement ps = StatementCache.prepare(connection, sql)) {
+            ps.setInt(1, classId);
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next() ? new SeatCount(classId, rs.getInt(1), rs.getInt(2)) : null;
+            }
+        }
+    }
+
+    // 수강신청을 삽입하기 전에 메모리 카운터에서 수업별 좌석 예약 (classId -> 좌석 수)
+    /* - 수강신청을 삽입하는 DAO 메서드가 삽입과 같은 커넥션으로 호출하며, DB 카운터 행은 잠그지 않는다.
+     * - 반환값 : 하나라도 정원이 모자라거나 수업이 없으면 이미 예약한 좌석을 되돌리고 false
+     * - 예약한 좌석은 삽입한 뒤 반드시 settleSeats로 넘긴다. */
+    static boolean admitSeats(Connection connection, Map<Integer, Integer> seatsByClass) throws SQLException {
+        ClassSeatCounter counter = ClassSeatCounter.getInstance();
+        Map<Integer, Integer> admitted = new TreeMap<>();
+        try {
+            for (Map.Entry<Integer, Integer> entry : new TreeMap<>(seatsByClass).entrySet()) {
+                int classId = entry.getKey();
+                if (!counter.isTracked(classId)) {
+                    SeatCount seatCount = loadSeatCount(connection, classId);
+                    if (seatCount != null) {
+                        counter.track(classId, seatCount.capacity(), seatCount.reserved());
+                    }
+                }
+                if (!counter.tryReserve(classId, entry.getValue())) {
+                    log.warn("[DAO] 수업 좌석 예약 실패 (정원 초과 또는 없는 수업) - ID: {}, 요청 좌석: {}, 남은 좌석: {}",
+                            classId, entry.getValue(), counter.getRemaining(classId));
+                    admitted.forEach(counter::cancel);
+                    return false;
+                }
+                admitted.put(classId, entry.getValue());
+            }
+            return true;
+        } catch (SQLException e) {
+            admitted.forEach(counter::cancel);
+            throw e;
+        }
+    }
+
+    // admitSeats로 예약한 좌석의 삽입 결과 반영
+    /* - 삽입했으면 커밋 후 확정, 롤백되면 취소하도록 등록한다. (autocommit 이면 바로 확정)
+     * - 삽입하지 못했으면 바로 취소한다. */
+    static void settleSeats(Connection connection, Map<Integer, Integer> seatsByClass, boolean inserted) throws SQLException {
+        if (seatsByClass.isEmpty()) {
+            return;
+        }
+        ClassSeatCounter counter = ClassSeatCounter.getInstance();
+        if (!inserted) {
+            seatsByClass.forEach(counter::cancel);
+            return;
+        }
+        Map<Integer, Integer> reserved = Map.copyOf(seatsByClass);
+        TransactionCallbacks.afterRollback(connection, () -> reserved.forEach(counter::cancel));
+        TransactionCallbacks.afterCommit(connection, () -> reserved.forEach(counter::confirm));
+    }
+
+    // 수강신청을 다른 수업으로 옮길 때 좌석 이동 (새 수업은 메모리 카운터에서 예약, 기존 수업은 커밋 후 반납)
+    /* - 호출하는 쪽의 트랜잭션 안에서 수강신청을 수정한 뒤 호출한다.
+     * - 반환값 : 새 수업의 정원이 모자라면 false (호출한 쪽에서 롤백) */
+    static boolean moveSeats(Connection connection, int fromClassId, int toClassId, int count) throws SQLException {
+        Map<Integer, Integer> seats = Map.of(toClassId, count);
+        if (!admitSeats(connection, seats)) {
+            return false;
+        }
+        settleSeats(connection, seats, true);
+        releaseSeats(connection, Map.of(fromClassId, count));
+        return true;
+    }
+
+    // 조건에 맞는 활성 수강신청을 잠그고 수업별 좌석 수로 합산 (수강신청을 삭제하거나 옮기는 트랜잭션 안에서, 변경 전에 호출)
+    /* - condition 은 enrollments e 별칭을 사용하는 고정 SQL 조각이며, 값은 params로 바인딩한다. */
+    static Map<Integer, Integer> lockActiveSeats(Connection connection, String condition, int... params)
+            throws SQLException {
+        String sql = "SELECT e.class_id FROM enrollments e WHERE e.status = 0 AND " + condition + " FOR UPDATE";
+        Map<Integer, Integer> seatsByClass = new TreeMap<>();
+        try (PreparedStatement ps = StatementCache.prepare(connection, sql)) {
+            for (int i = 0; i < params.length; i++) {
+                ps.setInt(i + 1, params[i]);
+            }
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    seatsByClass.merge(rs.getInt(1), 1, Integer::sum);
+                }
+            }
+        }
+        return seatsByClass;
+    }
+
+    // 수업별 좌석 반납 (논리 삭제한 수강신청 수만큼, 커밋되면 메모리 카운터에서 반납)
+    /* - DB 카운터 행은 메모리 카운터가 다음 반영(flush) 때 함께 갱신하므로, 삭제 트랜잭션에서는 잠그지 않는다. */
+    static void releaseSeats(Connection connection, Map<Integer, Integer> seatsByClass) throws SQLException {
+        if (seatsByClass.isEmpty()) {
+            return;
+        }
+        Map<Integer, Integer> released = Map.copyOf(seatsByClass);
+        TransactionCallbacks.afterCommit(connection, () -> released.forEach(ClassSeatCounter.getInstance()::release));
+    }
+
+    // 메모리 카운터에 쌓인 수업별 좌석 증감을 DB 카운터에 반영하고 현재 값 조회 (ClassSeatCounter.flush)
+    /* - 호출하는 쪽의 트랜잭션 안에서 실행하며, 수업 ID 순서로 갱신하여 다른 인스턴스의 반영과 교착되지 않도록 한다.
+     * - 카운터 행이 없는 수업은 활성 수강신청 수로 새로 만든다. (이미 커밋된 증감이 포함되므로 더하지 않는다.)
+     * - 반환값 : 반영한 수업의 현재 좌석 수 (수업이 없으면 제외), 실패 시 null */
+    public List<SeatCount> applySeatDeltas(Map<Integer, Integer> deltas) {
+        long startNanos = System.nanoTime();
+        String update = "UPDATE class_seats SET reserved = GREATEST(reserved + ?, 0), updated_at = NOW() WHERE class_id = ?";
+        List<SeatCount> seatCounts = new ArrayList<>(deltas.size());
+        try (ConnectionScope scope = TransactionManager.openScope()) {
+            Connection connection = scope.connection();
+            try (PreparedStatement ps = StatementCache.prepare(connection, update)) {
+                for (Map.Entry<Integer, Integer> entry : new TreeMap<>(deltas).entrySet()) {
+                    if (entry.getValue() == 0) {
+                        continue;
+                    }
+                    ps.setInt(1, entry.getValue());
+                    ps.setInt(2, entry.getKey());
+                    if (ps.executeUpdate() == 0) {
+                        seedSeatCount(connection, entry.getKey());
+                    }
+                }
+            }
+            for (int classId : new TreeMap<>(deltas).keySet()) {
+                SeatCount seatCount = selectSeatCount(connection, classId);
+                if (seatCount != null) {
+                    seatCounts.add(seatCount);
+                }
+            }
+            return seatCounts;
+        } catch (SQLException e) {
+            log.warn("[DAO] 수업 좌석 반영 실패 - {}개 수업, 사유: {}", deltas.size(), e.getMessage());
+            return null;
+        } finally {
+            APPLY_SEAT_DELTAS_LATENCY.recordSince(startNanos);
+        }
+    }
+
+    // 좌석 카운터를 관리할 수업 ID 목록 (실패 시 null)
+    public List<Integer> getClassIds() {
+        List<Integer> classIds = new ArrayList<>();
+        String sql = "SELECT class_id FROM classes ORDER BY class_id";
+        try (ConnectionScope scope = TransactionManager.openScope();
+             PreparedStatement ps = StatementCache.prepare(scope.connection(), sql);
+             ResultSet rs = ps.executeQuery()) {
+            while (rs.next()) {
+                classIds.add(rs.getInt(1));
+            }
+            return classIds;
+        } catch (SQLException e) {
+            log.warn("[DAO] 수업 ID 목록 조회 실패 - 사유: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    // 카운터 행을 수업 정원과 활성 수강신청 수로 다시 계산 (정원 변경, 놓친 변경 보정)
+    /* - 호출하는 쪽의 트랜잭션 안에서 실행해야 한다.
+     * - 카운터 행을 먼저 잠근 뒤 수강신청 수를 세므로, 다른 인스턴스의 반영(applySeatDeltas)은 이 트랜잭션이 끝난 뒤 새 값에 더해진다.
+     * - 반환값 : 다시 계산한 좌석 수, 수업이 없거나 실패 시 null */
+    public SeatCount reconcileSeatCount(int classId) {
+        long startNanos = System.nanoTime();
+        String seed = "INSERT IGNORE INTO class_seats (class_id, capacity, reserved) "
+                + "SELECT c.class_id, c.capacity, 0 FROM classes c WHERE c.class_id = ?";
+        String lock = "SELECT reserved FROM class_seats WHERE class_id = ? FOR UPDATE";
+        String count = "SELECT c.capacity, " + ACTIVE_ENROLLMENT_COUNT + " FROM classes c WHERE c.class_id = ?";
+        String update = "UPDATE class_seats SET capacity = ?, reserved = ?, updated_at = NOW() WHERE class_id = ?";
+        try (ConnectionScope scope = TransactionManager.openScope()) {
+            Connection connection = scope.connection();
+            try (PreparedStatement ps = StatementCache.prepare(connection, seed)) {
+                ps.setInt(1, classId);
+                ps.executeUpdate();
+            }
+            try (PreparedStatement ps = StatementCache.prepare(connection, lock)) {
+                ps.setInt(1, classId);
+                try (ResultSet rs = ps.executeQuery()) {
+                    if (!rs.next()) {
+                        return null;
+                    }
+                }
+            }
+            SeatCount seatCount;
+            try (PreparedStatement ps = StatementCache.prepare(connection, count)) {
+                ps.setInt(1, classId);
+                try (ResultSet rs = ps.executeQuery()) {
+                    if (!rs.next()) {
+                        return null;
+                    }
+                    seatCount = new SeatCount(classId, rs.getInt(1), rs.getInt(2));
+                }
+            }
+            try (PreparedStatement ps = StatementCache.prepare(connection, update)) {
+                ps.setInt(1, seatCount.capacity());
+                ps.setInt(2, seatCount.reserved());
+                ps.setInt(3, classId);
+                ps.executeUpdate();
+            }
+            return seatCount;
+        } catch (SQLException e) {
+            log.warn("[DAO] 수업 좌석 재계산 실패 - ID: {}, 사유: {}", classId, e.getMessage());
+            return null;
+        } finally {
+            RECONCILE_SEAT_COUNT_LATENCY.recordSince(startNanos);
+        }
+    }
+}
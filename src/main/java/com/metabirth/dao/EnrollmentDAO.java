@@ -1,79 +1,137 @@
 package com.metabirth.dao;
 
+import com.metabirth.cache.ActiveEnrollmentIndex;
+import com.metabirth.cache.EntityCaches;
+import com.metabirth.metrics.LatencyHistogram;
+import com.metabirth.metrics.MetricsRegistry;
+import com.metabirth.model.ClassRatingSummary;
 import com.metabirth.model.Enrollment;
+import com.metabirth.model.RevenueKey;
+import com.metabirth.model.RevenueTotal;
+import com.metabirth.util.ConnectionScope;
+import com.metabirth.util.TransactionCallbacks;
+import com.metabirth.util.TransactionManager;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.sql.*;
-import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
+import java.util.stream.Stream;
 
 public class EnrollmentDAO {
     private static final Logger log = LoggerFactory.getLogger(EnrollmentDAO.class);
-    private final Connection connection;
 
-    // 생성자를 통한 Connection 주입
-    public EnrollmentDAO(Connection connection) {
-        this.connection = connection;
-    }
+    // 메서드별 지연 시간 (핫 패스에서 조회 없이 기록하기 위해 필드로 보관)
+    private static final LatencyHistogram FOR_EACH_ENROLLMENT_LATENCY = MetricsRegistry.latency("EnrollmentDAO.forEachEnrollment");
+    private static final LatencyHistogram FOR_EACH_ACTIVE_ENROLLMENT_ID_LATENCY = MetricsRegistry.latency("EnrollmentDAO.forEachActiveEnrollmentId");
+    private static final LatencyHistogram GET_ENROLLMENT_BY_ID_LATENCY = MetricsRegistry.latency("EnrollmentDAO.getEnrollmentById");
+    private static final LatencyHistogram ADD_ENROLLMENT_LATENCY = MetricsRegistry.latency("EnrollmentDAO.addEnrollment");
+    private static final LatencyHistogram ADD_ENROLLMENTS_LATENCY = MetricsRegistry.latency("EnrollmentDAO.addEnrollments");
+    private static final LatencyHistogram UPDATE_ENROLLMENT_LATENCY = MetricsRegistry.latency("EnrollmentDAO.updateEnrollment");
+    private static final LatencyHistogram DELETE_ENROLLMENT_LATENCY = MetricsRegistry.latency("EnrollmentDAO.deleteEnrollment");
+    private static final LatencyHistogram DELETE_ENROLLMENT_CASCADE_LATENCY = MetricsRegistry.latency("EnrollmentDAO.deleteEnrollmentCascade");
+    private static final LatencyHistogram GET_ACTIVE_ENROLLMENT_ID_CHUNK_LATENCY = MetricsRegistry.latency("EnrollmentDAO.getActiveEnrollmentIdChunk");
+    private static final LatencyHistogram DELETE_ENROLLMENTS_IN_RANGE_LATENCY = MetricsRegistry.latency("EnrollmentDAO.deleteEnrollmentsInRange");
+    private static final LatencyHistogram IS_ACTIVE_ENROLLMENT_LATENCY = MetricsRegistry.latency("EnrollmentDAO.isActiveEnrollment");
+    private static final LatencyHistogram GET_ENROLLMENTS_PAGE_LATENCY = MetricsRegistry.latency("EnrollmentDAO.getEnrollmentsPage");
 
     // 모든 수강신청 조회
     public List<Enrollment> getAllEnrollments() {
         List<Enrollment> enrollments = new ArrayList<>();
-        String sql = "SELECT * FROM enrollments WHERE status = 0";
-
-        try (PreparedStatement ps = connection.prepareStatement(sql);
-             ResultSet rs = ps.executeQuery()) {
-            while (rs.next()) {
-                Timestamp updatedTs = rs.getTimestamp("updated_at");
-                LocalDateTime updatedAt = updatedTs != null ? updatedTs.toLocalDateTime() : null;
-                Timestamp deletedTs = rs.getTimestamp("deleted_at");
-                LocalDateTime deletedAt = deletedTs != null ? deletedTs.toLocalDateTime() : null;
-                enrollments.add(new Enrollment(
-                        rs.getInt("enrollment_id"),
-                        rs.getInt("student_id"),
-                        rs.getInt("class_id"),
-                        rs.getByte("status"),
-                        rs.getTimestamp("created_at").toLocalDateTime(),
-                        updatedAt,
-                        deletedAt
-                ));
-            }
-        } catch (SQLException e) {
-            log.warn("[DAO] 수강신청 전체 조회 실패 - 사유: {}", e.getMessage());
+        if (!forEachEnrollment(enrollments::add)) {
             return null;
         }
         return enrollments;
     }
 
+    // 모든 수강신청 스트리밍 조회 (행 단위로 읽어오므로 반환된 Stream은 반드시 close 해야 함)
+    public Stream<Enrollment> streamAllEnrollments() throws SQLException {
+        String sql = "SELECT " + EnrollmentRowMapper.COLUMNS + " FROM enrollments WHERE status = 0";
+        return StreamingQuery.streamForRead(sql, EnrollmentRowMapper.INSTANCE);
+    }
+
+    // 모든 수강신청을 한 행씩 action에 전달 (테이블 크기와 상관없이 메모리 사용량 일정)
+    public boolean forEachEnrollment(Consumer<? super Enrollment> action) {
+        long startNanos = System.nanoTime();
+        try (Stream<Enrollment> enrollments = streamAllEnrollments()) {
+            enrollments.forEach(action);
+            return true;
+        } catch (SQLException e) {
+            log.warn("[DAO] 수강신청 전체 조회 실패 - 사유: {}", e.getMessage());
+            return false;
+        } catch (IllegalStateException e) {
+            if (!(e.getCause() instanceof SQLException)) {
+                throw e;
+            }
+            log.warn("[DAO] 수강신청 전체 조회 실패 - 사유: {}", e.getCause().getMessage());
+            return false;
+        } finally {
+            FOR_EACH_ENROLLMENT_LATENCY.recordSince(startNanos);
+        }
+    }
+
+    // 모든 활성 수강신청 ID를 한 건씩 action에 전달 (활성 수강신청 인덱스 적재용 스트리밍 조회)
+    public boolean forEachActiveEnrollmentId(IntConsumer action) {
+        long startNanos = System.nanoTime();
+        String sql = "SELECT enrollment_id FROM enrollments WHERE status = 0";
+        try (Stream<Integer> enrollmentIds = StreamingQuery.stream(sql, rs -> rs.getInt(1))) {
+            enrollmentIds.forEach(action::accept);
+            return true;
+        } catch (SQLException e) {
+            log.warn("[DAO] 활성 수강신청 ID 조회 실패 - 사유: {}", e.getMessage());
+            return false;
+        } catch (IllegalStateException e) {
+            if (!(e.getCause() instanceof SQLException)) {
+                throw e;
+            }
+            log.warn("[DAO] 활성 수강신청 ID 조회 실패 - 사유: {}", e.getCause().getMessage());
+            return false;
+        } finally {
+            FOR_EACH_ACTIVE_ENROLLMENT_ID_LATENCY.recordSince(startNanos);
+        }
+    }
+
     // 특정 수강신청 조회
     public Enrollment getEnrollmentById(int enrollmentId) {
+        long startNanos = System.nanoTime();
         Enrollment enrollment = null;
-        String sql = "SELECT * FROM enrollments WHERE enrollment_id = ? AND status = 0";
+        String sql = "SELECT " + EnrollmentRowMapper.COLUMNS + " FROM enrollments WHERE enrollment_id = ? AND status = 0";
 
-        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+        // 트랜잭션 밖에서만 캐시 사용 (트랜잭션 안에서는 자신이 변경한 값을 읽어야 하고, 미커밋 값을 캐시하면 안 됨)
+        boolean cacheable = !TransactionManager.isInTransaction();
+        if (cacheable) {
+            Enrollment cached = EntityCaches.ENROLLMENTS.get(enrollmentId);
+            if (cached != null) {
+                GET_ENROLLMENT_BY_ID_LATENCY.recordSince(startNanos);
+                return cached;
+            }
+        }
+        // 읽는 동안 커밋된 수정/삭제의 무효화를 덮어쓰지 않도록 읽기 전 세대 값을 받아 둔다.
+        long ticket = cacheable ? EntityCaches.ENROLLMENTS.loadTicket(enrollmentId) : 0;
+
+        try (ConnectionScope scope = TransactionManager.openReadScope();
+             PreparedStatement ps = StatementCache.prepare(scope.connection(), sql)) {
+            // 복제본에서 읽은 값은 복제 지연으로 이미 변경/삭제된 값일 수 있으므로 캐시에 넣지 않는다.
+            cacheable = cacheable && !scope.isReplica();
             ps.setInt(1, enrollmentId);
             try (ResultSet rs = ps.executeQuery()) {
                 if (rs.next()) {
-                    Timestamp updatedTs = rs.getTimestamp("updated_at");
-                    LocalDateTime updatedAt = updatedTs != null ? updatedTs.toLocalDateTime() : null;
-                    Timestamp deletedTs = rs.getTimestamp("deleted_at");
-                    LocalDateTime deletedAt = deletedTs != null ? deletedTs.toLocalDateTime() : null;
-                    enrollment = new Enrollment(
-                            rs.getInt("enrollment_id"),
-                            rs.getInt("student_id"),
-                            rs.getInt("class_id"),
-                            rs.getByte("status"),
-                            rs.getTimestamp("created_at").toLocalDateTime(),
-                            updatedAt,
-                            deletedAt
-                    );
+                    enrollment = EnrollmentRowMapper.INSTANCE.mapRow(rs);
                 }
             }
         } catch (SQLException e) {
             log.warn("[DAO] 수강신청 단건 조회 실패 - ID: {}, 사유: {}", enrollmentId, e.getMessage());
             return null;
+        } finally {
+            GET_ENROLLMENT_BY_ID_LATENCY.recordSince(startNanos);
+        }
+        if (cacheable && enrollment != null) {
+            EntityCaches.ENROLLMENTS.putIfUnchanged(enrollmentId, enrollment, ticket);
         }
         return enrollment;
     }
@@ -82,72 +140,316 @@ public class EnrollmentDAO {
     /* enrollment_id : 고유키, AUTO_INCREMENT
      * status : 0-활성 상태(디폴트값), 1-삭제 상태
      * create_at : 디폴트값 now()
+     * 삽입 전에 메모리 좌석 카운터에서 좌석을 예약하며, 정원이 차 있으면 삽입하지 않고 false를 반환한다.
+     * (예약은 커밋되면 확정되고 롤백되면 취소된다. ClassSeatDAO.admitSeats)
      * */
     public boolean addEnrollment(Enrollment enrollment) {
+        long startNanos = System.nanoTime();
         String sql = """
                 INSERT INTO enrollments (student_id, class_id)
                 VALUES (?, ?)
                 """;
-        try (PreparedStatement ps = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
-            ps.setInt(1, enrollment.getStudentId());
-            ps.setInt(2, enrollment.getClassId());
-            int affectedRows = ps.executeUpdate();
-            if (affectedRows > 0) {
-                try (ResultSet generatedKeys = ps.getGeneratedKeys()) {
-                    if (generatedKeys.next()) {
-                        enrollment.setEnrollmentId(generatedKeys.getInt(1));
+        Map<Integer, Integer> seats = Map.of(enrollment.getClassId(), 1);
+        try (ConnectionScope scope = TransactionManager.openScope()) {
+            Connection connection = scope.connection();
+            if (!ClassSeatDAO.admitSeats(connection, seats)) {
+                log.warn("[DAO] 수강신청 등록 실패 (수업 정원 초과) - studentId: {}, classId: {}",
+                        enrollment.getStudentId(), enrollment.getClassId());
+                return false;
+            }
+            int affectedRows = 0;
+            try (PreparedStatement ps = StatementCache.prepare(connection, sql, Statement.RETURN_GENERATED_KEYS)) {
+                ps.setInt(1, enrollment.getStudentId());
+                ps.setInt(2, enrollment.getClassId());
+                affectedRows = ps.executeUpdate();
+                if (affectedRows > 0) {
+                    try (ResultSet generatedKeys = ps.getGeneratedKeys()) {
+                        if (generatedKeys.next()) {
+                            enrollment.setEnrollmentId(generatedKeys.getInt(1));
+                        }
                     }
+                    int enrollmentId = enrollment.getEnrollmentId();
+                    TransactionCallbacks.afterCommit(connection, () -> ActiveEnrollmentIndex.getInstance().add(enrollmentId));
                 }
+            } finally {
+                ClassSeatDAO.settleSeats(connection, seats, affectedRows > 0);
             }
             return affectedRows > 0;
         } catch (SQLException e) {
             log.warn("[DAO] 수강신청 등록 실패 - studentId: {}, classId: {}, 사유: {}",
                     enrollment.getStudentId(), enrollment.getClassId(), e.getMessage());
             return false;
+        } finally {
+            ADD_ENROLLMENT_LATENCY.recordSince(startNanos);
+        }
+    }
+
+    // 수강신청 일괄 삽입 (기본 chunk 크기 사용)
+    public BatchResult addEnrollments(List<Enrollment> enrollments) {
+        return addEnrollments(enrollments, BatchInsert.DEFAULT_CHUNK_SIZE);
+    }
+
+    // 수강신청 일괄 삽입
+    /* - chunkSize 건씩 JDBC 배치로 묶어 multi-row INSERT로 전송 (rewriteBatchedStatements)
+     * - 생성된 ID는 입력 순서대로 각 객체에 기록되며, 행별 성공/실패는 BatchResult로 확인한다.
+     * - 삽입 전에 전체 좌석을 메모리 좌석 카운터에서 예약하며, 정원을 넘는 수업이 하나라도 있으면 아무것도 삽입하지 않는다. (전체 실패)
+     * */
+    public BatchResult addEnrollments(List<Enrollment> enrollments, int chunkSize) {
+        long startNanos = System.nanoTime();
+        String sql = """
+                INSERT INTO enrollments (student_id, class_id)
+                VALUES (?, ?)
+                """;
+        Map<Integer, Integer> seats = new TreeMap<>();
+        enrollments.forEach(enrollment -> seats.merge(enrollment.getClassId(), 1, Integer::sum));
+        // 인덱스 반영과 좌석 확정/취소를 배치 삽입과 같은 커넥션(트랜잭션)에 등록하기 위해 작업 단위를 먼저 연다.
+        try (ConnectionScope scope = TransactionManager.openScope()) {
+            Connection connection = scope.connection();
+            if (!ClassSeatDAO.admitSeats(connection, seats)) {
+                log.warn("[DAO] 수강신청 일괄 등록 실패 (수업 정원 초과) - {}건", enrollments.size());
+                return new BatchResult(enrollments.size());
+            }
+            BatchResult result = null;
+            try {
+                result = BatchInsert.execute(sql, enrollments, chunkSize,
+                        (ps, enrollment) -> {
+                            ps.setInt(1, enrollment.getStudentId());
+                            ps.setInt(2, enrollment.getClassId());
+                        },
+                        Enrollment::setEnrollmentId, "수강신청");
+                registerActiveIds(connection, result);
+                return result;
+            } finally {
+                settleSeats(connection, enrollments, seats, result);
+            }
+        } catch (SQLException e) {
+            log.warn("[DAO] 수강신청 일괄 등록 실패 - 사유: {}", e.getMessage());
+            return new BatchResult(enrollments.size());
+        } finally {
+            ADD_ENROLLMENTS_LATENCY.recordSince(startNanos);
+        }
+    }
+
+    // 일괄 삽입 결과에 따라 예약한 좌석을 넘김 (삽입된 행은 커밋 후 확정, 실패한 행은 바로 취소)
+    private static void settleSeats(Connection connection, List<Enrollment> enrollments,
+                                    Map<Integer, Integer> seats, BatchResult result) throws SQLException {
+        if (result == null) {
+            ClassSeatDAO.settleSeats(connection, seats, false);
+            return;
+        }
+        Map<Integer, Integer> inserted = new TreeMap<>();
+        Map<Integer, Integer> failed = new TreeMap<>();
+        for (int i = 0; i < result.size(); i++) {
+            (result.isSucceeded(i) ? inserted : failed).merge(enrollments.get(i).getClassId(), 1, Integer::sum);
         }
+        ClassSeatDAO.settleSeats(connection, failed, false);
+        ClassSeatDAO.settleSeats(connection, inserted, true);
     }
 
     // 수강신청 업데이트
+    /* class_id 가 바뀌면 연결된 리뷰와 결제가 다른 수업으로 옮겨지므로,
+     * 수정 전후의 별점과 결제 금액을 잠금 조회하여 같은 트랜잭션에서 수업별 별점 통계와 일별 매출 집계에 반영한다.
+     * 좌석은 새 수업에서 메모리 좌석 카운터로 예약하고 커밋 후 기존 수업에 반납하며, 새 수업의 정원이 차 있으면 수정하지 않는다. */
     public boolean updateEnrollment(Enrollment enrollment) {
+        long startNanos = System.nanoTime();
         String sql = """
                 UPDATE enrollments SET student_id = ?, class_id = ?, updated_at = now() 
                 WHERE enrollment_id = ? AND status = 0
                 """;
-        try (PreparedStatement ps = connection.prepareStatement(sql)) {
-            ps.setInt(1, enrollment.getStudentId());
-            ps.setInt(2, enrollment.getClassId());
-            ps.setInt(3, enrollment.getEnrollmentId());
-            int affectedRows = ps.executeUpdate();
-            return affectedRows > 0;
+        int enrollmentId = enrollment.getEnrollmentId();
+        try {
+            return TransactionManager.inTransaction(connection -> {
+                Map<Integer, Integer> seatsBefore = ClassSeatDAO.lockActiveSeats(connection, "e.enrollment_id = ?", enrollmentId);
+                Map<Integer, ClassRatingSummary> ratingsBefore =
+                        ClassRatingDAO.lockActiveRatings(connection, "r.enrollment_id = ?", enrollmentId);
+                Map<RevenueKey, RevenueTotal> revenueBefore =
+                        RevenueRollupDAO.lockActivePayments(connection, "p.enrollment_id = ?", enrollmentId);
+                try (PreparedStatement ps = StatementCache.prepare(connection, sql)) {
+                    ps.setInt(1, enrollment.getStudentId());
+                    ps.setInt(2, enrollment.getClassId());
+                    ps.setInt(3, enrollmentId);
+                    if (ps.executeUpdate() == 0) {
+                        return false;
+                    }
+                }
+                ClassRatingDAO.applyChange(connection, ratingsBefore,
+                        ClassRatingDAO.lockActiveRatings(connection, "r.enrollment_id = ?", enrollmentId));
+                RevenueRollupDAO.applyChange(connection, revenueBefore,
+                        RevenueRollupDAO.lockActivePayments(connection, "p.enrollment_id = ?", enrollmentId));
+                for (int classId : seatsBefore.keySet()) {
+                    if (classId != enrollment.getClassId()
+                            && !ClassSeatDAO.moveSeats(connection, classId, enrollment.getClassId(), 1)) {
+                        TransactionManager.setRollbackOnly();
+                        log.warn("[DAO] 수강신청 수정 실패 (수업 정원 초과) - ID: {}, 수업: {}", enrollmentId, enrollment.getClassId());
+                        return false;
+                    }
+                }
+                TransactionCallbacks.afterCommit(connection, () -> EntityCaches.ENROLLMENTS.invalidate(enrollmentId));
+                return true;
+            });
         } catch (SQLException e) {
             log.warn("[DAO] 수강신청 수정 실패 - ID: {}, 사유: {}", enrollment.getEnrollmentId(), e.getMessage());
             return false;
+        } finally {
+            UPDATE_ENROLLMENT_LATENCY.recordSince(startNanos);
         }
     }
 
-    // 수강신청 삭제 (논리적 삭제)
+    // 수강신청 삭제 (논리적 삭제, 커밋 후 수업 좌석 반납)
     public boolean deleteEnrollment(int enrollmentId) {
+        long startNanos = System.nanoTime();
         String sql = """
                 UPDATE enrollments SET status = 1, updated_at = now(), deleted_at = now()
                 WHERE enrollment_id = ? AND status = 0
                 """;
-        try (PreparedStatement ps = connection.prepareStatement(sql)) {
-            ps.setInt(1, enrollmentId);
-            int affectedRows = ps.executeUpdate();
-            return true;
+        try {
+            return TransactionManager.inTransaction(connection -> {
+                Map<Integer, Integer> seats = ClassSeatDAO.lockActiveSeats(connection, "e.enrollment_id = ?", enrollmentId);
+                try (PreparedStatement ps = StatementCache.prepare(connection, sql)) {
+                    ps.setInt(1, enrollmentId);
+                    int affectedRows = ps.executeUpdate();
+                    if (affectedRows > 0) {
+                        ClassSeatDAO.releaseSeats(connection, seats);
+                        TransactionCallbacks.afterCommit(connection, () -> {
+                            EntityCaches.ENROLLMENTS.invalidate(enrollmentId);
+                            ActiveEnrollmentIndex.getInstance().remove(enrollmentId);
+                        });
+                    }
+                }
+                return true;
+            });
         } catch (SQLException e) {
             log.warn("[DAO] 수강신청 삭제 실패 - ID: {}, 사유: {}", enrollmentId, e.getMessage());
             return false;
+        } finally {
+            DELETE_ENROLLMENT_LATENCY.recordSince(startNanos);
+        }
+    }
+
+    // 수강신청 연쇄 삭제 (논리적 삭제)
+    /* 수강신청과 연결된 결제내역, 리뷰를 multi-table UPDATE 한 문장으로 함께 논리 삭제한다.
+     * - 대상은 잠금 없이 한 번 조회하고, UPDATE는 조회한 값이 그대로일 때만 적용한다. (CascadeTarget 참고)
+     * - 수강신청의 수업 좌석은 커밋 후 메모리 좌석 카운터에 반납하고, 리뷰 별점과 결제 금액은 커밋 후 비동기로 통계/집계에서 뺀다.
+     * - 반환값 : 영향받은 전체 행 수 (0 이면 활성 상태의 수강신청이 없음), 실패 시 -1
+     * */
+    public int deleteEnrollmentCascade(int enrollmentId) {
+        long startNanos = System.nanoTime();
+        String select = """
+                SELECT %s
+                FROM enrollments e
+                LEFT JOIN payments p ON p.enrollment_id = e.enrollment_id AND p.status = 0
+                LEFT JOIN reviews r ON r.enrollment_id = e.enrollment_id AND r.status = 0
+                WHERE e.enrollment_id = ? AND e.status = 0
+                """.formatted(CascadeTarget.COLUMNS);
+        String update = """
+                UPDATE enrollments e
+                LEFT JOIN payments p ON p.enrollment_id = e.enrollment_id AND p.status = 0
+                LEFT JOIN reviews r ON r.enrollment_id = e.enrollment_id AND r.status = 0
+                SET e.status = 1, e.updated_at = now(), e.deleted_at = now(),
+                    p.status = 1, p.updated_at = now(), p.deleted_at = now(),
+                    r.status = 1, r.updated_at = now(), r.deleted_at = now()
+                WHERE e.enrollment_id = ? AND e.status = 0 AND %s
+                """.formatted(CascadeTarget.GUARD);
+        try (ConnectionScope scope = TransactionManager.openScope()) {
+            return CascadeTarget.delete(scope.connection(), select, update, enrollmentId, target -> {
+                EntityCaches.invalidateEnrollmentGroup(enrollmentId);
+                ActiveEnrollmentIndex.getInstance().remove(enrollmentId);
+            });
+        } catch (SQLException e) {
+            log.warn("[DAO] 수강신청 연쇄 삭제 실패 - ID: {}, 사유: {}", enrollmentId, e.getMessage());
+            return -1;
+        } finally {
+            DELETE_ENROLLMENT_CASCADE_LATENCY.recordSince(startNanos);
+        }
+    }
+
+    // 범위 내 활성 수강신청 ID를 기본키 순으로 최대 limit개 조회 (일괄 취소 시 chunk 경계 계산용)
+    public List<Integer> getActiveEnrollmentIdChunk(EnrollmentScope scope, int key, int afterId, int limit) {
+        long startNanos = System.nanoTime();
+        List<Integer> enrollmentIds = new ArrayList<>(limit);
+        String sql = """
+                SELECT enrollment_id FROM enrollments
+                WHERE %s = ? AND status = 0 AND enrollment_id > ?
+                ORDER BY enrollment_id
+                LIMIT ?
+                """.formatted(scope.column());
+        try (ConnectionScope connectionScope = TransactionManager.openScope();
+             PreparedStatement ps = StatementCache.prepare(connectionScope.connection(), sql)) {
+            ps.setInt(1, key);
+            ps.setInt(2, afterId);
+            ps.setInt(3, limit);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    enrollmentIds.add(rs.getInt(1));
+                }
+            }
+        } catch (SQLException e) {
+            log.warn("[DAO] 수강신청 ID 범위 조회 실패 - {}: {}, afterId: {}, 사유: {}", scope, key, afterId, e.getMessage());
+            return null;
+        } finally {
+            GET_ACTIVE_ENROLLMENT_ID_CHUNK_LATENCY.recordSince(startNanos);
+        }
+        return enrollmentIds;
+    }
+
+    // 범위 내 수강신청 일괄 삭제 (논리적 삭제), 기본키 구간 [fromId, toId] 으로 잠금 범위를 제한
+    /* - 삭제할 수강신청을 먼저 잠금 조회하고, 커밋 후 수업 좌석을 반납한다.
+     * - 반환값 : 삭제된 행 수, 실패 시 -1 */
+    public int deleteEnrollmentsInRange(EnrollmentScope scope, int key, int fromId, int toId) {
+        long startNanos = System.nanoTime();
+        String sql = """
+                UPDATE enrollments SET status = 1, updated_at = now(), deleted_at = now()
+                WHERE %s = ? AND status = 0 AND enrollment_id BETWEEN ? AND ?
+                """.formatted(scope.column());
+        String condition = "e.%s = ? AND e.enrollment_id BETWEEN ? AND ?".formatted(scope.column());
+        try {
+            return TransactionManager.inTransaction(connection -> {
+                Map<Integer, Integer> seats = ClassSeatDAO.lockActiveSeats(connection, condition, key, fromId, toId);
+                try (PreparedStatement ps = StatementCache.prepare(connection, sql)) {
+                    ps.setInt(1, key);
+                    ps.setInt(2, fromId);
+                    ps.setInt(3, toId);
+                    int affectedRows = ps.executeUpdate();
+                    if (affectedRows > 0) {
+                        ClassSeatDAO.releaseSeats(connection, seats);
+                        TransactionCallbacks.afterCommit(connection, () -> EntityCaches.ENROLLMENTS.invalidateIf(
+                                enrollment -> enrollment.getEnrollmentId() >= fromId && enrollment.getEnrollmentId() <= toId));
+                    }
+                    return affectedRows;
+                }
+            });
+        } catch (SQLException e) {
+            log.warn("[DAO] 수강신청 일괄 삭제 실패 - {}: {}, 범위: [{}, {}], 사유: {}", scope, key, fromId, toId, e.getMessage());
+            return -1;
+        } finally {
+            DELETE_ENROLLMENTS_IN_RANGE_LATENCY.recordSince(startNanos);
         }
     }
 
     // 수강신청이 활성 상태/삭제 상태인지 확인하는 메소드
+    /* - 인덱스 적재가 끝난 뒤에는 트랜잭션 여부와 상관없이 활성 수강신청 인덱스만으로 답한다. (적중/미스 모두 DB 조회 없음)
+     * - 인덱스는 이 프로세스의 변경을 커밋 직후 반영하고, 다른 프로세스의 변경은 재적재 주기
+     *   (ActiveEnrollmentIndex.DEFAULT_RECONCILE_INTERVAL_MINUTES) 안에 반영한다. 그동안의 결과는 빠른 사전 확인일 뿐이므로,
+     *   활성 여부가 정합성에 영향을 주는 쓰기(ReviewDAO.addReview 등)는 같은 트랜잭션의 SQL 조건으로 다시 확인한다.
+     * - 적재 전에만 DB로 확인한다.
+     * */
     public boolean isActiveEnrollment(int enrollmentId) {
+        long startNanos = System.nanoTime();
+        ActiveEnrollmentIndex index = ActiveEnrollmentIndex.getInstance();
+        boolean active = index.isLoaded()
+                ? index.contains(enrollmentId)
+                : isActiveEnrollmentInDatabase(enrollmentId);
+        IS_ACTIVE_ENROLLMENT_LATENCY.recordSince(startNanos);
+        return active;
+    }
+
+    private boolean isActiveEnrollmentInDatabase(int enrollmentId) {
         String sql = """
                 SELECT COUNT(*) FROM enrollments WHERE enrollment_id = ? AND status = 0
                 """;
 
-        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+        try (ConnectionScope scope = TransactionManager.openReadScope();
+             PreparedStatement ps = StatementCache.prepare(scope.connection(), sql)) {
             ps.setInt(1, enrollmentId);
             try (ResultSet rs = ps.executeQuery()) {
                 if (rs.next()) {
@@ -160,4 +462,56 @@ public class EnrollmentDAO {
 
         return false;
     }
+
+    // 수강신청 페이지 조회 (키셋 페이지네이션: afterId보다 큰 ID를 ID 순으로 최대 pageSize개 조회)
+    public Page<Enrollment> getEnrollmentsPage(int afterId, int pageSize) {
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("pageSize는 1 이상이어야 합니다: " + pageSize);
+        }
+        long startNanos = System.nanoTime();
+        List<Enrollment> enrollments = new ArrayList<>(pageSize + 1);
+        String sql = "SELECT " + EnrollmentRowMapper.COLUMNS + " FROM enrollments"
+                + " WHERE status = 0 AND enrollment_id > ?"
+                + " ORDER BY enrollment_id LIMIT ?";
+        try (ConnectionScope scope = TransactionManager.openReadScope();
+             PreparedStatement ps = StatementCache.prepare(scope.connection(), sql)) {
+            ps.setInt(1, afterId);
+            ps.setInt(2, pageSize + 1); // 다음 페이지 존재 여부 확인을 위해 한 건 더 조회
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    enrollments.add(EnrollmentRowMapper.INSTANCE.mapRow(rs));
+                }
+            }
+        } catch (SQLException e) {
+            log.warn("[DAO] 수강신청 페이지 조회 실패 - afterId: {}, 사유: {}", afterId, e.getMessage());
+            return null;
+        } finally {
+            GET_ENROLLMENTS_PAGE_LATENCY.recordSince(startNanos);
+        }
+
+        boolean hasNext = enrollments.size() > pageSize;
+        if (hasNext) {
+            enrollments.remove(pageSize);
+        }
+        int nextCursor = enrollments.isEmpty() ? afterId : enrollments.get(enrollments.size() - 1).getEnrollmentId();
+        return new Page<>(enrollments, nextCursor, hasNext);
+    }
+
+    // 일괄 등록에 성공한 수강신청 ID를 커밋 이후 활성 수강신청 인덱스에 반영
+    private void registerActiveIds(Connection connection, BatchResult result) {
+        List<Integer> enrollmentIds = new ArrayList<>(result.getSuccessCount());
+        for (int i = 0; i < result.size(); i++) {
+            if (result.isSucceeded(i)) {
+                enrollmentIds.add(result.getGeneratedKey(i));
+            }
+        }
+        if (enrollmentIds.isEmpty()) {
+            return;
+        }
+        try {
+            TransactionCallbacks.afterCommit(connection, () -> enrollmentIds.forEach(ActiveEnrollmentIndex.getInstance()::add));
+        } catch (SQLException e) {
+            log.warn("[DAO] 활성 수강신청 인덱스 반영 실패 - 사유: {}", e.getMessage());
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,34 @@
+package com.metabirth.dao;
+
+import com.metabirth.model.Enrollment;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+
+/**
+ * 📌 EnrollmentRowMapper
+ * - COLUMNS 순서와 mapRow의 컬럼 인덱스가 반드시 일치해야 한다.
+ */
+public final class EnrollmentRowMapper implements RowMapper<Enrollment> {
+    public static final String COLUMNS =
+            "enrollment_id, student_id, class_id, status, created_at, updated_at, deleted_at";
+
+    public static final EnrollmentRowMapper INSTANCE = new EnrollmentRowMapper();
+
+    private EnrollmentRowMapper() {
+    }
+
+    @Override
+    public Enrollment mapRow(ResultSet rs) throws SQLException {
+        return new Enrollment(
+                rs.getInt(1),
+                rs.getInt(2),
+                rs.getInt(3),
+                rs.getByte(4),
+                rs.getObject(5, LocalDateTime.class),
+                rs.getObject(6, LocalDateTime.class),
+                rs.getObject(7, LocalDateTime.class)
+        );
+    }
+}
@@ -0,0 +1,22 @@
+package com.metabirth.dao;
+
+/**
+ * 📌 EnrollmentScope (일괄 처리 대상 수강신청 범위)
+ * - CLASS : 특정 수업(class_id)의 수강신청 전체
+ * - STUDENT : 특정 학생(student_id)의 수강신청 전체
+ * - SQL에 들어가는 컬럼명은 enum 상수로만 결정되므로 외부 입력이 쿼리에 직접 섞이지 않는다.
+ */
+public enum EnrollmentScope {
+    CLASS("class_id"),
+    STUDENT("student_id");
+
+    private final String column;
+
+    EnrollmentScope(String column) {
+        this.column = column;
+    }
+
+    String column() {
+        return column;
+    }
+}
@@ -0,0 +1,48 @@
+package com.metabirth.dao;
+
+import java.util.List;
+
+/**
+ * 📌 Page (키셋 페이지네이션 결과)
+ * - 한 페이지에 해당하는 목록과 다음 페이지 조회에 사용할 커서(마지막 기본키)를 함께 보관
+ * - 다음 페이지는 `WHERE id > nextCursor ORDER BY id LIMIT ?` 로 조회하므로 페이지 깊이와 상관없이 비용이 일정하다.
+ */
+public class Page<T> {
+    // 첫 페이지를 조회할 때 사용하는 커서 값 (AUTO_INCREMENT 기본키는 1부터 시작)
+    public static final int FIRST_CURSOR = 0;
+
+    private final List<T> items;
+    private final int nextCursor;
+    private final boolean hasNext;
+
+    public Page(List<T> items, int nextCursor, boolean hasNext) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+        this.hasNext = hasNext;
+    }
+
+    public List<T> getItems() {
+        return items;
+    }
+
+    public int getNextCursor() {
+        return nextCursor;
+    }
+
+    public boolean hasNext() {
+        return hasNext;
+    }
+
+    public boolean isEmpty() {
+        return items.isEmpty();
+    }
+
+    @Override
+    public String toString() {
+        return "Page{" +
+                "size=" + items.size() +
+                ", nextCursor=" + nextCursor +
+                ", hasNext=" + hasNext +
+                '}';
+    }
+}
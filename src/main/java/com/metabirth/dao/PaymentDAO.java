@@ -1,76 +1,110 @@
 package com.metabirth.dao;
 
+import com.metabirth.cache.ActiveEnrollmentIndex;
+import com.metabirth.cache.EntityCaches;
+import com.metabirth.metrics.LatencyHistogram;
+import com.metabirth.metrics.MetricsRegistry;
 import com.metabirth.model.Payment;
+import com.metabirth.model.RevenueKey;
+import com.metabirth.model.RevenueTotal;
+import com.metabirth.util.ConnectionScope;
+import com.metabirth.util.TransactionCallbacks;
+import com.metabirth.util.TransactionManager;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.sql.*;
-import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 public class PaymentDAO {
     private static final Logger log = LoggerFactory.getLogger(PaymentDAO.class);
-    private final Connection connection;
 
-    public PaymentDAO(Connection connection) {
-        this.connection = connection;
-    }
+    // 메서드별 지연 시간 (핫 패스에서 조회 없이 기록하기 위해 필드로 보관)
+    private static final LatencyHistogram FOR_EACH_PAYMENT_LATENCY = MetricsRegistry.latency("PaymentDAO.forEachPayment");
+    private static final LatencyHistogram GET_PAYMENT_BY_ID_LATENCY = MetricsRegistry.latency("PaymentDAO.getPaymentById");
+    private static final LatencyHistogram ADD_PAYMENT_LATENCY = MetricsRegistry.latency("PaymentDAO.addPayment");
+    private static final LatencyHistogram ADD_PAYMENTS_LATENCY = MetricsRegistry.latency("PaymentDAO.addPayments");
+    private static final LatencyHistogram UPDATE_PAYMENT_LATENCY = MetricsRegistry.latency("PaymentDAO.updatePayment");
+    private static final LatencyHistogram DELETE_PAYMENT_LATENCY = MetricsRegistry.latency("PaymentDAO.deletePayment");
+    private static final LatencyHistogram DELETE_PAYMENT_CASCADE_LATENCY = MetricsRegistry.latency("PaymentDAO.deletePaymentCascade");
+    private static final LatencyHistogram DELETE_PAYMENTS_BY_ENROLLMENT_RANGE_LATENCY = MetricsRegistry.latency("PaymentDAO.deletePaymentsByEnrollmentRange");
+    private static final LatencyHistogram DELETE_PAYMENT_BY_ENROLLMENT_ID_LATENCY = MetricsRegistry.latency("PaymentDAO.deletePaymentByEnrollmentId");
+    private static final LatencyHistogram GET_PAYMENTS_PAGE_LATENCY = MetricsRegistry.latency("PaymentDAO.getPaymentsPage");
 
     // 모든 결제내역 조회
     public List<Payment> getAllPayments() {
         List<Payment> payments = new ArrayList<>();
-        String sql = "SELECT * FROM payments WHERE status = 0";
-        try (PreparedStatement ps = connection.prepareStatement(sql);
-             ResultSet rs = ps.executeQuery()) {
-            while (rs.next()) {
-                Timestamp updatedTs = rs.getTimestamp("updated_at");
-                LocalDateTime updatedAt = updatedTs != null ? updatedTs.toLocalDateTime() : null;
-                Timestamp deletedTs = rs.getTimestamp("deleted_at");
-                LocalDateTime deletedAt = deletedTs != null ? deletedTs.toLocalDateTime() : null;
-                payments.add(new Payment(
-                        rs.getInt("payment_id"),
-                        rs.getBigDecimal("amount"),
-                        rs.getByte("status"),
-                        rs.getTimestamp("created_at").toLocalDateTime(),
-                        updatedAt,
-                        deletedAt,
-                        rs.getInt("enrollment_id")
-                ));
-            }
-        } catch (SQLException e) {
-            log.warn("[DAO] 결제 전체 조회 실패 - 사유: {}", e.getMessage());
+        if (!forEachPayment(payments::add)) {
             return null;
         }
         return payments;
     }
 
+    // 모든 결제내역 스트리밍 조회 (행 단위로 읽어오므로 반환된 Stream은 반드시 close 해야 함)
+    public Stream<Payment> streamAllPayments() throws SQLException {
+        String sql = "SELECT " + PaymentRowMapper.COLUMNS + " FROM payments WHERE status = 0";
+        return StreamingQuery.streamForRead(sql, PaymentRowMapper.INSTANCE);
+    }
+
+    // 모든 결제내역을 한 행씩 action에 전달 (테이블 크기와 상관없이 메모리 사용량 일정)
+    public boolean forEachPayment(Consumer<? super Payment> action) {
+        long startNanos = System.nanoTime();
+        try (Stream<Payment> payments = streamAllPayments()) {
+            payments.forEach(action);
+            return true;
+        } catch (SQLException e) {
+            log.warn("[DAO] 결제 전체 조회 실패 - 사유: {}", e.getMessage());
+            return false;
+        } catch (IllegalStateException e) {
+            if (!(e.getCause() instanceof SQLException)) {
+                throw e;
+            }
+            log.warn("[DAO] 결제 전체 조회 실패 - 사유: {}", e.getCause().getMessage());
+            return false;
+        } finally {
+            FOR_EACH_PAYMENT_LATENCY.recordSince(startNanos);
+        }
+    }
+
     // 특정 결제내역 조회
     public Payment getPaymentById(int paymentId) {
+        long startNanos = System.nanoTime();
         Payment payment = null;
-        String sql = "SELECT * FROM payments WHERE payment_id = ? AND status = 0";
-        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+        String sql = "SELECT " + PaymentRowMapper.COLUMNS + " FROM payments WHERE payment_id = ? AND status = 0";
+        // 트랜잭션 밖에서만 캐시 사용 (트랜잭션 안에서는 자신이 변경한 값을 읽어야 하고, 미커밋 값을 캐시하면 안 됨)
+        boolean cacheable = !TransactionManager.isInTransaction();
+        if (cacheable) {
+            Payment cached = EntityCaches.PAYMENTS.get(paymentId);
+            if (cached != null) {
+                GET_PAYMENT_BY_ID_LATENCY.recordSince(startNanos);
+                return cached;
+            }
+        }
+        // 읽는 동안 커밋된 수정/삭제의 무효화를 덮어쓰지 않도록 읽기 전 세대 값을 받아 둔다.
+        long ticket = cacheable ? EntityCaches.PAYMENTS.loadTicket(paymentId) : 0;
+
+        try (ConnectionScope scope = TransactionManager.openReadScope();
+             PreparedStatement ps = StatementCache.prepare(scope.connection(), sql)) {
+            // 복제본에서 읽은 값은 복제 지연으로 이미 변경/삭제된 값일 수 있으므로 캐시에 넣지 않는다.
+            cacheable = cacheable && !scope.isReplica();
             ps.setInt(1, paymentId);
             try (ResultSet rs = ps.executeQuery()) {
                 if (rs.next()) {
-                    Timestamp updatedTs = rs.getTimestamp("updated_at");
-                    LocalDateTime updatedAt = updatedTs != null ? updatedTs.toLocalDateTime() : null;
-                    Timestamp deletedTs = rs.getTimestamp("deleted_at");
-                    LocalDateTime deletedAt = deletedTs != null ? deletedTs.toLocalDateTime() : null;
-                    payment = new Payment(
-                            rs.getInt("payment_id"),
-                            rs.getBigDecimal("amount"),
-                            rs.getByte("status"),
-                            rs.getTimestamp("created_at").toLocalDateTime(),
-                            updatedAt,
-                            deletedAt,
-                            rs.getInt("enrollment_id")
-                    );
+                    payment = PaymentRowMapper.INSTANCE.mapRow(rs);
                 }
             }
         } catch (SQLException e) {
             log.warn("[DAO] 결제 단건 조회 실패 (ID: {}) - 사유: {}", paymentId, e.getMessage());
             return null;
+        } finally {
+            GET_PAYMENT_BY_ID_LATENCY.recordSince(startNanos);
+        }
+        if (cacheable && payment != null) {
+            EntityCaches.PAYMENTS.putIfUnchanged(paymentId, payment, ticket);
         }
         return payment;
     }
@@ -84,69 +118,285 @@ public class PaymentDAO {
      *  → 활성 상태 레코드에 대해서만 (enrollment_id) 유니크 제약 적용
      * - 논리 삭제된 후 동일 enrollment_id를 가진 결제내역을 다시 등록할 수 있음
      *  (예: 삭제된 결제 다시 등록 시 제약 조건 위반 없음)
+     * - 생성된 결제 ID를 payment에 기록한다.
+     * - 수업별 일별 매출 집계(RevenueRollupDAO)를 같은 트랜잭션에서 갱신한다.
      * */
     public boolean addPayment(Payment payment) {
+        long startNanos = System.nanoTime();
         String sql = """
                 INSERT INTO payments (amount, enrollment_id)
                 VALUES (?, ?)
                 """;
-        try (PreparedStatement ps = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
-            ps.setBigDecimal(1, payment.getAmount());
-            ps.setInt(2, payment.getEnrollmentId());
-            int affectedRows = ps.executeUpdate();
-            return affectedRows > 0;
+        try {
+            return TransactionManager.inTransaction(connection -> {
+                try (PreparedStatement ps = StatementCache.prepare(connection, sql, Statement.RETURN_GENERATED_KEYS)) {
+                    ps.setBigDecimal(1, payment.getAmount());
+                    ps.setInt(2, payment.getEnrollmentId());
+                    if (ps.executeUpdate() == 0) {
+                        return false;
+                    }
+                    try (ResultSet keys = ps.getGeneratedKeys()) {
+                        if (!keys.next()) {
+                            throw new SQLException("생성된 결제 ID를 확인할 수 없습니다.");
+                        }
+                        int paymentId = keys.getInt(1);
+                        RevenueRollupDAO.applyChange(connection, Map.of(),
+                                RevenueRollupDAO.lockActivePayments(connection, "p.payment_id = ?", paymentId));
+                        payment.setPaymentId(paymentId);
+                    }
+                    return true;
+                }
+            });
         } catch (SQLException e) {
             log.warn("[DAO] 결제 등록 실패 - enrollmentId: {}, 사유: {}", payment.getEnrollmentId(), e.getMessage());
             return false;
+        } finally {
+            ADD_PAYMENT_LATENCY.recordSince(startNanos);
+        }
+    }
+
+    // 결제 일괄 삽입 (기본 chunk 크기 사용)
+    public BatchResult addPayments(List<Payment> payments) {
+        return addPayments(payments, BatchInsert.DEFAULT_CHUNK_SIZE);
+    }
+
+    // 결제 일괄 삽입
+    /* - chunkSize 건씩 JDBC 배치로 묶어 multi-row INSERT로 전송 (rewriteBatchedStatements)
+     * - 생성된 ID는 입력 순서대로 각 객체에 기록되며, 행별 성공/실패는 BatchResult로 확인한다.
+     * - 등록된 결제를 일별 매출 집계에 반영해야 하므로 전체를 하나의 트랜잭션으로 실행한다.
+     *   (실패한 chunk는 건너뛰고, 집계 반영에 실패하면 전체를 롤백하고 모든 행을 실패로 반환)
+     * */
+    public BatchResult addPayments(List<Payment> payments, int chunkSize) {
+        long startNanos = System.nanoTime();
+        String sql = """
+                INSERT INTO payments (amount, enrollment_id)
+                VALUES (?, ?)
+                """;
+        try {
+            return TransactionManager.inTransaction(connection -> {
+                BatchResult result = BatchInsert.execute(sql, payments, chunkSize,
+                        (ps, payment) -> {
+                            ps.setBigDecimal(1, payment.getAmount());
+                            ps.setInt(2, payment.getEnrollmentId());
+                        },
+                        Payment::setPaymentId, "결제");
+                List<Integer> paymentIds = new ArrayList<>(result.getSuccessCount());
+                for (int i = 0; i < result.size(); i++) {
+                    if (result.isSucceeded(i)) {
+                        paymentIds.add(result.getGeneratedKey(i));
+                    }
+                }
+                RevenueRollupDAO.applyChange(connection, Map.of(),
+                        RevenueRollupDAO.lockActivePayments(connection, paymentIds, chunkSize));
+                return result;
+            });
+        } catch (SQLException e) {
+            log.warn("[DAO] 결제 일괄 등록 매출 집계 반영 실패 - 전체 롤백, 사유: {}", e.getMessage());
+            payments.forEach(payment -> payment.setPaymentId(0));
+            return new BatchResult(payments.size());
+        } finally {
+            ADD_PAYMENTS_LATENCY.recordSince(startNanos);
         }
     }
 
     // 결제내역 업데이트 (enrollment_id는 외래키이므로 수정 불가)
+    // 수정 전 금액을 잠금 조회한 뒤 수정하고, 금액 차이를 같은 트랜잭션에서 일별 매출 집계에 반영한다.
     public boolean updatePayment(Payment payment) {
+        long startNanos = System.nanoTime();
         String sql = """
                 UPDATE payments SET amount = ?, updated_at = now()
                 WHERE payment_id = ? AND status = 0
                 """;
-        try (PreparedStatement ps = connection.prepareStatement(sql)) {
-            ps.setBigDecimal(1, payment.getAmount());
-            ps.setInt(2, payment.getPaymentId());
-            int affectedRows = ps.executeUpdate();
-            return affectedRows > 0;
+        String condition = "p.payment_id = ?";
+        try {
+            return TransactionManager.inTransaction(connection -> {
+                Map<RevenueKey, RevenueTotal> before = RevenueRollupDAO.lockActivePayments(connection, condition, payment.getPaymentId());
+                try (PreparedStatement ps = StatementCache.prepare(connection, sql)) {
+                    ps.setBigDecimal(1, payment.getAmount());
+                    ps.setInt(2, payment.getPaymentId());
+                    if (ps.executeUpdate() == 0) {
+                        return false;
+                    }
+                }
+                RevenueRollupDAO.applyChange(connection, before,
+                        RevenueRollupDAO.lockActivePayments(connection, condition, payment.getPaymentId()));
+                TransactionCallbacks.afterCommit(connection, () -> EntityCaches.PAYMENTS.invalidate(payment.getPaymentId()));
+                return true;
+            });
         } catch (SQLException e) {
             log.warn("[DAO] 결제 수정 실패 - paymentId: {}, 사유: {}", payment.getPaymentId(), e.getMessage());
             return false;
+        } finally {
+            UPDATE_PAYMENT_LATENCY.recordSince(startNanos);
         }
     }
 
-    // 결제내역 삭제 (논리적 삭제)
+    // 결제내역 삭제 (논리적 삭제, 같은 트랜잭션에서 일별 매출 집계에서 제외)
     public boolean deletePayment(int paymentId) {
+        long startNanos = System.nanoTime();
         String sql = """
                 UPDATE payments SET status = 1, updated_at = now(), deleted_at = now()
                 WHERE payment_id = ? AND status = 0
                 """;
-        try (PreparedStatement ps = connection.prepareStatement(sql)) {
-            ps.setInt(1, paymentId);
-            int affectedRows = ps.executeUpdate();
-            return true;
+        try {
+            return TransactionManager.inTransaction(connection -> {
+                Map<RevenueKey, RevenueTotal> before = RevenueRollupDAO.lockActivePayments(connection, "p.payment_id = ?", paymentId);
+                try (PreparedStatement ps = StatementCache.prepare(connection, sql)) {
+                    ps.setInt(1, paymentId);
+                    if (ps.executeUpdate() > 0) {
+                        RevenueRollupDAO.applyChange(connection, before, Map.of());
+                        TransactionCallbacks.afterCommit(connection, () -> EntityCaches.PAYMENTS.invalidate(paymentId));
+                    }
+                }
+                return true;
+            });
         } catch (SQLException e) {
             log.warn("[DAO] 결제 삭제 실패 - paymentId: {}, 사유: {}", paymentId, e.getMessage());
             return false;
+        } finally {
+            DELETE_PAYMENT_LATENCY.recordSince(startNanos);
+        }
+    }
+
+    // 결제내역 연쇄 삭제 (논리적 삭제)
+    /* 결제내역과 같은 수강신청에 연결된 수강신청, 리뷰를 multi-table UPDATE 한 문장으로 함께 논리 삭제한다.
+     * - 대상은 잠금 없이 한 번 조회하고, UPDATE는 조회한 값이 그대로일 때만 적용한다. (CascadeTarget 참고)
+     * - 함께 삭제되는 수강신청의 수업 좌석은 커밋 후 메모리 좌석 카운터에 반납하고, 리뷰 별점과 결제 금액은 커밋 후 비동기로 통계/집계에서 뺀다.
+     * - 반환값 : 영향받은 전체 행 수 (0 이면 활성 상태의 결제내역이 없음), 실패 시 -1
+     * */
+    public int deletePaymentCascade(int paymentId) {
+        long startNanos = System.nanoTime();
+        // 매출 집계 키에는 수강신청 상태와 상관없이 수업 ID가 필요하므로 조회는 수강신청을 상태 조건 없이 조인한다.
+        String select = """
+                SELECT %s
+                FROM payments p
+                JOIN enrollments e ON e.enrollment_id = p.enrollment_id
+                LEFT JOIN reviews r ON r.enrollment_id = p.enrollment_id AND r.status = 0
+                WHERE p.payment_id = ? AND p.status = 0
+                """.formatted(CascadeTarget.COLUMNS);
+        String update = """
+                UPDATE payments p
+                LEFT JOIN enrollments e ON e.enrollment_id = p.enrollment_id AND e.status = 0
+                LEFT JOIN reviews r ON r.enrollment_id = p.enrollment_id AND r.status = 0
+                SET p.status = 1, p.updated_at = now(), p.deleted_at = now(),
+                    e.status = 1, e.updated_at = now(), e.deleted_at = now(),
+                    r.status = 1, r.updated_at = now(), r.deleted_at = now()
+                WHERE p.payment_id = ? AND p.status = 0 AND %s
+                """.formatted(CascadeTarget.GUARD);
+        try (ConnectionScope scope = TransactionManager.openScope()) {
+            return CascadeTarget.delete(scope.connection(), select, update, paymentId,
+                    target -> invalidatePaymentGroup(paymentId, target.enrollmentId()));
+        } catch (SQLException e) {
+            log.warn("[DAO] 결제 연쇄 삭제 실패 - paymentId: {}, 사유: {}", paymentId, e.getMessage());
+            return -1;
+        } finally {
+            DELETE_PAYMENT_CASCADE_LATENCY.recordSince(startNanos);
+        }
+    }
+
+    // 범위 내 수강신청에 연결된 결제내역 일괄 삭제 (논리적 삭제), 수강신청 기본키 구간 [fromId, toId] 기준
+    /* - 수강신청보다 먼저 호출해야 한다. (활성 수강신청과 조인하여 대상을 찾음)
+     * - 삭제할 결제 금액을 먼저 잠금 조회하고, 삭제 후 같은 트랜잭션에서 일별 매출 집계에서 뺀다.
+     * - 반환값 : 삭제된 행 수, 실패 시 -1
+     * */
+    public int deletePaymentsByEnrollmentRange(EnrollmentScope scope, int key, int fromId, int toId) {
+        long startNanos = System.nanoTime();
+        String sql = """
+                UPDATE payments p
+                JOIN enrollments e ON e.enrollment_id = p.enrollment_id
+                SET p.status = 1, p.updated_at = now(), p.deleted_at = now()
+                WHERE e.%s = ? AND e.status = 0 AND e.enrollment_id BETWEEN ? AND ? AND p.status = 0
+                """.formatted(scope.column());
+        String condition = "e.%s = ? AND e.status = 0 AND e.enrollment_id BETWEEN ? AND ?".formatted(scope.column());
+        try {
+            return TransactionManager.inTransaction(connection -> {
+                Map<RevenueKey, RevenueTotal> before = RevenueRollupDAO.lockActivePayments(connection, condition, key, fromId, toId);
+                try (PreparedStatement ps = StatementCache.prepare(connection, sql)) {
+                    ps.setInt(1, key);
+                    ps.setInt(2, fromId);
+                    ps.setInt(3, toId);
+                    int affectedRows = ps.executeUpdate();
+                    if (affectedRows > 0) {
+                        RevenueRollupDAO.applyChange(connection, before, Map.of());
+                        TransactionCallbacks.afterCommit(connection, () -> EntityCaches.PAYMENTS.invalidateIf(
+                                payment -> payment.getEnrollmentId() >= fromId && payment.getEnrollmentId() <= toId));
+                    }
+                    return affectedRows;
+                }
+            });
+        } catch (SQLException e) {
+            log.warn("[DAO] 결제 일괄 삭제 실패 - {}: {}, 범위: [{}, {}], 사유: {}", scope, key, fromId, toId, e.getMessage());
+            return -1;
+        } finally {
+            DELETE_PAYMENTS_BY_ENROLLMENT_RANGE_LATENCY.recordSince(startNanos);
         }
     }
 
-    // 결제내역 삭제 (논리적 삭제), 수강신청 ID 이용
+    // 결제내역 삭제 (논리적 삭제), 수강신청 ID 이용 (같은 트랜잭션에서 일별 매출 집계에서 제외)
     public boolean deletePaymentByEnrollmentId(int enrollmentId) {
+        long startNanos = System.nanoTime();
         String sql = """
                 UPDATE payments SET status = 1, updated_at = now(), deleted_at = now()
                 WHERE enrollment_id = ? AND status = 0
                 """;
-        try (PreparedStatement ps = connection.prepareStatement(sql)) {
-            ps.setInt(1, enrollmentId);
-            int affectedRows = ps.executeUpdate();
-            return true;
+        try {
+            return TransactionManager.inTransaction(connection -> {
+                Map<RevenueKey, RevenueTotal> before = RevenueRollupDAO.lockActivePayments(connection, "p.enrollment_id = ?", enrollmentId);
+                try (PreparedStatement ps = StatementCache.prepare(connection, sql)) {
+                    ps.setInt(1, enrollmentId);
+                    if (ps.executeUpdate() > 0) {
+                        RevenueRollupDAO.applyChange(connection, before, Map.of());
+                        TransactionCallbacks.afterCommit(connection, () -> EntityCaches.PAYMENTS.invalidateIf(payment -> payment.getEnrollmentId() == enrollmentId));
+                    }
+                }
+                return true;
+            });
         } catch (SQLException e) {
             log.warn("[DAO] 결제 삭제 실패 - enrollmentId: {}, 사유: {}", enrollmentId, e.getMessage());
             return false;
+        } finally {
+            DELETE_PAYMENT_BY_ENROLLMENT_ID_LATENCY.recordSince(startNanos);
+        }
+    }
+
+    // 결제내역 페이지 조회 (키셋 페이지네이션: afterId보다 큰 ID를 ID 순으로 최대 pageSize개 조회)
+    public Page<Payment> getPaymentsPage(int afterId, int pageSize) {
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("pageSize는 1 이상이어야 합니다: " + pageSize);
         }
+        long startNanos = System.nanoTime();
+        List<Payment> payments = new ArrayList<>(pageSize + 1);
+        String sql = "SELECT " + PaymentRowMapper.COLUMNS + " FROM payments"
+                + " WHERE status = 0 AND payment_id > ?"
+                + " ORDER BY payment_id LIMIT ?";
+        try (ConnectionScope scope = TransactionManager.openReadScope();
+             PreparedStatement ps = StatementCache.prepare(scope.connection(), sql)) {
+            ps.setInt(1, afterId);
+            ps.setInt(2, pageSize + 1); // 다음 페이지 존재 여부 확인을 위해 한 건 더 조회
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    payments.add(PaymentRowMapper.INSTANCE.mapRow(rs));
+                }
+            }
+        } catch (SQLException e) {
+            log.warn("[DAO] 결제내역 페이지 조회 실패 - afterId: {}, 사유: {}", afterId, e.getMessage());
+            return null;
+        } finally {
+            GET_PAYMENTS_PAGE_LATENCY.recordSince(startNanos);
+        }
+
+        boolean hasNext = payments.size() > pageSize;
+        if (hasNext) {
+            payments.remove(pageSize);
+        }
+        int nextCursor = payments.isEmpty() ? afterId : payments.get(payments.size() - 1).getPaymentId();
+        return new Page<>(payments, nextCursor, hasNext);
+    }
+
+    // 결제 연쇄 삭제 후 캐시 무효화 및 활성 수강신청 인덱스 갱신 (연결된 수강신청 그룹만)
+    private static void invalidatePaymentGroup(int paymentId, int enrollmentId) {
+        EntityCaches.PAYMENTS.invalidate(paymentId);
+        EntityCaches.invalidateEnrollmentGroup(enrollmentId);
+        ActiveEnrollmentIndex.getInstance().remove(enrollmentId);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,34 @@
+package com.metabirth.dao;
+
+import com.metabirth.model.Payment;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+
+/**
+ * 📌 PaymentRowMapper
+ * - COLUMNS 순서와 mapRow의 컬럼 인덱스가 반드시 일치해야 한다.
+ */
+public final class PaymentRowMapper implements RowMapper<Payment> {
+    public static final String COLUMNS =
+            "payment_id, amount, status, created_at, updated_at, deleted_at, enrollment_id";
+
+    public static final PaymentRowMapper INSTANCE = new PaymentRowMapper();
+
+    private PaymentRowMapper() {
+    }
+
+    @Override
+    public Payment mapRow(ResultSet rs) throws SQLException {
+        return new Payment(
+                rs.getInt(1),
+                rs.getBigDecimal(2),
+                rs.getByte(3),
+                rs.getObject(4, LocalDateTime.class),
+                rs.getObject(5, LocalDateTime.class),
+                rs.getObject(6, LocalDateTime.class),
+                rs.getInt(7)
+        );
+    }
+}
@@ -0,0 +1,81 @@
+package com.metabirth.dao;
+
+import com.metabirth.metrics.LatencyHistogram;
+import com.metabirth.metrics.MetricsRegistry;
+import com.metabirth.model.RegistrationRequest;
+import com.metabirth.util.ConnectionScope;
+import com.metabirth.util.TransactionManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.*;
+
+/**
+ * 📌 RegistrationRequestDAO (등록 요청 멱등 키)
+ * - 클라이언트가 보낸 요청 키를 등록 트랜잭션 안에서 기록하여, 같은 키의 재시도가 다시 등록되지 않도록 한다.
+ * - 키 선점(claimRequestKey)은 트랜잭션의 첫 문장으로 실행한다.
+ *   같은 키의 요청이 진행 중이면 그 트랜잭션이 끝날 때까지 기다린 뒤, 커밋되었으면 0, 롤백되었으면 1을 반환한다.
+ * - 등록 결과와 함께 요청 본문 지문(payload_hash)을 기록하여, 같은 키로 본문이 다른 요청이 오면 서비스가 거절할 수 있게 한다.
+ */
+public class RegistrationRequestDAO {
+    private static final Logger log = LoggerFactory.getLogger(RegistrationRequestDAO.class);
+
+    private static final LatencyHistogram GET_REGISTRATION_REQUEST_LATENCY = MetricsRegistry.latency("RegistrationRequestDAO.getRegistrationRequest");
+    private static final LatencyHistogram CLAIM_REQUEST_KEY_LATENCY = MetricsRegistry.latency("RegistrationRequestDAO.claimRequestKey");
+    private static final LatencyHistogram COMPLETE_REQUEST_LATENCY = MetricsRegistry.latency("RegistrationRequestDAO.completeRequest");
+
+    // 처리가 끝난 요청 조회 (없거나 실패 시 null)
+    // 방금 커밋된 요청도 보여야 하므로 복제본이 아닌 주 DB에서 읽는다.
+    public RegistrationRequest getRegistrationRequest(String requestKey) {
+        long startNanos = System.nanoTime();
+        String sql = "SELECT payload_hash, enrollment_id, payment_id FROM registration_requests "
+                + "WHERE request_key = ? AND enrollment_id IS NOT NULL";
+        try (ConnectionScope scope = TransactionManager.openScope();
+             PreparedStatement ps = StatementCache.prepare(scope.connection(), sql)) {
+            ps.setString(1, requestKey);
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next() ? new RegistrationRequest(requestKey, rs.getString(1), rs.getInt(2), rs.getInt(3)) : null;
+            }
+        } catch (SQLException e) {
+            log.warn("[DAO] 등록 요청 조회 실패 - 키: {}, 사유: {}", requestKey, e.getMessage());
+            return null;
+        } finally {
+            GET_REGISTRATION_REQUEST_LATENCY.recordSince(startNanos);
+        }
+    }
+
+    // 요청 키 선점 (반환값 : 선점하면 1, 이미 처리된 키이면 0, 실패 시 -1)
+    public int claimRequestKey(String requestKey) {
+        long startNanos = System.nanoTime();
+        String sql = "INSERT IGNORE INTO registration_requests (request_key) VALUES (?)";
+        try (ConnectionScope scope = TransactionManager.openScope();
+             PreparedStatement ps = StatementCache.prepare(scope.connection(), sql)) {
+            ps.setString(1, requestKey);
+            return ps.executeUpdate();
+        } catch (SQLException e) {
+            log.warn("[DAO] 등록 요청 키 선점 실패 - 키: {}, 사유: {}", requestKey, e.getMessage());
+            return -1;
+        } finally {
+            CLAIM_REQUEST_KEY_LATENCY.recordSince(startNanos);
+        }
+    }
+
+    // 선점한 키에 요청 본문 지문과 등록된 ID 기록
+    public boolean completeRequest(RegistrationRequest request) {
+        long startNanos = System.nanoTime();
+        String sql = "UPDATE registration_requests SET payload_hash = ?, enrollment_id = ?, payment_id = ? WHERE request_key = ?";
+        try (ConnectionScope scope = TransactionManager.openScope();
+             PreparedStatement ps = StatementCache.prepare(scope.connection(), sql)) {
+            ps.setString(1, request.getPayloadHash());
+            ps.setInt(2, request.getEnrollmentId());
+            ps.setInt(3, request.getPaymentId());
+            ps.setString(4, request.getRequestKey());
+            return ps.executeUpdate() == 1;
+        } catch (SQLException e) {
+            log.warn("[DAO] 등록 요청 기록 실패 - 키: {}, 사유: {}", request.getRequestKey(), e.getMessage());
+            return false;
+        } finally {
+            COMPLETE_REQUEST_LATENCY.recordSince(startNanos);
+        }
+    }
+}
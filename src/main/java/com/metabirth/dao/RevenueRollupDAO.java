@@ -0,0 +1,202 @@
+package com.metabirth.dao;
+
+import com.metabirth.cache.RevenueRollup;
+import com.metabirth.metrics.LatencyHistogram;
+import com.metabirth.metrics.MetricsRegistry;
+import com.metabirth.model.RevenueKey;
+import com.metabirth.model.RevenueTotal;
+import com.metabirth.util.ConnectionScope;
+import com.metabirth.util.TransactionCallbacks;
+import com.metabirth.util.TransactionManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.*;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.BiConsumer;
+import java.util.stream.Stream;
+
+/**
+ * 📌 RevenueRollupDAO (수업별 / 일별 매출 집계)
+ * - revenue_rollups 행 하나가 (수업, 결제일)의 활성 결제 수와 금액 합계(최소 화폐 단위)를 보관한다.
+ * - 결제를 바꾸는 DAO 메서드는 같은 트랜잭션 안에서 변경 전후의 결제를 잠금 조회(lockActivePayments)하고,
+ *   그 차이를 applyChange로 집계 행에 더한다. 커밋되면 같은 차이가 메모리 집계(RevenueRollup)에도 더해진다.
+ * - 결제일은 DB 세션 시간대와 상관없이 모든 경로에서 같도록, created_at 을 읽어 애플리케이션에서 날짜로 변환한다.
+ */
+public class RevenueRollupDAO {
+    private static final Logger log = LoggerFactory.getLogger(RevenueRollupDAO.class);
+
+    private static final LatencyHistogram FOR_EACH_ROLLUP_LATENCY = MetricsRegistry.latency("RevenueRollupDAO.forEachRollup");
+    private static final LatencyHistogram REBUILD_CLASS_ROLLUP_LATENCY = MetricsRegistry.latency("RevenueRollupDAO.rebuildClassRollup");
+
+    // 결제 한 행 (수업, 결제일, 금액)
+    private static final RowMapper<Map.Entry<RevenueKey, RevenueTotal>> PAYMENT_REVENUE_MAPPER = rs -> Map.entry(
+            new RevenueKey(rs.getInt(1), rs.getTimestamp(2).toLocalDateTime().toLocalDate()),
+            RevenueTotal.of(rs.getBigDecimal(3)));
+
+    // 모든 (수업, 결제일) 집계를 한 행씩 action에 전달 (RevenueRollup.RevenueSource)
+    public boolean forEachRollup(BiConsumer<RevenueKey, RevenueTotal> action) {
+        long startNanos = System.nanoTime();
+        String sql = "SELECT class_id, revenue_date, payment_count, amount_minor FROM revenue_rollups";
+        try (ConnectionScope scope = TransactionManager.openScope();
+             PreparedStatement ps = StatementCache.prepare(scope.connection(), sql);
+             ResultSet rs = ps.executeQuery()) {
+            while (rs.next()) {
+                action.accept(new RevenueKey(rs.getInt(1), rs.getDate(2).toLocalDate()),
+                        new RevenueTotal(rs.getLong(3), rs.getLong(4)));
+            }
+            return true;
+        } catch (SQLException e) {
+            log.warn("[DAO] 매출 집계 전체 조회 실패 - 사유: {}", e.getMessage());
+            return false;
+        } finally {
+            FOR_EACH_ROLLUP_LATENCY.recordSince(startNanos);
+        }
+    }
+
+    // 재구축할 수업 ID 목록 (수업 목록 + 이미 집계 행이 있는 수업, 실패 시 null)
+    public List<Integer> getRollupClassIds() {
+        List<Integer> classIds = new ArrayList<>();
+        String sql = "SELECT class_id FROM classes UNION SELECT class_id FROM revenue_rollups ORDER BY 1";
+        try (ConnectionScope scope = TransactionManager.openScope();
+             PreparedStatement ps = StatementCache.prepare(scope.connection(), sql);
+             ResultSet rs = ps.executeQuery()) {
+            while (rs.next()) {
+                classIds.add(rs.getInt(1));
+            }
+            return classIds;
+        } catch (SQLException e) {
+            log.warn("[DAO] 매출 집계 수업 ID 목록 조회 실패 - 사유: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    // 수업 하나의 집계 행을 활성 결제로 다시 계산 (결제일 -> 합계, 실패 시 null)
+    /* - 호출하는 쪽의 트랜잭션 안에서 실행해야 한다.
+     * - 수업의 집계 행 범위를 먼저 잠근 뒤 결제를 스트리밍으로 읽으므로, 진행 중인 결제 변경은 이 트랜잭션이 끝난 뒤
+     *   다시 계산한 값에 더해진다.
+     * - 커밋되면 메모리 집계의 해당 수업도 교체된다. */
+    public Map<LocalDate, RevenueTotal> rebuildClassRollup(int classId) {
+        long startNanos = System.nanoTime();
+        String lock = "SELECT revenue_date FROM revenue_rollups WHERE class_id = ? FOR UPDATE";
+        String scan = "SELECT e.class_id, p.created_at, p.amount FROM payments p "
+                + "JOIN enrollments e ON e.enrollment_id = p.enrollment_id "
+                + "WHERE e.class_id = ? AND p.status = 0";
+        String delete = "DELETE FROM revenue_rollups WHERE class_id = ?";
+        String insert = "INSERT INTO revenue_rollups (class_id, revenue_date, payment_count, amount_minor) VALUES (?, ?, ?, ?)";
+        try (ConnectionScope scope = TransactionManager.openScope()) {
+            Connection connection = scope.connection();
+            try (PreparedStatement ps = StatementCache.prepare(connection, lock)) {
+                ps.setInt(1, classId);
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) {
+                        // 잠금만 목적이므로 결과는 사용하지 않는다.
+                    }
+                }
+            }
+
+            Map<LocalDate, RevenueTotal> totals = new TreeMap<>();
+            try (Stream<Map.Entry<RevenueKey, RevenueTotal>> payments =
+                         StreamingQuery.stream(connection, scan, PAYMENT_REVENUE_MAPPER, classId)) {
+                payments.forEach(payment -> totals.merge(payment.getKey().date(), payment.getValue(), RevenueTotal::plus));
+            } catch (IllegalStateException e) {
+                if (e.getCause() instanceof SQLException cause) {
+                    throw cause;
+                }
+                throw e;
+            }
+
+            try (PreparedStatement ps = StatementCache.prepare(connection, delete)) {
+                ps.setInt(1, classId);
+                ps.executeUpdate();
+            }
+            if (!totals.isEmpty()) {
+                try (PreparedStatement ps = StatementCache.prepare(connection, insert)) {
+                    for (Map.Entry<LocalDate, RevenueTotal> entry : totals.entrySet()) {
+                        ps.setInt(1, classId);
+                        ps.setDate(2, Date.valueOf(entry.getKey()));
+                        ps.setLong(3, entry.getValue().getPaymentCount());
+                        ps.setLong(4, entry.getValue().getAmountMinor());
+                        ps.addBatch();
+                    }
+                    ps.executeBatch();
+                }
+            }
+            TransactionCallbacks.afterCommit(connection, () -> RevenueRollup.getInstance().replaceClass(classId, totals));
+            return totals;
+        } catch (SQLException e) {
+            log.warn("[DAO] 매출 집계 재구축 실패 - 수업 ID: {}, 사유: {}", classId, e.getMessage());
+            return null;
+        } finally {
+            REBUILD_CLASS_ROLLUP_LATENCY.recordSince(startNanos);
+        }
+    }
+
+    // 조건에 맞는 활성 결제를 잠그고 (수업, 결제일)별로 합산 (결제를 바꾸는 트랜잭션 안에서 호출)
+    /* - condition 은 payments p, enrollments e 별칭을 사용하는 고정 SQL 조각이며, 값은 params로 바인딩한다.
+     * - 삭제는 변경 전에, 등록은 변경 후에, 수정은 전후 모두 호출한다. */
+    static Map<RevenueKey, RevenueTotal> lockActivePayments(Connection connection, String condition, int... params)
+            throws SQLException {
+        String sql = "SELECT e.class_id, p.created_at, p.amount FROM payments p "
+                + "JOIN enrollments e ON e.enrollment_id = p.enrollment_id "
+                + "WHERE p.status = 0 AND " + condition + " FOR UPDATE";
+        Map<RevenueKey, RevenueTotal> revenue = new TreeMap<>();
+        try (PreparedStatement ps = StatementCache.prepare(connection, sql)) {
+            for (int i = 0; i < params.length; i++) {
+                ps.setInt(i + 1, params[i]);
+            }
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    Map.Entry<RevenueKey, RevenueTotal> payment = PAYMENT_REVENUE_MAPPER.mapRow(rs);
+                    revenue.merge(payment.getKey(), payment.getValue(), RevenueTotal::plus);
+                }
+            }
+        }
+        return revenue;
+    }
+
+    // 결제 ID 목록의 활성 결제를 잠그고 합산 (일괄 등록 후 호출, chunkSize개씩 IN 조건으로 조회)
+    static Map<RevenueKey, RevenueTotal> lockActivePayments(Connection connection, List<Integer> paymentIds,
+                                                            int chunkSize) throws SQLException {
+        Map<RevenueKey, RevenueTotal> revenue = new TreeMap<>();
+        for (int from = 0; from < paymentIds.size(); from += chunkSize) {
+            List<Integer> chunk = paymentIds.subList(from, Math.min(from + chunkSize, paymentIds.size()));
+            String condition = "p.payment_id IN (" + String.join(", ", Collections.nCopies(chunk.size(), "?")) + ")";
+            lockActivePayments(connection, condition, chunk.stream().mapToInt(Integer::intValue).toArray())
+                    .forEach((key, total) -> revenue.merge(key, total, RevenueTotal::plus));
+        }
+        return revenue;
+    }
+
+    // 변경 전후 결제의 차이를 집계 행에 더하고, 커밋 이후 메모리 집계에도 더한다.
+    /* - (수업, 결제일) 순서로 갱신하여 여러 행을 바꾸는 트랜잭션끼리 교착되지 않도록 한다.
+     * - 집계 행은 커밋할 때까지 잠기므로, 결제를 바꾼 뒤 호출한다. */
+    static void applyChange(Connection connection, Map<RevenueKey, RevenueTotal> before,
+                            Map<RevenueKey, RevenueTotal> after) throws SQLException {
+        Map<RevenueKey, RevenueTotal> deltas = new TreeMap<>(after);
+        before.forEach((key, total) -> deltas.merge(key, total.negate(), RevenueTotal::plus));
+        deltas.values().removeIf(RevenueTotal::isEmpty);
+        if (deltas.isEmpty()) {
+            return;
+        }
+
+        String sql = "INSERT INTO revenue_rollups (class_id, revenue_date, payment_count, amount_minor) VALUES (?, ?, ?, ?) "
+                + "ON DUPLICATE KEY UPDATE payment_count = payment_count + VALUES(payment_count), "
+                + "amount_minor = amount_minor + VALUES(amount_minor), updated_at = NOW()";
+        try (PreparedStatement ps = StatementCache.prepare(connection, sql)) {
+            for (Map.Entry<RevenueKey, RevenueTotal> entry : deltas.entrySet()) {
+                ps.setInt(1, entry.getKey().classId());
+                ps.setDate(2, Date.valueOf(entry.getKey().date()));
+                ps.setLong(3, entry.getValue().getPaymentCount());
+                ps.setLong(4, entry.getValue().getAmountMinor());
+                ps.executeUpdate();
+            }
+        }
+        TransactionCallbacks.afterCommit(connection, () -> RevenueRollup.getInstance().apply(deltas));
+    }
+}
@@ -1,78 +1,107 @@
 package com.metabirth.dao;
 
+import com.metabirth.cache.EntityCaches;
+import com.metabirth.metrics.LatencyHistogram;
+import com.metabirth.metrics.MetricsRegistry;
+import com.metabirth.model.ClassRatingSummary;
 import com.metabirth.model.Review;
+import com.metabirth.util.ConnectionScope;
+import com.metabirth.util.TransactionCallbacks;
+import com.metabirth.util.TransactionManager;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.sql.*;
-import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 public class ReviewDAO {
     private static final Logger log = LoggerFactory.getLogger(ReviewDAO.class);
-    private final Connection connection;
 
-    public ReviewDAO(Connection connection) {
-        this.connection = connection;
-    }
+    // 메서드별 지연 시간 (핫 패스에서 조회 없이 기록하기 위해 필드로 보관)
+    private static final LatencyHistogram FOR_EACH_REVIEW_LATENCY = MetricsRegistry.latency("ReviewDAO.forEachReview");
+    private static final LatencyHistogram GET_REVIEW_BY_ID_LATENCY = MetricsRegistry.latency("ReviewDAO.getReviewById");
+    private static final LatencyHistogram ADD_REVIEW_LATENCY = MetricsRegistry.latency("ReviewDAO.addReview");
+    private static final LatencyHistogram ADD_REVIEWS_LATENCY = MetricsRegistry.latency("ReviewDAO.addReviews");
+    private static final LatencyHistogram UPDATE_REVIEW_LATENCY = MetricsRegistry.latency("ReviewDAO.updateReview");
+    private static final LatencyHistogram DELETE_REVIEW_LATENCY = MetricsRegistry.latency("ReviewDAO.deleteReview");
+    private static final LatencyHistogram DELETE_REVIEWS_BY_ENROLLMENT_RANGE_LATENCY = MetricsRegistry.latency("ReviewDAO.deleteReviewsByEnrollmentRange");
+    private static final LatencyHistogram DELETE_REVIEW_BY_ENROLLMENT_ID_LATENCY = MetricsRegistry.latency("ReviewDAO.deleteReviewByEnrollmentId");
+    private static final LatencyHistogram GET_REVIEWS_PAGE_LATENCY = MetricsRegistry.latency("ReviewDAO.getReviewsPage");
 
     // 모든 리뷰 조회
     public List<Review> getAllReviews() {
         List<Review> reviews = new ArrayList<>();
-        String sql = "SELECT * FROM reviews WHERE status = 0";
-        try (PreparedStatement ps = connection.prepareStatement(sql);
-             ResultSet rs = ps.executeQuery()) {
-            while (rs.next()) {
-                Timestamp updatedTs = rs.getTimestamp("updated_at");
-                LocalDateTime updatedAt = updatedTs != null ? updatedTs.toLocalDateTime() : null;
-                Timestamp deletedTs = rs.getTimestamp("deleted_at");
-                LocalDateTime deletedAt = deletedTs != null ? deletedTs.toLocalDateTime() : null;
-                reviews.add(new Review(
-                        rs.getInt("review_id"),
-                        rs.getByte("rating"),
-                        rs.getString("content"),
-                        rs.getByte("status"),
-                        rs.getTimestamp("created_at").toLocalDateTime(),
-                        updatedAt,
-                        deletedAt,
-                        rs.getInt("enrollment_id")
-                ));
-            }
-        } catch (SQLException e) {
-            log.warn("[DAO] 리뷰 전체 조회 실패 - 사유: {}", e.getMessage());
+        if (!forEachReview(reviews::add)) {
             return null;
         }
         return reviews;
     }
 
+    // 모든 리뷰 스트리밍 조회 (행 단위로 읽어오므로 반환된 Stream은 반드시 close 해야 함)
+    public Stream<Review> streamAllReviews() throws SQLException {
+        String sql = "SELECT " + ReviewRowMapper.COLUMNS + " FROM reviews WHERE status = 0";
+        return StreamingQuery.streamForRead(sql, ReviewRowMapper.INSTANCE);
+    }
+
+    // 모든 리뷰를 한 행씩 action에 전달 (테이블 크기와 상관없이 메모리 사용량 일정)
+    public boolean forEachReview(Consumer<? super Review> action) {
+        long startNanos = System.nanoTime();
+        try (Stream<Review> reviews = streamAllReviews()) {
+            reviews.forEach(action);
+            return true;
+        } catch (SQLException e) {
+            log.warn("[DAO] 리뷰 전체 조회 실패 - 사유: {}", e.getMessage());
+            return false;
+        } catch (IllegalStateException e) {
+            if (!(e.getCause() instanceof SQLException)) {
+                throw e;
+            }
+            log.warn("[DAO] 리뷰 전체 조회 실패 - 사유: {}", e.getCause().getMessage());
+            return false;
+        } finally {
+            FOR_EACH_REVIEW_LATENCY.recordSince(startNanos);
+        }
+    }
+
     // 특정 리뷰 조회
     public Review getReviewById(int reviewId) {
+        long startNanos = System.nanoTime();
         Review review = null;
-        String sql = "SELECT * FROM reviews WHERE review_id = ? AND status = 0";
-        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+        String sql = "SELECT " + ReviewRowMapper.COLUMNS + " FROM reviews WHERE review_id = ? AND status = 0";
+        // 트랜잭션 밖에서만 캐시 사용 (트랜잭션 안에서는 자신이 변경한 값을 읽어야 하고, 미커밋 값을 캐시하면 안 됨)
+        boolean cacheable = !TransactionManager.isInTransaction();
+        if (cacheable) {
+            Review cached = EntityCaches.REVIEWS.get(reviewId);
+            if (cached != null) {
+                GET_REVIEW_BY_ID_LATENCY.recordSince(startNanos);
+                return cached;
+            }
+        }
+        // 읽는 동안 커밋된 수정/삭제의 무효화를 덮어쓰지 않도록 읽기 전 세대 값을 받아 둔다.
+        long ticket = cacheable ? EntityCaches.REVIEWS.loadTicket(reviewId) : 0;
+
+        try (ConnectionScope scope = TransactionManager.openReadScope();
+             PreparedStatement ps = StatementCache.prepare(scope.connection(), sql)) {
+            // 복제본에서 읽은 값은 복제 지연으로 이미 변경/삭제된 값일 수 있으므로 캐시에 넣지 않는다.
+            cacheable = cacheable && !scope.isReplica();
             ps.setInt(1, reviewId);
             try (ResultSet rs = ps.executeQuery()) {
                 if (rs.next()) {
-                    Timestamp updatedTs = rs.getTimestamp("updated_at");
-                    LocalDateTime updatedAt = updatedTs != null ? updatedTs.toLocalDateTime() : null;
-                    Timestamp deletedTs = rs.getTimestamp("deleted_at");
-                    LocalDateTime deletedAt = deletedTs != null ? deletedTs.toLocalDateTime() : null;
-                    review = new Review(
-                            rs.getInt("review_id"),
-                            rs.getByte("rating"),
-                            rs.getString("content"),
-                            rs.getByte("status"),
-                            rs.getTimestamp("created_at").toLocalDateTime(),
-                            updatedAt,
-                            deletedAt,
-                            rs.getInt("enrollment_id")
-                    );
+                    review = ReviewRowMapper.INSTANCE.mapRow(rs);
                 }
             }
         } catch (SQLException e) {
             log.warn("[DAO] 리뷰 조회 실패 (ID: {}) - 사유: {}", reviewId, e.getMessage());
             return null;
+        } finally {
+            GET_REVIEW_BY_ID_LATENCY.recordSince(startNanos);
+        }
+        if (cacheable && review != null) {
+            EntityCaches.REVIEWS.putIfUnchanged(reviewId, review, ticket);
         }
         return review;
     }
@@ -86,71 +115,245 @@ public class ReviewDAO {
      *  → 활성 상태 레코드에 대해서만 (enrollment_id) 유니크 제약 적용
      * - 논리 삭제된 후 동일 enrollment_id를 가진 리뷰를 다시 등록할 수 있음
      *  (예: 삭제된 리뷰 다시 등록 시 제약 조건 위반 없음)
+     * - 수업별 별점 통계(ClassRatingDAO)를 같은 트랜잭션에서 갱신한다.
+     * - 수강신청이 활성 상태일 때만 삽입한다. (INSERT ... SELECT가 수강신청 행에 공유 잠금을 걸어 커밋 전까지 삭제되지 않음)
+     *   비활성/없는 수강신청이면 삽입된 행이 없으므로 false를 반환한다.
      * */
     public boolean addReview(Review review) {
+        long startNanos = System.nanoTime();
         String sql = """
                 INSERT INTO reviews (rating, content, enrollment_id)
-                VALUES (?, ?, ?)
+                SELECT ?, ?, enrollment_id FROM enrollments WHERE enrollment_id = ? AND status = 0
                 """;
-        try (PreparedStatement ps = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
-            ps.setByte(1, review.getRating());
-            ps.setString(2, review.getContent());
-            ps.setInt(3, review.getEnrollmentId());
-            int affectedRows = ps.executeUpdate();
-            return affectedRows > 0;
+        try {
+            return TransactionManager.inTransaction(connection -> {
+                try (PreparedStatement ps = StatementCache.prepare(connection, sql, Statement.RETURN_GENERATED_KEYS)) {
+                    ps.setByte(1, review.getRating());
+                    ps.setString(2, review.getContent());
+                    ps.setInt(3, review.getEnrollmentId());
+                    if (ps.executeUpdate() == 0) {
+                        return false;
+                    }
+                    try (ResultSet keys = ps.getGeneratedKeys()) {
+                        if (!keys.next()) {
+                            throw new SQLException("생성된 리뷰 ID를 확인할 수 없습니다.");
+                        }
+                        int reviewId = keys.getInt(1);
+                        ClassRatingDAO.applyChange(connection, Map.of(),
+                                ClassRatingDAO.lockActiveRatings(connection, "r.review_id = ?", reviewId));
+                    }
+                    return true;
+                }
+            });
         } catch (SQLException e) {
             log.warn("[DAO] 리뷰 삽입 실패 - enrollmentId: {}, 사유: {}", review.getEnrollmentId(), e.getMessage());
             return false;
+        } finally {
+            ADD_REVIEW_LATENCY.recordSince(startNanos);
+        }
+    }
+
+    // 리뷰 일괄 삽입 (기본 chunk 크기 사용)
+    public BatchResult addReviews(List<Review> reviews) {
+        return addReviews(reviews, BatchInsert.DEFAULT_CHUNK_SIZE);
+    }
+
+    // 리뷰 일괄 삽입
+    /* - chunkSize 건씩 JDBC 배치로 묶어 multi-row INSERT로 전송 (rewriteBatchedStatements)
+     * - 생성된 ID는 입력 순서대로 각 객체에 기록되며, 행별 성공/실패는 BatchResult로 확인한다.
+     * - 등록된 리뷰의 별점을 수업별 통계에 반영해야 하므로 전체를 하나의 트랜잭션으로 실행한다.
+     *   (실패한 chunk는 건너뛰고, 통계 반영에 실패하면 전체를 롤백하고 모든 행을 실패로 반환)
+     * */
+    public BatchResult addReviews(List<Review> reviews, int chunkSize) {
+        long startNanos = System.nanoTime();
+        String sql = """
+                INSERT INTO reviews (rating, content, enrollment_id)
+                VALUES (?, ?, ?)
+                """;
+        try {
+            return TransactionManager.inTransaction(connection -> {
+                BatchResult result = BatchInsert.execute(sql, reviews, chunkSize,
+                        (ps, review) -> {
+                            ps.setByte(1, review.getRating());
+                            ps.setString(2, review.getContent());
+                            ps.setInt(3, review.getEnrollmentId());
+                        },
+                        Review::setReviewId, "리뷰");
+                List<Integer> reviewIds = new ArrayList<>(result.getSuccessCount());
+                for (int i = 0; i < result.size(); i++) {
+                    if (result.isSucceeded(i)) {
+                        reviewIds.add(result.getGeneratedKey(i));
+                    }
+                }
+                ClassRatingDAO.applyChange(connection, Map.of(),
+                        ClassRatingDAO.lockActiveRatings(connection, reviewIds, chunkSize));
+                return result;
+            });
+        } catch (SQLException e) {
+            log.warn("[DAO] 리뷰 일괄 등록 별점 통계 반영 실패 - 전체 롤백, 사유: {}", e.getMessage());
+            reviews.forEach(review -> review.setReviewId(0));
+            return new BatchResult(reviews.size());
+        } finally {
+            ADD_REVIEWS_LATENCY.recordSince(startNanos);
         }
     }
 
     // 리뷰 업데이트 (enrollment_id는 외래키이므로 수정 불가)
+    // 수정 전 별점을 잠금 조회한 뒤 수정하고, 별점 차이를 같은 트랜잭션에서 수업별 통계에 반영한다.
     public boolean updateReview(Review review) {
+        long startNanos = System.nanoTime();
         String sql = """
                 UPDATE reviews SET rating = ?, content = ?, updated_at = now()
                 WHERE review_id = ? AND status = 0
                 """;
-        try (PreparedStatement ps = connection.prepareStatement(sql)) {
-            ps.setByte(1, review.getRating());
-            ps.setString(2, review.getContent());
-            ps.setInt(3, review.getReviewId());
-            int affectedRows = ps.executeUpdate();
-            return affectedRows > 0;
+        String condition = "r.review_id = ?";
+        try {
+            return TransactionManager.inTransaction(connection -> {
+                Map<Integer, ClassRatingSummary> before = ClassRatingDAO.lockActiveRatings(connection, condition, review.getReviewId());
+                try (PreparedStatement ps = StatementCache.prepare(connection, sql)) {
+                    ps.setByte(1, review.getRating());
+                    ps.setString(2, review.getContent());
+                    ps.setInt(3, review.getReviewId());
+                    if (ps.executeUpdate() == 0) {
+                        return false;
+                    }
+                }
+                ClassRatingDAO.applyChange(connection, before,
+                        ClassRatingDAO.lockActiveRatings(connection, condition, review.getReviewId()));
+                TransactionCallbacks.afterCommit(connection, () -> EntityCaches.REVIEWS.invalidate(review.getReviewId()));
+                return true;
+            });
         } catch (SQLException e) {
             log.warn("[DAO] 리뷰 업데이트 실패 - reviewId: {}, 사유: {}", review.getReviewId(), e.getMessage());
             return false;
+        } finally {
+            UPDATE_REVIEW_LATENCY.recordSince(startNanos);
         }
     }
 
-    // 리뷰 삭제 (논리적 삭제)
+    // 리뷰 삭제 (논리적 삭제, 같은 트랜잭션에서 수업별 별점 통계에서 제외)
     public boolean deleteReview(int reviewId) {
+        long startNanos = System.nanoTime();
         String sql = """
                 UPDATE reviews SET status = 1, updated_at = now(), deleted_at = now()
                 WHERE review_id = ? AND status = 0
                 """;
-        try (PreparedStatement ps = connection.prepareStatement(sql)) {
-            ps.setInt(1, reviewId);
-            int affectedRows = ps.executeUpdate();
-            return true;
+        try {
+            return TransactionManager.inTransaction(connection -> {
+                Map<Integer, ClassRatingSummary> before = ClassRatingDAO.lockActiveRatings(connection, "r.review_id = ?", reviewId);
+                try (PreparedStatement ps = StatementCache.prepare(connection, sql)) {
+                    ps.setInt(1, reviewId);
+                    if (ps.executeUpdate() > 0) {
+                        ClassRatingDAO.applyChange(connection, before, Map.of());
+                        TransactionCallbacks.afterCommit(connection, () -> EntityCaches.REVIEWS.invalidate(reviewId));
+                    }
+                }
+                return true;
+            });
         } catch (SQLException e) {
             log.warn("[DAO] 리뷰 삭제 실패 - reviewId: {}, 사유: {}", reviewId, e.getMessage());
             return false;
+        } finally {
+            DELETE_REVIEW_LATENCY.recordSince(startNanos);
+        }
+    }
+
+    // 범위 내 수강신청에 연결된 리뷰 일괄 삭제 (논리적 삭제), 수강신청 기본키 구간 [fromId, toId] 기준
+    /* - 수강신청보다 먼저 호출해야 한다. (활성 수강신청과 조인하여 대상을 찾음)
+     * - 삭제할 리뷰의 별점을 먼저 잠금 조회하고, 삭제 후 같은 트랜잭션에서 수업별 통계에서 뺀다.
+     * - 반환값 : 삭제된 행 수, 실패 시 -1
+     * */
+    public int deleteReviewsByEnrollmentRange(EnrollmentScope scope, int key, int fromId, int toId) {
+        long startNanos = System.nanoTime();
+        String condition = "e.%s = ? AND e.status = 0 AND e.enrollment_id BETWEEN ? AND ?".formatted(scope.column());
+        String sql = """
+                UPDATE reviews r
+                JOIN enrollments e ON e.enrollment_id = r.enrollment_id
+                SET r.status = 1, r.updated_at = now(), r.deleted_at = now()
+                WHERE %s AND r.status = 0
+                """.formatted(condition);
+        try {
+            return TransactionManager.inTransaction(connection -> {
+                Map<Integer, ClassRatingSummary> before = ClassRatingDAO.lockActiveRatings(connection, condition, key, fromId, toId);
+                try (PreparedStatement ps = StatementCache.prepare(connection, sql)) {
+                    ps.setInt(1, key);
+                    ps.setInt(2, fromId);
+                    ps.setInt(3, toId);
+                    int affectedRows = ps.executeUpdate();
+                    if (affectedRows > 0) {
+                        ClassRatingDAO.applyChange(connection, before, Map.of());
+                        TransactionCallbacks.afterCommit(connection, () -> EntityCaches.REVIEWS.invalidateIf(
+                                review -> review.getEnrollmentId() >= fromId && review.getEnrollmentId() <= toId));
+                    }
+                    return affectedRows;
+                }
+            });
+        } catch (SQLException e) {
+            log.warn("[DAO] 리뷰 일괄 삭제 실패 - {}: {}, 범위: [{}, {}], 사유: {}", scope, key, fromId, toId, e.getMessage());
+            return -1;
+        } finally {
+            DELETE_REVIEWS_BY_ENROLLMENT_RANGE_LATENCY.recordSince(startNanos);
         }
     }
 
     // 리뷰 삭제 (논리적 삭제), 수강신청 ID 이용
     public boolean deleteReviewByEnrollmentId(int enrollmentId) {
+        long startNanos = System.nanoTime();
         String sql = """
                 UPDATE reviews SET status = 1, updated_at = now(), deleted_at = now()
                 WHERE enrollment_id = ? AND status = 0
                 """;
-        try (PreparedStatement ps = connection.prepareStatement(sql)) {
-            ps.setInt(1, enrollmentId);
-            int affectedRows = ps.executeUpdate();
-            return true;
+        try {
+            return TransactionManager.inTransaction(connection -> {
+                Map<Integer, ClassRatingSummary> before = ClassRatingDAO.lockActiveRatings(connection, "r.enrollment_id = ?", enrollmentId);
+                try (PreparedStatement ps = StatementCache.prepare(connection, sql)) {
+                    ps.setInt(1, enrollmentId);
+                    if (ps.executeUpdate() > 0) {
+                        ClassRatingDAO.applyChange(connection, before, Map.of());
+                        TransactionCallbacks.afterCommit(connection, () -> EntityCaches.REVIEWS.invalidateIf(review -> review.getEnrollmentId() == enrollmentId));
+                    }
+                }
+                return true;
+            });
         } catch (SQLException e) {
             log.warn("[DAO] 리뷰 삭제 실패 - enrollmentId: {}, 사유: {}", enrollmentId, e.getMessage());
             return false;
+        } finally {
+            DELETE_REVIEW_BY_ENROLLMENT_ID_LATENCY.recordSince(startNanos);
+        }
+    }
+
+    // 리뷰 페이지 조회 (키셋 페이지네이션: afterId보다 큰 ID를 ID 순으로 최대 pageSize개 조회)
+    public Page<Review> getReviewsPage(int afterId, int pageSize) {
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("pageSize는 1 이상이어야 합니다: " + pageSize);
+        }
+        long startNanos = System.nanoTime();
+        List<Review> reviews = new ArrayList<>(pageSize + 1);
+        String sql = "SELECT " + ReviewRowMapper.COLUMNS + " FROM reviews"
+                + " WHERE status = 0 AND review_id > ?"
+                + " ORDER BY review_id LIMIT ?";
+        try (ConnectionScope scope = TransactionManager.openReadScope();
+             PreparedStatement ps = StatementCache.prepare(scope.connection(), sql)) {
+            ps.setInt(1, afterId);
+            ps.setInt(2, pageSize + 1); // 다음 페이지 존재 여부 확인을 위해 한 건 더 조회
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    reviews.add(ReviewRowMapper.INSTANCE.mapRow(rs));
+                }
+            }
+        } catch (SQLException e) {
+            log.warn("[DAO] 리뷰 페이지 조회 실패 - afterId: {}, 사유: {}", afterId, e.getMessage());
+            return null;
+        } finally {
+            GET_REVIEWS_PAGE_LATENCY.recordSince(startNanos);
+        }
+
+        boolean hasNext = reviews.size() > pageSize;
+        if (hasNext) {
+            reviews.remove(pageSize);
         }
+        int nextCursor = reviews.isEmpty() ? afterId : reviews.get(reviews.size() - 1).getReviewId();
+        return new Page<>(reviews, nextCursor, hasNext);
     }
 }
\ No newline at end of file
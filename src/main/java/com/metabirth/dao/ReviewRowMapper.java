@@ -0,0 +1,35 @@
+package com.metabirth.dao;
+
+import com.metabirth.model.Review;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+
+/**
+ * 📌 ReviewRowMapper
+ * - COLUMNS 순서와 mapRow의 컬럼 인덱스가 반드시 일치해야 한다.
+ */
+public final class ReviewRowMapper implements RowMapper<Review> {
+    public static final String COLUMNS =
+            "review_id, rating, content, status, created_at, updated_at, deleted_at, enrollment_id";
+
+    public static final ReviewRowMapper INSTANCE = new ReviewRowMapper();
+
+    private ReviewRowMapper() {
+    }
+
+    @Override
+    public Review mapRow(ResultSet rs) throws SQLException {
+        return new Review(
+                rs.getInt(1),
+                rs.getByte(2),
+                rs.getString(3),
+                rs.getByte(4),
+                rs.getObject(5, LocalDateTime.class),
+                rs.getObject(6, LocalDateTime.class),
+                rs.getObject(7, LocalDateTime.class),
+                rs.getInt(8)
+        );
+    }
+}
@@ -0,0 +1,15 @@
+package com.metabirth.dao;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * 📌 RowMapper (ResultSet 행 -> 모델 변환)
+ * - 각 구현체는 조회할 컬럼 목록(COLUMNS)을 함께 정의하며, DAO는 `SELECT * ` 대신 이 목록으로 조회한다.
+ * - 컬럼 순서가 고정되어 있으므로 컬럼명 검색 없이 인덱스로 값을 읽는다.
+ * - 시간 컬럼은 Timestamp를 거치지 않고 LocalDateTime으로 바로 변환한다.
+ */
+@FunctionalInterface
+public interface RowMapper<T> {
+    T mapRow(ResultSet rs) throws SQLException;
+}
@@ -0,0 +1,374 @@
+package com.metabirth.dao;
+
+import com.metabirth.util.ConnectionScope;
+import com.metabirth.util.TransactionManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 📌 SlowQueryLog (느린 쿼리 로그)
+ * - StatementCache가 돌려주는 PreparedStatement(InstrumentedStatement)의 실행(execute*)을 측정하여 기준 시간을 넘긴 쿼리를
+ *   SQL, 바인딩 값, 처리 행 수, 소요 시간과 함께 기록한다.
+ * - 조회(executeQuery)는 ResultSet을 닫을 때까지(행을 모두 읽을 때까지)의 시간과 읽은 행 수를 기록한다.
+ * - 같은 SQL이 explainAfter 번 느리게 실행되면 실행 계획(EXPLAIN)을 백그라운드에서 한 번만 조회하여 기록한다.
+ * - 운영 환경에서도 켤 수 있도록 sampleEvery 건 중 한 건만 측정하고, 초당 로그 건수를 제한한다.
+ *   (측정하지 않는 실행은 설정 확인 한 번 외에 추가 비용이 없다.)
+ */
+public final class SlowQueryLog {
+    private static final Logger log = LoggerFactory.getLogger(SlowQueryLog.class);
+
+    // 반복 추적할 SQL 종류 수 상한 (동적으로 만들어지는 IN 목록 SQL 등으로 맵이 계속 커지는 것을 방지)
+    private static final int MAX_TRACKED_STATEMENTS = 500;
+    // 로그에 남길 바인딩 값 하나의 최대 길이
+    private static final int MAX_BIND_LENGTH = 64;
+    // EXPLAIN 조회 제한 시간 (초)
+    private static final int EXPLAIN_TIMEOUT_SECONDS = 5;
+
+    /**
+     * 📌 느린 쿼리 로그 설정
+     * @param thresholdMillis 이 시간(ms) 이상 걸린 쿼리를 기록
+     * @param sampleEvery     n 건 중 한 건만 측정 (1 이면 모두 측정)
+     * @param maxLogsPerSecond 초당 최대 로그 건수 (초과분은 건수만 세어 다음 로그에 함께 출력)
+     * @param explainAfter    같은 SQL이 이 횟수만큼 느리게 실행되면 EXPLAIN 조회 (0 이면 조회하지 않음)
+     */
+    public record Config(boolean enabled, long thresholdMillis, int sampleEvery, int maxLogsPerSecond,
+                         int explainAfter) {
+        public static final Config DISABLED = new Config(false, 200, 1, 10, 0);
+
+        public Config {
+            if (sampleEvery < 1 || maxLogsPerSecond < 1 || thresholdMillis < 0 || explainAfter < 0) {
+                throw new IllegalArgumentException("느린 쿼리 로그 설정값이 올바르지 않습니다: " + this);
+            }
+        }
+    }
+
+    private static volatile Config config = Config.DISABLED;
+    private static volatile long thresholdNanos = TimeUnit.MILLISECONDS.toNanos(Config.DISABLED.thresholdMillis());
+
+    private static final RateLimiter RATE_LIMITER = new RateLimiter();
+    private static final Map<String, Offender> OFFENDERS = new ConcurrentHashMap<>();
+    private static final LongAdder SAMPLED = new LongAdder();
+    private static final LongAdder SLOW = new LongAdder();
+    private static final LongAdder EXPLAINED = new LongAdder();
+
+    // EXPLAIN은 드물게 실행되므로 스레드 하나, 대기열이 가득 차면 버린다.
+    private static final ThreadPoolExecutor EXPLAIN_EXECUTOR = new ThreadPoolExecutor(
+            1, 1, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(16), runnable -> {
+                Thread thread = new Thread(runnable, "slow-query-explain");
+                thread.setDaemon(true);
+                return thread;
+            }, new ThreadPoolExecutor.DiscardPolicy());
+
+    // 같은 SQL의 느린 실행 횟수 (EXPLAIN은 한 번만)
+    private static final class Offender {
+        private final AtomicInteger count = new AtomicInteger();
+        private final AtomicLong maxNanos = new AtomicLong();
+        private final AtomicBoolean explained = new AtomicBoolean();
+    }
+
+    private SlowQueryLog() {
+    }
+
+    public static void configure(Config newConfig) {
+        thresholdNanos = TimeUnit.MILLISECONDS.toNanos(newConfig.thresholdMillis());
+        config = newConfig;
+        RATE_LIMITER.setLimit(newConfig.maxLogsPerSecond());
+    }
+
+    public static Config getConfig() {
+        return config;
+    }
+
+    static boolean isEnabled() {
+        return config.enabled();
+    }
+
+    // 이번 실행을 측정할지 결정
+    private static boolean sample(Config current) {
+        return current.sampleEvery() == 1 || ThreadLocalRandom.current().nextInt(current.sampleEvery()) == 0;
+    }
+
+    /*
+     * 바인딩 값 기록
+     * - 느린 쿼리 로그가 켜져 있을 때만 문장별로 만들어지며, set* 호출 값을 그대로 보관한다.
+     * - 문장을 닫거나(close) 파라미터를 초기화(clearParameters)할 때 비운다.
+     */
+    static final class Binds {
+        private Object[] values = new Object[8];
+        private int length;
+
+        void set(int parameterIndex, Object value) {
+            if (parameterIndex < 1) {
+                return;
+            }
+            if (parameterIndex > values.length) {
+                values = Arrays.copyOf(values, Math.max(parameterIndex, values.length * 2));
+            }
+            values[parameterIndex - 1] = value;
+            length = Math.max(length, parameterIndex);
+        }
+
+        void clear() {
+            Arrays.fill(values, 0, length, null);
+            length = 0;
+        }
+
+        Object[] snapshot() {
+            return Arrays.copyOf(values, length);
+        }
+    }
+
+    /*
+     * 실행 측정 (InstrumentedStatement의 execute*에서 호출)
+     * - startSample : 이번 실행을 측정하면 시작 시각, 측정하지 않으면 NOT_SAMPLED
+     * - finishSample : 측정한 실행이 기준 시간을 넘었으면 기록
+     * - trackRows : 측정한 조회의 ResultSet을 감싸 행을 모두 읽고 닫을 때 판단
+     */
+    static final long NOT_SAMPLED = Long.MIN_VALUE;
+
+    static long startSample() {
+        Config current = config;
+        if (!current.enabled() || !sample(current)) {
+            return NOT_SAMPLED;
+        }
+        SAMPLED.increment();
+        return System.nanoTime();
+    }
+
+    static void finishSample(String sql, Binds binds, long rows, long startNanos) {
+        if (startNanos == NOT_SAMPLED) {
+            return;
+        }
+        long elapsedNanos = System.nanoTime() - startNanos;
+        if (elapsedNanos >= thresholdNanos) {
+            report(sql, binds.snapshot(), rows, elapsedNanos);
+        }
+    }
+
+    static ResultSet trackRows(ResultSet resultSet, String sql, Binds binds, long startNanos) {
+        return RowCountingResultSet.wrap(resultSet, sql, binds, startNanos);
+    }
+
+    // executeBatch 결과에서 처리 행 수 계산 (알 수 없으면 -1)
+    static long rowCount(int[] counts) {
+        long total = 0;
+        for (int count : counts) {
+            if (count < 0) {
+                return -1; // SUCCESS_NO_INFO
+            }
+            total += count;
+        }
+        return total;
+    }
+
+    static void report(String sql, Object[] binds, long rows, long elapsedNanos) {
+        SLOW.increment();
+        Offender offender = track(sql, elapsedNanos);
+
+        long suppressed = RATE_LIMITER.tryAcquire(System.nanoTime());
+        if (suppressed >= 0) {
+            log.warn("[SLOW QUERY] {} ms, rows={}, sql={}, binds={}{}",
+                    String.format("%.1f", elapsedNanos / 1_000_000.0), rows, sql, formatBinds(binds),
+                    suppressed > 0 ? " (이전 1초간 생략된 로그 " + suppressed + "건)" : "");
+        }
+
+        Config current = config;
+        if (offender != null && current.explainAfter() > 0 && offender.count.get() >= current.explainAfter()
+                && isExplainable(sql) && offender.explained.compareAndSet(false, true)) {
+            EXPLAIN_EXECUTOR.execute(() -> explain(sql, binds));
+        }
+    }
+
+    private static Offender track(String sql, long elapsedNanos) {
+        Offender offender = OFFENDERS.get(sql);
+        if (offender == null) {
+            if (OFFENDERS.size() >= MAX_TRACKED_STATEMENTS) {
+                return null;
+            }
+            offender = OFFENDERS.computeIfAbsent(sql, ignored -> new Offender());
+        }
+        offender.count.incrementAndGet();
+        offender.maxNanos.accumulateAndGet(elapsedNanos, Math::max);
+        return offender;
+    }
+
+    // EXPLAIN은 실제로 실행하지 않으므로 데이터를 변경하지 않는다. (INSERT ... VALUES 는 계획이 의미 없으므로 제외)
+    static boolean isExplainable(String sql) {
+        String head = sql.stripLeading().toLowerCase(Locale.ROOT);
+        return head.startsWith("select") || head.startsWith("update") || head.startsWith("delete")
+                || head.startsWith("with");
+    }
+
+    static String formatBinds(Object[] binds) {
+        StringBuilder builder = new StringBuilder("[");
+        for (int i = 0; i < binds.length; i++) {
+            if (i > 0) {
+                builder.append(", ");
+            }
+            builder.append(i + 1).append('=');
+            Object value = binds[i];
+            if (value == null) {
+                builder.append("null");
+            } else if (value instanceof CharSequence || value instanceof java.util.Date
+                    || value instanceof java.time.temporal.Temporal) {
+                String text = value.toString();
+                if (text.length() > MAX_BIND_LENGTH) {
+                    text = text.substring(0, MAX_BIND_LENGTH) + "...";
+                }
+                builder.append('\'').append(text).append('\'');
+            } else {
+                builder.append(value);
+            }
+        }
+        return builder.append(']').toString();
+    }
+
+    // 백그라운드 스레드에서 풀의 커넥션을 따로 빌려 실행 계획 조회 (느린 쿼리를 실행한 작업 단위와 무관)
+    private static void explain(String sql, Object[] binds) {
+        try (ConnectionScope scope = TransactionManager.openScope();
+             PreparedStatement ps = scope.connection().prepareStatement("EXPLAIN " + sql)) {
+            ps.setQueryTimeout(EXPLAIN_TIMEOUT_SECONDS);
+            for (int i = 0; i < binds.length; i++) {
+                ps.setObject(i + 1, binds[i]);
+            }
+            List<String> plan = new ArrayList<>();
+            try (ResultSet rs = ps.executeQuery()) {
+                ResultSetMetaData meta = rs.getMetaData();
+                while (rs.next()) {
+                    StringBuilder row = new StringBuilder();
+                    for (int column = 1; column <= meta.getColumnCount(); column++) {
+                        if (column > 1) {
+                            row.append(", ");
+                        }
+                        row.append(meta.getColumnLabel(column)).append('=').append(rs.getString(column));
+                    }
+                    plan.add(row.toString());
+                }
+            }
+            EXPLAINED.increment();
+            log.warn("[SLOW QUERY] 실행 계획 - sql={}\n  {}", sql, String.join("\n  ", plan));
+        } catch (SQLException e) {
+            log.warn("[SLOW QUERY] 실행 계획 조회 실패 - 사유: {}", e.getMessage());
+        }
+    }
+
+    public static void printStatus() {
+        Config current = config;
+        System.out.println("[느린 쿼리 로그 상태]");
+        System.out.println("활성화 (Enabled) : " + current.enabled()
+                + " (기준 " + current.thresholdMillis() + "ms, " + current.sampleEvery() + "건 중 1건 측정)");
+        System.out.println("측정한 실행 수 (Sampled) : " + SAMPLED.sum());
+        System.out.println("느린 실행 수 (Slow) : " + SLOW.sum());
+        System.out.println("실행 계획 조회 수 (Explained) : " + EXPLAINED.sum());
+        OFFENDERS.entrySet().stream()
+                .sorted(Comparator.comparingInt((Map.Entry<String, Offender> entry) -> entry.getValue().count.get())
+                        .reversed())
+                .limit(5)
+                .forEach(entry -> System.out.printf("  %5d회, 최대 %.1f ms : %s%n", entry.getValue().count.get(),
+                        entry.getValue().maxNanos.get() / 1_000_000.0, entry.getKey()));
+    }
+
+    /*
+     * 초당 로그 건수 제한 (1초 고정 구간)
+     * - tryAcquire : 기록 가능하면 직전 구간에서 생략된 건수(0 이상), 한도를 넘었으면 -1
+     */
+    static final class RateLimiter {
+        private static final long WINDOW_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+        private volatile int limit = Config.DISABLED.maxLogsPerSecond();
+        private long windowStart = Long.MIN_VALUE;
+        private int used;
+        private long suppressed;
+
+        void setLimit(int limit) {
+            this.limit = limit;
+        }
+
+        synchronized long tryAcquire(long nowNanos) {
+            if (windowStart == Long.MIN_VALUE || nowNanos - windowStart >= WINDOW_NANOS) {
+                windowStart = nowNanos;
+                used = 0;
+            }
+            if (used >= limit) {
+                suppressed++;
+                return -1;
+            }
+            used++;
+            long reported = suppressed;
+            suppressed = 0;
+            return reported;
+        }
+    }
+
+    /*
+     * 조회 결과 행 수를 세는 ResultSet 프록시
+     * - 샘플링된 조회에서만 만들어지며, close 시 실행부터 close까지의 시간이 기준을 넘으면 기록한다.
+     */
+    private static final class RowCountingResultSet implements InvocationHandler {
+        private final ResultSet resultSet;
+        private final String sql;
+        private final Binds binds;
+        private final long startNanos;
+        private long rows;
+        private boolean reported;
+
+        private RowCountingResultSet(ResultSet resultSet, String sql, Binds binds, long startNanos) {
+            this.resultSet = resultSet;
+            this.sql = sql;
+            this.binds = binds;
+            this.startNanos = startNanos;
+        }
+
+        static ResultSet wrap(ResultSet resultSet, String sql, Binds binds, long startNanos) {
+            return (ResultSet) Proxy.newProxyInstance(SlowQueryLog.class.getClassLoader(),
+                    new Class<?>[]{ResultSet.class}, new RowCountingResultSet(resultSet, sql, binds, startNanos));
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (name.equals("close") && !reported) {
+                reported = true;
+                long elapsedNanos = System.nanoTime() - startNanos;
+                if (elapsedNanos >= thresholdNanos) {
+                    // ResultSet은 문장보다 먼저 닫히므로 바인딩 값이 아직 남아 있다.
+                    report(sql, binds.snapshot(), rows, elapsedNanos);
+                }
+            }
+            Object result;
+            try {
+                result = method.invoke(resultSet, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+            if (name.equals("next") && Boolean.TRUE.equals(result)) {
+                rows++;
+            }
+            return result;
+        }
+    }
+}
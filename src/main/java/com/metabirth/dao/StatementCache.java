@@ -0,0 +1,221 @@
+package com.metabirth.dao;
+
+import com.metabirth.metrics.SqlErrorStats;
+import com.mysql.cj.MysqlConnection;
+import com.mysql.cj.conf.PropertyKey;
+import com.mysql.cj.conf.PropertySet;
+import com.mysql.cj.jdbc.interceptors.ConnectionLifecycleInterceptor;
+import com.mysql.cj.log.Log;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.sql.Statement;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 📌 StatementCache (PreparedStatement 준비 + 드라이버 문장 캐시 적중 집계)
+ * - 문장 재사용은 드라이버의 PreparedStatement 캐시(cachePrepStmts + useServerPrepStmts)가 담당한다.
+ *   물리 커넥션 단위로 유지되므로 커넥션을 반납했다가 다시 빌려도 서버 측 prepare를 건너뛴다.
+ * - 문장은 풀이 돌려준 커넥션에서 준비하므로, 풀의 문장 추적(반납 시 열린 문장 정리)과 커밋 필요 여부 추적이 그대로 동작한다.
+ * - 반환하는 문장(InstrumentedStatement)은 실행 시 취소 등록, 느린 쿼리 로그, 오류 분류를 거친다.
+ * - 드라이버는 캐시 적중 수를 제공하지 않으므로, 물리 커넥션마다 드라이버 캐시와 같은 규칙(크기, SQL 길이 제한, LRU)으로
+ *   SQL 목록을 따라가며 적중/미스를 센다. 목록은 ConnectionTracker가 커넥션을 닫을 때 제거한다.
+ */
+public final class StatementCache {
+    private static final LongAdder HITS = new LongAdder();
+    private static final LongAdder MISSES = new LongAdder();
+
+    // 물리 커넥션 -> 드라이버 캐시 목록 (ConnectionTracker가 등록/제거)
+    private static final Map<Connection, DriverCacheMirror> MIRRORS = new ConcurrentHashMap<>();
+
+    private StatementCache() {
+    }
+
+    /**
+     * 📌 PreparedStatement 준비 (드라이버 캐시에 있으면 재사용)
+     */
+    public static PreparedStatement prepare(Connection connection, String sql) throws SQLException {
+        return prepare(connection, sql, Statement.NO_GENERATED_KEYS);
+    }
+
+    /**
+     * 📌 생성 키 반환 여부를 포함하여 PreparedStatement 준비
+     * @param autoGeneratedKeys Statement.RETURN_GENERATED_KEYS 또는 Statement.NO_GENERATED_KEYS
+     */
+    public static PreparedStatement prepare(Connection connection, String sql, int autoGeneratedKeys) throws SQLException {
+        DriverCacheMirror mirror = mirrorOf(connection);
+        PreparedStatement statement = connection.prepareStatement(sql, autoGeneratedKeys);
+        if (mirror != null) {
+            if (mirror.acquire(sql)) {
+                HITS.increment();
+            } else {
+                MISSES.increment();
+            }
+        }
+        return new InstrumentedStatement(sql, statement, mirror);
+    }
+
+    // 물리 커넥션은 목록 조회용으로만 꺼낸다. (문장은 항상 풀의 커넥션으로 준비)
+    private static DriverCacheMirror mirrorOf(Connection connection) throws SQLException {
+        if (MIRRORS.isEmpty()) {
+            return null;
+        }
+        return MIRRORS.get(connection.unwrap(Connection.class));
+    }
+
+    public static long getHitCount() {
+        return HITS.sum();
+    }
+
+    public static long getMissCount() {
+        return MISSES.sum();
+    }
+
+    public static double getHitRatio() {
+        long hits = getHitCount();
+        long total = hits + getMissCount();
+        return total == 0 ? 0.0 : (double) hits / total;
+    }
+
+    public static void printStatus() {
+        System.out.println("[PreparedStatement 캐시 상태]");
+        System.out.println("캐시 적중 (Hits) : " + getHitCount());
+        System.out.println("캐시 미스 (Misses) : " + getMissCount());
+        System.out.printf("적중률 (Hit Ratio) : %.2f%%%n", getHitRatio() * 100);
+        System.out.println("추적 중인 커넥션 수 : " + MIRRORS.size());
+    }
+
+    /*
+     * 문장 실행 중 발생한 SQLException 분류 (InstrumentedStatement, StreamingQuery에서 사용)
+     * DAO는 예외를 로그로만 남기므로 오류 코드별 집계는 여기서 한다. (교착 상태, 중복 키 등)
+     * 교착 상태 / 잠금 대기 초과는 DAO에서 삼키지 않고 서비스로 전달하여 트랜잭션 단위로 다시 실행하게 한다.
+     */
+    static void translate(SQLException e) {
+        SqlErrorStats.record(e);
+        if (TransientDataAccessException.isTransient(e)) {
+            throw new TransientDataAccessException(e);
+        }
+    }
+
+    /*
+     * 물리 커넥션 하나의 드라이버 캐시 목록 (SQL만 보관)
+     * - 드라이버는 prepare 시 캐시에서 문장을 꺼내고(적중), close 시 SQL 길이가 제한보다 짧으면 다시 넣는다. (가득 차면 LRU 제거)
+     * - 같은 SQL을 중첩해서 준비하면 두 번째는 캐시에 없으므로 미스로 집계된다. (드라이버와 동일)
+     */
+    static final class DriverCacheMirror {
+        private final int sqlLimit;
+        private final Map<String, Boolean> cached;
+
+        DriverCacheMirror(int size, int sqlLimit) {
+            this.sqlLimit = sqlLimit;
+            this.cached = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+                    return size() > size;
+                }
+            };
+        }
+
+        synchronized boolean acquire(String sql) {
+            return cached.remove(sql) != null;
+        }
+
+        synchronized void release(String sql) {
+            if (sql.length() < sqlLimit) {
+                cached.put(sql, Boolean.TRUE);
+            }
+        }
+    }
+
+    /**
+     * 📌 ConnectionTracker (드라이버 커넥션 수명 주기 인터셉터)
+     * - DatabaseSettings가 connectionLifecycleInterceptors로 등록하며, 드라이버가 물리 커넥션마다 하나씩 만든다.
+     * - 드라이버 문장 캐시가 켜진 커넥션이 열리면 캐시 목록을 등록하고, 닫히면(close/destroy) 제거한다.
+ * - 풀이 가진 커넥션 수만큼만 등록되며, 닫힌 커넥션의 목록은 남지 않는다.
+     */
+    public static final class ConnectionTracker implements ConnectionLifecycleInterceptor {
+        private Connection connection;
+
+        @Override
+        public ConnectionLifecycleInterceptor init(MysqlConnection conn, Properties props, Log log) {
+            PropertySet properties = conn.getPropertySet();
+            if (conn instanceof Connection physical
+                    && properties.getBooleanProperty(PropertyKey.cachePrepStmts).getValue()
+                    && properties.getBooleanProperty(PropertyKey.useServerPrepStmts).getValue()) {
+                connection = physical;
+                // abort나 통신 오류로 닫힌 커넥션은 close가 호출되지 않으므로, 새 커넥션을 등록할 때 함께 정리
+                MIRRORS.keySet().removeIf(ConnectionTracker::isClosed);
+                MIRRORS.put(physical, new DriverCacheMirror(
+                        properties.getIntegerProperty(PropertyKey.prepStmtCacheSize).getValue(),
+                        properties.getIntegerProperty(PropertyKey.prepStmtCacheSqlLimit).getValue()));
+            }
+            return this;
+        }
+
+        private static boolean isClosed(Connection tracked) {
+            try {
+                return tracked.isClosed();
+            } catch (SQLException e) {
+                return true;
+            }
+        }
+
+        private void untrack() {
+            if (connection != null) {
+                MIRRORS.remove(connection);
+                connection = null;
+            }
+        }
+
+        @Override
+        public void destroy() {
+            untrack();
+        }
+
+        @Override
+        public void close() {
+            untrack();
+        }
+
+        @Override
+        public boolean commit() {
+            return true;
+        }
+
+        @Override
+        public boolean rollback() {
+            return true;
+        }
+
+        @Override
+        public boolean rollback(Savepoint savepoint) {
+            return true;
+        }
+
+        @Override
+        public boolean setAutoCommit(boolean autoCommit) {
+            return true;
+        }
+
+        @Override
+        public boolean setDatabase(String database) {
+            return true;
+        }
+
+        @Override
+        public boolean transactionBegun() {
+            return true;
+        }
+
+        @Override
+        public boolean transactionCompleted() {
+            return true;
+        }
+    }
+}
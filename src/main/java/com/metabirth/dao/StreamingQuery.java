@@ -0,0 +1,114 @@
+package com.metabirth.dao;
+
+import com.metabirth.util.ConnectionScope;
+import com.metabirth.util.QueryCancellation;
+import com.metabirth.util.TransactionManager;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * 📌 StreamingQuery (대용량 조회용 스트리밍 커서)
+ * - MySQL 드라이버의 행 단위 스트리밍(forward-only, read-only, fetchSize = Integer.MIN_VALUE)을 사용하여
+ *   테이블 크기와 상관없이 한 번에 한 행만 메모리에 올린다.
+ * - 스트리밍 중에는 같은 커넥션으로 다른 쿼리를 실행할 수 없으므로, 반환된 Stream은 반드시 close 해야 한다.
+ * - 행은 순회하는 동안 서버에서 읽어 오므로, 비동기 작업의 취소(QueryCancellation) 대상은 실행부터 Stream을 닫을 때까지이다.
+ * - 실행/순회 중 발생한 SQLException은 StatementCache와 같이 분류하여, 교착 상태 / 잠금 대기 초과는
+ *   TransientDataAccessException으로 던진다. (호출하는 서비스가 TransientRetry로 트랜잭션을 다시 실행)
+ */
+final class StreamingQuery {
+    // MySQL Connector/J에서 행 단위 스트리밍을 활성화하는 fetch size
+    static final int STREAMING_FETCH_SIZE = Integer.MIN_VALUE;
+
+    private StreamingQuery() {
+    }
+
+    /**
+     * 📌 현재 작업 단위의 커넥션으로 쿼리를 실행하고 결과를 지연 로딩 Stream으로 반환
+     * - 작업 단위가 없으면 커넥션을 빌려 오며, Stream을 close 할 때 함께 반납한다.
+     */
+    static <T> Stream<T> stream(String sql, RowMapper<T> rowMapper) throws SQLException {
+        return stream(TransactionManager.openScope(), sql, rowMapper);
+    }
+
+    /**
+     * 📌 읽기 전용 작업 단위(복제본일 수 있음)로 쿼리를 실행하고 결과를 지연 로딩 Stream으로 반환
+     */
+    static <T> Stream<T> streamForRead(String sql, RowMapper<T> rowMapper) throws SQLException {
+        return stream(TransactionManager.openReadScope(), sql, rowMapper);
+    }
+
+    private static <T> Stream<T> stream(ConnectionScope scope, String sql, RowMapper<T> rowMapper) throws SQLException {
+        try {
+            return stream(scope.connection(), sql, rowMapper).onClose(() -> {
+                try {
+                    scope.close();
+                } catch (SQLException e) {
+                    throw new IllegalStateException("스트리밍 커넥션 반납 중 오류 발생", e);
+                }
+            });
+        } catch (SQLException | RuntimeException e) {
+            scope.close();
+            throw e;
+        }
+    }
+
+    /**
+     * 📌 쿼리를 실행하고 결과를 지연 로딩 Stream으로 반환
+     * - params는 순서대로 바인딩된다.
+     * - Stream을 close 하면 ResultSet과 PreparedStatement가 함께 닫힌다.
+     * - 순회 중 발생한 SQLException은 IllegalStateException으로 감싸서 던진다. (교착 상태 / 잠금 대기 초과는 TransientDataAccessException)
+     * - 비동기 작업 스레드에서 호출하면 Stream을 닫을 때까지 실행 중인 문장으로 등록되어, 작업 취소 시 cancel 된다.
+     */
+    static <T> Stream<T> stream(Connection connection, String sql, RowMapper<T> rowMapper, int... params) throws SQLException {
+        PreparedStatement ps = connection.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+        ResultSet rs;
+        try {
+            ps.setFetchSize(STREAMING_FETCH_SIZE);
+            for (int i = 0; i < params.length; i++) {
+                ps.setInt(i + 1, params[i]);
+            }
+            QueryCancellation.beforeExecute(ps);
+            rs = ps.executeQuery();
+        } catch (SQLException e) {
+            QueryCancellation.afterExecute();
+            ps.close();
+            StatementCache.translate(e);
+            throw e;
+        }
+
+        Spliterator<T> spliterator = new Spliterators.AbstractSpliterator<>(Long.MAX_VALUE,
+                Spliterator.ORDERED | Spliterator.NONNULL) {
+            @Override
+            public boolean tryAdvance(Consumer<? super T> action) {
+                try {
+                    if (!rs.next()) {
+                        return false;
+                    }
+                    action.accept(rowMapper.mapRow(rs));
+                    return true;
+                } catch (SQLException e) {
+                    StatementCache.translate(e);
+                    throw new IllegalStateException("스트리밍 조회 중 오류 발생", e);
+                }
+            }
+        };
+
+        return StreamSupport.stream(spliterator, false).onClose(() -> {
+            try (ps; rs) {
+                // try-with-resources로 ResultSet -> PreparedStatement 순서로 닫는다.
+            } catch (SQLException e) {
+                throw new IllegalStateException("스트리밍 커서 종료 중 오류 발생", e);
+            } finally {
+                QueryCancellation.afterExecute();
+            }
+        });
+    }
+}
@@ -0,0 +1,42 @@
+package com.metabirth.dao;
+
+import com.metabirth.metrics.SqlErrorStats;
+
+import java.sql.SQLException;
+import java.sql.SQLTransactionRollbackException;
+
+/**
+ * 📌 TransientDataAccessException (다시 실행하면 성공할 수 있는 DB 오류)
+ * - 교착 상태(1213)와 잠금 대기 초과(1205)처럼 다른 트랜잭션과의 경합으로 발생한 오류이다.
+ * - DAO는 SQLException을 로그로 남기고 false/null을 반환하지만, 이 예외는 삼키지 않고 서비스까지 전달된다.
+ *   (StatementCache가 문장 실행 중 발생한 SQLException을 분류하여 변환)
+ * - 교착 상태는 트랜잭션 전체가, 잠금 대기 초과는 해당 문장만 롤백된 상태이므로 받은 쪽은 트랜잭션을 롤백하고
+ *   처음부터 다시 실행해야 한다. (TransientRetry 참고)
+ */
+public class TransientDataAccessException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    public TransientDataAccessException(SQLException cause) {
+        super(cause.getMessage(), cause);
+    }
+
+    @Override
+    public synchronized SQLException getCause() {
+        return (SQLException) super.getCause();
+    }
+
+    public int getErrorCode() {
+        return getCause().getErrorCode();
+    }
+
+    /**
+     * 📌 다시 실행하면 성공할 수 있는 오류인지 확인
+     * - 쿼리 취소(57014)나 제약 조건 위반처럼 같은 결과가 반복될 오류는 포함하지 않는다.
+     */
+    public static boolean isTransient(SQLException e) {
+        return e.getErrorCode() == SqlErrorStats.DEADLOCK
+                || e.getErrorCode() == SqlErrorStats.LOCK_WAIT_TIMEOUT
+                || "40001".equals(e.getSQLState())
+                || e instanceof SQLTransactionRollbackException;
+    }
+}
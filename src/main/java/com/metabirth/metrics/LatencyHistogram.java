@@ -0,0 +1,129 @@
+package com.metabirth.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 📌 LatencyHistogram (나노초 단위 지연 시간 히스토그램)
+ * - 값의 최상위 비트 위치(2의 거듭제곱 구간)마다 16개의 하위 구간을 두는 로그-선형 버킷을 사용하므로
+ *   상대 오차는 최대 1/16 (약 6%)이다.
+ * - 기록(record)은 배열 원소 하나와 합계/최댓값을 원자적으로 갱신할 뿐 객체를 생성하지 않는다. (핫 패스 할당 없음)
+ * - 백분위 계산은 조회 시점에 버킷을 순회하므로 조회 쪽에서만 비용이 든다.
+ */
+public final class LatencyHistogram implements LatencyMXBean {
+    // 2의 거듭제곱 구간 하나를 나누는 하위 구간 수 (2^SUB_BUCKET_BITS)
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKET_COUNT = (64 - SUB_BUCKET_BITS + 1) * SUB_BUCKET_COUNT;
+
+    private final String name;
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong totalNanos = new AtomicLong();
+    private final AtomicLong maxNanos = new AtomicLong();
+
+    LatencyHistogram(String name) {
+        this.name = name;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void record(long nanos) {
+        if (nanos < 0) {
+            nanos = 0;
+        }
+        buckets.incrementAndGet(bucketIndex(nanos));
+        count.incrementAndGet();
+        totalNanos.addAndGet(nanos);
+
+        long max = maxNanos.get();
+        while (nanos > max && !maxNanos.compareAndSet(max, nanos)) {
+            max = maxNanos.get();
+        }
+    }
+
+    // System.nanoTime()으로 측정한 시작 시각부터 지금까지의 시간을 기록
+    public void recordSince(long startNanos) {
+        record(System.nanoTime() - startNanos);
+    }
+
+    static int bucketIndex(long value) {
+        if (value < SUB_BUCKET_COUNT) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKET_COUNT - 1);
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKET_COUNT + subBucket;
+    }
+
+    // 버킷에 속하는 값의 상한 (백분위는 보수적으로 상한값으로 보고)
+    static long bucketUpperBound(int index) {
+        if (index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+        int exponent = index / SUB_BUCKET_COUNT + SUB_BUCKET_BITS - 1;
+        int subBucket = index % SUB_BUCKET_COUNT;
+        int shift = exponent - SUB_BUCKET_BITS;
+        long lower = (long) (SUB_BUCKET_COUNT + subBucket) << shift;
+        return lower + (1L << shift) - 1;
+    }
+
+    /**
+     * 📌 백분위 값 (나노초)
+     * @param quantile 0.0 ~ 1.0 (예: 0.99)
+     */
+    public long percentile(double quantile) {
+        long total = count.get();
+        if (total == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(quantile * total));
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += buckets.get(i);
+            if (seen >= rank) {
+                return Math.min(bucketUpperBound(i), maxNanos.get());
+            }
+        }
+        return maxNanos.get();
+    }
+
+    @Override
+    public long getCount() {
+        return count.get();
+    }
+
+    @Override
+    public double getMeanMicros() {
+        long total = count.get();
+        return total == 0 ? 0.0 : totalNanos.get() / 1_000.0 / total;
+    }
+
+    @Override
+    public double getP50Micros() {
+        return percentile(0.50) / 1_000.0;
+    }
+
+    @Override
+    public double getP99Micros() {
+        return percentile(0.99) / 1_000.0;
+    }
+
+    @Override
+    public double getP999Micros() {
+        return percentile(0.999) / 1_000.0;
+    }
+
+    @Override
+    public double getMaxMicros() {
+        return maxNanos.get() / 1_000.0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%-50s %9d %10.1f %10.1f %10.1f %10.1f %10.1f",
+                name, getCount(), getMeanMicros(), getP50Micros(), getP99Micros(), getP999Micros(), getMaxMicros());
+    }
+}
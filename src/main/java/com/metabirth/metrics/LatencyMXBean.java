@@ -0,0 +1,19 @@
+package com.metabirth.metrics;
+
+/**
+ * 📌 LatencyMXBean (JMX로 노출되는 지연 시간 통계)
+ * - 단위는 마이크로초(us)이며, JConsole / VisualVM 등에서 com.metabirth:type=Latency 로 조회할 수 있다.
+ */
+public interface LatencyMXBean {
+    long getCount();
+
+    double getMeanMicros();
+
+    double getP50Micros();
+
+    double getP99Micros();
+
+    double getP999Micros();
+
+    double getMaxMicros();
+}
@@ -0,0 +1,94 @@
+package com.metabirth.metrics;
+
+import com.zaxxer.hikari.metrics.PoolStats;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * 📌 MetricsRegistry (애플리케이션 메트릭 모음)
+ * - 지연 시간 히스토그램은 이름당 하나씩 생성되며, 생성 시 JMX(com.metabirth:type=Latency,name=...)에 등록된다.
+ * - 기록하는 쪽은 히스토그램을 static final 필드로 보관하여 핫 패스에서 조회/할당 없이 기록한다.
+ * - snapshot()으로 모든 메트릭(SQL 오류, 재시도 집계 포함)을 텍스트로 덤프할 수 있다.
+ */
+public final class MetricsRegistry {
+    private static final Logger log = LoggerFactory.getLogger(MetricsRegistry.class);
+    private static final String JMX_DOMAIN = "com.metabirth";
+
+    private static final Map<String, LatencyHistogram> LATENCIES = new ConcurrentSkipListMap<>();
+    private static final Map<String, PoolMetricsTrackerFactory.PoolMetrics> POOLS = new ConcurrentHashMap<>();
+
+    private MetricsRegistry() {
+    }
+
+    /**
+     * 📌 이름에 해당하는 지연 시간 히스토그램 반환 (없으면 생성 후 JMX 등록)
+     */
+    public static LatencyHistogram latency(String name) {
+        return LATENCIES.computeIfAbsent(name, key -> {
+            LatencyHistogram histogram = new LatencyHistogram(key);
+            registerMBean(histogram, "type=Latency,name=" + ObjectName.quote(key));
+            return histogram;
+        });
+    }
+
+    static PoolMetricsTrackerFactory.PoolMetrics registerPool(String poolName, PoolStats poolStats) {
+        PoolMetricsTrackerFactory.PoolMetrics metrics = new PoolMetricsTrackerFactory.PoolMetrics(poolName, poolStats);
+        POOLS.put(poolName, metrics);
+        return metrics;
+    }
+
+    // 모든 커넥션 풀의 커넥션 획득 타임아웃 횟수 합계
+    public static long getConnectionTimeouts() {
+        return POOLS.values().stream().mapToLong(pool -> pool.timeouts.get()).sum();
+    }
+
+    private static void registerMBean(Object bean, String properties) {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName objectName = new ObjectName(JMX_DOMAIN + ":" + properties);
+            if (!server.isRegistered(objectName)) {
+                server.registerMBean(bean, objectName);
+            }
+        } catch (JMException e) {
+            // JMX 등록 실패는 메트릭 기록에 영향을 주지 않으므로 기록만 한다.
+            log.warn("JMX 등록 실패 - {}: {}", properties, e.getMessage());
+        }
+    }
+
+    /**
+     * 📌 모든 메트릭의 텍스트 스냅샷
+     */
+    public static String snapshot() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("[커넥션 풀]\n");
+        if (POOLS.isEmpty()) {
+            sb.append("(없음)\n");
+        }
+        POOLS.values().forEach(pool -> sb.append(pool).append('\n'));
+
+        sb.append("[지연 시간 (단위: us)]\n");
+        sb.append(String.format("%-50s %9s %10s %10s %10s %10s %10s%n",
+                "name", "count", "mean", "p50", "p99", "p999", "max"));
+        LATENCIES.values().forEach(histogram -> sb.append(histogram).append('\n'));
+
+        sb.append("[SQL 오류]\n");
+        sb.append(SqlErrorStats.snapshot());
+
+        sb.append("[재시도]\n");
+        sb.append(RetryStats.snapshot());
+        return sb.toString();
+    }
+
+    public static void printSnapshot() {
+        System.out.println("[메트릭 스냅샷]");
+        System.out.print(snapshot());
+    }
+}
@@ -0,0 +1,61 @@
+package com.metabirth.metrics;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 📌 RetryStats (작업별 재시도 횟수)
+ * - TransientRetry가 교착 상태 / 잠금 대기 초과로 작업을 다시 실행할 때마다 기록한다.
+ * - retries : 다시 실행한 횟수, recovered : 재시도 끝에 성공한 호출 수,
+ *   exhausted : 최대 시도 횟수를 다 쓰고 실패한 호출 수, budgetDenied : 재시도 예산이 없어 바로 실패한 호출 수
+ */
+public final class RetryStats {
+    private static final Map<String, Counters> BY_OPERATION = new ConcurrentSkipListMap<>();
+
+    private static final class Counters {
+        private final LongAdder retries = new LongAdder();
+        private final LongAdder recovered = new LongAdder();
+        private final LongAdder exhausted = new LongAdder();
+        private final LongAdder budgetDenied = new LongAdder();
+    }
+
+    private RetryStats() {
+    }
+
+    private static Counters counters(String operation) {
+        return BY_OPERATION.computeIfAbsent(operation, ignored -> new Counters());
+    }
+
+    public static void recordRetry(String operation) {
+        counters(operation).retries.increment();
+    }
+
+    public static void recordRecovered(String operation) {
+        counters(operation).recovered.increment();
+    }
+
+    public static void recordExhausted(String operation) {
+        counters(operation).exhausted.increment();
+    }
+
+    public static void recordBudgetDenied(String operation) {
+        counters(operation).budgetDenied.increment();
+    }
+
+    public static long retries(String operation) {
+        Counters counters = BY_OPERATION.get(operation);
+        return counters == null ? 0 : counters.retries.sum();
+    }
+
+    public static String snapshot() {
+        StringBuilder sb = new StringBuilder();
+        if (BY_OPERATION.isEmpty()) {
+            sb.append("(없음)\n");
+        }
+        BY_OPERATION.forEach((operation, counters) -> sb.append(String.format(
+                "%-50s retries=%d, recovered=%d, exhausted=%d, budgetDenied=%d%n", operation,
+                counters.retries.sum(), counters.recovered.sum(), counters.exhausted.sum(), counters.budgetDenied.sum())));
+        return sb.toString();
+    }
+}
@@ -0,0 +1,80 @@
+package com.metabirth.metrics;
+
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 📌 SqlErrorStats (SQL 오류 코드별 발생 횟수)
+ * - DAO는 SQLException을 로그만 남기고 false/null을 반환하므로, 호출하는 쪽에서는 실패 원인을 구분할 수 없다.
+ *   StatementCache가 문장 실행 중 발생한 오류를 여기에 기록하여 교착 상태, 잠금 대기 초과, 제약 조건 위반을 집계한다.
+ * - 중복 키(1062) 오류는 위반된 제약 조건(유니크 키) 이름별로 따로 센다. (예: uq_payments_active)
+ */
+public final class SqlErrorStats {
+    // MySQL 오류 코드
+    public static final int DUPLICATE_KEY = 1062;
+    public static final int LOCK_WAIT_TIMEOUT = 1205;
+    public static final int DEADLOCK = 1213;
+
+    // MySQL 8 : Duplicate entry '5' for key 'payments.uq_payments_active' (5.7 이하는 테이블 이름 없이 키 이름만)
+    private static final Pattern DUPLICATE_KEY_NAME = Pattern.compile("for key '(?:[^'.]+\\.)?([^']+)'");
+
+    private static final Map<Integer, LongAdder> BY_ERROR_CODE = new ConcurrentSkipListMap<>();
+    private static final Map<String, LongAdder> BY_CONSTRAINT = new ConcurrentSkipListMap<>();
+
+    private SqlErrorStats() {
+    }
+
+    public static void record(SQLException e) {
+        BY_ERROR_CODE.computeIfAbsent(e.getErrorCode(), ignored -> new LongAdder()).increment();
+        if (e.getErrorCode() == DUPLICATE_KEY) {
+            String constraint = constraintName(e.getMessage());
+            BY_CONSTRAINT.computeIfAbsent(constraint, ignored -> new LongAdder()).increment();
+        }
+    }
+
+    static String constraintName(String message) {
+        if (message != null) {
+            Matcher matcher = DUPLICATE_KEY_NAME.matcher(message);
+            if (matcher.find()) {
+                return matcher.group(1);
+            }
+        }
+        return "(unknown)";
+    }
+
+    public static long count(int errorCode) {
+        LongAdder counter = BY_ERROR_CODE.get(errorCode);
+        return counter == null ? 0 : counter.sum();
+    }
+
+    // 유니크 제약 조건별 중복 키 오류 횟수
+    public static long duplicateKeyCount(String constraint) {
+        LongAdder counter = BY_CONSTRAINT.get(constraint);
+        return counter == null ? 0 : counter.sum();
+    }
+
+    public static String snapshot() {
+        StringBuilder sb = new StringBuilder();
+        if (BY_ERROR_CODE.isEmpty()) {
+            sb.append("(없음)\n");
+        }
+        BY_ERROR_CODE.forEach((errorCode, counter) ->
+                sb.append(String.format("error %-6d %-20s %d%n", errorCode, describe(errorCode), counter.sum())));
+        BY_CONSTRAINT.forEach((constraint, counter) ->
+                sb.append(String.format("  duplicate key %-30s %d%n", constraint, counter.sum())));
+        return sb.toString();
+    }
+
+    private static String describe(int errorCode) {
+        return switch (errorCode) {
+            case DUPLICATE_KEY -> "duplicate key";
+            case LOCK_WAIT_TIMEOUT -> "lock wait timeout";
+            case DEADLOCK -> "deadlock";
+            default -> "";
+        };
+    }
+}
@@ -0,0 +1,101 @@
+package com.metabirth.model;
+
+import java.util.Arrays;
+
+/*
+ * 수업별 리뷰 별점 통계 (리뷰 수, 별점 합계, 1 ~ 5점 분포)
+ * 불변 객체이며, 리뷰 변경분(증감)도 같은 형태로 표현하여 plus로 더한다.
+ * 1 ~ 5 범위를 벗어난 별점은 리뷰 수와 합계에만 포함되고 분포에는 포함되지 않는다.
+ * */
+public class ClassRatingSummary {
+    public static final int MIN_RATING = 1;
+    public static final int MAX_RATING = 5;
+    public static final ClassRatingSummary EMPTY = new ClassRatingSummary(0, 0, new int[MAX_RATING]);
+
+    private final int reviewCount;
+    private final long ratingSum;
+    // histogram[i] : (i + 1)점 리뷰 수
+    private final int[] histogram;
+
+    public ClassRatingSummary(int reviewCount, long ratingSum, int[] histogram) {
+        if (histogram.length != MAX_RATING) {
+            throw new IllegalArgumentException("별점 분포는 " + MAX_RATING + "개여야 합니다: " + histogram.length);
+        }
+        this.reviewCount = reviewCount;
+        this.ratingSum = ratingSum;
+        this.histogram = histogram.clone();
+    }
+
+    // 리뷰 한 건
+    public static ClassRatingSummary of(int rating) {
+        int[] histogram = new int[MAX_RATING];
+        if (isValidRating(rating)) {
+            histogram[rating - 1] = 1;
+        }
+        return new ClassRatingSummary(1, rating, histogram);
+    }
+
+    public static boolean isValidRating(int rating) {
+        return rating >= MIN_RATING && rating <= MAX_RATING;
+    }
+
+    public ClassRatingSummary plus(ClassRatingSummary other) {
+        int[] sum = new int[MAX_RATING];
+        for (int i = 0; i < MAX_RATING; i++) {
+            sum[i] = histogram[i] + other.histogram[i];
+        }
+        return new ClassRatingSummary(reviewCount + other.reviewCount, ratingSum + other.ratingSum, sum);
+    }
+
+    public ClassRatingSummary negate() {
+        int[] negated = new int[MAX_RATING];
+        for (int i = 0; i < MAX_RATING; i++) {
+            negated[i] = -histogram[i];
+        }
+        return new ClassRatingSummary(-reviewCount, -ratingSum, negated);
+    }
+
+    public boolean isEmpty() {
+        return reviewCount == 0 && ratingSum == 0 && Arrays.stream(histogram).allMatch(count -> count == 0);
+    }
+
+    public int getReviewCount() {
+        return reviewCount;
+    }
+
+    public long getRatingSum() {
+        return ratingSum;
+    }
+
+    // rating점 리뷰 수
+    public int getCount(int rating) {
+        return isValidRating(rating) ? histogram[rating - 1] : 0;
+    }
+
+    // 평균 별점 (리뷰가 없으면 0)
+    public double getAverage() {
+        return reviewCount == 0 ? 0 : (double) ratingSum / reviewCount;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof ClassRatingSummary that)) return false;
+        return reviewCount == that.reviewCount && ratingSum == that.ratingSum && Arrays.equals(histogram, that.histogram);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * (31 * reviewCount + Long.hashCode(ratingSum)) + Arrays.hashCode(histogram);
+    }
+
+    @Override
+    public String toString() {
+        return "ClassRatingSummary{" +
+                "reviewCount=" + reviewCount +
+                ", ratingSum=" + ratingSum +
+                ", average=" + String.format("%.2f", getAverage()) +
+                ", histogram=" + Arrays.toString(histogram) +
+                '}';
+    }
+}
@@ -0,0 +1,46 @@
+package com.metabirth.model;
+
+/*
+ * 처리된 수강신청 + 결제 등록 요청 (멱등 키)
+ * 같은 requestKey로 다시 요청하면 새로 등록하지 않고 이 ID를 돌려준다.
+ * payloadHash는 처음 요청 본문의 지문이며, 본문이 다른 재시도는 거절한다. (지문 기록 이전에 처리된 요청은 null)
+ * */
+public class RegistrationRequest {
+    private final String requestKey;
+    private final String payloadHash;
+    private final int enrollmentId;
+    private final int paymentId;
+
+    public RegistrationRequest(String requestKey, String payloadHash, int enrollmentId, int paymentId) {
+        this.requestKey = requestKey;
+        this.payloadHash = payloadHash;
+        this.enrollmentId = enrollmentId;
+        this.paymentId = paymentId;
+    }
+
+    public String getRequestKey() {
+        return requestKey;
+    }
+
+    public String getPayloadHash() {
+        return payloadHash;
+    }
+
+    public int getEnrollmentId() {
+        return enrollmentId;
+    }
+
+    public int getPaymentId() {
+        return paymentId;
+    }
+
+    @Override
+    public String toString() {
+        return "RegistrationRequest{" +
+                "requestKey='" + requestKey + '\'' +
+                ", payloadHash='" + payloadHash + '\'' +
+                ", enrollmentId=" + enrollmentId +
+                ", paymentId=" + paymentId +
+                '}';
+    }
+}
@@ -0,0 +1,22 @@
+package com.metabirth.model;
+
+import java.time.LocalDate;
+import java.util.Comparator;
+
+/*
+ * 매출 집계 키 (수업, 결제일)
+ * 결제일은 결제 등록 시각(created_at)을 애플리케이션 시간대로 변환한 날짜이다.
+ * */
+public record RevenueKey(int classId, LocalDate date) implements Comparable<RevenueKey> {
+    // 수업 -> 날짜 순 (수업별 기간 조회, 통계 행 갱신 순서)
+    public static final Comparator<RevenueKey> CLASS_FIRST =
+            Comparator.comparingInt(RevenueKey::classId).thenComparing(RevenueKey::date);
+    // 날짜 -> 수업 순 (기간 전체 조회)
+    public static final Comparator<RevenueKey> DATE_FIRST =
+            Comparator.comparing(RevenueKey::date).thenComparingInt(RevenueKey::classId);
+
+    @Override
+    public int compareTo(RevenueKey other) {
+        return CLASS_FIRST.compare(this, other);
+    }
+}
@@ -0,0 +1,76 @@
+package com.metabirth.model;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/*
+ * 매출 합계 (결제 수, 결제 금액 합계)
+ * 금액은 최소 화폐 단위(payments.amount 의 소수점 2자리)의 long 으로 보관하여 BigDecimal 없이 더한다.
+ * 불변 객체이며, 결제 변경분(증감)도 같은 형태로 표현하여 plus로 더한다.
+ * */
+public class RevenueTotal {
+    // payments.amount decimal(10, 2)
+    public static final int AMOUNT_SCALE = 2;
+    public static final RevenueTotal EMPTY = new RevenueTotal(0, 0);
+
+    private final long paymentCount;
+    private final long amountMinor;
+
+    public RevenueTotal(long paymentCount, long amountMinor) {
+        this.paymentCount = paymentCount;
+        this.amountMinor = amountMinor;
+    }
+
+    // 결제 한 건
+    public static RevenueTotal of(BigDecimal amount) {
+        return new RevenueTotal(1, toMinorUnits(amount));
+    }
+
+    public static long toMinorUnits(BigDecimal amount) {
+        return amount.setScale(AMOUNT_SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    public RevenueTotal plus(RevenueTotal other) {
+        return new RevenueTotal(paymentCount + other.paymentCount, amountMinor + other.amountMinor);
+    }
+
+    public RevenueTotal negate() {
+        return new RevenueTotal(-paymentCount, -amountMinor);
+    }
+
+    public boolean isEmpty() {
+        return paymentCount == 0 && amountMinor == 0;
+    }
+
+    public long getPaymentCount() {
+        return paymentCount;
+    }
+
+    public long getAmountMinor() {
+        return amountMinor;
+    }
+
+    public BigDecimal getAmount() {
+        return BigDecimal.valueOf(amountMinor, AMOUNT_SCALE);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof RevenueTotal that)) return false;
+        return paymentCount == that.paymentCount && amountMinor == that.amountMinor;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Long.hashCode(paymentCount) + Long.hashCode(amountMinor);
+    }
+
+    @Override
+    public String toString() {
+        return "RevenueTotal{" +
+                "paymentCount=" + paymentCount +
+                ", amount=" + getAmount() +
+                '}';
+    }
+}
@@ -0,0 +1,250 @@
+package com.metabirth.service;
+
+import com.metabirth.config.JDBCConnection;
+import com.metabirth.config.ReplicaRouter;
+import com.metabirth.dao.ArchiveDAO;
+import com.metabirth.dao.TransientDataAccessException;
+import com.metabirth.metrics.LatencyHistogram;
+import com.metabirth.metrics.MetricsRegistry;
+import com.metabirth.util.ConnectionScope;
+import com.metabirth.util.TransactionCallbacks;
+import com.metabirth.util.TransactionManager;
+import com.metabirth.util.TransientRetry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * 📌 ArchivalService (논리 삭제된 행 보관 작업)
+ * - 논리 삭제 후 retentionDays가 지난 수강신청 그룹(수강신청 + 결제 + 리뷰)을 보관 테이블로 옮겨
+ *   활성 조회(status = 0)가 읽는 테이블을 작게 유지한다.
+ * - purgeAfterDays가 0보다 크면 보관된 지 그만큼 지난 행을 보관 테이블에서 영구 삭제한다.
+ * - 기본키 구간 chunk마다 짧은 트랜잭션으로 커밋하고, chunk 사이에는 직전 chunk 소요 시간 이상 쉬어서
+ *   잠금 시간과 복제본으로 보내는 변경량을 제한한다. 복제 지연이 기준을 넘으면 줄어들 때까지 기다린다.
+ * - 여러 인스턴스에서 주기적으로 실행해도 DB 네임드 락으로 한 곳에서만 실행된다.
+ */
+public class ArchivalService {
+    private static final Logger log = LoggerFactory.getLogger(ArchivalService.class);
+
+    private static final LatencyHistogram COMMITTED = MetricsRegistry.latency("ArchivalService.commit");
+    private static final LatencyHistogram ROLLED_BACK = MetricsRegistry.latency("ArchivalService.rollback");
+
+    private final ArchiveDAO archiveDAO;
+    // 현재 복제 지연 (ms), 복제본이 없으면 0, 알 수 없으면 ReplicaRouter.UNKNOWN_LAG_MILLIS
+    private final LongSupplier replicaLagMillis;
+    private ScheduledExecutorService scheduler;
+
+    /**
+     * 📌 보관 작업 설정
+     *
+     * @param retentionDays       논리 삭제 후 보관 테이블로 옮기기까지의 기간 (일)
+     * @param purgeAfterDays      보관 후 영구 삭제까지의 기간 (일), 0 이면 영구 삭제하지 않음
+     * @param chunkSize           한 트랜잭션에서 옮길 최대 수강신청 그룹 수 / 한 번에 영구 삭제할 최대 행 수
+     * @param pauseMillis         chunk 사이 최소 대기 시간 (ms)
+     * @param maxReplicaLagMillis 복제 지연이 이 값을 넘으면 다음 chunk를 미룬다. (ms)
+     */
+    public record Config(int retentionDays, int purgeAfterDays, int chunkSize, long pauseMillis, long maxReplicaLagMillis) {
+        public Config {
+            if (retentionDays < 1) {
+                throw new IllegalArgumentException("retentionDays는 1 이상이어야 합니다: " + retentionDays);
+            }
+            if (purgeAfterDays < 0) {
+                throw new IllegalArgumentException("purgeAfterDays는 0 이상이어야 합니다: " + purgeAfterDays);
+            }
+            if (chunkSize <= 0) {
+                throw new IllegalArgumentException("chunkSize는 1 이상이어야 합니다: " + chunkSize);
+            }
+        }
+    }
+
+    public ArchivalService() {
+        this(new ArchiveDAO(), JDBCConnection::getMaxReplicaLagMillis);
+    }
+
+    ArchivalService(ArchiveDAO archiveDAO, LongSupplier replicaLagMillis) {
+        this.archiveDAO = archiveDAO;
+        this.replicaLagMillis = replicaLagMillis;
+    }
+
+    /**
+     * 📌 보관 작업 한 번 실행
+     * - 다른 인스턴스가 실행 중이면 아무것도 하지 않고 completed = false 인 결과를 반환한다.
+     */
+    public ArchiveResult run(Config config) {
+        ArchiveResult result = new ArchiveResult();
+        ConnectionScope connectionScope;
+        try {
+            connectionScope = TransactionManager.openScope();
+        } catch (SQLException e) {
+            log.error("보관 작업 커넥션 획득 실패: {}", e.getMessage());
+            return result;
+        }
+
+        // 네임드 락은 세션 단위이므로 작업 내내 같은 커넥션을 사용한다.
+        try {
+            if (!archiveDAO.tryAcquireJobLock()) {
+                log.info("다른 인스턴스에서 보관 작업이 실행 중이므로 건너뜁니다.");
+                return result;
+            }
+            try {
+                if (archive(connectionScope.connection(), config, result) && purge(config, result)) {
+                    result.markCompleted();
+                }
+                return result;
+            } finally {
+                archiveDAO.releaseJobLock();
+            }
+        } finally {
+            try { connectionScope.close(); } catch (SQLException e) { log.error("커넥션 반납 실패: {}", e.getMessage()); }
+        }
+    }
+
+    /*
+     * 보관 테이블로 옮기기
+     * 대상 수강신청 ID를 chunkSize개씩 조회하고, 그 기본키 구간의 그룹을 한 트랜잭션으로 옮긴다.
+     * 실패한 chunk는 롤백하고 중단한다. (이미 커밋된 chunk는 유지되며 다음 실행에서 이어서 처리)
+     * */
+    private boolean archive(Connection connection, Config config, ArchiveResult result) {
+        Timestamp cutoff = Timestamp.from(Instant.now().minus(config.retentionDays(), ChronoUnit.DAYS));
+        int afterId = 0;
+        long transactionStart = System.nanoTime();
+        try {
+            connection.setAutoCommit(false);
+            while (true) {
+                transactionStart = System.nanoTime();
+                List<Integer> enrollmentIds = archiveDAO.getArchivableEnrollmentIdChunk(cutoff, afterId, config.chunkSize());
+                if (enrollmentIds == null) {
+                    TransactionCallbacks.rollback(connection);
+                    ROLLED_BACK.recordSince(transactionStart);
+                    log.warn("보관 대상 조회 실패. 중단 - {}", result);
+                    return false;
+                }
+                if (enrollmentIds.isEmpty()) {
+                    TransactionCallbacks.commit(connection);
+                    return true;
+                }
+
+                int fromId = enrollmentIds.get(0);
+                int toId = enrollmentIds.get(enrollmentIds.size() - 1);
+                // archived_at 은 초 단위 컬럼이므로, 이번 chunk에서 옮긴 행을 같은 값으로 찾을 수 있도록 초 단위로 자른다.
+                Timestamp archivedAt = Timestamp.from(Instant.now().truncatedTo(ChronoUnit.SECONDS));
+                ArchiveDAO.ArchivedRows rows = archiveDAO.archiveEnrollmentGroups(fromId, toId, cutoff, archivedAt);
+                if (rows == null) {
+                    TransactionCallbacks.rollback(connection);
+                    ROLLED_BACK.recordSince(transactionStart);
+                    log.warn("보관 중 실패. 구간 [{}, {}] 롤백 후 중단 - {}", fromId, toId, result);
+                    return false;
+                }
+
+                TransactionCallbacks.commit(connection);
+                COMMITTED.recordSince(transactionStart);
+                result.addChunk(rows.enrollments(), rows.payments(), rows.reviews());
+                log.info("보관 진행 - 구간 [{}, {}], 누적: {}", fromId, toId, result);
+                afterId = toId;
+
+                if (!throttle(config, transactionStart)) {
+                    return false;
+                }
+            }
+        } catch (SQLException | TransientDataAccessException e) {
+            // 교착 상태 / 잠금 대기 초과는 재시도하지 않고 중단하여 사용자 트랜잭션에 양보한다. (다음 실행에서 이어서 처리)
+            try { TransactionCallbacks.rollback(connection); } catch (SQLException ex) { log.error("롤백 실패: {}", ex.getMessage()); }
+            ROLLED_BACK.recordSince(transactionStart);
+            log.error("보관 트랜잭션 실패: {} - {}", e.getMessage(), result);
+            return false;
+        } finally {
+            try { connection.setAutoCommit(true); } catch (SQLException e) { log.error("AutoCommit 복원 실패: {}", e.getMessage()); }
+        }
+    }
+
+    // 보관된 지 purgeAfterDays가 지난 행을 chunkSize개씩 영구 삭제 (autocommit, 문장마다 커밋)
+    private boolean purge(Config config, ArchiveResult result) {
+        if (config.purgeAfterDays() == 0) {
+            return true;
+        }
+        Timestamp before = Timestamp.from(Instant.now().minus(config.purgeAfterDays(), ChronoUnit.DAYS));
+        while (true) {
+            long start = System.nanoTime();
+            int purged = TransientRetry.callOrElse("ArchivalService.purge",
+                    () -> archiveDAO.purgeArchived(before, config.chunkSize()), -1);
+            if (purged < 0) {
+                log.warn("보관 행 영구 삭제 실패. 중단 - {}", result);
+                return false;
+            }
+            if (purged == 0) {
+                return true;
+            }
+            result.addPurged(purged);
+            if (!throttle(config, start)) {
+                return false;
+            }
+        }
+    }
+
+    /*
+     * chunk 사이 대기
+     * 직전 chunk 소요 시간 이상(최소 pauseMillis) 쉬어서 이 작업이 DB를 사용하는 시간을 절반 이하로 유지하고,
+     * 복제 지연이 maxReplicaLagMillis를 넘거나, 복제가 멈춰 지연을 알 수 없으면 측정될 때까지 기다린다.
+     * 인터럽트(작업 중지)되면 false를 반환한다.
+     * */
+    private boolean throttle(Config config, long chunkStartNanos) {
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - chunkStartNanos);
+        try {
+            Thread.sleep(Math.max(config.pauseMillis(), elapsedMillis));
+            long lag;
+            while ((lag = replicaLagMillis.getAsLong()) > config.maxReplicaLagMillis()) {
+                if (lag == ReplicaRouter.UNKNOWN_LAG_MILLIS) {
+                    log.info("복제 지연을 알 수 없음 (복제 중단 또는 측정 실패), 보관 작업 대기");
+                } else {
+                    log.info("복제 지연 {}ms > {}ms, 보관 작업 대기", lag, config.maxReplicaLagMillis());
+                }
+                Thread.sleep(Math.max(config.pauseMillis(), 1000));
+            }
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("보관 작업이 중지되었습니다.");
+            return false;
+        }
+    }
+
+    /**
+     * 📌 주기적 실행 시작 (첫 실행은 interval 이후)
+     */
+    public synchronized void start(Config config, long interval, TimeUnit unit) {
+        if (scheduler != null) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "archival-job");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(() -> {
+            try {
+                ArchiveResult result = run(config);
+                log.info("보관 작업 종료 - {}", result);
+            } catch (RuntimeException e) {
+                // 예외가 전파되면 이후 실행이 취소되므로 기록만 한다.
+                log.error("보관 작업 중 오류: {}", e.getMessage(), e);
+            }
+        }, interval, interval, unit);
+    }
+
+    public synchronized void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+}
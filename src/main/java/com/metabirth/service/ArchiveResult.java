@@ -0,0 +1,70 @@
+package com.metabirth.service;
+
+/**
+ * 📌 ArchiveResult (논리 삭제 행 보관 작업 결과)
+ * - chunk가 커밋될 때마다 누적된다.
+ * - completed 가 false 이면 실패하거나 중단되어 남은 chunk는 처리되지 않았음을 의미한다.
+ *   (이미 커밋된 chunk는 유지되며, 다음 실행에서 이어서 처리된다.)
+ */
+public class ArchiveResult {
+    private int chunks;
+    private int enrollments;
+    private int payments;
+    private int reviews;
+    private int purged;
+    private boolean completed;
+
+    ArchiveResult() {
+    }
+
+    void addChunk(int enrollments, int payments, int reviews) {
+        this.chunks++;
+        this.enrollments += enrollments;
+        this.payments += payments;
+        this.reviews += reviews;
+    }
+
+    void addPurged(int purged) {
+        this.purged += purged;
+    }
+
+    void markCompleted() {
+        this.completed = true;
+    }
+
+    public int getChunks() {
+        return chunks;
+    }
+
+    public int getEnrollments() {
+        return enrollments;
+    }
+
+    public int getPayments() {
+        return payments;
+    }
+
+    public int getReviews() {
+        return reviews;
+    }
+
+    public int getPurged() {
+        return purged;
+    }
+
+    public boolean isCompleted() {
+        return completed;
+    }
+
+    @Override
+    public String toString() {
+        return "ArchiveResult{" +
+                "chunks=" + chunks +
+                ", enrollments=" + enrollments +
+                ", payments=" + payments +
+                ", reviews=" + reviews +
+                ", purged=" + purged +
+                ", completed=" + completed +
+                '}';
+    }
+}
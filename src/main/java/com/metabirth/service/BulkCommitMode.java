@@ -0,0 +1,11 @@
+package com.metabirth.service;
+
+/**
+ * 📌 BulkCommitMode (일괄 등록 커밋 방식)
+ * - ALL_OR_NOTHING : 전체를 하나의 트랜잭션으로 처리하며, 한 건이라도 실패하면 전체 롤백
+ * - PER_CHUNK : chunk 단위로 커밋하며, 실패한 chunk만 롤백하고 나머지는 계속 진행
+ */
+public enum BulkCommitMode {
+    ALL_OR_NOTHING,
+    PER_CHUNK
+}
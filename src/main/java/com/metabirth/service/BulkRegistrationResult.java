@@ -0,0 +1,50 @@
+package com.metabirth.service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 📌 BulkRegistrationResult (수강신청 + 결제 일괄 등록 결과)
+ * - 입력 목록 기준으로 등록에 실패한(롤백된) 인덱스를 보관
+ * - 성공한 항목의 ID는 각 Enrollment / Payment 객체에 기록되어 있다.
+ */
+public class BulkRegistrationResult {
+    private final int total;
+    private final List<Integer> failedIndexes = new ArrayList<>();
+
+    BulkRegistrationResult(int total) {
+        this.total = total;
+    }
+
+    void markFailed(int from, int to) {
+        for (int i = from; i < to; i++) {
+            failedIndexes.add(i);
+        }
+    }
+
+    public int getTotal() {
+        return total;
+    }
+
+    public int getRegisteredCount() {
+        return total - failedIndexes.size();
+    }
+
+    public List<Integer> getFailedIndexes() {
+        return Collections.unmodifiableList(failedIndexes);
+    }
+
+    public boolean isAllSucceeded() {
+        return failedIndexes.isEmpty();
+    }
+
+    @Override
+    public String toString() {
+        return "BulkRegistrationResult{" +
+                "total=" + total +
+                ", registered=" + getRegisteredCount() +
+                ", failed=" + failedIndexes.size() +
+                '}';
+    }
+}
@@ -0,0 +1,76 @@
+package com.metabirth.service;
+
+import com.metabirth.dao.EnrollmentScope;
+
+/**
+ * 📌 CascadeDeleteResult (수업 취소 / 학생 철회 일괄 삭제 결과)
+ * - chunk가 커밋될 때마다 누적되므로 진행 상황 콜백에서도 그대로 사용할 수 있다.
+ * - completed 가 false 이면 중간 chunk에서 실패하여 이후 chunk는 처리되지 않았음을 의미한다.
+ *   (이미 커밋된 chunk는 유지된다.)
+ */
+public class CascadeDeleteResult {
+    private final EnrollmentScope scope;
+    private final int key;
+    private int chunks;
+    private int enrollments;
+    private int payments;
+    private int reviews;
+    private boolean completed;
+
+    CascadeDeleteResult(EnrollmentScope scope, int key) {
+        this.scope = scope;
+        this.key = key;
+    }
+
+    void addChunk(int enrollments, int payments, int reviews) {
+        this.chunks++;
+        this.enrollments += enrollments;
+        this.payments += payments;
+        this.reviews += reviews;
+    }
+
+    void markCompleted() {
+        this.completed = true;
+    }
+
+    public EnrollmentScope getScope() {
+        return scope;
+    }
+
+    public int getKey() {
+        return key;
+    }
+
+    public int getChunks() {
+        return chunks;
+    }
+
+    public int getEnrollments() {
+        return enrollments;
+    }
+
+    public int getPayments() {
+        return payments;
+    }
+
+    public int getReviews() {
+        return reviews;
+    }
+
+    public boolean isCompleted() {
+        return completed;
+    }
+
+    @Override
+    public String toString() {
+        return "CascadeDeleteResult{" +
+                "scope=" + scope +
+                ", key=" + key +
+                ", chunks=" + chunks +
+                ", enrollments=" + enrollments +
+                ", payments=" + payments +
+                ", reviews=" + reviews +
+                ", completed=" + completed +
+                '}';
+    }
+}
@@ -0,0 +1,140 @@
+package com.metabirth.service;
+
+import com.metabirth.cache.ClassSeatCounter;
+import com.metabirth.dao.ClassSeatDAO;
+import com.metabirth.dao.TransientDataAccessException;
+import com.metabirth.util.TransactionManager;
+import com.metabirth.util.TransientRetry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 📌 ClassSeatService (수업 정원 관리)
+ * - 수강신청 등록 전 메모리 카운터(ClassSeatCounter)로 남은 좌석을 확인한다. 좌석 예약은 수강신청을 삽입하는 DAO가 한다.
+ * - 메모리 카운터에 쌓인 좌석 증감을 짧은 트랜잭션 하나로 DB 카운터에 반영한다. (applySeatDeltas)
+ * - 주기적으로 DB 카운터를 활성 수강신청 수로 다시 계산하고 메모리 카운터에 반영한다.
+ */
+public class ClassSeatService {
+    private static final Logger log = LoggerFactory.getLogger(ClassSeatService.class);
+    private final ClassSeatDAO classSeatDAO;
+    private final ClassSeatCounter counter;
+
+    public ClassSeatService() {
+        this.classSeatDAO = new ClassSeatDAO();
+        this.counter = ClassSeatCounter.getInstance();
+    }
+
+    /*
+     * 메모리 카운터에 없는 수업을 DB에서 읽어 등록
+     * 등록 트랜잭션을 시작하기 전에 호출해야 한다. (트랜잭션 안에서 만든 카운터 행이 롤백되지 않도록)
+     * */
+    public void track(Collection<Integer> classIds) {
+        for (int classId : classIds) {
+            if (counter.isTracked(classId)) {
+                continue;
+            }
+            ClassSeatDAO.SeatCount seatCount = TransientRetry.callOrElse("ClassSeatService.track",
+                    () -> classSeatDAO.getSeatCount(classId), null);
+            if (seatCount == null) {
+                log.warn("존재하지 않는 수업 ID로 좌석 조회 시도됨: {}", classId);
+                continue;
+            }
+            counter.track(classId, seatCount.capacity(), seatCount.reserved());
+        }
+    }
+
+    /*
+     * 메모리 카운터로 수업별 남은 좌석 확인 (classId -> 좌석 수)
+     * 등록 트랜잭션을 시작하기 전에 정원이 찬 수업을 바로 거절하기 위한 확인이며, 실제 예약은 수강신청을 삽입할 때 한다.
+     * */
+    public boolean hasRoom(Map<Integer, Integer> seatsByClass) {
+        for (Map.Entry<Integer, Integer> entry : seatsByClass.entrySet()) {
+            if (counter.getRemaining(entry.getKey()) < entry.getValue()) {
+                log.warn("정원 초과 또는 존재하지 않는 수업으로 등록 시도됨: {} (요청 좌석 {}개, 남은 좌석 {}개)",
+                        entry.getKey(), entry.getValue(), counter.getRemaining(entry.getKey()));
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // DB 카운터의 현재 값으로 메모리 카운터 갱신 (아직 DB에 반영하지 않은 이 인스턴스의 변경은 유지)
+    public void refresh(Collection<Integer> classIds) {
+        for (int classId : classIds) {
+            ClassSeatDAO.SeatCount seatCount = TransientRetry.callOrElse("ClassSeatService.refresh",
+                    () -> classSeatDAO.getSeatCount(classId), null);
+            if (seatCount != null) {
+                counter.update(classId, seatCount.capacity(), seatCount.reserved());
+            }
+        }
+    }
+
+    // 메모리 카운터에 쌓인 변경을 지금 DB에 반영
+    public boolean flush() {
+        return counter.flush(this::applySeatDeltas);
+    }
+
+    /**
+     * 📌 좌석 증감 반영 (ClassSeatCounter.SeatSink)
+     * - 수업별 증감을 짧은 트랜잭션 하나로 DB 카운터에 반영하고, 커밋한 뒤 반영한 수업의 현재 값을 current에 전달한다.
+     */
+    public boolean applySeatDeltas(Map<Integer, Integer> deltas, ClassSeatCounter.SeatConsumer current) {
+        try {
+            // 다른 인스턴스의 반영이나 재계산과 교착되면 증감 전체를 다시 반영
+            List<ClassSeatDAO.SeatCount> seatCounts = TransientRetry.call("ClassSeatService.applySeatDeltas",
+                    () -> TransactionManager.inTransaction(connection -> {
+                List<ClassSeatDAO.SeatCount> applied = classSeatDAO.applySeatDeltas(deltas);
+                if (applied == null) {
+                    TransactionManager.setRollbackOnly();
+                }
+                return applied;
+            }));
+            if (seatCounts == null) {
+                return false;
+            }
+            seatCounts.forEach(seatCount -> current.accept(seatCount.classId(), seatCount.capacity(), seatCount.reserved()));
+            return true;
+        } catch (SQLException | TransientDataAccessException e) {
+            log.error("좌석 반영 트랜잭션 실패: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * 📌 전체 좌석 재계산 (ClassSeatCounter.SeatSource)
+     * - 수업마다 짧은 트랜잭션으로 DB 카운터를 다시 계산하고 action에 전달한다.
+     * - 변경된 정원과, 카운터를 거치지 않은 변경(직접 수정한 데이터 등)이 이때 반영된다.
+     */
+    public boolean reconcile(ClassSeatCounter.SeatConsumer action) {
+        List<Integer> classIds = classSeatDAO.getClassIds();
+        if (classIds == null) {
+            return false;
+        }
+        for (int classId : classIds) {
+            try {
+                // 카운터 행을 잠그므로 다른 인스턴스의 반영과 교착될 수 있어, 교착 시 이 수업만 다시 계산
+                ClassSeatDAO.SeatCount seatCount = TransientRetry.call("ClassSeatService.reconcile",
+                        () -> TransactionManager.inTransaction(connection -> {
+                    ClassSeatDAO.SeatCount reconciled = classSeatDAO.reconcileSeatCount(classId);
+                    if (reconciled == null) {
+                        TransactionManager.setRollbackOnly();
+                    }
+                    return reconciled;
+                }));
+                if (seatCount == null) {
+                    return false;
+                }
+                action.accept(classId, seatCount.capacity(), seatCount.reserved());
+            } catch (SQLException | TransientDataAccessException e) {
+                log.error("좌석 재계산 트랜잭션 실패: 수업 {} - {}", classId, e.getMessage());
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -1,161 +1,625 @@
 package com.metabirth.service;
 
+import com.metabirth.cache.ActiveEnrollmentIndex;
+import com.metabirth.cache.RecentRequestKeys;
+import com.metabirth.dao.BatchResult;
 import com.metabirth.dao.EnrollmentDAO;
+import com.metabirth.dao.EnrollmentScope;
 import com.metabirth.dao.PaymentDAO;
+import com.metabirth.dao.RegistrationRequestDAO;
+import com.metabirth.dao.TransientDataAccessException;
 import com.metabirth.dao.ReviewDAO;
+import com.metabirth.metrics.LatencyHistogram;
+import com.metabirth.metrics.MetricsRegistry;
+import com.metabirth.model.ClassRatingSummary;
 import com.metabirth.model.Enrollment;
 import com.metabirth.model.Payment;
+import com.metabirth.model.RegistrationRequest;
 import com.metabirth.model.Review;
+import com.metabirth.util.AsyncExecutor;
+import com.metabirth.util.ConnectionScope;
+import com.metabirth.util.TransactionCallbacks;
+import com.metabirth.util.TransactionManager;
+import com.metabirth.util.TransientRetry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
 public class EnrollmentAggregateService {
     private static final Logger log = LoggerFactory.getLogger(EnrollmentAggregateService.class);
     private final EnrollmentDAO enrollmentDAO;
     private final PaymentDAO paymentDAO;
     private final ReviewDAO reviewDAO;
-    private final Connection connection;
+    private final RegistrationRequestDAO registrationRequestDAO;
+    private final ClassSeatService classSeatService;
 
-    public EnrollmentAggregateService(Connection connection) {
-        this.connection = connection;
-        this.enrollmentDAO = new EnrollmentDAO(connection);
-        this.paymentDAO = new PaymentDAO(connection);
-        this.reviewDAO = new ReviewDAO(connection);
+    // 트랜잭션 시작부터 커밋/롤백까지의 시간 (각 히스토그램의 count가 커밋/롤백 횟수)
+    private static final LatencyHistogram COMMITTED = MetricsRegistry.latency("EnrollmentAggregateService.commit");
+    private static final LatencyHistogram ROLLED_BACK = MetricsRegistry.latency("EnrollmentAggregateService.rollback");
+
+    // 일괄 등록 시 기본 chunk 크기 (chunk 하나가 테이블당 INSERT 문 하나로 전송됨)
+    private static final int DEFAULT_BULK_CHUNK_SIZE = 500;
+
+    // 수업 취소 / 학생 철회 시 한 트랜잭션에서 처리할 수강신청 수
+    private static final int DEFAULT_CASCADE_CHUNK_SIZE = 200;
+
+    // registration_requests.request_key 길이
+    private static final int MAX_REQUEST_KEY_LENGTH = 64;
+
+    // 등록 트랜잭션 결과 (DUPLICATE : 같은 요청 키로 이미 등록됨)
+    private enum RegistrationOutcome { REGISTERED, DUPLICATE, FAILED }
+
+    // DAO는 현재 작업 단위의 커넥션을 사용하므로 서비스는 커넥션을 보관하지 않는다. (TransactionManager 참고)
+    public EnrollmentAggregateService() {
+        this.enrollmentDAO = new EnrollmentDAO();
+        this.paymentDAO = new PaymentDAO();
+        this.reviewDAO = new ReviewDAO();
+        this.registrationRequestDAO = new RegistrationRequestDAO();
+        this.classSeatService = new ClassSeatService();
     }
 
     /**
      * 수강신청 등록 + 결제내역 등록
      * 수강신청과 결제내역을 원자적으로 등록하는 메서드
      * 또한, 결제내역 등록 시 연결된 수강신청의 활성 상태를 확인해야 한다.
+     * 수업 정원을 넘으면 등록하지 않는다. (메모리 카운터에서 예약 후 트랜잭션 마지막에 DB 카운터로 확정)
      */
     public boolean registerEnrollmentAndPayment(Enrollment enrollment, Payment payment) {
-        try {
-            connection.setAutoCommit(false);
+        return register(null, null, enrollment, payment);
+    }
 
-            // 1. 수강신청 등록
-            boolean enrollmentCreated = enrollmentDAO.addEnrollment(enrollment);
-            if (!enrollmentCreated) {
-                connection.rollback();
-                log.warn("수강신청 등록 실패. 전체 롤백 처리.");
+    /**
+     * 수강신청 등록 + 결제내역 등록 (멱등 키 사용)
+     * 클라이언트가 타임아웃 후 같은 requestKey로 재시도하면 다시 등록하지 않고,
+     * 처음 등록된 수강신청/결제 ID를 enrollment와 payment에 설정한 뒤 true를 반환한다.
+     * 같은 키라도 본문(학생, 수업, 결제 금액)이 처음 요청과 다르면 처음 결과를 돌려주지 않고 false를 반환한다.
+     * 처음 요청이 아직 진행 중이면 (처음 요청이 마지막 좌석을 가져간 경우에도) 그 트랜잭션이 끝날 때까지 기다린다.
+     */
+    public boolean registerEnrollmentAndPayment(String requestKey, Enrollment enrollment, Payment payment) {
+        if (requestKey == null || requestKey.isBlank() || requestKey.length() > MAX_REQUEST_KEY_LENGTH) {
+            throw new IllegalArgumentException("requestKey는 1 ~ " + MAX_REQUEST_KEY_LENGTH + "자여야 합니다: " + requestKey);
+        }
+        String payloadHash = payloadHash(enrollment, payment);
+        // 이미 처리된 요청이면 메모리 캐시 또는 DB 조회 한 번으로 응답
+        RegistrationRequest previous = findPreviousResult(requestKey);
+        if (previous != null) {
+            return applyPreviousResult(previous, payloadHash, enrollment, payment);
+        }
+        return register(requestKey, payloadHash, enrollment, payment);
+    }
+
+    private boolean register(String requestKey, String payloadHash, Enrollment enrollment, Payment payment) {
+        Map<Integer, Integer> seats = Map.of(enrollment.getClassId(), 1);
+        classSeatService.track(seats.keySet());
+        if (!classSeatService.hasRoom(seats)) {
+            // 같은 키의 처음 요청이 마지막 좌석을 가져갔을 수 있으므로, 그 요청이 끝나기를 기다려 결과를 확인한다.
+            if (requestKey == null) {
                 return false;
             }
-
-            // 2. 등록 후 생성된 enrollmentId를 payment에 설정
-            payment.setEnrollmentId(enrollment.getEnrollmentId());
-
-            // 3. 결제 등록
-            boolean paymentCreated = paymentDAO.addPayment(payment);
-            if (!paymentCreated) {
-                connection.rollback();
-                log.warn("결제 등록 실패. 전체 롤백 처리.");
+            int probed = probeRequestKey(requestKey);
+            if (probed == 0) {
+                return applyPreviousResult(requestKey, payloadHash, enrollment, payment);
+            }
+            // 처음 요청이 롤백되었으면 (롤백 전에 메모리 예약이 취소되므로) 한 번 더 확인
+            if (probed != 1 || !classSeatService.hasRoom(seats)) {
                 return false;
             }
+        }
 
-            connection.commit();
-            return true;
-        } catch (SQLException e) {
-            try { connection.rollback(); } catch (SQLException ex) { log.error("롤백 실패: {}", ex.getMessage()); }
+        long transactionStart = System.nanoTime();
+        RegistrationOutcome outcome = RegistrationOutcome.FAILED;
+        try {
+            // 커넥션 하나를 빌려 트랜잭션으로 실행하고, 종료 시 커밋/롤백 후 풀에 반납
+            // 교착 상태 / 잠금 대기 초과로 롤백되면 트랜잭션 전체를 다시 실행 (롤백된 좌석 예약은 다시 실행할 때 새로 한다.)
+            outcome = TransientRetry.call("EnrollmentAggregateService.registerEnrollmentAndPayment",
+                    () -> TransactionManager.inTransaction(connection -> {
+                // 0. 요청 키 선점 (같은 키로 이미 등록되었으면 롤백 후 기존 결과 반환)
+                if (requestKey != null) {
+                    int claimed = registrationRequestDAO.claimRequestKey(requestKey);
+                    if (claimed != 1) {
+                        TransactionManager.setRollbackOnly();
+                        return claimed == 0 ? RegistrationOutcome.DUPLICATE : RegistrationOutcome.FAILED;
+                    }
+                }
+
+                // 1. 수강신청 등록 (메모리 좌석 카운터에서 좌석을 예약하며, 커밋되면 확정되고 롤백되면 취소된다.)
+                //    DB 카운터 행은 잠그지 않으므로 같은 수업의 등록끼리 기다리지 않는다.
+                boolean enrollmentCreated = enrollmentDAO.addEnrollment(enrollment);
+                if (!enrollmentCreated) {
+                    TransactionManager.setRollbackOnly();
+                    log.warn("수강신청 등록 실패. 전체 롤백 처리.");
+                    return RegistrationOutcome.FAILED;
+                }
+
+                // 2. 등록 후 생성된 enrollmentId를 payment에 설정
+                payment.setEnrollmentId(enrollment.getEnrollmentId());
+
+                // 3. 결제 등록
+                boolean paymentCreated = paymentDAO.addPayment(payment);
+                if (!paymentCreated) {
+                    TransactionManager.setRollbackOnly();
+                    log.warn("결제 등록 실패. 전체 롤백 처리.");
+                    return RegistrationOutcome.FAILED;
+                }
+
+                // 4. 요청 키에 등록 결과 기록 (커밋 후 최근 요청 키 캐시에 추가)
+                if (requestKey != null) {
+                    RegistrationRequest request = new RegistrationRequest(requestKey, payloadHash,
+                            enrollment.getEnrollmentId(), payment.getPaymentId());
+                    if (!registrationRequestDAO.completeRequest(request)) {
+                        TransactionManager.setRollbackOnly();
+                        log.warn("등록 요청 기록 실패. 전체 롤백 처리.");
+                        return RegistrationOutcome.FAILED;
+                    }
+                    TransactionCallbacks.afterCommit(connection, () -> RecentRequestKeys.getInstance().put(request));
+                }
+
+                return RegistrationOutcome.REGISTERED;
+            }));
+            (outcome == RegistrationOutcome.REGISTERED ? COMMITTED : ROLLED_BACK).recordSince(transactionStart);
+        } catch (SQLException | TransientDataAccessException e) {
+            ROLLED_BACK.recordSince(transactionStart);
             log.error("등록 트랜잭션 실패: {}", e.getMessage());
+        }
+
+        if (outcome == RegistrationOutcome.DUPLICATE) {
+            // 같은 키의 요청이 먼저 커밋된 경우 (동시에 도착한 재시도)
+            return applyPreviousResult(requestKey, payloadHash, enrollment, payment);
+        }
+        return outcome == RegistrationOutcome.REGISTERED;
+    }
+
+    /*
+     * 같은 키의 요청이 진행 중이면 끝날 때까지 기다린 뒤 결과 확인 (선점한 키는 롤백하여 남기지 않는다.)
+     * 반환값 : 이미 처리되었으면 0, 처리된 요청이 없으면 1, 실패 시 -1 (claimRequestKey와 같음)
+     * */
+    private int probeRequestKey(String requestKey) {
+        try {
+            return TransactionManager.inTransaction(connection -> {
+                TransactionManager.setRollbackOnly();
+                return registrationRequestDAO.claimRequestKey(requestKey);
+            });
+        } catch (SQLException | TransientDataAccessException e) {
+            log.error("등록 요청 키 확인 실패: {}", e.getMessage());
+            return -1;
+        }
+    }
+
+    // 이미 처리된 요청 조회 (캐시 우선, 없으면 DB 조회 후 캐시에 추가, 처리된 요청이 없으면 null)
+    private RegistrationRequest findPreviousResult(String requestKey) {
+        RegistrationRequest previous = RecentRequestKeys.getInstance().get(requestKey);
+        if (previous == null) {
+            previous = registrationRequestDAO.getRegistrationRequest(requestKey);
+            if (previous != null) {
+                RecentRequestKeys.getInstance().put(previous);
+            }
+        }
+        return previous;
+    }
+
+    // 이미 처리된 요청이면 원래 등록된 ID를 설정하고 true
+    private boolean applyPreviousResult(String requestKey, String payloadHash, Enrollment enrollment, Payment payment) {
+        RegistrationRequest previous = findPreviousResult(requestKey);
+        return previous != null && applyPreviousResult(previous, payloadHash, enrollment, payment);
+    }
+
+    // 처음 요청과 본문이 같으면 원래 등록된 ID를 설정하고 true, 다르면 거절 (지문이 없는 이전 요청은 비교하지 않음)
+    private boolean applyPreviousResult(RegistrationRequest previous, String payloadHash, Enrollment enrollment, Payment payment) {
+        if (previous.getPayloadHash() != null && !previous.getPayloadHash().equals(payloadHash)) {
+            log.warn("같은 요청 키로 다른 내용의 등록 요청이 들어와 거절함 - 키: {}", previous.getRequestKey());
             return false;
+        }
+        enrollment.setEnrollmentId(previous.getEnrollmentId());
+        payment.setPaymentId(previous.getPaymentId());
+        payment.setEnrollmentId(previous.getEnrollmentId());
+        log.info("이미 처리된 등록 요청: {}", previous);
+        return true;
+    }
+
+    // 등록 요청 본문 지문 (학생, 수업, 결제 금액의 SHA-256 hex, 금액은 소수점 이하 0을 떼어 100과 100.00을 같게 본다.)
+    static String payloadHash(Enrollment enrollment, Payment payment) {
+        String payload = enrollment.getStudentId() + "|" + enrollment.getClassId() + "|"
+                + payment.getAmount().stripTrailingZeros().toPlainString();
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(payload.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256을 사용할 수 없습니다.", e);
+        }
+    }
+
+    /**
+     * 수강신청 + 결제내역 일괄 등록 (기본 chunk 크기 사용)
+     */
+    public BulkRegistrationResult registerEnrollmentsAndPayments(List<Enrollment> enrollments, List<Payment> payments,
+                                                                 BulkCommitMode mode) {
+        return registerEnrollmentsAndPayments(enrollments, payments, mode, DEFAULT_BULK_CHUNK_SIZE);
+    }
+
+    /**
+     * 수강신청 + 결제내역 일괄 등록
+     * enrollments.get(i)와 payments.get(i)를 한 쌍으로, chunk 단위 배치 INSERT(테이블당 chunk마다 1문장)로 등록하는 메서드
+     * 각 결제에는 배치 INSERT로 생성된 수강신청 ID가 순서대로 연결된다.
+     * ALL_OR_NOTHING 이면 전체를 하나의 트랜잭션으로, PER_CHUNK 이면 chunk마다 커밋한다.
+     * 커밋 단위 안에 정원을 넘는 수업이 있으면 그 단위 전체가 실패한다.
+     */
+    public BulkRegistrationResult registerEnrollmentsAndPayments(List<Enrollment> enrollments, List<Payment> payments,
+                                                                 BulkCommitMode mode, int chunkSize) {
+        if (enrollments.size() != payments.size()) {
+            throw new IllegalArgumentException("수강신청과 결제내역의 개수가 다릅니다: "
+                    + enrollments.size() + " != " + payments.size());
+        }
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("chunkSize는 1 이상이어야 합니다: " + chunkSize);
+        }
+
+        BulkRegistrationResult result = new BulkRegistrationResult(enrollments.size());
+        // 커밋 단위 : ALL_OR_NOTHING 이면 전체, PER_CHUNK 이면 chunk 하나
+        int unitSize = mode == BulkCommitMode.ALL_OR_NOTHING ? Math.max(enrollments.size(), 1) : chunkSize;
+        ConnectionScope connectionScope;
+        try {
+            connectionScope = TransactionManager.openScope();
+        } catch (SQLException e) {
+            result.markFailed(0, enrollments.size());
+            log.error("일괄 등록 커넥션 획득 실패: {}", e.getMessage());
+            return result;
+        }
+
+        Connection connection = connectionScope.connection();
+        int from = 0;
+        long transactionStart = System.nanoTime();
+        try {
+            // 남은 좌석을 트랜잭션 없이 확인할 수 있도록 수업별 좌석을 autocommit 상태에서 미리 읽어 둔다.
+            classSeatService.track(seatsByClass(enrollments).keySet());
+            connection.setAutoCommit(false);
+
+            for (; from < enrollments.size(); from += unitSize) {
+                transactionStart = System.nanoTime();
+                int to = Math.min(from + unitSize, enrollments.size());
+                List<Enrollment> enrollmentUnit = enrollments.subList(from, to);
+                List<Payment> paymentUnit = payments.subList(from, to);
+
+                // 정원이 찬 수업이 있으면 트랜잭션 없이 바로 실패 (좌석 예약은 수강신청을 삽입할 때 한다.)
+                if (classSeatService.hasRoom(seatsByClass(enrollmentUnit))
+                        && commitUnit(connection, enrollmentUnit, paymentUnit, chunkSize)) {
+                    COMMITTED.recordSince(transactionStart);
+                } else {
+                    TransactionCallbacks.rollback(connection);
+                    ROLLED_BACK.recordSince(transactionStart);
+                    clearGeneratedIds(enrollmentUnit, paymentUnit);
+                    result.markFailed(from, to);
+                    log.warn("일괄 등록 중 실패 발생. 범위 [{}, {}) 롤백 처리.", from, to);
+                }
+            }
+            return result;
+        } catch (SQLException | TransientDataAccessException e) {
+            try { TransactionCallbacks.rollback(connection); } catch (SQLException ex) { log.error("롤백 실패: {}", ex.getMessage()); }
+            ROLLED_BACK.recordSince(transactionStart);
+            clearGeneratedIds(enrollments.subList(from, enrollments.size()), payments.subList(from, payments.size()));
+            result.markFailed(from, enrollments.size());
+            log.error("일괄 등록 트랜잭션 실패: {}", e.getMessage());
+            return result;
         } finally {
             try { connection.setAutoCommit(true); } catch (SQLException e) { log.error("AutoCommit 복원 실패: {}", e.getMessage()); }
+            try { connectionScope.close(); } catch (SQLException e) { log.error("커넥션 반납 실패: {}", e.getMessage()); }
+        }
+    }
+
+    // 커밋 단위 하나를 등록하고 커밋 (교착 상태 / 잠금 대기 초과로 실패하면 롤백 후 처음부터 다시 등록)
+    // 등록하지 못했으면 false를 반환하며, 이때 롤백은 호출하는 쪽에서 한다.
+    private boolean commitUnit(Connection connection, List<Enrollment> enrollments, List<Payment> payments,
+                               int chunkSize) throws SQLException {
+        try {
+            return TransientRetry.retry("EnrollmentAggregateService.registerEnrollmentsAndPayments", () -> {
+                try {
+                    if (!insertEnrollmentsAndPayments(enrollments, payments, chunkSize)) {
+                        return false;
+                    }
+                    TransactionCallbacks.commit(connection);
+                    return true;
+                } catch (TransientDataAccessException e) {
+                    TransactionCallbacks.rollback(connection);
+                    clearGeneratedIds(enrollments, payments);
+                    throw e;
+                }
+            });
+        } catch (TransientDataAccessException e) {
+            return false;
+        }
+    }
+
+    // 수강신청을 배치 등록한 뒤 (좌석 예약 포함), 생성된 수강신청 ID를 결제에 연결하여 결제를 배치 등록
+    private boolean insertEnrollmentsAndPayments(List<Enrollment> enrollments, List<Payment> payments, int chunkSize) {
+        BatchResult enrollmentResult = enrollmentDAO.addEnrollments(enrollments, chunkSize);
+        if (!enrollmentResult.isAllSucceeded()) {
+            log.warn("수강신청 일괄 등록 실패: {}", enrollmentResult);
+            return false;
+        }
+
+        for (int i = 0; i < enrollments.size(); i++) {
+            payments.get(i).setEnrollmentId(enrollments.get(i).getEnrollmentId());
+        }
+
+        BatchResult paymentResult = paymentDAO.addPayments(payments, chunkSize);
+        if (!paymentResult.isAllSucceeded()) {
+            log.warn("결제 일괄 등록 실패: {}", paymentResult);
+            return false;
         }
+        return true;
+    }
+
+    // 수업별 등록 인원 (수업 ID 순서)
+    private static Map<Integer, Integer> seatsByClass(List<Enrollment> enrollments) {
+        Map<Integer, Integer> seats = new TreeMap<>();
+        enrollments.forEach(enrollment -> seats.merge(enrollment.getClassId(), 1, Integer::sum));
+        return seats;
+    }
+
+    // 롤백된 항목에 기록된 ID는 더 이상 유효하지 않으므로 초기화
+    private void clearGeneratedIds(List<Enrollment> enrollments, List<Payment> payments) {
+        enrollments.forEach(enrollment -> enrollment.setEnrollmentId(0));
+        payments.forEach(payment -> {
+            payment.setPaymentId(0);
+            payment.setEnrollmentId(0);
+        });
     }
 
     /**
      * 리뷰 등록
      * 리뷰 등록 시 연결된 수강신청의 활성 상태를 확인해야 한다.
+     * 활성 수강신청 인덱스로 먼저 거르고(DB 조회 없음), 삽입 시 같은 트랜잭션에서 활성 상태를 다시 확인한다.
+     * (인덱스가 다른 프로세스의 삭제를 아직 반영하지 못했더라도 삭제된 수강신청에는 리뷰가 등록되지 않는다.)
      */
     public boolean registerReview(Review review) {
+        if (!ClassRatingSummary.isValidRating(review.getRating())) {
+            log.warn("범위를 벗어난 별점으로 리뷰 등록 시도됨: {}", review.getRating());
+            return false;
+        }
         // 수강신청 활성 상태 확인
         if (!enrollmentDAO.isActiveEnrollment(review.getEnrollmentId())) {
             log.warn("비활성화된 수강신청 ID로 리뷰 등록 시도됨: {}", review.getEnrollmentId());
             return false;
         }
-        return reviewDAO.addReview(review);
+        return TransientRetry.callOrElse("EnrollmentAggregateService.registerReview",
+                () -> reviewDAO.addReview(review), false);
     }
 
     /*
     * 수강신청 삭제
     * 수강신청 삭제 시, 연결되어 있는 결제내역과 리뷰 또한 삭제되어야 한다.
+    * DAO가 대상(수업, 리뷰 별점, 결제 금액)을 잠금 없이 한 번 조회한 뒤, 조회한 값이 그대로일 때만
+    * 세 테이블을 multi-table UPDATE 한 문장으로 논리 삭제한다. (중간에 바뀌었으면 다시 조회하여 시도)
+    * 수업 좌석은 커밋된 뒤 메모리 좌석 카운터에 반납하며, DB 카운터에는 카운터가 다음에 반영(flush)할 때 함께 반영된다.
+    * 별점 통계와 일별 매출 집계는 커밋 후 비동기로 빼므로 삭제 직후 잠시 늦게 반영될 수 있다.
+    * 존재 여부는 사전 조회 대신 영향받은 행 수로 판단하고, 교착 시 다시 실행한다.
     * */
     public boolean deleteEnrollment(int enrollmentId) {
-        Enrollment existing = enrollmentDAO.getEnrollmentById(enrollmentId);
-        if (existing == null) {
+        int affectedRows = TransientRetry.callOrElse("EnrollmentAggregateService.deleteEnrollment",
+                () -> enrollmentDAO.deleteEnrollmentCascade(enrollmentId), -1);
+        if (affectedRows == 0) {
             log.warn("존재하지 않는 수강신청 ID로 삭제 시도됨: {}", enrollmentId);
             return false;
         }
-
-        try {
-            connection.setAutoCommit(false);
-
-            // 1. 결제 삭제 (연관 결제 논리 삭제)
-            boolean paymentDeleted = paymentDAO.deletePaymentByEnrollmentId(enrollmentId);
-
-            // 2. 리뷰 삭제 (연관 리뷰 논리 삭제)
-            boolean reviewDeleted = reviewDAO.deleteReviewByEnrollmentId(enrollmentId);
-
-            // 3. 수강신청 삭제
-            boolean enrollmentDeleted = enrollmentDAO.deleteEnrollment(enrollmentId);
-
-            if (!paymentDeleted || !reviewDeleted || !enrollmentDeleted) {
-                connection.rollback();
-                log.warn("수강신청 삭제 중 하나 이상의 삭제가 실패함. 전체 롤백 처리.");
-                return false;
-            }
-
-            connection.commit();
-            return true;
-        } catch (SQLException e) {
-            try { connection.rollback(); } catch (SQLException ex) { log.error("롤백 실패: {}", ex.getMessage()); }
-            log.error("수강신청 삭제 트랜잭션 실패: {}", e.getMessage());
+        if (affectedRows < 0) {
+            log.error("수강신청 삭제 실패: {}", enrollmentId);
             return false;
-        } finally {
-            try { connection.setAutoCommit(true); } catch (SQLException ex) { log.error("AutoCommit 복원 실패: {}", ex.getMessage()); }
         }
+        return true;
     }
 
     /*
      * 결제내역 삭제
      * 결제내역 삭제 시, 연결된 수강신청과 리뷰 또한 삭제되어야 한다.
+     * 수강신청 삭제와 같이 잠금 없는 조회 후 조건부 multi-table UPDATE 한 문장으로 삭제하고,
+     * 수업 좌석은 커밋 후 메모리 좌석 카운터에 반납, 별점 통계/일별 매출 집계는 커밋 후 비동기로 반영된다.
+     * 존재 여부는 사전 조회 대신 영향받은 행 수로 판단하고, 교착 시 트랜잭션 전체를 다시 실행한다.
      * */
     public boolean deletePayment(int paymentId) {
-        Payment existing = paymentDAO.getPaymentById(paymentId);
-        if (existing == null) {
+        int affectedRows = TransientRetry.callOrElse("EnrollmentAggregateService.deletePayment",
+                () -> paymentDAO.deletePaymentCascade(paymentId), -1);
+        if (affectedRows == 0) {
             log.warn("존재하지 않는 결제 ID로 삭제 시도됨: {}", paymentId);
             return false;
         }
+        if (affectedRows < 0) {
+            log.error("결제 삭제 실패: {}", paymentId);
+            return false;
+        }
+        return true;
+    }
+
+    /*
+     * 수업 취소
+     * 해당 수업의 모든 수강신청과 연결된 결제내역, 리뷰를 논리 삭제한다.
+     * */
+    public CascadeDeleteResult cancelClass(int classId) {
+        return cancelClass(classId, DEFAULT_CASCADE_CHUNK_SIZE, null);
+    }
+
+    public CascadeDeleteResult cancelClass(int classId, int chunkSize, Consumer<CascadeDeleteResult> progressListener) {
+        return deleteEnrollmentsInScope(EnrollmentScope.CLASS, classId, chunkSize, progressListener);
+    }
+
+    /*
+     * 학생 철회
+     * 해당 학생의 모든 수강신청과 연결된 결제내역, 리뷰를 논리 삭제한다.
+     * */
+    public CascadeDeleteResult withdrawStudent(int studentId) {
+        return withdrawStudent(studentId, DEFAULT_CASCADE_CHUNK_SIZE, null);
+    }
+
+    public CascadeDeleteResult withdrawStudent(int studentId, int chunkSize, Consumer<CascadeDeleteResult> progressListener) {
+        return deleteEnrollmentsInScope(EnrollmentScope.STUDENT, studentId, chunkSize, progressListener);
+    }
+
+    /*
+     * 비동기 버전
+     * 각 작업은 AsyncExecutor의 스레드에서 자신의 커넥션과 트랜잭션으로 실행된다. (호출한 스레드의 트랜잭션에는 참여하지 않음)
+     * 반환된 Future를 cancel 하면 실행 중인 쿼리가 취소되고, 진행 중이던 트랜잭션은 롤백된다.
+     * 연쇄 삭제처럼 chunk마다 커밋하는 작업은 이미 커밋된 chunk까지만 반영된다.
+     * */
+    public CompletableFuture<Boolean> registerEnrollmentAndPaymentAsync(Enrollment enrollment, Payment payment) {
+        return AsyncExecutor.getDefault().supply(() -> registerEnrollmentAndPayment(enrollment, payment));
+    }
+
+    public CompletableFuture<Boolean> registerEnrollmentAndPaymentAsync(String requestKey, Enrollment enrollment,
+                                                                        Payment payment) {
+        return AsyncExecutor.getDefault().supply(() -> registerEnrollmentAndPayment(requestKey, enrollment, payment));
+    }
+
+    public CompletableFuture<BulkRegistrationResult> registerEnrollmentsAndPaymentsAsync(List<Enrollment> enrollments,
+                                                                                         List<Payment> payments,
+                                                                                         BulkCommitMode mode) {
+        return AsyncExecutor.getDefault().supply(() -> registerEnrollmentsAndPayments(enrollments, payments, mode));
+    }
 
-        int enrollmentId = existing.getEnrollmentId();
+    public CompletableFuture<BulkRegistrationResult> registerEnrollmentsAndPaymentsAsync(List<Enrollment> enrollments,
+                                                                                         List<Payment> payments,
+                                                                                         BulkCommitMode mode, int chunkSize) {
+        return AsyncExecutor.getDefault().supply(() -> registerEnrollmentsAndPayments(enrollments, payments, mode, chunkSize));
+    }
+
+    public CompletableFuture<Boolean> registerReviewAsync(Review review) {
+        return AsyncExecutor.getDefault().supply(() -> registerReview(review));
+    }
+
+    public CompletableFuture<Boolean> deleteEnrollmentAsync(int enrollmentId) {
+        return AsyncExecutor.getDefault().supply(() -> deleteEnrollment(enrollmentId));
+    }
+
+    public CompletableFuture<Boolean> deletePaymentAsync(int paymentId) {
+        return AsyncExecutor.getDefault().supply(() -> deletePayment(paymentId));
+    }
+
+    public CompletableFuture<CascadeDeleteResult> cancelClassAsync(int classId) {
+        return AsyncExecutor.getDefault().supply(() -> cancelClass(classId));
+    }
+
+    public CompletableFuture<CascadeDeleteResult> cancelClassAsync(int classId, int chunkSize,
+                                                                   Consumer<CascadeDeleteResult> progressListener) {
+        return AsyncExecutor.getDefault().supply(() -> cancelClass(classId, chunkSize, progressListener));
+    }
+
+    public CompletableFuture<CascadeDeleteResult> withdrawStudentAsync(int studentId) {
+        return AsyncExecutor.getDefault().supply(() -> withdrawStudent(studentId));
+    }
+
+    public CompletableFuture<CascadeDeleteResult> withdrawStudentAsync(int studentId, int chunkSize,
+                                                                       Consumer<CascadeDeleteResult> progressListener) {
+        return AsyncExecutor.getDefault().supply(() -> withdrawStudent(studentId, chunkSize, progressListener));
+    }
+
+    /*
+     * 범위 단위 연쇄 삭제
+     * 수강신청 기본키 순으로 chunkSize개씩 구간을 나누고, 구간마다 결제 -> 리뷰 -> 수강신청 순으로
+     * 집합 단위 UPDATE를 실행한 뒤 커밋한다. 트랜잭션 하나가 잠그는 행은 chunk 하나로 제한된다.
+     * 중간 chunk가 실패하면 해당 chunk만 롤백하고 중단한다. (이미 커밋된 chunk는 유지)
+     * */
+    private CascadeDeleteResult deleteEnrollmentsInScope(EnrollmentScope scope, int key, int chunkSize,
+                                                         Consumer<CascadeDeleteResult> progressListener) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("chunkSize는 1 이상이어야 합니다: " + chunkSize);
+        }
+
+        CascadeDeleteResult result = new CascadeDeleteResult(scope, key);
+        ConnectionScope connectionScope;
+        try {
+            connectionScope = TransactionManager.openScope();
+        } catch (SQLException e) {
+            log.error("일괄 삭제 커넥션 획득 실패: {} - {}", e.getMessage(), result);
+            return result;
+        }
+
+        Connection connection = connectionScope.connection();
+        int afterId = 0;
+        long transactionStart = System.nanoTime();
         try {
             connection.setAutoCommit(false);
 
-            // 1. 결제 삭제
-            boolean paymentDeleted = paymentDAO.deletePayment(paymentId);
+            while (true) {
+                transactionStart = System.nanoTime();
+                int fromId = afterId;
+                Integer toId = TransientRetry.retry("EnrollmentAggregateService.deleteEnrollmentsInScope",
+                        () -> deleteChunk(connection, scope, key, fromId, chunkSize, result));
+                if (toId == null) {
+                    ROLLED_BACK.recordSince(transactionStart);
+                    return result;
+                }
+                if (toId == 0) {
+                    break;
+                }
+                COMMITTED.recordSince(transactionStart);
+                log.info("일괄 삭제 진행 - 구간 ({}, {}], 누적: {}", fromId, toId, result);
+                if (progressListener != null) {
+                    progressListener.accept(result);
+                }
+                afterId = toId;
+            }
+
+            result.markCompleted();
+            return result;
+        } catch (SQLException | TransientDataAccessException e) {
+            try { TransactionCallbacks.rollback(connection); } catch (SQLException ex) { log.error("롤백 실패: {}", ex.getMessage()); }
+            ROLLED_BACK.recordSince(transactionStart);
+            log.error("일괄 삭제 트랜잭션 실패: {} - {}", e.getMessage(), result);
+            return result;
+        } finally {
+            try { connection.setAutoCommit(true); } catch (SQLException e) { log.error("AutoCommit 복원 실패: {}", e.getMessage()); }
+            try { connectionScope.close(); } catch (SQLException e) { log.error("커넥션 반납 실패: {}", e.getMessage()); }
+        }
+    }
 
-            // 2. 리뷰 삭제 (해당 수강신청에 연결된 리뷰 삭제)
-            boolean reviewDeleted = reviewDAO.deleteReviewByEnrollmentId(enrollmentId);
+    /*
+     * 연쇄 삭제 chunk 하나를 삭제하고 커밋
+     * 반환값 : 커밋한 구간의 마지막 수강신청 ID, 더 삭제할 대상이 없으면 0, 실패하여 롤백했으면 null
+     * 교착 상태 / 잠금 대기 초과로 실패하면 롤백한 뒤 예외를 던진다. (같은 구간을 처음부터 다시 조회하여 재시도)
+     * */
+    private Integer deleteChunk(Connection connection, EnrollmentScope scope, int key, int afterId, int chunkSize,
+                                CascadeDeleteResult result) throws SQLException {
+        try {
+            List<Integer> enrollmentIds = enrollmentDAO.getActiveEnrollmentIdChunk(scope, key, afterId, chunkSize);
+            if (enrollmentIds == null) {
+                TransactionCallbacks.rollback(connection);
+                log.warn("일괄 삭제 대상 조회 실패. 중단 - {}", result);
+                return null;
+            }
+            if (enrollmentIds.isEmpty()) {
+                return 0;
+            }
 
-            // 3. 수강신청 삭제
-            boolean enrollmentDeleted = enrollmentDAO.deleteEnrollment(enrollmentId);
+            int fromId = enrollmentIds.get(0);
+            int toId = enrollmentIds.get(enrollmentIds.size() - 1);
 
-            if (!paymentDeleted || !reviewDeleted || !enrollmentDeleted) {
-                connection.rollback();
-                log.warn("결제 삭제 중 하나 이상의 삭제가 실패함. 전체 롤백 처리.");
-                return false;
+            // 결제/리뷰는 활성 수강신청과 조인하여 찾으므로 수강신청보다 먼저 삭제
+            int payments = paymentDAO.deletePaymentsByEnrollmentRange(scope, key, fromId, toId);
+            int reviews = reviewDAO.deleteReviewsByEnrollmentRange(scope, key, fromId, toId);
+            int enrollments = enrollmentDAO.deleteEnrollmentsInRange(scope, key, fromId, toId);
+            if (payments < 0 || reviews < 0 || enrollments < 0) {
+                TransactionCallbacks.rollback(connection);
+                log.warn("일괄 삭제 중 실패. 구간 [{}, {}] 롤백 후 중단 - {}", fromId, toId, result);
+                return null;
             }
 
-            connection.commit();
-            return true;
-        } catch (SQLException e) {
-            try { connection.rollback(); } catch (SQLException ex) { log.error("롤백 실패: {}", ex.getMessage()); }
-            log.error("결제 삭제 트랜잭션 실패: {}", e.getMessage());
-            return false;
-        } finally {
-            try { connection.setAutoCommit(true); } catch (SQLException ex) { log.error("AutoCommit 복원 실패: {}", ex.getMessage()); }
+            // 구간 삭제는 조회한 ID 목록과 같은 행을 대상으로 하므로, 커밋 이후 인덱스에서 해당 ID를 제거
+            TransactionCallbacks.afterCommit(connection, () -> ActiveEnrollmentIndex.getInstance().removeAll(enrollmentIds));
+
+            TransactionCallbacks.commit(connection);
+            result.addChunk(enrollments, payments, reviews);
+            return toId;
+        } catch (TransientDataAccessException e) {
+            TransactionCallbacks.rollback(connection);
+            throw e;
         }
     }
 }
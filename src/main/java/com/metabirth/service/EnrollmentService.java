@@ -1,22 +1,24 @@
 package com.metabirth.service;
 
 import com.metabirth.dao.EnrollmentDAO;
+import com.metabirth.dao.Page;
 import com.metabirth.model.Enrollment;
+import com.metabirth.util.AsyncExecutor;
+import com.metabirth.util.TransientRetry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.sql.Connection;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 public class EnrollmentService {
     private static final Logger log = LoggerFactory.getLogger(EnrollmentService.class);
     private final EnrollmentDAO enrollmentDAO;
-    private final Connection connection;
+    private final ClassSeatService classSeatService;
 
-    // 생성자 주입(의존성 주입)
-    public EnrollmentService(Connection connection) {
-        this.connection = connection;
-        this.enrollmentDAO = new EnrollmentDAO(connection);
+    public EnrollmentService() {
+        this.enrollmentDAO = new EnrollmentDAO();
+        this.classSeatService = new ClassSeatService();
     }
 
     // 모든 수강신청 조회
@@ -24,18 +26,48 @@ public class EnrollmentService {
         return enrollmentDAO.getAllEnrollments();
     }
 
+    // 수강신청 페이지 조회 (키셋 페이지네이션, afterId 이후부터 pageSize개)
+    public Page<Enrollment> getEnrollmentsPage(int afterId, int pageSize) {
+        return enrollmentDAO.getEnrollmentsPage(afterId, pageSize);
+    }
+
     // 특정 수강신청 조회
     public Enrollment getEnrollmentById(int enrollmentId) {
         return enrollmentDAO.getEnrollmentById(enrollmentId);
     }
 
-    // 수강신청 업데이트
+    // 수강신청 업데이트 (다른 수업으로 옮기면 새 수업의 정원을 확인하고 좌석을 옮긴다.)
     public boolean updateEnrollment(Enrollment enrollment) {
         Enrollment existing = enrollmentDAO.getEnrollmentById(enrollment.getEnrollmentId());
         if (existing == null) {
             log.warn("존재하지 않는 수강신청 ID로 업데이트 시도됨: {}", enrollment.getEnrollmentId());
             return false;
         }
-        return enrollmentDAO.updateEnrollment(enrollment);
+        if (existing.getClassId() != enrollment.getClassId()) {
+            // 새 수업의 좌석은 수정 트랜잭션 전에 메모리 카운터에 읽어 둔다.
+            classSeatService.track(List.of(enrollment.getClassId()));
+        }
+        return TransientRetry.callOrElse("EnrollmentService.updateEnrollment", () -> enrollmentDAO.updateEnrollment(enrollment), false);
+    }
+
+    /*
+     * 비동기 버전
+     * AsyncExecutor에서 실행되므로 호출한 스레드의 트랜잭션에 참여하지 않는다.
+     * 반환된 Future를 cancel 하면 실행 중인 쿼리도 취소된다.
+     * */
+    public CompletableFuture<List<Enrollment>> getAllEnrollmentsAsync() {
+        return AsyncExecutor.getDefault().supply(this::getAllEnrollments);
+    }
+
+    public CompletableFuture<Page<Enrollment>> getEnrollmentsPageAsync(int afterId, int pageSize) {
+        return AsyncExecutor.getDefault().supply(() -> getEnrollmentsPage(afterId, pageSize));
+    }
+
+    public CompletableFuture<Enrollment> getEnrollmentByIdAsync(int enrollmentId) {
+        return AsyncExecutor.getDefault().supply(() -> getEnrollmentById(enrollmentId));
+    }
+
+    public CompletableFuture<Boolean> updateEnrollmentAsync(Enrollment enrollment) {
+        return AsyncExecutor.getDefault().supply(() -> updateEnrollment(enrollment));
     }
-}
\ No newline at end of file
+}
@@ -1,22 +1,22 @@
 package com.metabirth.service;
 
+import com.metabirth.dao.Page;
 import com.metabirth.dao.PaymentDAO;
 import com.metabirth.model.Payment;
+import com.metabirth.util.AsyncExecutor;
+import com.metabirth.util.TransientRetry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.sql.Connection;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 public class PaymentService {
     private static final Logger log = LoggerFactory.getLogger(PaymentService.class);
     private final PaymentDAO paymentDAO;
-    private final Connection connection;
 
-    // 생성자 주입(의존성 주입)
-    public PaymentService(Connection connection) {
-        this.connection = connection;
-        this.paymentDAO = new PaymentDAO(connection);
+    public PaymentService() {
+        this.paymentDAO = new PaymentDAO();
     }
 
     // 모든 결제내역 조회
@@ -24,6 +24,11 @@ public class PaymentService {
         return paymentDAO.getAllPayments();
     }
 
+    // 결제내역 페이지 조회 (키셋 페이지네이션, afterId 이후부터 pageSize개)
+    public Page<Payment> getPaymentsPage(int afterId, int pageSize) {
+        return paymentDAO.getPaymentsPage(afterId, pageSize);
+    }
+
     // 특정 결제내역 조회(payment_id)
     public Payment getPaymentById(int paymentId) {
         return paymentDAO.getPaymentById(paymentId);
@@ -36,6 +41,27 @@ public class PaymentService {
             log.warn("존재하지 않는 결제 ID로 업데이트 시도됨: {}", payment.getPaymentId());
             return false;
         }
-        return paymentDAO.updatePayment(payment);
+        return TransientRetry.callOrElse("PaymentService.updatePayment", () -> paymentDAO.updatePayment(payment), false);
+    }
+
+    /*
+     * 비동기 버전
+     * AsyncExecutor에서 실행되므로 호출한 스레드의 트랜잭션에 참여하지 않는다.
+     * 반환된 Future를 cancel 하면 실행 중인 쿼리도 취소된다.
+     * */
+    public CompletableFuture<List<Payment>> getAllPaymentsAsync() {
+        return AsyncExecutor.getDefault().supply(this::getAllPayments);
+    }
+
+    public CompletableFuture<Page<Payment>> getPaymentsPageAsync(int afterId, int pageSize) {
+        return AsyncExecutor.getDefault().supply(() -> getPaymentsPage(afterId, pageSize));
+    }
+
+    public CompletableFuture<Payment> getPaymentByIdAsync(int paymentId) {
+        return AsyncExecutor.getDefault().supply(() -> getPaymentById(paymentId));
+    }
+
+    public CompletableFuture<Boolean> updatePaymentAsync(Payment payment) {
+        return AsyncExecutor.getDefault().supply(() -> updatePayment(payment));
     }
-}
\ No newline at end of file
+}
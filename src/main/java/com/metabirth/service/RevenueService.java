@@ -0,0 +1,111 @@
+package com.metabirth.service;
+
+import com.metabirth.cache.RevenueRollup;
+import com.metabirth.dao.RevenueRollupDAO;
+import com.metabirth.dao.TransientDataAccessException;
+import com.metabirth.model.RevenueTotal;
+import com.metabirth.util.TransactionManager;
+import com.metabirth.util.TransientRetry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+
+/**
+ * 📌 RevenueService (수업별 / 일별 매출 조회)
+ * - 기간 매출은 메모리 집계(RevenueRollup)에서 계산하며 payments 테이블을 읽지 않는다.
+ *   메모리 집계가 아직 적재되지 않았으면 revenue_rollups 테이블에서 한 번 적재한다.
+ * - backfill은 결제 테이블을 스트리밍으로 다시 읽어 수업별로 집계를 재구축한다. (집계가 어긋났을 때의 복구 수단)
+ */
+public class RevenueService {
+    private static final Logger log = LoggerFactory.getLogger(RevenueService.class);
+    private final RevenueRollupDAO revenueRollupDAO;
+    private final RevenueRollup rollup;
+
+    /**
+     * 📌 매출 집계 재구축 결과
+     *
+     * @param rebuilt  재구축에 성공한 수업 수
+     * @param failed   재구축에 실패한 수업 수 (기존 집계 유지)
+     * @param payments 재구축한 수업들의 활성 결제 수
+     */
+    public record BackfillResult(int rebuilt, int failed, long payments) {
+    }
+
+    public RevenueService() {
+        this.revenueRollupDAO = new RevenueRollupDAO();
+        this.rollup = RevenueRollup.getInstance();
+    }
+
+    // 기간 일별 매출 (전체 수업 합계, from ~ to 포함, 집계 적재 실패 시 null)
+    public SortedMap<LocalDate, RevenueTotal> getDailyRevenue(LocalDate from, LocalDate to) {
+        validateRange(from, to);
+        return ensureLoaded() ? rollup.getDailyRevenue(from, to) : null;
+    }
+
+    // 기간 수업별 매출 (from ~ to 포함, 집계 적재 실패 시 null)
+    public SortedMap<Integer, RevenueTotal> getRevenueByClass(LocalDate from, LocalDate to) {
+        validateRange(from, to);
+        return ensureLoaded() ? rollup.getRevenueByClass(from, to) : null;
+    }
+
+    // 수업 하나의 기간 일별 매출 (from ~ to 포함, 집계 적재 실패 시 null)
+    public SortedMap<LocalDate, RevenueTotal> getClassDailyRevenue(int classId, LocalDate from, LocalDate to) {
+        validateRange(from, to);
+        return ensureLoaded() ? rollup.getClassDailyRevenue(classId, from, to) : null;
+    }
+
+    private static void validateRange(LocalDate from, LocalDate to) {
+        if (from == null || to == null || from.isAfter(to)) {
+            throw new IllegalArgumentException("조회 기간이 올바르지 않습니다: " + from + " ~ " + to);
+        }
+    }
+
+    private boolean ensureLoaded() {
+        return rollup.isLoaded() || rollup.reconcile(revenueRollupDAO::forEachRollup);
+    }
+
+    /**
+     * 📌 매출 집계 재구축
+     * - 수업마다 짧은 트랜잭션으로 해당 수업의 집계 행을 잠그고, 활성 결제를 스트리밍으로 읽어 다시 계산한다.
+     * - 재구축 중인 수업의 결제 변경은 집계 행 잠금에서 기다렸다가 재구축 결과에 이어서 더해진다.
+     * - 한 수업이 실패해도 나머지 수업은 계속 재구축한다. (수업 목록 조회 실패 시 null)
+     */
+    public BackfillResult backfill() {
+        List<Integer> classIds = revenueRollupDAO.getRollupClassIds();
+        if (classIds == null) {
+            return null;
+        }
+        int rebuilt = 0;
+        int failed = 0;
+        long payments = 0;
+        for (int classId : classIds) {
+            try {
+                // 집계 행을 잠그므로 진행 중인 결제 변경과 교착될 수 있어, 교착 시 이 수업만 다시 계산
+                Map<LocalDate, RevenueTotal> totals = TransientRetry.call("RevenueService.backfill",
+                        () -> TransactionManager.inTransaction(connection -> {
+                    Map<LocalDate, RevenueTotal> rebuiltTotals = revenueRollupDAO.rebuildClassRollup(classId);
+                    if (rebuiltTotals == null) {
+                        TransactionManager.setRollbackOnly();
+                    }
+                    return rebuiltTotals;
+                }));
+                if (totals == null) {
+                    failed++;
+                    continue;
+                }
+                rebuilt++;
+                payments += totals.values().stream().mapToLong(RevenueTotal::getPaymentCount).sum();
+            } catch (SQLException | TransientDataAccessException e) {
+                log.error("매출 집계 재구축 트랜잭션 실패: 수업 {} - {}", classId, e.getMessage());
+                failed++;
+            }
+        }
+        log.info("매출 집계 재구축 완료 - 성공 {}개 수업, 실패 {}개 수업, 결제 {}건", rebuilt, failed, payments);
+        return new BackfillResult(rebuilt, failed, payments);
+    }
+}
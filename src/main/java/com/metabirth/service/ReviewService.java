@@ -1,22 +1,29 @@
 package com.metabirth.service;
 
+import com.metabirth.cache.ClassRatingIndex;
+import com.metabirth.dao.ClassRatingDAO;
+import com.metabirth.dao.Page;
 import com.metabirth.dao.ReviewDAO;
+import com.metabirth.model.ClassRatingSummary;
 import com.metabirth.model.Review;
+import com.metabirth.util.AsyncExecutor;
+import com.metabirth.util.TransientRetry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.sql.Connection;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 public class ReviewService {
     private static final Logger log = LoggerFactory.getLogger(ReviewService.class);
     private final ReviewDAO reviewDAO;
-    private final Connection connection;
+    private final ClassRatingDAO classRatingDAO;
+    private final ClassRatingIndex ratingIndex;
 
-    // 생성자 주입(의존성 주입)
-    public ReviewService(Connection connection) {
-        this.connection = connection;
-        this.reviewDAO = new ReviewDAO(connection);
+    public ReviewService() {
+        this.reviewDAO = new ReviewDAO();
+        this.classRatingDAO = new ClassRatingDAO();
+        this.ratingIndex = ClassRatingIndex.getInstance();
     }
 
     // 모든 리뷰 조회
@@ -24,6 +31,11 @@ public class ReviewService {
         return reviewDAO.getAllReviews();
     }
 
+    // 리뷰 페이지 조회 (키셋 페이지네이션, afterId 이후부터 pageSize개)
+    public Page<Review> getReviewsPage(int afterId, int pageSize) {
+        return reviewDAO.getReviewsPage(afterId, pageSize);
+    }
+
     // 특정 리뷰 조회
     public Review getReviewById(int reviewId) {
         return reviewDAO.getReviewById(reviewId);
@@ -31,12 +43,16 @@ public class ReviewService {
 
     // 리뷰 업데이트
     public boolean updateReview(Review review) {
+        if (!ClassRatingSummary.isValidRating(review.getRating())) {
+            log.warn("범위를 벗어난 별점으로 업데이트 시도됨: {}", review.getRating());
+            return false;
+        }
         Review existing = reviewDAO.getReviewById(review.getReviewId());
         if (existing == null) {
             log.warn("존재하지 않는 리뷰 ID로 업데이트 시도됨: {}", review.getReviewId());
             return false;
         }
-        return reviewDAO.updateReview(review);
+        return TransientRetry.callOrElse("ReviewService.updateReview", () -> reviewDAO.updateReview(review), false);
     }
 
     // 리뷰 삭제
@@ -46,6 +62,47 @@ public class ReviewService {
             log.warn("존재하지 않는 리뷰 ID로 삭제 시도됨: {}", reviewId);
             return false;
         }
-        return reviewDAO.deleteReview(reviewId);
+        return TransientRetry.callOrElse("ReviewService.deleteReview", () -> reviewDAO.deleteReview(reviewId), false);
+    }
+
+    /*
+     * 수업별 별점 통계 (리뷰 수, 평균, 1 ~ 5점 분포)
+     * 메모리 통계에서 바로 반환하고, 처음 조회하는 수업만 DB에서 읽어 등록한다. (실패 시 null)
+     * */
+    public ClassRatingSummary getClassRating(int classId) {
+        ClassRatingSummary summary = ratingIndex.get(classId);
+        if (summary != null) {
+            return summary;
+        }
+        summary = classRatingDAO.getClassRating(classId);
+        if (summary != null) {
+            ratingIndex.track(classId, summary);
+        }
+        return summary;
+    }
+
+    /*
+     * 비동기 버전
+     * AsyncExecutor에서 실행되므로 호출한 스레드의 트랜잭션에 참여하지 않는다.
+     * 반환된 Future를 cancel 하면 실행 중인 쿼리도 취소된다.
+     * */
+    public CompletableFuture<List<Review>> getAllReviewsAsync() {
+        return AsyncExecutor.getDefault().supply(this::getAllReviews);
+    }
+
+    public CompletableFuture<Page<Review>> getReviewsPageAsync(int afterId, int pageSize) {
+        return AsyncExecutor.getDefault().supply(() -> getReviewsPage(afterId, pageSize));
+    }
+
+    public CompletableFuture<Review> getReviewByIdAsync(int reviewId) {
+        return AsyncExecutor.getDefault().supply(() -> getReviewById(reviewId));
+    }
+
+    public CompletableFuture<Boolean> updateReviewAsync(Review review) {
+        return AsyncExecutor.getDefault().supply(() -> updateReview(review));
+    }
+
+    public CompletableFuture<Boolean> deleteReviewAsync(int reviewId) {
+        return AsyncExecutor.getDefault().supply(() -> deleteReview(reviewId));
     }
-}
\ No newline at end of file
+}
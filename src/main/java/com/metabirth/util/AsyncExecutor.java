@@ -0,0 +1,129 @@
+package com.metabirth.util;
+
+import com.metabirth.config.JDBCConnection;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * 📌 AsyncExecutor (서비스 비동기 실행)
+ * - 서비스 메서드를 작업마다 별도의 스레드에서 실행하고 결과를 CompletableFuture로 반환한다.
+ *   Java 21 이상에서는 작업마다 가상 스레드를, 그 이하(Java 17)에서는 데몬 플랫폼 스레드 풀을 사용한다.
+ * - 동시에 실행되는 작업 수는 bulkhead(세마포어)로 커넥션 풀 크기만큼으로 제한한다.
+ *   초과한 작업은 풀에서 커넥션을 기다리는 대신 bulkhead에서 대기하므로 커넥션 획득 타임아웃이 나지 않는다.
+ * - 반환된 Future를 cancel 하면 실행 중인 JDBC 문장을 취소한다. (QueryCancellation 참고)
+ * - 작업은 호출한 스레드의 작업 단위(트랜잭션)에 참여하지 않고 자신의 커넥션으로 실행된다.
+ */
+public final class AsyncExecutor {
+    private final Executor executor;
+    private final Semaphore bulkhead;
+    private final int maxConcurrency;
+    private final boolean virtualThreads;
+
+    // 기본 실행기는 처음 사용할 때 커넥션 풀 크기로 만든다.
+    private static final class DefaultHolder {
+        private static final AsyncExecutor INSTANCE = new AsyncExecutor(JDBCConnection.getMaximumPoolSize());
+    }
+
+    AsyncExecutor(int maxConcurrency) {
+        if (maxConcurrency < 1) {
+            throw new IllegalArgumentException("maxConcurrency는 1 이상이어야 합니다: " + maxConcurrency);
+        }
+        this.maxConcurrency = maxConcurrency;
+        this.bulkhead = new Semaphore(maxConcurrency, true);
+
+        ExecutorService virtual = newVirtualThreadExecutor();
+        this.virtualThreads = virtual != null;
+        this.executor = virtual != null ? virtual : newPlatformThreadPool(maxConcurrency);
+    }
+
+    public static AsyncExecutor getDefault() {
+        return DefaultHolder.INSTANCE;
+    }
+
+    // Java 21 이상 : 작업마다 가상 스레드 (컴파일 대상은 Java 17이므로 리플렉션으로 확인)
+    private static ExecutorService newVirtualThreadExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+
+    // bulkhead가 동시 실행을 maxConcurrency로 제한하므로 스레드도 그만큼만 둔다.
+    private static ExecutorService newPlatformThreadPool(int threads) {
+        AtomicInteger sequence = new AtomicInteger();
+        return Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "async-service-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * 📌 작업을 비동기로 실행
+     * - 취소되면 실행 중인 쿼리를 취소하고, 아직 시작하지 않았으면 실행하지 않는다.
+     */
+    public <T> CompletableFuture<T> supply(Supplier<T> work) {
+        QueryCancellation cancellation = new QueryCancellation();
+        CompletableFuture<T> future = new CompletableFuture<>() {
+            @Override
+            public boolean cancel(boolean mayInterruptIfRunning) {
+                boolean cancelled = super.cancel(mayInterruptIfRunning);
+                if (cancelled) {
+                    cancellation.cancel();
+                }
+                return cancelled;
+            }
+        };
+        executor.execute(() -> run(work, future, cancellation));
+        return future;
+    }
+
+    private <T> void run(Supplier<T> work, CompletableFuture<T> future, QueryCancellation cancellation) {
+        if (future.isDone()) {
+            return; // 시작 전에 취소됨
+        }
+        cancellation.bind();
+        try {
+            bulkhead.acquire();
+        } catch (InterruptedException e) {
+            cancellation.unbind();
+            future.completeExceptionally(e);
+            return;
+        }
+        try {
+            if (!future.isDone()) {
+                future.complete(work.get());
+            }
+        } catch (Throwable t) {
+            future.completeExceptionally(t);
+        } finally {
+            bulkhead.release();
+            cancellation.unbind();
+        }
+    }
+
+    public int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+
+    // 현재 실행 중인 작업 수
+    public int getActiveCount() {
+        return maxConcurrency - bulkhead.availablePermits();
+    }
+
+    // bulkhead에서 대기 중인 작업 수 (추정치)
+    public int getQueuedCount() {
+        return bulkhead.getQueueLength();
+    }
+
+    public boolean usesVirtualThreads() {
+        return virtualThreads;
+    }
+}
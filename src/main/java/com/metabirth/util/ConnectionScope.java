@@ -0,0 +1,84 @@
+package com.metabirth.util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * 📌 ConnectionScope (현재 스레드에 바인딩된 작업 단위)
+ * - TransactionManager.openScope()로 열고 try-with-resources로 닫는다.
+ * - 이미 열린 범위 안에서 다시 열면 같은 커넥션을 공유(참여)하고, 가장 바깥 범위가 닫힐 때 커넥션을 반납한다.
+ * - 반납 시 커밋되지 않은 트랜잭션이 남아 있으면 롤백하고 autocommit을 복원한다.
+ * - openReadScope()로 연 읽기 전용 범위는 복제본 커넥션일 수 있으며, 닫아도 쓰기로 기록되지 않는다.
+ */
+public final class ConnectionScope implements AutoCloseable {
+    private static final Logger log = LoggerFactory.getLogger(ConnectionScope.class);
+
+    private final Connection connection;
+    // true 이면 풀에서 빌린 커넥션 (닫을 때 반납), false 이면 외부에서 바인딩한 커넥션 (바인딩만 해제)
+    private final boolean pooled;
+    // openReadScope()로 연 읽기 전용 범위 (닫을 때 쓰기 시각을 기록하지 않음)
+    private final boolean readOnly;
+    // 복제본 커넥션을 사용하는 범위
+    private final boolean replica;
+    private int depth = 1;
+    private boolean rollbackOnly;
+
+    ConnectionScope(Connection connection, boolean pooled) {
+        this(connection, pooled, false, false);
+    }
+
+    ConnectionScope(Connection connection, boolean pooled, boolean readOnly, boolean replica) {
+        this.connection = connection;
+        this.pooled = pooled;
+        this.readOnly = readOnly;
+        this.replica = replica;
+    }
+
+    public Connection connection() {
+        return connection;
+    }
+
+    // 복제본에서 읽는 범위인지 확인 (복제 지연이 있을 수 있으므로 캐시에 넣지 않는다.)
+    public boolean isReplica() {
+        return replica;
+    }
+
+    ConnectionScope join() {
+        depth++;
+        return this;
+    }
+
+    boolean isRollbackOnly() {
+        return rollbackOnly;
+    }
+
+    void setRollbackOnly(boolean rollbackOnly) {
+        this.rollbackOnly = rollbackOnly;
+    }
+
+    @Override
+    public void close() throws SQLException {
+        if (--depth > 0) {
+            return;
+        }
+        TransactionManager.unbind(this);
+        if (!pooled) {
+            return;
+        }
+        try {
+            if (!connection.getAutoCommit()) {
+                log.warn("커밋되지 않은 트랜잭션이 남아 있어 롤백 후 커넥션을 반납합니다.");
+                TransactionCallbacks.rollback(connection);
+                connection.setAutoCommit(true);
+            }
+        } finally {
+            connection.close();
+            if (!readOnly) {
+                TransactionManager.recordWrite();
+            }
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.metabirth.util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * 📌 QueryCancellation (비동기 작업의 실행 중인 쿼리 취소)
+ * - AsyncExecutor가 작업마다 하나씩 만들어 작업 스레드에 바인딩한다.
+ * - StatementCache가 돌려주는 문장은 실행하기 전후로, StreamingQuery는 실행 전과 Stream을 닫을 때 beforeExecute/afterExecute를 호출하여
+ *   실행 중인 문장을 알린다.
+ * - 작업의 CompletableFuture가 취소되면 실행 중인 문장에 Statement.cancel()을 보내고(MySQL은 KILL QUERY),
+ *   커넥션/동시 실행 한도 대기 중이면 스레드를 인터럽트한다. 이후의 실행은 시작 전에 실패한다.
+ */
+public final class QueryCancellation {
+    private static final Logger log = LoggerFactory.getLogger(QueryCancellation.class);
+    private static final ThreadLocal<QueryCancellation> CURRENT = new ThreadLocal<>();
+
+    // SQL 표준 SQLState : 사용자 요청으로 취소됨
+    static final String CANCELLED_SQL_STATE = "57014";
+
+    private Thread worker;
+    private Statement running;
+    private volatile boolean cancelled;
+
+    QueryCancellation() {
+    }
+
+    synchronized void bind() {
+        worker = Thread.currentThread();
+        CURRENT.set(this);
+    }
+
+    // 스레드를 재사용하는 풀에서도 다음 작업에 인터럽트가 남지 않도록 바인딩 해제 후 인터럽트 상태를 지운다.
+    synchronized void unbind() {
+        CURRENT.remove();
+        worker = null;
+        running = null;
+        Thread.interrupted();
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    synchronized void cancel() {
+        cancelled = true;
+        if (running != null) {
+            try {
+                running.cancel();
+            } catch (SQLException e) {
+                log.warn("실행 중인 쿼리 취소 실패 - 사유: {}", e.getMessage());
+            }
+        }
+        if (worker != null) {
+            worker.interrupt();
+        }
+    }
+
+    /**
+     * 📌 문장 실행 직전 호출 (비동기 작업 스레드가 아니면 아무것도 하지 않음)
+     * - 이미 취소된 작업이면 실행하지 않고 SQLException을 던진다.
+     */
+    public static void beforeExecute(Statement statement) throws SQLException {
+        QueryCancellation current = CURRENT.get();
+        if (current == null) {
+            return;
+        }
+        synchronized (current) {
+            if (current.cancelled) {
+                throw new SQLException("취소된 작업입니다.", CANCELLED_SQL_STATE);
+            }
+            current.running = statement;
+        }
+    }
+
+    public static void afterExecute() {
+        QueryCancellation current = CURRENT.get();
+        if (current == null) {
+            return;
+        }
+        synchronized (current) {
+            current.running = null;
+        }
+    }
+}
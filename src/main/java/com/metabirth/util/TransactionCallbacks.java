@@ -0,0 +1,96 @@
+package com.metabirth.util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 📌 TransactionCallbacks (커밋/롤백 이후 실행할 작업 관리)
+ * - 캐시 무효화처럼 "커밋된 이후에만" 반영되어야 하는 작업과, 메모리 좌석 예약 취소처럼 "롤백될 때" 되돌려야 하는 작업을 커넥션 단위로 보관한다.
+ * - autocommit 상태에서 등록하면 커밋 작업은 (이미 커밋된 것이므로) 즉시 실행하고, 롤백 작업은 버린다.
+ * - 트랜잭션을 사용하는 쪽은 connection.commit() / rollback() 대신 이 클래스의 commit / rollback을 호출해야 한다.
+ */
+public final class TransactionCallbacks {
+    private static final Logger log = LoggerFactory.getLogger(TransactionCallbacks.class);
+    private static final Map<Connection, List<Callback>> PENDING = new IdentityHashMap<>();
+
+    private record Callback(boolean onCommit, Runnable action) {
+    }
+
+    private TransactionCallbacks() {
+    }
+
+    /**
+     * 📌 커밋 이후 실행할 작업 등록
+     * - autocommit 이면 즉시 실행, 트랜잭션 중이면 commit() 호출 시 실행, rollback() 시 폐기
+     */
+    public static void afterCommit(Connection connection, Runnable action) throws SQLException {
+        if (connection.getAutoCommit()) {
+            runQuietly(action);
+            return;
+        }
+        register(connection, new Callback(true, action));
+    }
+
+    /**
+     * 📌 롤백될 때 실행할 작업 등록
+     * - autocommit 이면 되돌릴 트랜잭션이 없으므로 버리고, 트랜잭션 중이면 rollback() 호출 시 실행, commit() 시 폐기
+     */
+    public static void afterRollback(Connection connection, Runnable action) throws SQLException {
+        if (connection.getAutoCommit()) {
+            return;
+        }
+        register(connection, new Callback(false, action));
+    }
+
+    private static void register(Connection connection, Callback callback) {
+        synchronized (PENDING) {
+            PENDING.computeIfAbsent(connection, key -> new ArrayList<>()).add(callback);
+        }
+    }
+
+    // 커밋 후 등록된 커밋 작업을 순서대로 실행 (커밋이 실패하면 작업을 남겨 두고, 이어지는 rollback()에서 처리)
+    public static void commit(Connection connection) throws SQLException {
+        connection.commit();
+        run(drain(connection), true);
+    }
+
+    // 등록된 롤백 작업을 실행한 뒤 롤백
+    /* - 롤백으로 잠금이 풀리자마자 같은 행을 기다리던 트랜잭션이 진행하므로, 그 전에 메모리 상태를 되돌려 둔다. */
+    public static void rollback(Connection connection) throws SQLException {
+        run(drain(connection), false);
+        connection.rollback();
+    }
+
+    private static List<Callback> drain(Connection connection) {
+        synchronized (PENDING) {
+            return PENDING.remove(connection);
+        }
+    }
+
+    private static void run(List<Callback> callbacks, boolean committed) {
+        if (callbacks == null) {
+            return;
+        }
+        for (Callback callback : callbacks) {
+            if (callback.onCommit() == committed) {
+                runQuietly(callback.action());
+            }
+        }
+    }
+
+    // 이후 작업의 실패가 이미 끝난 트랜잭션 결과에 영향을 주지 않도록 예외는 기록만 한다.
+    private static void runQuietly(Runnable action) {
+        try {
+            action.run();
+        } catch (RuntimeException e) {
+            log.error("트랜잭션 이후 작업 실행 실패: {}", e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,196 @@
+package com.metabirth.util;
+
+import com.metabirth.config.JDBCConnection;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 📌 TransactionManager (작업 단위별 커넥션/트랜잭션 관리)
+ * - 작업 단위마다 커넥션 풀에서 커넥션을 빌려 현재 스레드에 바인딩하고, 작업이 끝나면 커밋/롤백 후 풀에 반납한다.
+ * - DAO는 생성자로 커넥션을 받지 않고 openScope()로 현재 작업 단위의 커넥션을 사용한다.
+ *   (바깥에 열린 작업 단위가 없으면 DAO 메서드 호출 하나가 autocommit 작업 단위가 된다.)
+ * - 커넥션을 스레드마다 따로 사용하므로 여러 스레드가 동시에 서비스를 호출할 수 있고, 처리량은 풀 크기만큼 늘어난다.
+ * - 읽기 전용 DAO 메서드는 openReadScope()를 사용하며, 읽기 커넥션 공급원(복제본)이 설정되어 있으면 복제본에서 읽는다.
+ *   열린 작업 단위(트랜잭션) 안의 읽기와, 같은 스레드가 방금 쓰기를 한 직후의 읽기는 주 DB에서 읽는다.
+ */
+public final class TransactionManager {
+    private static final ThreadLocal<ConnectionScope> CURRENT = new ThreadLocal<>();
+    private static volatile ConnectionProvider connectionProvider = JDBCConnection::getConnection;
+
+    // 읽기 전용 커넥션 공급원 (null 이면 복제본 라우팅 없음)
+    private static volatile ConnectionProvider readConnectionProvider;
+    // 쓰기 후 이 시간 동안은 같은 스레드의 읽기를 주 DB로 보낸다. (자신이 쓴 값을 읽을 수 있도록)
+    private static volatile long readYourWritesNanos;
+    private static final ThreadLocal<long[]> LAST_WRITE_NANOS = ThreadLocal.withInitial(() -> new long[1]);
+
+    /**
+     * 📌 커넥션 공급원 (기본값 : HikariCP 커넥션 풀)
+     */
+    @FunctionalInterface
+    public interface ConnectionProvider {
+        Connection getConnection() throws SQLException;
+    }
+
+    /**
+     * 📌 작업 단위에서 실행할 작업
+     */
+    @FunctionalInterface
+    public interface UnitOfWork<T> {
+        T execute(Connection connection) throws SQLException;
+    }
+
+    private TransactionManager() {
+    }
+
+    public static void setConnectionProvider(ConnectionProvider provider) {
+        connectionProvider = provider;
+    }
+
+    /**
+     * 📌 읽기 전용 커넥션 공급원 설정 (복제본 라우팅)
+     * - 공급원이 null을 반환하면(사용 가능한 복제본 없음) 주 DB에서 읽는다.
+     * - provider가 null 이면 복제본 라우팅을 끈다.
+     */
+    public static void setReadConnectionProvider(ConnectionProvider provider, long readYourWritesMillis) {
+        readYourWritesNanos = TimeUnit.MILLISECONDS.toNanos(readYourWritesMillis);
+        readConnectionProvider = provider;
+    }
+
+    /**
+     * 📌 작업 단위 열기
+     * - 현재 스레드에 열린 작업 단위가 있으면 참여하고, 없으면 풀에서 커넥션을 빌려 새로 연다.
+     */
+    public static ConnectionScope openScope() throws SQLException {
+        ConnectionScope current = CURRENT.get();
+        if (current != null) {
+            return current.join();
+        }
+        ConnectionScope scope = new ConnectionScope(connectionProvider.getConnection(), true);
+        CURRENT.set(scope);
+        return scope;
+    }
+
+    /**
+     * 📌 읽기 전용 작업 단위 열기
+     * - 현재 스레드에 열린 작업 단위가 있으면 참여한다. (트랜잭션 안의 읽기는 주 DB에서 자신이 변경한 값을 읽는다.)
+     * - 없으면 복제본 커넥션을 빌려 현재 스레드에 바인딩하지 않고 반환한다.
+     *   (범위 안에서 쓰기용 openScope()를 호출해도 복제본에 참여하지 않는다.)
+     * - 복제본 라우팅이 없거나, 사용 가능한 복제본이 없거나, 방금 쓰기를 한 스레드이면 주 DB에서 읽는다.
+     */
+    public static ConnectionScope openReadScope() throws SQLException {
+        ConnectionScope current = CURRENT.get();
+        if (current != null) {
+            return current.join();
+        }
+        ConnectionProvider replicas = readConnectionProvider;
+        if (replicas != null && !wroteRecently()) {
+            Connection replica = replicas.getConnection();
+            if (replica != null) {
+                return new ConnectionScope(replica, true, true, true);
+            }
+        }
+        ConnectionScope scope = new ConnectionScope(connectionProvider.getConnection(), true, true, false);
+        CURRENT.set(scope);
+        return scope;
+    }
+
+    // 주 DB 작업 단위가 끝날 때 호출 (쓰기 시각 기록)
+    static void recordWrite() {
+        if (readConnectionProvider != null) {
+            LAST_WRITE_NANOS.get()[0] = System.nanoTime();
+        }
+    }
+
+    private static boolean wroteRecently() {
+        long lastWrite = LAST_WRITE_NANOS.get()[0];
+        return lastWrite != 0 && System.nanoTime() - lastWrite < readYourWritesNanos;
+    }
+
+    /**
+     * 📌 외부에서 관리하는 커넥션을 현재 스레드에 바인딩 (테스트 등)
+     * - 반환된 범위를 닫으면 바인딩만 해제되며, 커넥션의 커밋/롤백/종료는 호출한 쪽에서 처리한다.
+     */
+    public static ConnectionScope bind(Connection connection) {
+        if (CURRENT.get() != null) {
+            throw new IllegalStateException("현재 스레드에 이미 작업 단위가 열려 있습니다.");
+        }
+        ConnectionScope scope = new ConnectionScope(connection, false);
+        CURRENT.set(scope);
+        return scope;
+    }
+
+    static void unbind(ConnectionScope scope) {
+        if (CURRENT.get() == scope) {
+            CURRENT.remove();
+        }
+    }
+
+    // 현재 스레드에서 트랜잭션(autocommit 해제 상태)이 진행 중인지 확인
+    public static boolean isInTransaction() {
+        ConnectionScope current = CURRENT.get();
+        if (current == null) {
+            return false;
+        }
+        try {
+            return !current.connection().getAutoCommit();
+        } catch (SQLException e) {
+            return true;
+        }
+    }
+
+    /**
+     * 📌 작업 단위를 autocommit 상태로 실행
+     * - 작업 안에서 직접 커밋/롤백을 제어해야 하는 경우(chunk 단위 커밋 등)에 사용한다.
+     */
+    public static <T> T execute(UnitOfWork<T> work) throws SQLException {
+        try (ConnectionScope scope = openScope()) {
+            return work.execute(scope.connection());
+        }
+    }
+
+    /**
+     * 📌 작업 단위를 하나의 트랜잭션으로 실행
+     * - 정상 종료 시 커밋, 예외 발생 또는 setRollbackOnly() 호출 시 롤백한 뒤 커넥션을 반납한다.
+     * - 이미 트랜잭션이 진행 중이면 새로 시작하지 않고 바깥 트랜잭션에 참여한다.
+     */
+    public static <T> T inTransaction(UnitOfWork<T> work) throws SQLException {
+        try (ConnectionScope scope = openScope()) {
+            Connection connection = scope.connection();
+            if (!connection.getAutoCommit()) {
+                return work.execute(connection);
+            }
+
+            connection.setAutoCommit(false);
+            try {
+                T result = work.execute(connection);
+                if (scope.isRollbackOnly()) {
+                    TransactionCallbacks.rollback(connection);
+                } else {
+                    TransactionCallbacks.commit(connection);
+                }
+                return result;
+            } catch (SQLException | RuntimeException e) {
+                try {
+                    TransactionCallbacks.rollback(connection);
+                } catch (SQLException rollbackFailure) {
+                    e.addSuppressed(rollbackFailure);
+                }
+                throw e;
+            } finally {
+                scope.setRollbackOnly(false);
+                connection.setAutoCommit(true);
+            }
+        }
+    }
+
+    // 현재 트랜잭션을 롤백하도록 표시 (inTransaction 종료 시 커밋 대신 롤백)
+    public static void setRollbackOnly() {
+        ConnectionScope current = CURRENT.get();
+        if (current == null) {
+            throw new IllegalStateException("열린 작업 단위가 없습니다.");
+        }
+        current.setRollbackOnly(true);
+    }
+}
@@ -0,0 +1,163 @@
+package com.metabirth.util;
+
+import com.metabirth.dao.TransientDataAccessException;
+import com.metabirth.metrics.RetryStats;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.SQLException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * 📌 TransientRetry (교착 상태 / 잠금 대기 초과 시 트랜잭션 재시도)
+ * - 작업이 TransientDataAccessException으로 실패하면 지수 백오프(full jitter)만큼 기다린 뒤 처음부터 다시 실행한다.
+ *   대기 시간은 0 ~ min(maxDelay, baseDelay * 2^(재시도 횟수 - 1)) 사이의 무작위 값이므로, 같이 충돌한 트랜잭션끼리
+ *   같은 시점에 다시 충돌하지 않는다.
+ * - 재시도 예산(토큰 버킷) : 호출마다 budgetRatio개의 토큰이 쌓이고(최대 budgetMaxTokens) 재시도마다 1개를 쓴다.
+ *   경합이 심해져 대부분의 호출이 실패하는 상황에서 재시도가 부하를 몇 배로 키우지 않도록, 재시도는 전체 호출의
+ *   약 budgetRatio 비율로 제한된다.
+ * - 재시도 횟수는 작업 이름별로 RetryStats에 기록된다.
+ */
+public final class TransientRetry {
+    private static final Logger log = LoggerFactory.getLogger(TransientRetry.class);
+
+    /**
+     * 📌 재시도 설정
+     * @param maxAttempts     첫 시도를 포함한 최대 실행 횟수 (1 이면 재시도하지 않음)
+     * @param baseDelayMillis 첫 재시도 전 최대 대기 시간 (ms)
+     * @param maxDelayMillis  재시도 전 대기 시간 상한 (ms)
+     * @param budgetRatio     호출 한 번마다 쌓이는 재시도 토큰 수
+     * @param budgetMaxTokens 쌓을 수 있는 재시도 토큰 상한 (순간적인 충돌 몰림을 허용하는 양)
+     */
+    public record Config(int maxAttempts, long baseDelayMillis, long maxDelayMillis, double budgetRatio,
+                         int budgetMaxTokens) {
+        public static final Config DEFAULT = new Config(4, 20, 1000, 0.1, 20);
+
+        public Config {
+            if (maxAttempts < 1 || baseDelayMillis < 0 || maxDelayMillis < baseDelayMillis
+                    || budgetRatio < 0 || budgetMaxTokens < 0) {
+                throw new IllegalArgumentException("재시도 설정값이 올바르지 않습니다: maxAttempts=" + maxAttempts
+                        + ", baseDelayMillis=" + baseDelayMillis + ", maxDelayMillis=" + maxDelayMillis
+                        + ", budgetRatio=" + budgetRatio + ", budgetMaxTokens=" + budgetMaxTokens);
+            }
+        }
+    }
+
+    /**
+     * 📌 재시도할 작업
+     * - 실패하면 자신이 시작한 트랜잭션을 롤백한 상태로 예외를 던져야 한다. (다시 실행할 때 처음부터 시작)
+     */
+    @FunctionalInterface
+    public interface Attempt<T> {
+        T run() throws SQLException;
+    }
+
+    // 토큰은 1/1000 단위로 보관
+    private static final long MILLI = 1000;
+
+    private static volatile Config config = Config.DEFAULT;
+    private static final AtomicLong budgetMilliTokens = new AtomicLong(Config.DEFAULT.budgetMaxTokens() * MILLI);
+
+    private TransientRetry() {
+    }
+
+    public static void configure(Config newConfig) {
+        config = newConfig;
+        budgetMilliTokens.set(newConfig.budgetMaxTokens() * MILLI);
+    }
+
+    /**
+     * 📌 작업 실행 (트랜잭션 밖에서 호출된 경우에만 재시도)
+     * - 바깥 트랜잭션에 참여한 상태라면 교착 상태로 바깥 트랜잭션 전체가 롤백되었을 수 있으므로 여기서 다시 실행하지 않고
+     *   예외를 그대로 전달한다. (바깥 트랜잭션을 시작한 쪽에서 재시도)
+     */
+    public static <T> T call(String operation, Attempt<T> attempt) throws SQLException {
+        if (TransactionManager.isInTransaction()) {
+            return attempt.run();
+        }
+        return retry(operation, attempt);
+    }
+
+    /**
+     * 📌 DAO 호출 실행 (call과 같고, 재시도 후에도 실패하면 fallback 반환)
+     * - 예외 대신 실패 값을 반환하는 DAO 메서드를 한 문장 단위로 감쌀 때 사용한다.
+     */
+    public static <T> T callOrElse(String operation, Supplier<T> attempt, T fallback) {
+        try {
+            return call(operation, attempt::get);
+        } catch (TransientDataAccessException | SQLException e) {
+            return fallback;
+        }
+    }
+
+    /**
+     * 📌 작업 실행 (항상 재시도)
+     * - chunk 단위로 직접 커밋/롤백하는 작업처럼 attempt가 트랜잭션 하나를 온전히 책임지는 경우에 사용한다.
+     */
+    public static <T> T retry(String operation, Attempt<T> attempt) throws SQLException {
+        Config current = config;
+        deposit(current);
+        for (int attemptNumber = 1; ; attemptNumber++) {
+            try {
+                T result = attempt.run();
+                if (attemptNumber > 1) {
+                    RetryStats.recordRecovered(operation);
+                }
+                return result;
+            } catch (TransientDataAccessException e) {
+                if (attemptNumber >= current.maxAttempts()) {
+                    RetryStats.recordExhausted(operation);
+                    log.warn("{} 재시도 {}회 후 실패 - 사유: {}", operation, attemptNumber - 1, e.getMessage());
+                    throw e;
+                }
+                if (!tryWithdraw()) {
+                    RetryStats.recordBudgetDenied(operation);
+                    log.warn("{} 재시도 예산 소진으로 실패 - 사유: {}", operation, e.getMessage());
+                    throw e;
+                }
+                RetryStats.recordRetry(operation);
+                long delayMillis = backoffMillis(current, attemptNumber);
+                log.info("{} 일시적 오류({}), {}ms 후 재시도 ({}/{})", operation, e.getErrorCode(), delayMillis,
+                        attemptNumber, current.maxAttempts() - 1);
+                try {
+                    Thread.sleep(delayMillis);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    throw e;
+                }
+            }
+        }
+    }
+
+    // retryNumber번째 재시도 전 대기 시간 (full jitter)
+    static long backoffMillis(Config config, int retryNumber) {
+        long ceiling = config.baseDelayMillis() << Math.min(retryNumber - 1, 30);
+        ceiling = Math.min(config.maxDelayMillis(), ceiling < 0 ? Long.MAX_VALUE : ceiling);
+        return ThreadLocalRandom.current().nextLong(ceiling + 1);
+    }
+
+    private static void deposit(Config config) {
+        long amount = Math.round(config.budgetRatio() * MILLI);
+        long max = config.budgetMaxTokens() * MILLI;
+        budgetMilliTokens.getAndUpdate(tokens -> Math.min(max, tokens + amount));
+    }
+
+    private static boolean tryWithdraw() {
+        while (true) {
+            long tokens = budgetMilliTokens.get();
+            if (tokens < MILLI) {
+                return false;
+            }
+            if (budgetMilliTokens.compareAndSet(tokens, tokens - MILLI)) {
+                return true;
+            }
+        }
+    }
+
+    // 남은 재시도 토큰 수
+    public static double getBudgetTokens() {
+        return budgetMilliTokens.get() / (double) MILLI;
+    }
+}
@@ -1,14 +1,14 @@
 package com.metabirth.view;
 
+import com.metabirth.dao.Page;
 import com.metabirth.model.Enrollment;
 import com.metabirth.model.Payment;
+import com.metabirth.service.CascadeDeleteResult;
 import com.metabirth.service.EnrollmentService;
 import com.metabirth.service.EnrollmentAggregateService;
 
 import java.math.BigDecimal;
-import java.sql.Connection;
 import java.time.LocalDateTime;
-import java.util.List;
 import java.util.Scanner;
 
 public class EnrollmentView {
@@ -16,14 +16,20 @@ public class EnrollmentView {
     private final EnrollmentAggregateService integratedService;
     private final Scanner scanner;
 
+    // 전체 조회 시 한 페이지에 출력할 건수
+    private static final int PAGE_SIZE = 20;
+
+    // 수업 취소 / 학생 철회 시 한 번에 커밋할 수강신청 수
+    private static final int CASCADE_CHUNK_SIZE = 200;
+
     /*
      * 생성자
      * - 서비스 객체를 생성하여 주입받고, 콘솔 UI를 위한 Scanner 객체 초기화
-     * - 데이터베이스 연결을 위한 Connection 객체
+     * - 커넥션은 서비스 호출마다 TransactionManager가 풀에서 빌려 사용한다.
      * */
-    public EnrollmentView(Connection connection) {
-        this.enrollmentService = new EnrollmentService(connection);
-        this.integratedService = new EnrollmentAggregateService(connection);
+    public EnrollmentView() {
+        this.enrollmentService = new EnrollmentService();
+        this.integratedService = new EnrollmentAggregateService();
         this.scanner = new Scanner(System.in);
     }
 
@@ -38,6 +44,8 @@ public class EnrollmentView {
             System.out.println("3. 수강신청 조회 (ID)");
             System.out.println("4. 수강신청 수정");
             System.out.println("5. 수강신청 삭제");
+            System.out.println("6. 수업 취소 (수업의 수강신청 일괄 삭제)");
+            System.out.println("7. 학생 철회 (학생의 수강신청 일괄 삭제)");
             System.out.println("0. 상위 메뉴로 돌아가기");
             System.out.print("선택하세요: ");
 
@@ -50,6 +58,8 @@ public class EnrollmentView {
                 case 3 -> getEnrollmentById();
                 case 4 -> updateEnrollment();
                 case 5 -> deleteEnrollment();
+                case 6 -> cancelClass();
+                case 7 -> withdrawStudent();
                 case 0 -> {
                     System.out.println("상위 메뉴로 돌아갑니다.");
                     return;
@@ -61,15 +71,32 @@ public class EnrollmentView {
 
     /**
      * 📌 전체 수강신청 조회
-     * - `EnrollmentService`의 `getAllEnrollments()` 메서드를 호출하여 수강신청 목록을 출력
+     * - `EnrollmentService`의 `getEnrollmentsPage()` 메서드를 호출하여 PAGE_SIZE건씩 페이지 단위로 수강신청 목록을 출력
      */
     private void getAllEnrollments() {
-        List<Enrollment> enrollments = enrollmentService.getAllEnrollments();
-        if (enrollments == null || enrollments.isEmpty()) {
+        Page<Enrollment> page = enrollmentService.getEnrollmentsPage(Page.FIRST_CURSOR, PAGE_SIZE);
+        if (page == null || page.isEmpty()) {
             System.out.println("❌ 등록된 수강신청이 없습니다.");
-        } else {
-            System.out.println("\n===== 전체 수강신청 목록 =====");
-            enrollments.forEach(System.out::println);
+            return;
+        }
+
+        System.out.println("\n===== 전체 수강신청 목록 =====");
+        while (true) {
+            page.getItems().forEach(System.out::println);
+            if (!page.hasNext()) {
+                break;
+            }
+
+            System.out.print("다음 페이지는 Enter, 조회를 마치려면 0을 입력하세요: ");
+            if (scanner.nextLine().trim().equals("0")) {
+                break;
+            }
+
+            page = enrollmentService.getEnrollmentsPage(page.getNextCursor(), PAGE_SIZE);
+            if (page == null) {
+                System.out.println("❌ 다음 페이지 조회에 실패했습니다.");
+                break;
+            }
         }
     }
 
@@ -171,4 +198,48 @@ public class EnrollmentView {
             System.out.println("❌ 수강신청 삭제 실패");
         }
     }
+
+    /**
+     * 📌 수업 취소 (DELETE)
+     * - 수업 ID를 입력받아 해당 수업의 수강신청과 연관된 결제내역, 리뷰를 일괄 삭제
+     * - chunk 단위로 커밋되며, 진행 상황을 출력한다.
+     */
+    private void cancelClass() {
+        System.out.println("주의! 해당 수업의 모든 수강신청과 연결된 결제내역, 리뷰가 전부 삭제됩니다.");
+        System.out.print("취소할 수업 ID를 입력하세요: ");
+        int classId = scanner.nextInt();
+        scanner.nextLine(); // 개행 문자 처리
+
+        CascadeDeleteResult result = integratedService.cancelClass(classId, CASCADE_CHUNK_SIZE, this::printProgress);
+        printCascadeResult(result, "수업 취소");
+    }
+
+    /**
+     * 📌 학생 철회 (DELETE)
+     * - 학생 ID를 입력받아 해당 학생의 수강신청과 연관된 결제내역, 리뷰를 일괄 삭제
+     */
+    private void withdrawStudent() {
+        System.out.println("주의! 해당 학생의 모든 수강신청과 연결된 결제내역, 리뷰가 전부 삭제됩니다.");
+        System.out.print("철회할 학생 ID를 입력하세요: ");
+        int studentId = scanner.nextInt();
+        scanner.nextLine(); // 개행 문자 처리
+
+        CascadeDeleteResult result = integratedService.withdrawStudent(studentId, CASCADE_CHUNK_SIZE, this::printProgress);
+        printCascadeResult(result, "학생 철회");
+    }
+
+    private void printProgress(CascadeDeleteResult progress) {
+        System.out.printf("... 진행 중: 수강신청 %d건 / 결제 %d건 / 리뷰 %d건 삭제%n",
+                progress.getEnrollments(), progress.getPayments(), progress.getReviews());
+    }
+
+    private void printCascadeResult(CascadeDeleteResult result, String action) {
+        if (result.isCompleted()) {
+            System.out.printf("✅ %s 성공 - 수강신청 %d건, 결제 %d건, 리뷰 %d건 삭제%n",
+                    action, result.getEnrollments(), result.getPayments(), result.getReviews());
+        } else {
+            System.out.printf("❌ %s 중 실패 - 처리된 수강신청 %d건, 결제 %d건, 리뷰 %d건%n",
+                    action, result.getEnrollments(), result.getPayments(), result.getReviews());
+        }
+    }
 }
\ No newline at end of file
@@ -1,28 +1,37 @@
 package com.metabirth.view;
 
+import com.metabirth.dao.Page;
 import com.metabirth.model.Payment;
+import com.metabirth.model.RevenueTotal;
 import com.metabirth.service.EnrollmentAggregateService;
 import com.metabirth.service.PaymentService;
+import com.metabirth.service.RevenueService;
 
 import java.math.BigDecimal;
-import java.sql.Connection;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.util.List;
+import java.time.format.DateTimeParseException;
 import java.util.Scanner;
+import java.util.SortedMap;
 
 public class PaymentView {
     private final PaymentService paymentService;
     private final EnrollmentAggregateService integratedService;
+    private final RevenueService revenueService;
     private final Scanner scanner;
 
+    // 전체 조회 시 한 페이지에 출력할 건수
+    private static final int PAGE_SIZE = 20;
+
     /*
      * 생성자
      * - 서비스 객체를 생성하여 주입받고, 콘솔 UI를 위한 Scanner 객체 초기화
-     * - 데이터베이스 연결을 위한 Connection 객체
+     * - 커넥션은 서비스 호출마다 TransactionManager가 풀에서 빌려 사용한다.
      * */
-    public PaymentView(Connection connection) {
-        this.paymentService = new PaymentService(connection);
-        this.integratedService = new EnrollmentAggregateService(connection);
+    public PaymentView() {
+        this.paymentService = new PaymentService();
+        this.integratedService = new EnrollmentAggregateService();
+        this.revenueService = new RevenueService();
         this.scanner = new Scanner(System.in);
     }
 
@@ -37,6 +46,8 @@ public class PaymentView {
             System.out.println("2. 결제내역 조회 (ID)");
             System.out.println("3. 결제내역 수정");
             System.out.println("4. 결제내역 삭제");
+            System.out.println("5. 기간 매출 조회");
+            System.out.println("6. 매출 집계 재구축");
             System.out.println("0. 상위 메뉴로 돌아가기");
             System.out.print("선택하세요: ");
 
@@ -48,6 +59,8 @@ public class PaymentView {
                 case 2 -> getPaymentById();
                 case 3 -> updatePayment();
                 case 4 -> deletePayment();
+                case 5 -> getRevenue();
+                case 6 -> backfillRevenue();
                 case 0 -> {
                     System.out.println("상위 메뉴로 돌아갑니다.");
                     return;
@@ -59,15 +72,32 @@ public class PaymentView {
 
     /**
      * 📌 전체 결제내역 조회
-     * - `PaymentService`의 `getAllPayments()` 메서드를 호출하여 결제내역 목록을 출력
+     * - `PaymentService`의 `getPaymentsPage()` 메서드를 호출하여 PAGE_SIZE건씩 페이지 단위로 결제내역 목록을 출력
      */
     private void getAllPayments() {
-        List<Payment> payments = paymentService.getAllPayments();
-        if (payments == null || payments.isEmpty()) {
+        Page<Payment> page = paymentService.getPaymentsPage(Page.FIRST_CURSOR, PAGE_SIZE);
+        if (page == null || page.isEmpty()) {
             System.out.println("❌ 등록된 결제내역이 없습니다.");
-        } else {
-            System.out.println("\n===== 전체 결제내역 목록 =====");
-            payments.forEach(System.out::println);
+            return;
+        }
+
+        System.out.println("\n===== 전체 결제내역 목록 =====");
+        while (true) {
+            page.getItems().forEach(System.out::println);
+            if (!page.hasNext()) {
+                break;
+            }
+
+            System.out.print("다음 페이지는 Enter, 조회를 마치려면 0을 입력하세요: ");
+            if (scanner.nextLine().trim().equals("0")) {
+                break;
+            }
+
+            page = paymentService.getPaymentsPage(page.getNextCursor(), PAGE_SIZE);
+            if (page == null) {
+                System.out.println("❌ 다음 페이지 조회에 실패했습니다.");
+                break;
+            }
         }
     }
 
@@ -126,4 +156,89 @@ public class PaymentView {
             System.out.println("❌ 결제 삭제 실패");
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * 📌 기간 매출 조회
+     * - 시작일 ~ 종료일(포함)의 일별 매출과 수업별 매출을 출력 (매출 집계에서 계산하며 결제내역은 읽지 않음)
+     * - 수업 ID를 입력하면 해당 수업의 일별 매출만 출력
+     */
+    private void getRevenue() {
+        LocalDate from;
+        LocalDate to;
+        try {
+            System.out.print("시작일 (yyyy-MM-dd) : ");
+            from = LocalDate.parse(scanner.nextLine().trim());
+            System.out.print("종료일 (yyyy-MM-dd) : ");
+            to = LocalDate.parse(scanner.nextLine().trim());
+        } catch (DateTimeParseException e) {
+            System.out.println("❌ 날짜 형식이 올바르지 않습니다.");
+            return;
+        }
+        if (from.isAfter(to)) {
+            System.out.println("❌ 시작일이 종료일보다 늦습니다.");
+            return;
+        }
+        System.out.print("수업 ID (전체 수업은 Enter) : ");
+        String classInput = scanner.nextLine().trim();
+
+        if (!classInput.isEmpty()) {
+            int classId;
+            try {
+                classId = Integer.parseInt(classInput);
+            } catch (NumberFormatException e) {
+                System.out.println("❌ 수업 ID 형식이 올바르지 않습니다.");
+                return;
+            }
+            SortedMap<LocalDate, RevenueTotal> daily = revenueService.getClassDailyRevenue(classId, from, to);
+            if (daily == null) {
+                System.out.println("❌ 매출 조회 실패");
+                return;
+            }
+            System.out.println("\n===== 수업 " + classId + " 일별 매출 =====");
+            printRevenue(daily);
+            return;
+        }
+
+        SortedMap<LocalDate, RevenueTotal> daily = revenueService.getDailyRevenue(from, to);
+        SortedMap<Integer, RevenueTotal> byClass = revenueService.getRevenueByClass(from, to);
+        if (daily == null || byClass == null) {
+            System.out.println("❌ 매출 조회 실패");
+            return;
+        }
+        System.out.println("\n===== 일별 매출 =====");
+        printRevenue(daily);
+        System.out.println("\n===== 수업별 매출 =====");
+        byClass.forEach((classId, total) ->
+                System.out.printf("수업 %d : %d건, %s원%n", classId, total.getPaymentCount(), total.getAmount().toPlainString()));
+    }
+
+    private static void printRevenue(SortedMap<LocalDate, RevenueTotal> daily) {
+        if (daily.isEmpty()) {
+            System.out.println("❌ 해당 기간의 매출이 없습니다.");
+            return;
+        }
+        RevenueTotal sum = RevenueTotal.EMPTY;
+        for (var entry : daily.entrySet()) {
+            RevenueTotal total = entry.getValue();
+            System.out.printf("%s : %d건, %s원%n", entry.getKey(), total.getPaymentCount(), total.getAmount().toPlainString());
+            sum = sum.plus(total);
+        }
+        System.out.printf("✅ 합계 : %d건, %s원%n", sum.getPaymentCount(), sum.getAmount().toPlainString());
+    }
+
+    /**
+     * 📌 매출 집계 재구축
+     * - 결제내역을 다시 읽어 수업별 / 일별 매출 집계를 새로 계산 (집계가 어긋났을 때 사용)
+     */
+    private void backfillRevenue() {
+        System.out.println("결제내역 전체를 다시 읽어 매출 집계를 재구축합니다.");
+        RevenueService.BackfillResult result = revenueService.backfill();
+        if (result == null) {
+            System.out.println("❌ 매출 집계 재구축 실패");
+        } else if (result.failed() > 0) {
+            System.out.printf("❌ %d개 수업 재구축, %d개 수업 실패 (결제 %d건)%n", result.rebuilt(), result.failed(), result.payments());
+        } else {
+            System.out.printf("✅ %d개 수업 재구축 완료 (결제 %d건)%n", result.rebuilt(), result.payments());
+        }
+    }
+}
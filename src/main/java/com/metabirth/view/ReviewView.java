@@ -1,12 +1,12 @@
 package com.metabirth.view;
 
+import com.metabirth.dao.Page;
+import com.metabirth.model.ClassRatingSummary;
 import com.metabirth.model.Review;
 import com.metabirth.service.EnrollmentAggregateService;
 import com.metabirth.service.ReviewService;
 
-import java.sql.Connection;
 import java.time.LocalDateTime;
-import java.util.List;
 import java.util.Scanner;
 
 public class ReviewView {
@@ -14,14 +14,17 @@ public class ReviewView {
     private final EnrollmentAggregateService integratedService;
     private final Scanner scanner;
 
+    // 전체 조회 시 한 페이지에 출력할 건수
+    private static final int PAGE_SIZE = 20;
+
     /*
      * 생성자
      * - 서비스 객체를 생성하여 주입받고, 콘솔 UI를 위한 Scanner 객체 초기화
-     * - 데이터베이스 연결을 위한 Connection 객체
+     * - 커넥션은 서비스 호출마다 TransactionManager가 풀에서 빌려 사용한다.
      * */
-    public ReviewView(Connection connection) {
-        this.reviewService = new ReviewService(connection);
-        this.integratedService = new EnrollmentAggregateService(connection);
+    public ReviewView() {
+        this.reviewService = new ReviewService();
+        this.integratedService = new EnrollmentAggregateService();
         this.scanner = new Scanner(System.in);
     }
 
@@ -37,6 +40,7 @@ public class ReviewView {
             System.out.println("3. 리뷰 조회 (ID)");
             System.out.println("4. 리뷰 수정");
             System.out.println("5. 리뷰 삭제");
+            System.out.println("6. 수업별 별점 통계 조회");
             System.out.println("0. 상위메뉴로 돌아가기");
             System.out.print("선택하세요: ");
 
@@ -49,6 +53,7 @@ public class ReviewView {
                 case 3 -> getReviewById();
                 case 4 -> updateReview();
                 case 5 -> deleteReview();
+                case 6 -> getClassRating();
                 case 0 -> {
                     System.out.println("상위 메뉴로 돌아갑니다.");
                     return;
@@ -60,15 +65,32 @@ public class ReviewView {
 
     /**
      * 📌 전체 리뷰 조회
-     * - `ReviewService`의 `getAllReviews()` 메서드를 호출하여 리뷰 목록을 출력
+     * - `ReviewService`의 `getReviewsPage()` 메서드를 호출하여 PAGE_SIZE건씩 페이지 단위로 리뷰 목록을 출력
      */
     private void getAllReviews() {
-        List<Review> reviews = reviewService.getAllReviews();
-        if (reviews == null || reviews.isEmpty()) {
+        Page<Review> page = reviewService.getReviewsPage(Page.FIRST_CURSOR, PAGE_SIZE);
+        if (page == null || page.isEmpty()) {
             System.out.println("❌ 등록된 리뷰가 없습니다.");
-        } else {
-            System.out.println("\n===== 전체 리뷰 목록 =====");
-            reviews.forEach(System.out::println);
+            return;
+        }
+
+        System.out.println("\n===== 전체 리뷰 목록 =====");
+        while (true) {
+            page.getItems().forEach(System.out::println);
+            if (!page.hasNext()) {
+                break;
+            }
+
+            System.out.print("다음 페이지는 Enter, 조회를 마치려면 0을 입력하세요: ");
+            if (scanner.nextLine().trim().equals("0")) {
+                break;
+            }
+
+            page = reviewService.getReviewsPage(page.getNextCursor(), PAGE_SIZE);
+            if (page == null) {
+                System.out.println("❌ 다음 페이지 조회에 실패했습니다.");
+                break;
+            }
         }
     }
 
@@ -159,4 +181,28 @@ public class ReviewView {
             System.out.println("❌ 리뷰 삭제 실패");
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * 📌 수업별 별점 통계 조회
+     * - 수업 ID를 입력받아 리뷰 수, 평균 별점, 1 ~ 5점 분포를 출력
+     */
+    private void getClassRating() {
+        System.out.print("조회할 수업 ID를 입력하세요: ");
+        int classId = scanner.nextInt();
+        scanner.nextLine(); // 개행 문자 처리
+
+        ClassRatingSummary summary = reviewService.getClassRating(classId);
+        if (summary == null) {
+            System.out.println("❌ 별점 통계 조회 실패");
+            return;
+        }
+        if (summary.getReviewCount() == 0) {
+            System.out.println("❌ 해당 수업의 리뷰가 없습니다.");
+            return;
+        }
+        System.out.printf("✅ 리뷰 %d개, 평균 별점 %.2f%n", summary.getReviewCount(), summary.getAverage());
+        for (int rating = ClassRatingSummary.MAX_RATING; rating >= ClassRatingSummary.MIN_RATING; rating--) {
+            System.out.printf("%d점 : %d개%n", rating, summary.getCount(rating));
+        }
+    }
+}
@@ -0,0 +1,26 @@
+-- V2 : DAO 조회 경로 인덱스
+-- 기존 테이블에는 PK와 active_enrollment_id 유니크 키만 있어서 아래 조회가 모두 전체 테이블 스캔이었다.
+-- ALGORITHM=INPLACE, LOCK=NONE : 인덱스를 만드는 동안에도 읽기/쓰기를 막지 않는다. (MySQL 온라인 DDL)
+
+-- enrollments
+-- (status, enrollment_id) : WHERE status = 0 전체 조회와 활성 수강신청 인덱스 적재(SELECT enrollment_id ... WHERE status = 0)를 인덱스만으로 처리
+-- (class_id, status, enrollment_id) / (student_id, status, enrollment_id) :
+--   수업 취소 / 학생 철회의 chunk 조회(WHERE class_id = ? AND status = 0 AND enrollment_id > ? ORDER BY enrollment_id)와
+--   범위 삭제(enrollment_id BETWEEN ? AND ?)를 정렬 없이 인덱스 범위 스캔으로 처리
+alter table enrollments
+    add index idx_enrollments_status (status, enrollment_id),
+    add index idx_enrollments_class (class_id, status, enrollment_id),
+    add index idx_enrollments_student (student_id, status, enrollment_id),
+    algorithm = inplace, lock = none;
+
+-- payments / reviews
+-- (enrollment_id, status) : deletePaymentByEnrollmentId / deleteReviewByEnrollmentId 와
+--   연쇄 삭제의 JOIN 조건(enrollment_id = ? AND status = 0)
+-- uq_*_active(active_enrollment_id)는 생성 컬럼의 인덱스라 enrollment_id 조건에는 사용되지 않는다.
+alter table payments
+    add index idx_payments_enrollment_status (enrollment_id, status),
+    algorithm = inplace, lock = none;
+
+alter table reviews
+    add index idx_reviews_enrollment_status (enrollment_id, status),
+    algorithm = inplace, lock = none;
@@ -0,0 +1,51 @@
+-- V3 : 논리 삭제된 행의 보관 테이블 (ArchivalService)
+-- 원본 테이블과 같은 컬럼에 archived_at(보관 시각)을 더한 구조이며, 생성 컬럼과 활성 유니크 키는 두지 않는다.
+-- 수강신청 단위(수강신청 + 결제 + 리뷰)로 함께 옮기므로 같은 그룹은 같은 archived_at 을 갖는다.
+
+create table if not exists enrollments_archive
+(
+    enrollment_id int       not null comment '수강신청 id'
+        primary key,
+    student_id    int       not null comment '학생 id',
+    class_id      int       not null comment '수업 id',
+    status        tinyint   null,
+    created_at    timestamp not null comment '등록일',
+    updated_at    timestamp null comment '수정일',
+    deleted_at    timestamp null comment '삭제일',
+    archived_at   timestamp not null comment '보관일',
+    index idx_enrollments_archive_archived_at (archived_at)
+)
+    comment '수강신청 보관';
+
+create table if not exists payments_archive
+(
+    payment_id    int            not null comment '결제 id'
+        primary key,
+    amount        decimal(10, 2) not null comment '결제 금액',
+    status        tinyint        null,
+    created_at    timestamp      not null comment '등록일',
+    updated_at    timestamp      null comment '수정일',
+    deleted_at    timestamp      null comment '삭제일',
+    enrollment_id int            not null comment '수강신청 id',
+    archived_at   timestamp      not null comment '보관일',
+    index idx_payments_archive_enrollment (enrollment_id),
+    index idx_payments_archive_archived_at (archived_at)
+)
+    comment '결제 보관';
+
+create table if not exists reviews_archive
+(
+    review_id     int       not null comment '리뷰 id'
+        primary key,
+    rating        tinyint   not null comment '별점',
+    content       text      null comment '리뷰내용',
+    status        tinyint   null,
+    created_at    timestamp not null comment '등록일',
+    updated_at    timestamp null comment '수정일',
+    deleted_at    timestamp null comment '삭제일',
+    enrollment_id int       not null comment '수강신청 id',
+    archived_at   timestamp not null comment '보관일',
+    index idx_reviews_archive_enrollment (enrollment_id),
+    index idx_reviews_archive_archived_at (archived_at)
+)
+    comment '리뷰 보관';
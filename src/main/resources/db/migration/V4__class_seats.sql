@@ -0,0 +1,20 @@
+-- V4 : 수업별 좌석 카운터 (ClassSeatDAO)
+-- 수강신청 등록 트랜잭션이 정원 조건부 UPDATE(reserved + n <= capacity)로 좌석을 확보하여 정원 초과 등록을 막는다.
+-- reserved 는 활성(status = 0) 수강신청 수이며, 수강신청 삭제로 비는 좌석은 주기적인 재적재(reconcile)로 반영된다.
+
+create table if not exists class_seats
+(
+    class_id   int                                 not null comment '수업 id'
+        primary key,
+    capacity   int                                 not null comment '수업 인원 (classes.capacity)',
+    reserved   int       default 0                 not null comment '등록된 좌석 수',
+    updated_at timestamp default CURRENT_TIMESTAMP not null comment '수정일'
+)
+    comment '수업 좌석';
+
+-- 기존 수업의 좌석 수 초기화 (이미 정원을 넘겨 등록된 수업은 reserved > capacity 로 남아 추가 등록이 거절된다.)
+insert ignore into class_seats (class_id, capacity, reserved)
+select c.class_id, c.capacity, count(e.enrollment_id)
+from classes c
+         left join enrollments e on e.class_id = c.class_id and e.status = 0
+group by c.class_id, c.capacity;
@@ -0,0 +1,14 @@
+-- V5 : 수강신청 + 결제 등록 요청 키 (RegistrationRequestDAO)
+-- 등록 트랜잭션의 첫 문장에서 키를 선점하고 마지막에 생성된 ID를 기록하므로, 같은 키로 재시도된 요청은 한 번만 등록된다.
+-- 재시도 기간이 지난 행은 지워도 된다. (created_at 인덱스)
+
+create table if not exists registration_requests
+(
+    request_key   varchar(64)                         not null comment '클라이언트가 보낸 요청 키'
+        primary key,
+    enrollment_id int                                 null comment '등록된 수강신청 id',
+    payment_id    int                                 null comment '등록된 결제 id',
+    created_at    timestamp default CURRENT_TIMESTAMP not null comment '등록일',
+    index idx_registration_requests_created_at (created_at)
+)
+    comment '등록 요청 키';
@@ -0,0 +1,27 @@
+-- V6 : 수업별 리뷰 별점 통계 (ClassRatingDAO)
+-- 리뷰 등록/수정/삭제 트랜잭션이 같은 트랜잭션에서 변경분을 더하므로, 평균 별점과 분포를 리뷰를 읽지 않고 조회할 수 있다.
+-- 활성(status = 0) 리뷰만 집계하며, 1 ~ 5 범위를 벗어난 별점은 review_count, rating_sum 에만 포함된다.
+
+create table if not exists class_rating_stats
+(
+    class_id     int                                 not null comment '수업 id'
+        primary key,
+    review_count int       default 0                 not null comment '활성 리뷰 수',
+    rating_sum   bigint    default 0                 not null comment '별점 합계',
+    rating_1     int       default 0                 not null comment '1점 리뷰 수',
+    rating_2     int       default 0                 not null comment '2점 리뷰 수',
+    rating_3     int       default 0                 not null comment '3점 리뷰 수',
+    rating_4     int       default 0                 not null comment '4점 리뷰 수',
+    rating_5     int       default 0                 not null comment '5점 리뷰 수',
+    updated_at   timestamp default CURRENT_TIMESTAMP not null comment '수정일'
+)
+    comment '수업별 별점 통계';
+
+-- 기존 리뷰로 통계 초기화
+insert ignore into class_rating_stats (class_id, review_count, rating_sum, rating_1, rating_2, rating_3, rating_4, rating_5)
+select e.class_id, count(*), sum(r.rating),
+       sum(r.rating = 1), sum(r.rating = 2), sum(r.rating = 3), sum(r.rating = 4), sum(r.rating = 5)
+from reviews r
+         join enrollments e on e.enrollment_id = r.enrollment_id
+where r.status = 0
+group by e.class_id;
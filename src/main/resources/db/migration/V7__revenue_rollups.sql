@@ -0,0 +1,25 @@
+-- V7 : 수업별 일별 매출 집계 (RevenueRollupDAO)
+-- 결제 등록/수정/삭제 트랜잭션이 같은 트랜잭션에서 변경분을 더하므로, 기간 매출을 payments 를 읽지 않고 조회할 수 있다.
+-- 활성(status = 0) 결제만 집계하며, 금액은 최소 화폐 단위(amount * 100)의 정수로 보관한다.
+-- 결제일은 created_at 기준이다. 아래 초기화는 DB 세션 시간대로 날짜를 자르므로,
+-- 애플리케이션 시간대와 다르면 매출 집계 재구축(RevenueService.backfill)을 한 번 실행한다.
+
+create table if not exists revenue_rollups
+(
+    class_id      int                                 not null comment '수업 id',
+    revenue_date  date                                not null comment '결제일',
+    payment_count bigint    default 0                 not null comment '활성 결제 수',
+    amount_minor  bigint    default 0                 not null comment '결제 금액 합계 (최소 화폐 단위)',
+    updated_at    timestamp default CURRENT_TIMESTAMP not null comment '수정일',
+    primary key (class_id, revenue_date),
+    index idx_revenue_rollups_date (revenue_date)
+)
+    comment '수업별 일별 매출 집계';
+
+-- 기존 결제로 집계 초기화
+insert ignore into revenue_rollups (class_id, revenue_date, payment_count, amount_minor)
+select e.class_id, date(p.created_at), count(*), sum(round(p.amount * 100))
+from payments p
+         join enrollments e on e.enrollment_id = p.enrollment_id
+where p.status = 0
+group by e.class_id, date(p.created_at);
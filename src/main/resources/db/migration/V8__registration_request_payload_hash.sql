@@ -0,0 +1,6 @@
+-- V8 : 등록 요청 본문 지문 (RegistrationRequestDAO)
+-- 같은 요청 키로 다른 내용(학생, 수업, 결제 금액)이 재시도되면 처음 결과를 돌려주지 않고 거절하기 위해 기록한다.
+-- 이 버전 이전에 처리된 행은 NULL 이며, 지문이 없는 행은 비교하지 않는다.
+
+alter table registration_requests
+    add column payload_hash char(64) null comment '등록 요청 본문 SHA-256 (hex)' after request_key;
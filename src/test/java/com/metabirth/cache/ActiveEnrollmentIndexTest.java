@@ -0,0 +1,81 @@
+package com.metabirth.cache;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ActiveEnrollmentIndexTest {
+    private ActiveEnrollmentIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new ActiveEnrollmentIndex();
+    }
+
+    @Test
+    @DisplayName("적재 및 등록/삭제 반영 테스트")
+    void testReloadAndUpdate() {
+        assertFalse(index.isLoaded(), "적재 전에는 사용할 수 없어야 합니다.");
+
+        assertTrue(index.reload(action -> {
+            for (int id = 1; id <= 100; id++) {
+                action.accept(id);
+            }
+            return true;
+        }));
+        assertTrue(index.isLoaded());
+        assertEquals(100, index.size());
+        assertTrue(index.contains(50));
+
+        index.add(101);
+        index.remove(50);
+        index.removeAll(List.of(1, 2, 3));
+        assertTrue(index.contains(101));
+        assertFalse(index.contains(50));
+        assertFalse(index.contains(1));
+        assertEquals(97, index.size());
+    }
+
+    @Test
+    @DisplayName("재적재 중 반영된 변경 유지 테스트")
+    void testChangesDuringReload() {
+        index.reload(action -> {
+            action.accept(1);
+            action.accept(2);
+            return true;
+        });
+
+        // 스캔 도중 커밋된 변경은 스캔 결과에 포함되지 않았다고 가정
+        index.reload(action -> {
+            action.accept(1);
+            action.accept(2);
+            index.add(3);
+            index.remove(1);
+            return true;
+        });
+
+        assertFalse(index.contains(1), "재적재 중 삭제된 ID는 제외되어야 합니다.");
+        assertTrue(index.contains(2));
+        assertTrue(index.contains(3), "재적재 중 등록된 ID는 포함되어야 합니다.");
+    }
+
+    @Test
+    @DisplayName("재적재 실패 시 기존 인덱스 유지 테스트")
+    void testReloadFailure() {
+        index.reload(action -> {
+            action.accept(1);
+            return true;
+        });
+
+        assertFalse(index.reload(action -> {
+            action.accept(2);
+            return false;
+        }));
+        assertTrue(index.contains(1));
+        assertFalse(index.contains(2));
+    }
+}
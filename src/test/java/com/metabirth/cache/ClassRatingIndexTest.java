@@ -0,0 +1,69 @@
+package com.metabirth.cache;
+
+import com.metabirth.model.ClassRatingSummary;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ClassRatingIndexTest {
+    private ClassRatingIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new ClassRatingIndex();
+    }
+
+    @Test
+    @DisplayName("별점 변경분을 더하고 빼는지 테스트")
+    void testSummaryArithmetic() {
+        ClassRatingSummary summary = ClassRatingSummary.of(5).plus(ClassRatingSummary.of(3)).plus(ClassRatingSummary.of(5));
+        assertEquals(3, summary.getReviewCount());
+        assertEquals(13, summary.getRatingSum());
+        assertEquals(2, summary.getCount(5));
+        assertEquals(1, summary.getCount(3));
+        assertEquals(13 / 3.0, summary.getAverage(), 1e-9);
+
+        // 5점 -> 1점 수정
+        ClassRatingSummary updated = summary.plus(ClassRatingSummary.of(1)).plus(ClassRatingSummary.of(5).negate());
+        assertEquals(3, updated.getReviewCount());
+        assertEquals(1, updated.getCount(5));
+        assertEquals(1, updated.getCount(1));
+
+        assertTrue(summary.plus(summary.negate()).isEmpty());
+        assertEquals(0, ClassRatingSummary.EMPTY.getAverage());
+        assertEquals(0, ClassRatingSummary.of(9).getCount(9), "범위를 벗어난 별점은 분포에 포함되지 않아야 합니다.");
+    }
+
+    @Test
+    @DisplayName("적재된 수업에만 변경분이 반영되는지 테스트")
+    void testApply() {
+        index.track(1, ClassRatingSummary.of(4));
+        index.track(1, ClassRatingSummary.EMPTY);
+        assertEquals(ClassRatingSummary.of(4), index.get(1), "이미 있는 수업은 track으로 덮어쓰지 않아야 합니다.");
+
+        index.apply(Map.of(1, ClassRatingSummary.of(2), 2, ClassRatingSummary.of(5)));
+        assertEquals(2, index.get(1).getReviewCount());
+        assertEquals(3.0, index.get(1).getAverage(), 1e-9);
+        assertNull(index.get(2), "적재되지 않은 수업은 처음 조회할 때 DB에서 읽어야 합니다.");
+    }
+
+    @Test
+    @DisplayName("재적재 시 DB 값으로 덮어쓰는지 테스트")
+    void testReconcile() {
+        index.track(1, ClassRatingSummary.of(1));
+        assertTrue(index.reconcile(action -> {
+            action.accept(1, ClassRatingSummary.of(5));
+            action.accept(2, ClassRatingSummary.of(3));
+            return true;
+        }));
+        assertEquals(ClassRatingSummary.of(5), index.get(1));
+        assertEquals(2, index.size());
+
+        assertFalse(index.reconcile(action -> false));
+        assertEquals(2, index.size());
+    }
+}
@@ -0,0 +1,137 @@
+package com.metabirth.cache;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ClassSeatCounterTest {
+    private ClassSeatCounter counter;
+
+    @BeforeEach
+    void setUp() {
+        counter = new ClassSeatCounter();
+    }
+
+    @Test
+    @DisplayName("정원까지만 예약되고 취소/반납하면 다시 예약되는지 테스트")
+    void testReserveAndRelease() {
+        assertFalse(counter.tryReserve(1, 1), "알 수 없는 수업은 예약할 수 없어야 합니다.");
+
+        counter.track(1, 3, 1);
+        assertTrue(counter.tryReserve(1, 2));
+        assertFalse(counter.tryReserve(1, 1), "진행 중인 예약까지 포함해 정원을 넘으면 안 됩니다.");
+        assertEquals(0, counter.getRemaining(1));
+
+        // 롤백된 예약은 취소, 커밋된 예약은 확정
+        counter.cancel(1, 1);
+        counter.confirm(1, 1);
+        assertEquals(1, counter.getRemaining(1));
+        assertTrue(counter.tryReserve(1, 1));
+        counter.confirm(1, 1);
+        assertEquals(0, counter.getRemaining(1));
+
+        // 삭제가 커밋되면 반납
+        counter.release(1, 2);
+        assertEquals(2, counter.getRemaining(1));
+
+        // 이미 있는 수업은 track으로 덮어쓰지 않는다.
+        counter.track(1, 10, 0);
+        assertEquals(2, counter.getRemaining(1));
+    }
+
+    @Test
+    @DisplayName("쌓인 증감을 한 번에 반영하고, 반영 후 DB 값에 아직 반영하지 않은 변경을 더하는지 테스트")
+    void testFlush() {
+        counter.track(1, 10, 2);
+        counter.track(2, 10, 0);
+        assertTrue(counter.tryReserve(1, 3));
+        counter.confirm(1, 3);
+        counter.release(1, 1);
+        assertTrue(counter.tryReserve(2, 1)); // 진행 중인 예약은 반영하지 않는다.
+        assertEquals(4, counter.getUnflushedCount(), "확정 3석과 반납 1석이 반영 대기 중이어야 합니다.");
+
+        // 반영 실패 시 증감은 다음 반영으로 남는다.
+        assertFalse(counter.flush((deltas, current) -> false));
+        assertEquals(4, counter.getUnflushedCount());
+
+        Map<Integer, Integer> applied = new TreeMap<>();
+        assertTrue(counter.flush((deltas, current) -> {
+            applied.putAll(deltas);
+            // 다른 인스턴스가 수업 2에 5석을 등록한 DB 값
+            current.accept(1, 10, 2 + deltas.get(1));
+            current.accept(2, 10, 5 + deltas.get(2));
+            return true;
+        }));
+        assertEquals(Map.of(1, 2, 2, 0), applied, "확정 3석 - 반납 1석, 예약만 있었던 수업은 0으로 전달되어야 합니다.");
+        assertEquals(0, counter.getUnflushedCount());
+        assertEquals(6, counter.getRemaining(1));
+        assertEquals(4, counter.getRemaining(2), "다른 인스턴스의 등록과 진행 중인 예약이 모두 빠져야 합니다.");
+
+        // 변경이 없으면 sink를 호출하지 않는다.
+        counter.cancel(2, 1);
+        assertTrue(counter.flush((deltas, current) -> fail("반영할 변경이 없어야 합니다.")));
+    }
+
+    @Test
+    @DisplayName("DB 값으로 갱신해도 아직 반영하지 않은 확정 좌석은 유지되는지 테스트")
+    void testUpdateKeepsUnflushedSeats() {
+        counter.track(1, 5, 0);
+        assertTrue(counter.tryReserve(1, 2));
+        counter.confirm(1, 2);
+        assertTrue(counter.tryReserve(1, 1));
+
+        counter.update(1, 5, 1); // 다른 인스턴스의 등록 1석
+        assertEquals(1, counter.getRemaining(1), "DB 1석 + 반영 대기 2석 + 진행 중 1석");
+    }
+
+    @Test
+    @DisplayName("동시에 예약해도 정원을 넘지 않는지 테스트")
+    void testConcurrentReservations() throws Exception {
+        counter.track(7, 50, 0);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Callable<Boolean>> reservations = new ArrayList<>();
+            for (int i = 0; i < 500; i++) {
+                reservations.add(() -> counter.tryReserve(7, 1));
+            }
+            int reserved = 0;
+            for (Future<Boolean> future : executor.invokeAll(reservations)) {
+                if (future.get()) {
+                    reserved++;
+                }
+            }
+            assertEquals(50, reserved);
+            assertEquals(0, counter.getRemaining(7));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("재적재 시 DB 값으로 덮어쓰는지 테스트")
+    void testReconcile() {
+        counter.track(1, 5, 5);
+        counter.release(1, 1); // 재계산한 DB 값에 이미 빠져 있는 반납
+        assertTrue(counter.reconcile(action -> {
+            action.accept(1, 5, 2);
+            action.accept(2, 30, 0);
+            return true;
+        }));
+        assertEquals(3, counter.getRemaining(1), "삭제로 빈 좌석이 반영되어야 합니다.");
+        assertEquals(30, counter.getRemaining(2));
+
+        assertFalse(counter.reconcile(action -> false));
+        assertEquals(2, counter.size());
+    }
+}
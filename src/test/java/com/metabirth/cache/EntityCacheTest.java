@@ -0,0 +1,75 @@
+package com.metabirth.cache;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EntityCacheTest {
+    private EntityCache<String> cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new EntityCache<>("test", 100, Duration.ofMinutes(1));
+    }
+
+    @Test
+    @DisplayName("캐시 적중/미스 통계 테스트")
+    void testHitRatio() {
+        assertNull(cache.get(1), "비어 있는 캐시는 null을 반환해야 합니다.");
+        cache.put(1, "one");
+        assertEquals("one", cache.get(1));
+
+        assertEquals(1, cache.stats().hitCount());
+        assertEquals(1, cache.stats().missCount());
+        assertEquals(0.5, cache.getHitRatio(), 0.0001);
+    }
+
+    @Test
+    @DisplayName("단건 및 조건부 무효화 테스트")
+    void testInvalidate() {
+        cache.put(1, "one");
+        cache.put(2, "two");
+        cache.put(3, "three");
+
+        cache.invalidate(1);
+        assertNull(cache.get(1), "무효화된 항목은 조회되지 않아야 합니다.");
+
+        cache.invalidateIf(value -> value.startsWith("t"));
+        assertNull(cache.get(2));
+        assertNull(cache.get(3));
+    }
+
+    @Test
+    @DisplayName("읽는 동안 무효화된 항목은 read-through로 다시 채우지 않는지 테스트")
+    void testPutIfUnchanged() {
+        long ticket = cache.loadTicket(1);
+        cache.invalidate(1); // 조회 중 다른 트랜잭션의 커밋 후 무효화
+        assertFalse(cache.putIfUnchanged(1, "stale", ticket), "무효화 이전에 읽은 값은 넣지 않아야 합니다.");
+        assertNull(cache.get(1));
+
+        ticket = cache.loadTicket(1);
+        assertTrue(cache.putIfUnchanged(1, "fresh", ticket));
+        assertEquals("fresh", cache.get(1));
+
+        ticket = cache.loadTicket(2);
+        cache.invalidateIf(value -> false);
+        assertFalse(cache.putIfUnchanged(2, "stale", ticket), "조건부 무효화도 진행 중인 저장을 막아야 합니다.");
+    }
+
+    @Test
+    @DisplayName("최대 크기 초과 시 제거 테스트")
+    void testEviction() {
+        EntityCache<Integer> small = new EntityCache<>("small", 10, Duration.ofMinutes(1));
+        for (int i = 0; i < 1_000; i++) {
+            small.put(i, i);
+        }
+        small.cleanUp();
+
+        assertTrue(small.size() <= 10, "최대 크기를 넘지 않아야 합니다.");
+        assertTrue(small.getEvictionCount() > 0, "초과분은 제거되어야 합니다.");
+    }
+}
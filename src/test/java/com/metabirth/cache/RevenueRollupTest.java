@@ -0,0 +1,100 @@
+package com.metabirth.cache;
+
+import com.metabirth.model.RevenueKey;
+import com.metabirth.model.RevenueTotal;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RevenueRollupTest {
+    private static final LocalDate DAY_1 = LocalDate.of(2025, 3, 1);
+    private static final LocalDate DAY_2 = LocalDate.of(2025, 3, 2);
+    private static final LocalDate DAY_3 = LocalDate.of(2025, 3, 3);
+
+    private RevenueRollup rollup;
+
+    @BeforeEach
+    void setUp() {
+        rollup = new RevenueRollup();
+    }
+
+    private static RevenueTotal total(long count, String amount) {
+        return new RevenueTotal(count, RevenueTotal.toMinorUnits(new BigDecimal(amount)));
+    }
+
+    @Test
+    @DisplayName("결제 금액을 최소 화폐 단위로 더하고 빼는지 테스트")
+    void testTotalArithmetic() {
+        RevenueTotal sum = RevenueTotal.of(new BigDecimal("10.10")).plus(RevenueTotal.of(new BigDecimal("0.20")));
+        assertEquals(2, sum.getPaymentCount());
+        assertEquals(1030, sum.getAmountMinor());
+        assertEquals(new BigDecimal("10.30"), sum.getAmount());
+        assertEquals(50000, RevenueTotal.toMinorUnits(new BigDecimal("500")));
+
+        // 10.10 -> 12.00 수정
+        RevenueTotal updated = sum.plus(RevenueTotal.of(new BigDecimal("12.00")))
+                .plus(RevenueTotal.of(new BigDecimal("10.10")).negate());
+        assertEquals(2, updated.getPaymentCount());
+        assertEquals(new BigDecimal("12.20"), updated.getAmount());
+        assertTrue(sum.plus(sum.negate()).isEmpty());
+    }
+
+    @Test
+    @DisplayName("적재 전에는 변경분을 건너뛰고, 적재 후에는 기간 조회에 반영되는지 테스트")
+    void testApplyAndQuery() {
+        rollup.apply(Map.of(new RevenueKey(1, DAY_1), total(1, "100")));
+        assertFalse(rollup.isLoaded());
+        assertEquals(0, rollup.size(), "적재 전 변경분은 적재할 때 DB 값으로 반영되어야 합니다.");
+
+        assertTrue(rollup.reconcile(action -> {
+            action.accept(new RevenueKey(1, DAY_1), total(2, "200"));
+            action.accept(new RevenueKey(2, DAY_1), total(1, "50"));
+            action.accept(new RevenueKey(1, DAY_3), total(1, "30"));
+            return true;
+        }));
+        rollup.apply(Map.of(new RevenueKey(2, DAY_2), total(1, "70"),
+                new RevenueKey(2, DAY_1), total(1, "50").negate()));
+
+        assertEquals(List.of(DAY_1, DAY_2), List.copyOf(rollup.getDailyRevenue(DAY_1, DAY_2).keySet()));
+        assertEquals(total(2, "200"), rollup.getDailyRevenue(DAY_1, DAY_2).get(DAY_1), "0이 된 행은 제거되어야 합니다.");
+        assertEquals(total(1, "70"), rollup.getDailyRevenue(DAY_1, DAY_2).get(DAY_2));
+
+        Map<Integer, RevenueTotal> byClass = rollup.getRevenueByClass(DAY_1, DAY_3);
+        assertEquals(total(3, "230"), byClass.get(1));
+        assertEquals(total(1, "70"), byClass.get(2));
+
+        assertEquals(List.of(DAY_3), List.copyOf(rollup.getClassDailyRevenue(1, DAY_2, DAY_3).keySet()));
+        assertTrue(rollup.getClassDailyRevenue(3, DAY_1, DAY_3).isEmpty());
+        assertEquals(3, rollup.size());
+    }
+
+    @Test
+    @DisplayName("재구축한 수업만 교체하고, 재적재 실패 시 기존 값을 유지하는지 테스트")
+    void testReplaceClassAndReconcileFailure() {
+        assertTrue(rollup.reconcile(action -> {
+            action.accept(new RevenueKey(1, DAY_1), total(1, "10"));
+            action.accept(new RevenueKey(1, DAY_2), total(1, "20"));
+            action.accept(new RevenueKey(2, DAY_2), total(1, "30"));
+            return true;
+        }));
+
+        rollup.replaceClass(1, Map.of(DAY_3, total(4, "40")));
+        assertEquals(Map.of(DAY_3, total(4, "40")), rollup.getClassDailyRevenue(1, DAY_1, DAY_3));
+        assertEquals(total(1, "30"), rollup.getClassDailyRevenue(2, DAY_1, DAY_3).get(DAY_2));
+        assertEquals(total(1, "30"), rollup.getDailyRevenue(DAY_1, DAY_3).get(DAY_2));
+        assertNull(rollup.getDailyRevenue(DAY_1, DAY_3).get(DAY_1));
+
+        assertFalse(rollup.reconcile(action -> {
+            action.accept(new RevenueKey(9, DAY_1), total(1, "1"));
+            return false;
+        }));
+        assertEquals(2, rollup.size(), "재적재에 실패하면 기존 값을 유지해야 합니다.");
+    }
+}
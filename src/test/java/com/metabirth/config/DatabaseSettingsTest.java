@@ -0,0 +1,104 @@
+package com.metabirth.config;
+
+import com.metabirth.dao.StatementCache;
+import com.zaxxer.hikari.HikariConfig;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+class DatabaseSettingsTest {
+
+    private static DatabaseSettings settings(Properties file, Map<String, String> env, Properties system) {
+        return new DatabaseSettings(file, env, system, 4);
+    }
+
+    private static Properties properties(String... keyValues) {
+        Properties props = new Properties();
+        for (int i = 0; i < keyValues.length; i += 2) {
+            props.setProperty(keyValues[i], keyValues[i + 1]);
+        }
+        return props;
+    }
+
+    @Test
+    @DisplayName("환경변수 > 시스템 속성 > 설정 파일 > 기본값 우선순위 테스트")
+    void testPrecedence() {
+        Properties file = properties("db.pool.connectionTimeout", "1000", "db.pool.maxLifetime", "60000",
+                "db.pool.idleTimeout", "10000");
+        Properties system = properties("db.pool.connectionTimeout", "2000", "db.pool.maxLifetime", "70000");
+        Map<String, String> env = Map.of("DB_POOL_CONNECTION_TIMEOUT", "3000");
+
+        DatabaseSettings settings = settings(file, env, system);
+
+        Assertions.assertEquals(3000, settings.getLong("db.pool.connectionTimeout", 0));
+        Assertions.assertEquals(70000, settings.getLong("db.pool.maxLifetime", 0));
+        Assertions.assertEquals(10000, settings.getLong("db.pool.idleTimeout", 0));
+        Assertions.assertEquals(5, settings.getLong("db.pool.unknown", 5));
+    }
+
+    @Test
+    @DisplayName("환경변수 이름 변환 테스트")
+    void testEnvironmentName() {
+        Assertions.assertEquals("DB_URL", DatabaseSettings.toEnvironmentName("db.url"));
+        Assertions.assertEquals("DB_POOL_MAXIMUM_POOL_SIZE", DatabaseSettings.toEnvironmentName("db.pool.maximumPoolSize"));
+        Assertions.assertEquals("DB_DRIVER_PREP_STMT_CACHE_SIZE", DatabaseSettings.toEnvironmentName("db.driver.prepStmtCacheSize"));
+    }
+
+    @Test
+    @DisplayName("풀 크기 자동 계산 테스트")
+    void testComputePoolSize() {
+        Assertions.assertEquals(12, DatabaseSettings.computePoolSize(4, 2, 1));
+        Assertions.assertEquals(DatabaseSettings.MIN_POOL_SIZE, DatabaseSettings.computePoolSize(1, 0, 10));
+        Assertions.assertEquals(DatabaseSettings.MAX_AUTO_POOL_SIZE, DatabaseSettings.computePoolSize(64, 10, 1));
+    }
+
+    @Test
+    @DisplayName("HikariCP 설정 생성 테스트")
+    void testToHikariConfig() {
+        Properties file = properties("db.url", "jdbc:mysql://localhost:3306/test", "db.username", "user",
+                "db.driver.useCompression", "true", "db.driver.sslMode", "DISABLED");
+        Map<String, String> env = Map.of("DB_DRIVER_SOCKET_TIMEOUT", "5000");
+
+        HikariConfig config = settings(file, env, new Properties()).toHikariConfig();
+
+        Assertions.assertEquals("jdbc:mysql://localhost:3306/test", config.getJdbcUrl());
+        Assertions.assertEquals(12, config.getMaximumPoolSize(), "풀 크기를 지정하지 않으면 자동 계산되어야 합니다.");
+        Assertions.assertEquals(12, config.getMinimumIdle());
+        Assertions.assertEquals("true", config.getDataSourceProperties().getProperty("rewriteBatchedStatements"));
+        Assertions.assertEquals("true", config.getDataSourceProperties().getProperty("useCompression"));
+        Assertions.assertEquals("5000", config.getDataSourceProperties().getProperty("socketTimeout"));
+        Assertions.assertEquals("DISABLED", config.getDataSourceProperties().getProperty("sslMode"));
+        Assertions.assertEquals(StatementCache.ConnectionTracker.class.getName(),
+                config.getDataSourceProperties().getProperty("connectionLifecycleInterceptors"));
+    }
+
+    @Test
+    @DisplayName("db.url 누락 시 예외 테스트")
+    void testMissingUrl() {
+        DatabaseSettings settings = settings(new Properties(), Map.of(), new Properties());
+
+        Assertions.assertThrows(IllegalStateException.class, settings::toHikariConfig);
+    }
+
+    @Test
+    @DisplayName("읽기 복제본 HikariCP 설정 생성 테스트")
+    void testToReplicaHikariConfigs() {
+        Properties file = properties("db.url", "jdbc:mysql://primary:3306/test", "db.username", "user",
+                "db.replica.urls", "jdbc:mysql://replica1:3306/test, jdbc:mysql://replica2:3306/test",
+                "db.replica.username", "reader", "db.replica.maximumPoolSize", "6");
+
+        List<HikariConfig> configs = settings(file, Map.of(), new Properties()).toReplicaHikariConfigs();
+
+        Assertions.assertEquals(2, configs.size());
+        Assertions.assertEquals("jdbc:mysql://replica2:3306/test", configs.get(1).getJdbcUrl());
+        Assertions.assertEquals("reader", configs.get(0).getUsername());
+        Assertions.assertTrue(configs.get(0).isReadOnly());
+        Assertions.assertEquals(6, configs.get(0).getMaximumPoolSize());
+        Assertions.assertEquals("true", configs.get(0).getDataSourceProperties().getProperty("rewriteBatchedStatements"));
+        Assertions.assertTrue(settings(new Properties(), Map.of(), new Properties()).toReplicaHikariConfigs().isEmpty());
+    }
+}
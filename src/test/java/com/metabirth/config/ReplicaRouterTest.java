@@ -0,0 +1,79 @@
+package com.metabirth.config;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+class ReplicaRouterTest {
+
+    // getConnection()이 호출될 때마다 같은 가짜 커넥션을 반환하는 데이터 소스
+    private static DataSource fakeDataSource(Connection connection) {
+        return (DataSource) Proxy.newProxyInstance(ReplicaRouterTest.class.getClassLoader(), new Class<?>[]{DataSource.class},
+                (proxy, method, args) -> method.getName().equals("getConnection") ? connection : null);
+    }
+
+    private static Connection fakeConnection() {
+        return (Connection) Proxy.newProxyInstance(ReplicaRouterTest.class.getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    default -> null;
+                });
+    }
+
+    @Test
+    @DisplayName("지연이 허용치 이내인 복제본만 순서대로 사용 테스트")
+    void testRoutesToReplicasWithinLag() throws SQLException {
+        Connection first = fakeConnection();
+        Connection second = fakeConnection();
+        Map<String, DataSource> dataSources = new LinkedHashMap<>();
+        dataSources.put("replica-1", fakeDataSource(first));
+        dataSources.put("replica-2", fakeDataSource(second));
+        ReplicaRouter router = new ReplicaRouter(dataSources, 1000);
+
+        // 지연 측정 전에는 주 DB에서 읽는다.
+        Assertions.assertNull(router.getConnection());
+
+        router.updateLag(router.replicas().get(0), 0);
+        router.updateLag(router.replicas().get(1), 1000);
+        Connection a = router.getConnection();
+        Connection b = router.getConnection();
+        Assertions.assertNotSame(a, b, "복제본을 번갈아 사용해야 합니다.");
+
+        router.updateLag(router.replicas().get(1), 5000);
+        Assertions.assertSame(first, router.getConnection());
+        Assertions.assertSame(first, router.getConnection());
+
+        router.updateLag(router.replicas().get(0), 2000);
+        Assertions.assertNull(router.getConnection(), "모든 복제본이 지연되면 주 DB에서 읽어야 합니다.");
+        Assertions.assertEquals(4, router.getReplicaReads());
+        Assertions.assertEquals(2, router.getPrimaryFallbacks());
+    }
+
+    @Test
+    @DisplayName("복제본 중 최대 지연 조회 테스트 (알 수 없는 지연 포함)")
+    void testMaxLagMillis() {
+        Map<String, DataSource> dataSources = new LinkedHashMap<>();
+        dataSources.put("replica-1", fakeDataSource(fakeConnection()));
+        dataSources.put("replica-2", fakeDataSource(fakeConnection()));
+        ReplicaRouter router = new ReplicaRouter(dataSources, 1000);
+
+        // 측정 전에는 지연을 알 수 없다.
+        Assertions.assertEquals(ReplicaRouter.UNKNOWN_LAG_MILLIS, router.getMaxLagMillis());
+
+        router.updateLag(router.replicas().get(0), 3000);
+        router.updateLag(router.replicas().get(1), 500);
+        Assertions.assertEquals(3000, router.getMaxLagMillis(), "허용치를 넘은 복제본의 지연도 포함해야 합니다.");
+
+        // 지연 측정에 실패한 복제본(가짜 커넥션은 문장을 만들지 못함)은 지연 0이 아닌 알 수 없음으로 보고해야 한다.
+        router.checkLag();
+        Assertions.assertEquals(ReplicaRouter.UNKNOWN_LAG_MILLIS, router.getMaxLagMillis());
+    }
+}
@@ -0,0 +1,54 @@
+package com.metabirth.config;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+class SchemaMigratorTest {
+
+    @Test
+    @DisplayName("스크립트 문장 분리 테스트 (따옴표 안의 세미콜론과 주석 무시)")
+    void testSplitStatements() {
+        String script = """
+                -- 주석; 무시
+                create table a (id int comment '아이디; 설명');
+                alter table a add index idx_a (id), algorithm = inplace, lock = none;
+                insert into a values (1) -- 끝 주석
+                """;
+
+        List<String> statements = SchemaMigrator.splitStatements(script);
+
+        Assertions.assertEquals(3, statements.size());
+        Assertions.assertEquals("create table a (id int comment '아이디; 설명')", statements.get(0));
+        Assertions.assertTrue(statements.get(1).startsWith("alter table a"));
+        Assertions.assertEquals("insert into a values (1)", statements.get(2));
+    }
+
+    @Test
+    @DisplayName("마이그레이션 목록 읽기 테스트")
+    void testLoadManifest() {
+        List<SchemaMigrator.Migration> migrations = SchemaMigrator.load(SchemaMigrator.MANIFEST);
+
+        Assertions.assertEquals(List.of(1, 2, 3, 4, 5, 6, 7, 8), migrations.stream().map(SchemaMigrator.Migration::version).toList());
+        Assertions.assertEquals(10, SchemaMigrator.splitStatements(migrations.get(0).sql()).size(), "기본 스키마는 테이블 10개");
+        Assertions.assertEquals(3, SchemaMigrator.splitStatements(migrations.get(1).sql()).size());
+        Assertions.assertEquals(3, SchemaMigrator.splitStatements(migrations.get(2).sql()).size());
+        Assertions.assertEquals(2, SchemaMigrator.splitStatements(migrations.get(3).sql()).size());
+        Assertions.assertEquals(1, SchemaMigrator.splitStatements(migrations.get(4).sql()).size());
+        Assertions.assertEquals(2, SchemaMigrator.splitStatements(migrations.get(5).sql()).size());
+        Assertions.assertEquals(2, SchemaMigrator.splitStatements(migrations.get(6).sql()).size());
+        Assertions.assertNotEquals(migrations.get(0).checksum(), migrations.get(1).checksum());
+    }
+
+    @Test
+    @DisplayName("중복된 마이그레이션 버전 거부 테스트")
+    void testDuplicateVersion() {
+        List<SchemaMigrator.Migration> migrations = List.of(
+                new SchemaMigrator.Migration(1, "a", "a.sql", "select 1"),
+                new SchemaMigrator.Migration(1, "b", "b.sql", "select 2"));
+
+        Assertions.assertThrows(IllegalStateException.class, () -> new SchemaMigrator(migrations, 1));
+    }
+}
@@ -0,0 +1,179 @@
+package com.metabirth.dao;
+
+import com.metabirth.config.JDBCConnection;
+import com.metabirth.util.ConnectionScope;
+import com.metabirth.util.TransactionManager;
+import org.junit.jupiter.api.*;
+
+import java.sql.*;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ArchiveDAOTest {
+    private static final int TEST_STUDENT_ID = 1;
+    private static final int TEST_CLASS_ID = 1;
+    // 보관 기간(30일)보다 오래 전에 논리 삭제된 행을 만든다.
+    private static final int DELETED_DAYS_AGO = 40;
+    private static final int RETENTION_DAYS = 30;
+
+    private Connection connection;
+    private ConnectionScope connectionScope;
+    private ArchiveDAO archiveDAO;
+    private Timestamp cutoff;
+    private Timestamp archivedAt;
+
+    @BeforeEach
+    void setUp() {
+        try {
+            connection = JDBCConnection.getConnection();
+            connection.setAutoCommit(false);
+            // DAO가 이 커넥션(롤백 전용 트랜잭션)을 사용하도록 현재 스레드에 바인딩
+            connectionScope = TransactionManager.bind(connection);
+            archiveDAO = new ArchiveDAO();
+            cutoff = Timestamp.from(Instant.now().minus(RETENTION_DAYS, ChronoUnit.DAYS));
+            archivedAt = Timestamp.from(Instant.now().truncatedTo(ChronoUnit.SECONDS));
+        } catch (SQLException e) {
+            throw new RuntimeException("테스트 데이터 준비 중 오류 발생 : " + e.getMessage());
+        }
+    }
+
+    @Test
+    @DisplayName("활성 결제가 남은 수강신청 그룹은 보관하지 않는지 테스트")
+    void testSkipsGroupWithActivePayment() throws SQLException {
+        int archivable = insertDeletedEnrollment();
+        insertPayment(archivable, true);
+        int withActivePayment = insertDeletedEnrollment();
+        insertPayment(withActivePayment, true);
+        insertPayment(withActivePayment, false);
+
+        ArchiveDAO.ArchivedRows rows = archiveDAO.archiveEnrollmentGroups(archivable, withActivePayment, cutoff, archivedAt);
+
+        assertEquals(new ArchiveDAO.ArchivedRows(1, 1, 0), rows);
+        assertEquals(0, count("SELECT COUNT(*) FROM enrollments WHERE enrollment_id = ?", archivable));
+        assertEquals(1, count("SELECT COUNT(*) FROM enrollments_archive WHERE enrollment_id = ?", archivable));
+        assertEquals(1, count("SELECT COUNT(*) FROM enrollments WHERE enrollment_id = ?", withActivePayment));
+        assertEquals(2, count("SELECT COUNT(*) FROM payments WHERE enrollment_id = ?", withActivePayment),
+                "활성 결제가 있는 그룹은 삭제된 결제도 함께 남아야 합니다.");
+        assertEquals(0, count("SELECT COUNT(*) FROM enrollments_archive WHERE enrollment_id = ?", withActivePayment));
+    }
+
+    @Test
+    @DisplayName("같은 초에 보관한 두 chunk가 서로의 결제/리뷰를 옮기지 않는지 테스트")
+    void testTwoChunksInSameSecond() throws SQLException {
+        int first = insertDeletedEnrollment();
+        insertPayment(first, true);
+        insertReview(first);
+        int second = insertDeletedEnrollment();
+        insertPayment(second, true);
+        insertReview(second);
+
+        // ArchivalService는 chunk마다 archived_at 을 초 단위로 자르므로 연속된 chunk가 같은 값을 가질 수 있다.
+        assertEquals(new ArchiveDAO.ArchivedRows(1, 1, 1), archiveDAO.archiveEnrollmentGroups(first, first, cutoff, archivedAt));
+        assertEquals(new ArchiveDAO.ArchivedRows(1, 1, 1), archiveDAO.archiveEnrollmentGroups(second, second, cutoff, archivedAt));
+
+        for (int enrollmentId : new int[]{first, second}) {
+            assertEquals(1, count("SELECT COUNT(*) FROM payments_archive WHERE enrollment_id = ?", enrollmentId));
+            assertEquals(1, count("SELECT COUNT(*) FROM reviews_archive WHERE enrollment_id = ?", enrollmentId));
+            assertEquals(0, count("SELECT COUNT(*) FROM payments WHERE enrollment_id = ?", enrollmentId));
+            assertEquals(0, count("SELECT COUNT(*) FROM reviews WHERE enrollment_id = ?", enrollmentId));
+        }
+    }
+
+    @Test
+    @DisplayName("복사한 행 수와 삭제한 행 수가 다르면 실패하고 롤백되는지 테스트")
+    void testCountMismatchRollsBack() throws SQLException {
+        int archivable = insertDeletedEnrollment();
+        insertPayment(archivable, true);
+        int active = insertEnrollment((byte) 0, null);
+        // 같은 archived_at 으로 이미 보관된 것처럼 남은 행 -> 삭제 단계에서 원본 수강신청이 하나 더 지워진다.
+        execute("INSERT INTO enrollments_archive (enrollment_id, student_id, class_id, status, created_at, archived_at) "
+                + "VALUES (?, " + TEST_STUDENT_ID + ", " + TEST_CLASS_ID + ", 0, NOW(), ?)", active, archivedAt);
+
+        // ArchivalService처럼 chunk 시작 지점으로 롤백한다.
+        Savepoint chunkStart = connection.setSavepoint();
+        ArchiveDAO.ArchivedRows rows = archiveDAO.archiveEnrollmentGroups(archivable, active, cutoff, archivedAt);
+        connection.rollback(chunkStart);
+
+        assertNull(rows, "행 수가 맞지 않으면 실패로 처리해야 합니다.");
+        assertEquals(1, count("SELECT COUNT(*) FROM enrollments WHERE enrollment_id = ?", archivable));
+        assertEquals(1, count("SELECT COUNT(*) FROM enrollments WHERE enrollment_id = ?", active));
+        assertEquals(1, count("SELECT COUNT(*) FROM payments WHERE enrollment_id = ?", archivable));
+        assertEquals(0, count("SELECT COUNT(*) FROM enrollments_archive WHERE enrollment_id = ?", archivable));
+    }
+
+    @AfterEach
+    void tearDown() {
+        try {
+            if (connectionScope != null) {
+                connectionScope.close();
+            }
+            if (connection != null) {
+                connection.rollback();
+                connection.close();
+                System.out.println("테스트 완료 : 데이터 롤백 성공");
+            }
+        } catch (SQLException e) {
+            System.out.println("테스트 종류 중 오류 발생 : " + e.getMessage());
+        }
+    }
+
+    private int insertDeletedEnrollment() throws SQLException {
+        return insertEnrollment((byte) 1, deletedAt());
+    }
+
+    private int insertEnrollment(byte status, Timestamp deletedAt) throws SQLException {
+        return insert("INSERT INTO enrollments (student_id, class_id, status, deleted_at) VALUES (?, ?, ?, ?)",
+                TEST_STUDENT_ID, TEST_CLASS_ID, status, deletedAt);
+    }
+
+    private void insertPayment(int enrollmentId, boolean deleted) throws SQLException {
+        insert("INSERT INTO payments (amount, status, deleted_at, enrollment_id) VALUES (150000.00, ?, ?, ?)",
+                (byte) (deleted ? 1 : 0), deleted ? deletedAt() : null, enrollmentId);
+    }
+
+    private void insertReview(int enrollmentId) throws SQLException {
+        insert("INSERT INTO reviews (rating, content, status, deleted_at, enrollment_id) VALUES (5, '보관 테스트', 1, ?, ?)",
+                deletedAt(), enrollmentId);
+    }
+
+    private static Timestamp deletedAt() {
+        return Timestamp.from(Instant.now().minus(DELETED_DAYS_AGO, ChronoUnit.DAYS));
+    }
+
+    private int insert(String sql, Object... params) throws SQLException {
+        try (PreparedStatement ps = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+            bind(ps, params);
+            ps.executeUpdate();
+            try (ResultSet keys = ps.getGeneratedKeys()) {
+                keys.next();
+                return keys.getInt(1);
+            }
+        }
+    }
+
+    private void execute(String sql, Object... params) throws SQLException {
+        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+            bind(ps, params);
+            ps.executeUpdate();
+        }
+    }
+
+    private int count(String sql, Object... params) throws SQLException {
+        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+            bind(ps, params);
+            try (ResultSet rs = ps.executeQuery()) {
+                rs.next();
+                return rs.getInt(1);
+            }
+        }
+    }
+
+    private static void bind(PreparedStatement ps, Object... params) throws SQLException {
+        for (int i = 0; i < params.length; i++) {
+            ps.setObject(i + 1, params[i]);
+        }
+    }
+}
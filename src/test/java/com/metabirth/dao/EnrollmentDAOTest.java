@@ -2,18 +2,23 @@ package com.metabirth.dao;
 
 import com.metabirth.config.JDBCConnection;
 import com.metabirth.model.Enrollment;
+import com.metabirth.util.ConnectionScope;
+import com.metabirth.util.TransactionManager;
 import org.junit.jupiter.api.*;
 
 import java.sql.Connection;
 import java.sql.SQLException;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
 @TestInstance(TestInstance.Lifecycle.PER_CLASS)
 class EnrollmentDAOTest {
     private Connection connection;
+    private ConnectionScope connectionScope;
     private EnrollmentDAO enrollmentDAO;
     private static final int TEST_STUDENT_ID = 1;
     private static final int TEST_CLASS_ID = 1;
@@ -25,7 +30,9 @@ class EnrollmentDAOTest {
         try {
             connection = JDBCConnection.getConnection();
             connection.setAutoCommit(false);
-            enrollmentDAO = new EnrollmentDAO(connection);
+            // DAO가 이 커넥션(롤백 전용 트랜잭션)을 사용하도록 현재 스레드에 바인딩
+            connectionScope = TransactionManager.bind(connection);
+            enrollmentDAO = new EnrollmentDAO();
 
             Enrollment testEnrollment = new Enrollment(0, TEST_STUDENT_ID, TEST_CLASS_ID, TEST_STATUS, LocalDateTime.now(), null, null);
             enrollmentDAO.addEnrollment(testEnrollment);
@@ -46,6 +53,39 @@ class EnrollmentDAOTest {
         Assertions.assertFalse(enrollments.isEmpty());
     }
 
+    @Test
+    @DisplayName("수강신청 스트리밍 조회 테스트")
+    void testStreamAllEnrollments() throws SQLException {
+        try (Stream<Enrollment> stream = enrollmentDAO.streamAllEnrollments()) {
+            Assertions.assertTrue(stream.anyMatch(row -> row.getEnrollmentId() == testEnrollmentId));
+        }
+    }
+
+    @Test
+    @DisplayName("수강신청 행 단위 순회 테스트")
+    void testForEachEnrollment() {
+        List<Enrollment> visited = new ArrayList<>();
+
+        boolean isCompleted = enrollmentDAO.forEachEnrollment(visited::add);
+
+        Assertions.assertTrue(isCompleted);
+        Assertions.assertEquals(enrollmentDAO.getAllEnrollments().size(), visited.size());
+    }
+
+    @Test
+    @DisplayName("수강신청 키셋 페이지 조회 테스트")
+    void testEnrollmentsPage() {
+        Page<Enrollment> firstPage = enrollmentDAO.getEnrollmentsPage(testEnrollmentId - 1, 1);
+
+        Assertions.assertNotNull(firstPage);
+        Assertions.assertEquals(1, firstPage.getItems().size());
+        Assertions.assertEquals(testEnrollmentId, firstPage.getItems().get(0).getEnrollmentId());
+        Assertions.assertEquals(testEnrollmentId, firstPage.getNextCursor());
+
+        Page<Enrollment> nextPage = enrollmentDAO.getEnrollmentsPage(firstPage.getNextCursor(), 10);
+        Assertions.assertTrue(nextPage.getItems().stream().allMatch(row -> row.getEnrollmentId() > testEnrollmentId));
+    }
+
     @Test
     @DisplayName("특정 수강신청 조회 테스트")
     void testGetEnrollmentById() {
@@ -67,6 +107,25 @@ class EnrollmentDAOTest {
         Assertions.assertTrue(isAdded);
     }
 
+    @Test
+    @DisplayName("수강신청 일괄 추가 테스트")
+    void testAddEnrollments() {
+        List<Enrollment> newEnrollments = List.of(
+                new Enrollment(0, 3, 3, (byte) 0, LocalDateTime.now(), null, null),
+                new Enrollment(0, 4, 4, (byte) 0, LocalDateTime.now(), null, null),
+                new Enrollment(0, 5, 5, (byte) 0, LocalDateTime.now(), null, null)
+        );
+
+        BatchResult result = enrollmentDAO.addEnrollments(newEnrollments, 2);
+
+        Assertions.assertTrue(result.isAllSucceeded());
+        for (int i = 0; i < newEnrollments.size(); i++) {
+            Assertions.assertEquals(result.getGeneratedKey(i), newEnrollments.get(i).getEnrollmentId());
+            Assertions.assertEquals(i + 3, enrollmentDAO.getEnrollmentById(result.getGeneratedKey(i)).getStudentId());
+        }
+        Assertions.assertTrue(newEnrollments.get(0).getEnrollmentId() < newEnrollments.get(2).getEnrollmentId());
+    }
+
     @Test
     @DisplayName("수강신청 수정 테스트")
     void testUpdateEnrollment() {
@@ -92,9 +151,48 @@ class EnrollmentDAOTest {
         Assertions.assertNull(retrievedEnrollment);
     }
 
+    @Test
+    @DisplayName("수강신청 연쇄 삭제 테스트")
+    void testDeleteEnrollmentCascade() {
+        int affectedRows = enrollmentDAO.deleteEnrollmentCascade(testEnrollmentId);
+
+        Assertions.assertEquals(1, affectedRows);
+        Assertions.assertNull(enrollmentDAO.getEnrollmentById(testEnrollmentId));
+        Assertions.assertEquals(0, enrollmentDAO.deleteEnrollmentCascade(testEnrollmentId));
+    }
+
+    @Test
+    @DisplayName("수업 범위 수강신청 일괄 삭제 테스트")
+    void testDeleteEnrollmentsInRange() {
+        List<Integer> chunk = enrollmentDAO.getActiveEnrollmentIdChunk(EnrollmentScope.CLASS, TEST_CLASS_ID, testEnrollmentId - 1, 10);
+
+        Assertions.assertNotNull(chunk);
+        Assertions.assertEquals(testEnrollmentId, chunk.get(0));
+
+        int deleted = enrollmentDAO.deleteEnrollmentsInRange(EnrollmentScope.CLASS, TEST_CLASS_ID, chunk.get(0), chunk.get(chunk.size() - 1));
+
+        Assertions.assertEquals(chunk.size(), deleted);
+        Assertions.assertNull(enrollmentDAO.getEnrollmentById(testEnrollmentId));
+    }
+
+    @Test
+    @DisplayName("PreparedStatement 캐시 재사용 테스트")
+    void testStatementCacheHit() {
+        enrollmentDAO.getEnrollmentById(testEnrollmentId);
+        long hitsBefore = StatementCache.getHitCount();
+        long missesBefore = StatementCache.getMissCount();
+
+        Enrollment enrollment = enrollmentDAO.getEnrollmentById(testEnrollmentId);
+
+        Assertions.assertNotNull(enrollment);
+        Assertions.assertEquals(hitsBefore + 1, StatementCache.getHitCount());
+        Assertions.assertEquals(missesBefore, StatementCache.getMissCount());
+    }
+
     @AfterEach
     void tearDown() {
         try {
+            connectionScope.close();
             connection.rollback();
             connection.setAutoCommit(true);
             connection.close();
@@ -3,17 +3,22 @@ package com.metabirth.dao;
 import com.metabirth.config.JDBCConnection;
 import com.metabirth.model.Enrollment;
 import com.metabirth.model.Payment;
+import com.metabirth.util.ConnectionScope;
+import com.metabirth.util.TransactionManager;
 import org.junit.jupiter.api.*;
 
 import java.math.BigDecimal;
 import java.sql.Connection;
 import java.sql.SQLException;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Stream;
 
 @TestInstance(TestInstance.Lifecycle.PER_CLASS)
 class PaymentDAOTest {
     private Connection connection;
+    private ConnectionScope connectionScope;
     private PaymentDAO paymentDAO;
     private static final BigDecimal TEST_AMOUNT = new BigDecimal("100.00");
     private static final byte TEST_STATUS = 0;
@@ -26,10 +31,11 @@ class PaymentDAOTest {
         try {
             connection = JDBCConnection.getConnection();
             connection.setAutoCommit(false);
-            paymentDAO = new PaymentDAO(connection);
+            connectionScope = TransactionManager.bind(connection);
+            paymentDAO = new PaymentDAO();
 
             // 테스트용 enrollment 레코드를 2개 추가 (제약조건)
-            EnrollmentDAO enrollmentDAO = new EnrollmentDAO(connection);
+            EnrollmentDAO enrollmentDAO = new EnrollmentDAO();
             Enrollment testEnrollment1 = new Enrollment(0, 1, 1, (byte)0, LocalDateTime.now(), null, null);
             Enrollment testEnrollment2 = new Enrollment(0, 2, 2, (byte)0, LocalDateTime.now(), null, null);
             enrollmentDAO.addEnrollment(testEnrollment1);
@@ -59,6 +65,39 @@ class PaymentDAOTest {
         Assertions.assertFalse(payments.isEmpty());
     }
 
+    @Test
+    @DisplayName("결제내역 스트리밍 조회 테스트")
+    void testStreamAllPayments() throws SQLException {
+        try (Stream<Payment> stream = paymentDAO.streamAllPayments()) {
+            Assertions.assertTrue(stream.anyMatch(row -> row.getPaymentId() == testPaymentId));
+        }
+    }
+
+    @Test
+    @DisplayName("결제내역 행 단위 순회 테스트")
+    void testForEachPayment() {
+        List<Payment> visited = new ArrayList<>();
+
+        boolean isCompleted = paymentDAO.forEachPayment(visited::add);
+
+        Assertions.assertTrue(isCompleted);
+        Assertions.assertEquals(paymentDAO.getAllPayments().size(), visited.size());
+    }
+
+    @Test
+    @DisplayName("결제내역 키셋 페이지 조회 테스트")
+    void testPaymentsPage() {
+        Page<Payment> firstPage = paymentDAO.getPaymentsPage(testPaymentId - 1, 1);
+
+        Assertions.assertNotNull(firstPage);
+        Assertions.assertEquals(1, firstPage.getItems().size());
+        Assertions.assertEquals(testPaymentId, firstPage.getItems().get(0).getPaymentId());
+        Assertions.assertEquals(testPaymentId, firstPage.getNextCursor());
+
+        Page<Payment> nextPage = paymentDAO.getPaymentsPage(firstPage.getNextCursor(), 10);
+        Assertions.assertTrue(nextPage.getItems().stream().allMatch(row -> row.getPaymentId() > testPaymentId));
+    }
+
     @Test
     @DisplayName("특정 결제내역 조회 테스트")
     void testGetPaymentById() {
@@ -89,6 +128,23 @@ class PaymentDAOTest {
         Assertions.assertFalse(isAdded);
     }
 
+    @Test
+    @DisplayName("결제내역 일괄 추가 테스트 (행별 성공/실패)")
+    void testAddPayments() {
+        List<Payment> newPayments = List.of(
+                new Payment(0, new BigDecimal("200.00"), (byte) 0, LocalDateTime.now(), null, null, testEnrollmentId2),
+                new Payment(0, new BigDecimal("200.00"), (byte) 0, LocalDateTime.now(), null, null, testEnrollmentId1)
+        );
+
+        BatchResult result = paymentDAO.addPayments(newPayments, 1);
+
+        Assertions.assertEquals(1, result.getSuccessCount());
+        Assertions.assertTrue(result.isSucceeded(0));
+        Assertions.assertFalse(result.isSucceeded(1));
+        Assertions.assertEquals(List.of(1), result.getFailedIndexes());
+        Assertions.assertNotNull(paymentDAO.getPaymentById(result.getGeneratedKey(0)));
+    }
+
     @Test
     @DisplayName("결제내역 수정 테스트")
     void testUpdatePayment() {
@@ -124,9 +180,23 @@ class PaymentDAOTest {
         Assertions.assertNull(retrievedPayment);
     }
 
+    @Test
+    @DisplayName("결제내역 연쇄 삭제 테스트 (수강신청, 리뷰 포함)")
+    void testDeletePaymentCascade() {
+        EnrollmentDAO enrollmentDAO = new EnrollmentDAO();
+
+        int affectedRows = paymentDAO.deletePaymentCascade(testPaymentId);
+
+        Assertions.assertEquals(2, affectedRows);
+        Assertions.assertNull(paymentDAO.getPaymentById(testPaymentId));
+        Assertions.assertNull(enrollmentDAO.getEnrollmentById(testEnrollmentId1));
+        Assertions.assertEquals(0, paymentDAO.deletePaymentCascade(testPaymentId));
+    }
+
     @AfterEach
     void tearDown() {
         try {
+            connectionScope.close();
             connection.rollback();
             connection.setAutoCommit(true);
             connection.close();
@@ -4,17 +4,22 @@ import com.metabirth.config.JDBCConnection;
 import com.metabirth.model.Enrollment;
 import com.metabirth.model.Payment;
 import com.metabirth.model.Review;
+import com.metabirth.util.ConnectionScope;
+import com.metabirth.util.TransactionManager;
 import org.junit.jupiter.api.*;
 
 import java.math.BigDecimal;
 import java.sql.Connection;
 import java.sql.SQLException;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Stream;
 
 @TestInstance(TestInstance.Lifecycle.PER_CLASS)
 class ReviewDAOTest {
     private Connection connection;
+    private ConnectionScope connectionScope;
     private ReviewDAO reviewDAO;
     private static final byte TEST_RATING = 1;
     private static final String TEST_CONTENT = "테스트 콘텐츠";
@@ -28,10 +33,11 @@ class ReviewDAOTest {
         try {
             connection = JDBCConnection.getConnection();
             connection.setAutoCommit(false);
-            reviewDAO = new ReviewDAO(connection);
+            connectionScope = TransactionManager.bind(connection);
+            reviewDAO = new ReviewDAO();
 
             // 테스트용 enrollment 레코드를 2개 추가 (제약조건)
-            EnrollmentDAO enrollmentDAO = new EnrollmentDAO(connection);
+            EnrollmentDAO enrollmentDAO = new EnrollmentDAO();
             Enrollment testEnrollment1 = new Enrollment(0, 1, 1, (byte)0, LocalDateTime.now(), null, null);
             Enrollment testEnrollment2 = new Enrollment(0, 2, 2, (byte)0, LocalDateTime.now(), null, null);
             enrollmentDAO.addEnrollment(testEnrollment1);
@@ -61,6 +67,39 @@ class ReviewDAOTest {
         Assertions.assertFalse(reviews.isEmpty());
     }
 
+    @Test
+    @DisplayName("리뷰 스트리밍 조회 테스트")
+    void testStreamAllReviews() throws SQLException {
+        try (Stream<Review> stream = reviewDAO.streamAllReviews()) {
+            Assertions.assertTrue(stream.anyMatch(row -> row.getReviewId() == testReviewId));
+        }
+    }
+
+    @Test
+    @DisplayName("리뷰 행 단위 순회 테스트")
+    void testForEachReview() {
+        List<Review> visited = new ArrayList<>();
+
+        boolean isCompleted = reviewDAO.forEachReview(visited::add);
+
+        Assertions.assertTrue(isCompleted);
+        Assertions.assertEquals(reviewDAO.getAllReviews().size(), visited.size());
+    }
+
+    @Test
+    @DisplayName("리뷰 키셋 페이지 조회 테스트")
+    void testReviewsPage() {
+        Page<Review> firstPage = reviewDAO.getReviewsPage(testReviewId - 1, 1);
+
+        Assertions.assertNotNull(firstPage);
+        Assertions.assertEquals(1, firstPage.getItems().size());
+        Assertions.assertEquals(testReviewId, firstPage.getItems().get(0).getReviewId());
+        Assertions.assertEquals(testReviewId, firstPage.getNextCursor());
+
+        Page<Review> nextPage = reviewDAO.getReviewsPage(firstPage.getNextCursor(), 10);
+        Assertions.assertTrue(nextPage.getItems().stream().allMatch(row -> row.getReviewId() > testReviewId));
+    }
+
     @Test
     @DisplayName("특정 리뷰 조회 테스트")
     void testGetReviewById() {
@@ -82,6 +121,17 @@ class ReviewDAOTest {
         Assertions.assertTrue(isAdded);
     }
 
+    @Test
+    @DisplayName("삭제된 수강신청에 리뷰 추가 테스트")
+    void testAddReviewToDeletedEnrollment() {
+        Assertions.assertTrue(new EnrollmentDAO().deleteEnrollmentCascade(testEnrollmentId2) > 0);
+        Review newReview = new Review(0, (byte) 2, "삭제된 수강신청", (byte) 0, LocalDateTime.now(), null, null, testEnrollmentId2);
+
+        boolean isAdded = reviewDAO.addReview(newReview);
+
+        Assertions.assertFalse(isAdded, "비활성 수강신청에는 리뷰가 등록되지 않아야 합니다.");
+    }
+
     @Test
     @DisplayName("중복 리뷰 추가 테스트")
     void testAddDuplicateReview() {
@@ -92,6 +142,23 @@ class ReviewDAOTest {
         Assertions.assertFalse(isAdded);
     }
 
+    @Test
+    @DisplayName("리뷰 일괄 추가 테스트 (행별 성공/실패)")
+    void testAddReviews() {
+        List<Review> newReviews = List.of(
+                new Review(0, (byte) 4, "일괄 콘텐츠", (byte) 0, LocalDateTime.now(), null, null, testEnrollmentId2),
+                new Review(0, (byte) 4, "일괄 콘텐츠", (byte) 0, LocalDateTime.now(), null, null, testEnrollmentId1)
+        );
+
+        BatchResult result = reviewDAO.addReviews(newReviews, 1);
+
+        Assertions.assertEquals(1, result.getSuccessCount());
+        Assertions.assertTrue(result.isSucceeded(0));
+        Assertions.assertFalse(result.isSucceeded(1));
+        Assertions.assertEquals(List.of(1), result.getFailedIndexes());
+        Assertions.assertNotNull(reviewDAO.getReviewById(result.getGeneratedKey(0)));
+    }
+
     @Test
     @DisplayName("리뷰 수정 테스트")
     void testUpdateReview() {
@@ -131,6 +198,7 @@ class ReviewDAOTest {
     @AfterEach
     void tearDown() {
         try {
+            connectionScope.close();
             connection.rollback();
             connection.setAutoCommit(true);
             connection.close();
@@ -0,0 +1,56 @@
+package com.metabirth.dao;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SlowQueryLogTest {
+
+    @Test
+    @DisplayName("초당 로그 건수 제한 테스트")
+    void testRateLimiter() {
+        SlowQueryLog.RateLimiter limiter = new SlowQueryLog.RateLimiter();
+        limiter.setLimit(2);
+        long now = 0;
+
+        assertEquals(0, limiter.tryAcquire(now));
+        assertEquals(0, limiter.tryAcquire(now + 1));
+        assertEquals(-1, limiter.tryAcquire(now + 2), "한도를 넘으면 기록하지 않아야 합니다.");
+        assertEquals(-1, limiter.tryAcquire(now + 3));
+
+        long nextWindow = now + TimeUnit.SECONDS.toNanos(1);
+        assertEquals(2, limiter.tryAcquire(nextWindow), "다음 구간의 첫 로그에 생략된 건수가 전달되어야 합니다.");
+        assertEquals(0, limiter.tryAcquire(nextWindow + 1));
+    }
+
+    @Test
+    @DisplayName("바인딩 값 기록 및 출력 형식 테스트")
+    void testBinds() {
+        SlowQueryLog.Binds binds = new SlowQueryLog.Binds();
+        binds.set(1, 10);
+        binds.set(3, "a".repeat(100));
+        binds.set(12, LocalDate.of(2025, 1, 2));
+
+        Object[] snapshot = binds.snapshot();
+        assertEquals(12, snapshot.length);
+        String formatted = SlowQueryLog.formatBinds(snapshot);
+        assertTrue(formatted.startsWith("[1=10, 2=null, 3='aaaa"), formatted);
+        assertTrue(formatted.contains("...'"), "긴 문자열은 잘라서 출력해야 합니다.");
+        assertTrue(formatted.endsWith("12='2025-01-02']"), formatted);
+
+        binds.clear();
+        assertEquals(0, binds.snapshot().length, "close 후에는 바인딩 값이 남지 않아야 합니다.");
+    }
+
+    @Test
+    @DisplayName("EXPLAIN 대상 판별 테스트")
+    void testExplainable() {
+        assertTrue(SlowQueryLog.isExplainable("  SELECT * FROM enrollments WHERE user_id = ?"));
+        assertTrue(SlowQueryLog.isExplainable("update enrollments SET status = 1 WHERE enrollment_id = ?"));
+        assertFalse(SlowQueryLog.isExplainable("INSERT INTO enrollments (user_id) VALUES (?)"));
+    }
+}
@@ -0,0 +1,120 @@
+package com.metabirth.dao;
+
+import com.metabirth.metrics.SqlErrorStats;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StatementCacheTest {
+    private static final String SQL = "SELECT class_id FROM class_seats WHERE class_id = ?";
+
+    // 실제로 닫힌 문장 수
+    private final List<PreparedStatement> closed = new ArrayList<>();
+
+    private static SQLException deadlock() {
+        return new SQLException("Deadlock found when trying to get lock", "40001", SqlErrorStats.DEADLOCK);
+    }
+
+    // executeQuery가 교착 상태로 실패하는 문장을 만드는 가짜 커넥션
+    private Connection fakeConnection(boolean failOnNext) {
+        ResultSet resultSet = (ResultSet) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[]{ResultSet.class}, (proxy, method, args) -> switch (method.getName()) {
+                    case "next" -> throw deadlock();
+                    default -> null;
+                });
+        return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[]{Connection.class}, (proxy, method, args) -> switch (method.getName()) {
+                    case "prepareStatement" -> fakeStatement(failOnNext ? resultSet : null);
+                    case "unwrap" -> proxy;
+                    case "isClosed" -> false;
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    default -> null;
+                });
+    }
+
+    // resultSet이 null이면 executeQuery가 교착 상태로 실패
+    private PreparedStatement fakeStatement(ResultSet resultSet) {
+        boolean[] isClosed = {false};
+        return (PreparedStatement) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[]{PreparedStatement.class}, (proxy, method, args) -> switch (method.getName()) {
+                    case "executeQuery" -> {
+                        if (resultSet == null) {
+                            throw deadlock();
+                        }
+                        yield resultSet;
+                    }
+                    case "close" -> {
+                        isClosed[0] = true;
+                        closed.add((PreparedStatement) proxy);
+                        yield null;
+                    }
+                    case "isClosed" -> isClosed[0];
+                    default -> null;
+                });
+    }
+
+    @Test
+    @DisplayName("같은 SQL을 중첩해서 사용해도 교착 상태를 집계하고 TransientDataAccessException으로 바꾸는지 테스트")
+    void testNestedStatementTranslatesTransientError() throws SQLException {
+        Connection connection = fakeConnection(false);
+        long deadlocksBefore = SqlErrorStats.count(SqlErrorStats.DEADLOCK);
+
+        try (PreparedStatement outer = StatementCache.prepare(connection, SQL);
+             PreparedStatement nested = StatementCache.prepare(connection, SQL)) {
+            assertNotSame(outer, nested);
+            assertThrows(TransientDataAccessException.class, nested::executeQuery);
+            assertThrows(TransientDataAccessException.class, outer::executeQuery);
+        }
+
+        assertEquals(deadlocksBefore + 2, SqlErrorStats.count(SqlErrorStats.DEADLOCK));
+        assertEquals(2, closed.size(), "두 문장 모두 드라이버 문장을 닫아 드라이버 캐시에 반환해야 합니다.");
+    }
+
+    @Test
+    @DisplayName("드라이버 캐시 목록이 prepare 시 꺼내고 close 시 반환하는 규칙(SQL 길이 제한, LRU)을 따르는지 테스트")
+    void testDriverCacheMirror() {
+        StatementCache.DriverCacheMirror mirror = new StatementCache.DriverCacheMirror(2, SQL.length() + 1);
+
+        assertFalse(mirror.acquire(SQL), "처음 준비하는 문장은 미스여야 합니다.");
+        mirror.release(SQL);
+        assertTrue(mirror.acquire(SQL));
+        assertFalse(mirror.acquire(SQL), "사용 중인 문장을 중첩해서 준비하면 미스여야 합니다.");
+        mirror.release(SQL);
+
+        mirror.release(SQL + " ");
+        assertFalse(mirror.acquire(SQL + " "), "길이 제한 이상인 SQL은 캐시하지 않아야 합니다.");
+
+        mirror.release("SELECT 1");
+        mirror.release("SELECT 2");
+        assertFalse(mirror.acquire(SQL), "가장 오래 사용되지 않은 문장이 밀려나야 합니다.");
+        assertTrue(mirror.acquire("SELECT 2"));
+    }
+
+    @Test
+    @DisplayName("스트리밍 조회의 실행/순회 중 교착 상태가 TransientDataAccessException으로 전달되는지 테스트")
+    void testStreamingQueryTranslatesTransientError() {
+        long deadlocksBefore = SqlErrorStats.count(SqlErrorStats.DEADLOCK);
+
+        assertThrows(TransientDataAccessException.class,
+                () -> StreamingQuery.stream(fakeConnection(false), SQL, rs -> rs.getInt(1), 1));
+        assertThrows(TransientDataAccessException.class, () -> {
+            try (Stream<Integer> rows = StreamingQuery.stream(fakeConnection(true), SQL, rs -> rs.getInt(1), 1)) {
+                rows.forEach(row -> fail("행이 없어야 합니다."));
+            }
+        });
+
+        assertEquals(deadlocksBefore + 2, SqlErrorStats.count(SqlErrorStats.DEADLOCK));
+        assertEquals(2, closed.size(), "실패한 스트리밍 문장은 닫혀야 합니다.");
+    }
+}
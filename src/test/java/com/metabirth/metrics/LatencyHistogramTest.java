@@ -0,0 +1,50 @@
+package com.metabirth.metrics;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LatencyHistogramTest {
+
+    @Test
+    @DisplayName("버킷 경계 테스트")
+    void testBucketBounds() {
+        for (long value : new long[]{0, 1, 15, 16, 17, 31, 32, 1_000, 123_456, 10_000_000_000L, Long.MAX_VALUE}) {
+            int index = LatencyHistogram.bucketIndex(value);
+            long upper = LatencyHistogram.bucketUpperBound(index);
+
+            assertTrue(upper >= value, "상한은 값보다 작을 수 없습니다: " + value);
+            assertTrue(upper - value <= Math.max(1, value / 16), "상대 오차는 1/16 이내여야 합니다: " + value);
+            if (value < Long.MAX_VALUE) {
+                assertTrue(LatencyHistogram.bucketIndex(upper + 1) > index, "상한 다음 값은 다음 버킷이어야 합니다: " + value);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("백분위 및 통계 테스트")
+    void testPercentiles() {
+        LatencyHistogram histogram = new LatencyHistogram("test");
+        for (int i = 1; i <= 1_000; i++) {
+            histogram.record(i * 1_000L); // 1us ~ 1000us
+        }
+
+        assertEquals(1_000, histogram.getCount());
+        assertEquals(500.5, histogram.getMeanMicros(), 0.001);
+        assertEquals(1_000.0, histogram.getMaxMicros(), 0.001);
+        assertEquals(500.0, histogram.getP50Micros(), 500.0 / 16);
+        assertEquals(990.0, histogram.getP99Micros(), 990.0 / 16);
+        assertTrue(histogram.getP999Micros() <= histogram.getMaxMicros(), "백분위는 최댓값을 넘지 않아야 합니다.");
+    }
+
+    @Test
+    @DisplayName("빈 히스토그램 테스트")
+    void testEmpty() {
+        LatencyHistogram histogram = new LatencyHistogram("empty");
+
+        assertEquals(0, histogram.getCount());
+        assertEquals(0.0, histogram.getMeanMicros());
+        assertEquals(0.0, histogram.getP99Micros());
+    }
+}
@@ -0,0 +1,37 @@
+package com.metabirth.metrics;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLException;
+import java.sql.SQLIntegrityConstraintViolationException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SqlErrorStatsTest {
+
+    @Test
+    @DisplayName("중복 키 오류의 제약 조건 이름 추출 테스트")
+    void testConstraintName() {
+        assertEquals("uq_payments_active",
+                SqlErrorStats.constraintName("Duplicate entry '5' for key 'payments.uq_payments_active'"));
+        assertEquals("uq_reviews_active",
+                SqlErrorStats.constraintName("Duplicate entry '7' for key 'uq_reviews_active'"));
+        assertEquals("(unknown)", SqlErrorStats.constraintName(null));
+    }
+
+    @Test
+    @DisplayName("오류 코드 및 제약 조건별 집계 테스트")
+    void testRecord() {
+        long deadlocks = SqlErrorStats.count(SqlErrorStats.DEADLOCK);
+        long violations = SqlErrorStats.duplicateKeyCount("uq_reviews_active");
+
+        SqlErrorStats.record(new SQLException("Deadlock found when trying to get lock", "40001", SqlErrorStats.DEADLOCK));
+        SqlErrorStats.record(new SQLIntegrityConstraintViolationException(
+                "Duplicate entry '7' for key 'reviews.uq_reviews_active'", "23000", SqlErrorStats.DUPLICATE_KEY));
+
+        assertEquals(deadlocks + 1, SqlErrorStats.count(SqlErrorStats.DEADLOCK));
+        assertEquals(violations + 1, SqlErrorStats.duplicateKeyCount("uq_reviews_active"));
+        assertTrue(SqlErrorStats.snapshot().contains("uq_reviews_active"));
+    }
+}
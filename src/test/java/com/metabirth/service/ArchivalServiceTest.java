@@ -0,0 +1,115 @@
+package com.metabirth.service;
+
+import com.metabirth.config.JDBCConnection;
+import com.metabirth.config.ReplicaRouter;
+import com.metabirth.dao.ArchiveDAO;
+import com.metabirth.util.TransactionManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ArchivalServiceTest {
+    private static final ArchivalService.Config CONFIG = new ArchivalService.Config(30, 0, 2, 0, 1000);
+
+    private final List<String> calls = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        TransactionManager.setConnectionProvider(this::fakeConnection);
+    }
+
+    // 커밋/롤백 호출만 기록하는 가짜 커넥션
+    private Connection fakeConnection() {
+        boolean[] autoCommit = {true};
+        return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "getAutoCommit" -> autoCommit[0];
+                    case "setAutoCommit" -> {
+                        autoCommit[0] = (boolean) args[0];
+                        yield null;
+                    }
+                    case "commit", "rollback" -> {
+                        calls.add(method.getName());
+                        yield null;
+                    }
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    default -> null;
+                });
+    }
+
+    // 수강신청 ID 1 ~ 6을 chunk(2개)로 나눠 돌려주고, failingFromId 구간은 행 수 불일치(null)로 실패하는 DAO
+    private static final class FakeArchiveDAO extends ArchiveDAO {
+        private final int failingFromId;
+        private final List<String> archived = new ArrayList<>();
+
+        private FakeArchiveDAO(int failingFromId) {
+            this.failingFromId = failingFromId;
+        }
+
+        @Override
+        public boolean tryAcquireJobLock() {
+            return true;
+        }
+
+        @Override
+        public void releaseJobLock() {
+        }
+
+        @Override
+        public List<Integer> getArchivableEnrollmentIdChunk(Timestamp cutoff, int afterId, int limit) {
+            return afterId >= 6 ? List.of() : List.of(afterId + 1, afterId + 2);
+        }
+
+        @Override
+        public ArchivedRows archiveEnrollmentGroups(int fromId, int toId, Timestamp cutoff, Timestamp archivedAt) {
+            archived.add(fromId + "-" + toId);
+            return fromId == failingFromId ? null : new ArchivedRows(2, 2, 1);
+        }
+    }
+
+    @Test
+    @DisplayName("보관 행 수가 맞지 않는 chunk는 롤백하고 이전 chunk는 유지한 채 중단하는지 테스트")
+    void testMismatchedChunkRollsBack() {
+        FakeArchiveDAO archiveDAO = new FakeArchiveDAO(3);
+
+        ArchiveResult result = new ArchivalService(archiveDAO, () -> 0).run(CONFIG);
+
+        assertFalse(result.isCompleted());
+        assertEquals(List.of("1-2", "3-4"), archiveDAO.archived, "실패한 chunk 이후로는 진행하지 않아야 합니다.");
+        assertEquals(List.of("commit", "rollback"), calls);
+        assertEquals(1, result.getChunks());
+        assertEquals(2, result.getEnrollments());
+    }
+
+    @Test
+    @DisplayName("복제 지연을 알 수 없으면 측정될 때까지 다음 chunk를 미루는지 테스트")
+    void testWaitsWhileReplicaLagUnknown() {
+        AtomicInteger lagChecks = new AtomicInteger();
+        // 첫 chunk 이후 한 번은 지연을 알 수 없음 (복제 중단)
+        ArchivalService service = new ArchivalService(new FakeArchiveDAO(0),
+                () -> lagChecks.incrementAndGet() == 1 ? ReplicaRouter.UNKNOWN_LAG_MILLIS : 0);
+
+        ArchiveResult result = service.run(CONFIG);
+
+        assertTrue(result.isCompleted());
+        assertEquals(3, result.getChunks());
+        assertEquals(4, lagChecks.get(), "알 수 없는 지연은 한 번 더 확인한 뒤 진행해야 합니다.");
+        assertEquals(List.of("commit", "commit", "commit", "commit"), calls);
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionManager.setConnectionProvider(JDBCConnection::getConnection);
+    }
+}
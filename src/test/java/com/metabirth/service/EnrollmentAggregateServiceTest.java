@@ -1,7 +1,379 @@
 package com.metabirth.service;
 
+import com.metabirth.cache.ClassSeatCounter;
+import com.metabirth.cache.RecentRequestKeys;
+import com.metabirth.config.JDBCConnection;
+import com.metabirth.model.Enrollment;
+import com.metabirth.model.Payment;
+import com.metabirth.util.TransactionCallbacks;
+import org.junit.jupiter.api.*;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
 import static org.junit.jupiter.api.Assertions.*;
 
+/*
+ * 서비스가 트랜잭션을 직접 커밋/롤백하므로 DAO 테스트처럼 롤백 전용 커넥션을 바인딩하지 않는다.
+ * 테스트마다 전용 수업을 만들어 그 수업에만 등록하고, 종료 시 수업에 연결된 행을 모두 지운다.
+ * */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
 class EnrollmentAggregateServiceTest {
+    private static final BigDecimal TEST_AMOUNT = new BigDecimal("150000.00");
+    private static final int TEST_CAPACITY = 100;
+
+    private EnrollmentAggregateService service;
+    private int testClassId;
+
+    @BeforeEach
+    void setUp() {
+        service = new EnrollmentAggregateService();
+        testClassId = createClass(TEST_CAPACITY);
+    }
+
+    private static List<Enrollment> newEnrollments(int classId, int count) {
+        List<Enrollment> enrollments = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            enrollments.add(new Enrollment(0, i + 1, classId, (byte) 0, null, null, null));
+        }
+        return enrollments;
+    }
+
+    private static List<Payment> newPayments(int count) {
+        List<Payment> payments = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            payments.add(new Payment(0, TEST_AMOUNT, (byte) 0, null, null, null, 0));
+        }
+        return payments;
+    }
+
+    @Test
+    @DisplayName("일괄 등록 (ALL_OR_NOTHING) 중 한 건이 실패하면 모든 chunk가 롤백되는지 테스트")
+    void testBulkAllOrNothingRollsBackEveryChunk() {
+        List<Enrollment> enrollments = newEnrollments(testClassId, 5);
+        List<Payment> payments = newPayments(5);
+        payments.get(2).setAmount(null); // amount NOT NULL 위반 -> 두 번째 chunk 실패
+
+        BulkRegistrationResult result = service.registerEnrollmentsAndPayments(enrollments, payments,
+                BulkCommitMode.ALL_OR_NOTHING, 2);
+
+        assertEquals(5, result.getTotal());
+        assertEquals(List.of(0, 1, 2, 3, 4), result.getFailedIndexes());
+        assertTrue(enrollments.stream().allMatch(enrollment -> enrollment.getEnrollmentId() == 0));
+        assertTrue(payments.stream().allMatch(payment -> payment.getPaymentId() == 0));
+        assertEquals(0, countActiveEnrollments(testClassId), "먼저 등록된 chunk도 롤백되어야 합니다.");
+        assertEquals(0, selectReservedSeats(testClassId));
+    }
+
+    @Test
+    @DisplayName("일괄 등록 (PER_CHUNK) 시 실패한 chunk만 롤백하고 범위를 보고하는지 테스트")
+    void testBulkPerChunkKeepsCommittedChunks() {
+        List<Enrollment> enrollments = newEnrollments(testClassId, 5);
+        List<Payment> payments = newPayments(5);
+        payments.get(2).setAmount(null); // [2, 4) chunk 실패
+
+        BulkRegistrationResult result = service.registerEnrollmentsAndPayments(enrollments, payments,
+                BulkCommitMode.PER_CHUNK, 2);
+
+        assertEquals(List.of(2, 3), result.getFailedIndexes());
+        assertEquals(3, result.getRegisteredCount());
+        for (int i : List.of(0, 1, 4)) {
+            assertTrue(enrollments.get(i).getEnrollmentId() > 0);
+            assertEquals(enrollments.get(i).getEnrollmentId(), payments.get(i).getEnrollmentId());
+        }
+        assertEquals(0, enrollments.get(2).getEnrollmentId());
+        assertEquals(0, enrollments.get(3).getEnrollmentId());
+        assertEquals(3, countActiveEnrollments(testClassId));
+        assertEquals(3, selectReservedSeats(testClassId));
+    }
+
+    @Test
+    @DisplayName("일괄 등록 입력 검증 테스트 (개수 불일치, 빈 목록)")
+    void testBulkInputValidation() {
+        assertThrows(IllegalArgumentException.class, () -> service.registerEnrollmentsAndPayments(
+                newEnrollments(testClassId, 2), newPayments(1), BulkCommitMode.PER_CHUNK));
+        assertThrows(IllegalArgumentException.class, () -> service.registerEnrollmentsAndPayments(
+                newEnrollments(testClassId, 1), newPayments(1), BulkCommitMode.PER_CHUNK, 0));
+
+        for (BulkCommitMode mode : BulkCommitMode.values()) {
+            BulkRegistrationResult result = service.registerEnrollmentsAndPayments(List.of(), List.of(), mode);
+            assertEquals(0, result.getTotal());
+            assertTrue(result.isAllSucceeded());
+        }
+        assertEquals(0, countActiveEnrollments(testClassId));
+    }
+
+    @Test
+    @DisplayName("수강신청 삭제로 빈 좌석을 재적재 없이 바로 다시 예약할 수 있는지 테스트")
+    void testDeletedEnrollmentFreesSeatImmediately() {
+        int fullClassId = createClass(1);
+        try {
+            Enrollment first = newEnrollments(fullClassId, 1).get(0);
+            assertTrue(service.registerEnrollmentAndPayment(first, newPayments(1).get(0)));
+            assertFalse(service.registerEnrollmentAndPayment(newEnrollments(fullClassId, 1).get(0), newPayments(1).get(0)),
+                    "정원이 찬 수업에는 등록되지 않아야 합니다.");
+
+            assertTrue(service.deleteEnrollment(first.getEnrollmentId()));
+            assertEquals(0, selectReservedSeats(fullClassId), "반영(flush) 후 DB 좌석도 반납되어야 합니다.");
+            assertEquals(1, ClassSeatCounter.getInstance().getRemaining(fullClassId), "커밋 후 메모리 좌석도 반납되어야 합니다.");
+
+            Enrollment second = newEnrollments(fullClassId, 1).get(0);
+            assertTrue(service.registerEnrollmentAndPayment(second, newPayments(1).get(0)));
+            assertEquals(1, countActiveEnrollments(fullClassId));
+            assertEquals(1, selectReservedSeats(fullClassId));
+        } finally {
+            deleteClass(fullClassId);
+        }
+    }
+
+    @Test
+    @DisplayName("같은 요청 키로 재시도하면 최근 요청 키 캐시에서 처음 결과를 반환하는지 테스트")
+    void testRetryWithSameKeyHitsCache() {
+        String requestKey = UUID.randomUUID().toString();
+        Enrollment first = newEnrollments(testClassId, 1).get(0);
+        Payment firstPayment = newPayments(1).get(0);
+        assertTrue(service.registerEnrollmentAndPayment(requestKey, first, firstPayment));
+        assertNotNull(RecentRequestKeys.getInstance().get(requestKey), "커밋 후 요청 키가 캐시에 있어야 합니다.");
+
+        Enrollment retry = newEnrollments(testClassId, 1).get(0);
+        Payment retryPayment = newPayments(1).get(0);
+        assertTrue(service.registerEnrollmentAndPayment(requestKey, retry, retryPayment));
+
+        assertEquals(first.getEnrollmentId(), retry.getEnrollmentId());
+        assertEquals(firstPayment.getPaymentId(), retryPayment.getPaymentId());
+        assertEquals(1, countActiveEnrollments(testClassId));
+        assertEquals(1, selectReservedSeats(testClassId));
+    }
+
+    @Test
+    @DisplayName("캐시에 없는 요청 키는 DB에 기록된 처음 결과를 반환하는지 테스트")
+    void testRetryWithSameKeyHitsDatabase() {
+        Enrollment first = newEnrollments(testClassId, 1).get(0);
+        Payment firstPayment = newPayments(1).get(0);
+        assertTrue(service.registerEnrollmentAndPayment(first, firstPayment));
+        // 다른 인스턴스에서 처리된 요청 (이 인스턴스의 캐시에는 없음)
+        String requestKey = UUID.randomUUID().toString();
+        execute("INSERT INTO registration_requests (request_key, payload_hash, enrollment_id, payment_id) VALUES (?, ?, ?, ?)",
+                requestKey, EnrollmentAggregateService.payloadHash(first, firstPayment),
+                first.getEnrollmentId(), firstPayment.getPaymentId());
+
+        Enrollment retry = newEnrollments(testClassId, 1).get(0);
+        Payment retryPayment = newPayments(1).get(0);
+        assertTrue(service.registerEnrollmentAndPayment(requestKey, retry, retryPayment));
+
+        assertEquals(first.getEnrollmentId(), retry.getEnrollmentId());
+        assertEquals(firstPayment.getPaymentId(), retryPayment.getPaymentId());
+        assertEquals(1, countActiveEnrollments(testClassId));
+    }
+
+    @Test
+    @DisplayName("같은 요청 키로 내용이 다른 요청은 처음 결과를 반환하지 않고 거절하는지 테스트")
+    void testRetryWithDifferentPayloadIsRejected() {
+        String requestKey = UUID.randomUUID().toString();
+        Enrollment first = newEnrollments(testClassId, 1).get(0);
+        Payment firstPayment = newPayments(1).get(0);
+        assertTrue(service.registerEnrollmentAndPayment(requestKey, first, firstPayment));
+
+        Enrollment other = newEnrollments(testClassId, 2).get(1); // 다른 학생
+        Payment otherPayment = newPayments(1).get(0);
+        assertFalse(service.registerEnrollmentAndPayment(requestKey, other, otherPayment));
+        assertEquals(0, other.getEnrollmentId(), "거절된 요청에는 처음 요청의 ID를 설정하지 않아야 합니다.");
+        assertEquals(0, otherPayment.getPaymentId());
+
+        // 캐시에 없을 때도 DB에 기록된 지문으로 거절
+        Payment changedAmount = new Payment(0, TEST_AMOUNT.add(BigDecimal.ONE), (byte) 0, null, null, null, 0);
+        String dbKey = UUID.randomUUID().toString();
+        execute("INSERT INTO registration_requests (request_key, payload_hash, enrollment_id, payment_id) VALUES (?, ?, ?, ?)",
+                dbKey, EnrollmentAggregateService.payloadHash(first, firstPayment),
+                first.getEnrollmentId(), firstPayment.getPaymentId());
+        assertFalse(service.registerEnrollmentAndPayment(dbKey, newEnrollments(testClassId, 1).get(0), changedAmount));
+
+        assertEquals(1, countActiveEnrollments(testClassId));
+    }
+
+    @Test
+    @DisplayName("처음 요청이 마지막 좌석을 잡고 진행 중일 때 재시도가 커밋을 기다려 처음 결과를 반환하는지 테스트")
+    void testConcurrentRetryWaitsForOriginal() throws Exception {
+        int fullClassId = createClass(1);
+        String requestKey = UUID.randomUUID().toString();
+        try (Connection original = JDBCConnection.getConnection()) {
+            int[] ids = startOriginalRequest(original, fullClassId, requestKey);
+
+            CompletableFuture<Boolean> retry = CompletableFuture.supplyAsync(() -> {
+                Enrollment enrollment = newEnrollments(fullClassId, 1).get(0);
+                Payment payment = newPayments(1).get(0);
+                return service.registerEnrollmentAndPayment(requestKey, enrollment, payment)
+                        && enrollment.getEnrollmentId() == ids[0] && payment.getPaymentId() == ids[1];
+            });
+            Thread.sleep(200); // 재시도가 요청 키 잠금을 기다리는 동안 처음 요청 커밋
+            TransactionCallbacks.commit(original);
+
+            assertTrue(retry.get(10, TimeUnit.SECONDS), "정원이 찼어도 처음 요청의 결과를 반환해야 합니다.");
+            assertEquals(1, countActiveEnrollments(fullClassId));
+            assertEquals(1, selectReservedSeats(fullClassId));
+        } finally {
+            deleteClass(fullClassId);
+        }
+    }
+
+    @Test
+    @DisplayName("처음 요청이 롤백되면 재시도가 반납된 좌석으로 새로 등록되는지 테스트")
+    void testRetryRegistersAfterOriginalRolledBack() throws Exception {
+        int fullClassId = createClass(1);
+        String requestKey = UUID.randomUUID().toString();
+        try (Connection original = JDBCConnection.getConnection()) {
+            int[] ids = startOriginalRequest(original, fullClassId, requestKey);
+
+            Enrollment enrollment = newEnrollments(fullClassId, 1).get(0);
+            Payment payment = newPayments(1).get(0);
+            CompletableFuture<Boolean> retry = CompletableFuture.supplyAsync(
+                    () -> service.registerEnrollmentAndPayment(requestKey, enrollment, payment));
+            Thread.sleep(200);
+            // 롤백 전에 처음 요청의 메모리 예약이 취소되므로, 재시도는 잠금이 풀리면 바로 좌석을 예약할 수 있다.
+            TransactionCallbacks.rollback(original);
+
+            assertTrue(retry.get(10, TimeUnit.SECONDS), "처음 요청이 롤백되었으면 새로 등록되어야 합니다.");
+            assertTrue(enrollment.getEnrollmentId() > 0);
+            assertNotEquals(ids[0], enrollment.getEnrollmentId());
+            assertEquals(1, countActiveEnrollments(fullClassId));
+            assertEquals(1, selectReservedSeats(fullClassId));
+        } finally {
+            deleteClass(fullClassId);
+        }
+    }
+
+    /*
+     * 마지막 좌석을 잡은 채 커밋되지 않은 처음 요청을 만든다. (메모리 예약 + 등록 트랜잭션의 행 잠금)
+     * 메모리 예약은 EnrollmentDAO.addEnrollment와 같이 커밋되면 확정, 롤백되면 취소된다. (TransactionCallbacks로 커밋/롤백)
+     * 반환값 : {수강신청 ID, 결제 ID}
+     * */
+    private static int[] startOriginalRequest(Connection original, int classId, String requestKey) throws SQLException {
+        new ClassSeatService().track(List.of(classId));
+        ClassSeatCounter counter = ClassSeatCounter.getInstance();
+        assertTrue(counter.tryReserve(classId, 1));
+
+        original.setAutoCommit(false);
+        TransactionCallbacks.afterCommit(original, () -> counter.confirm(classId, 1));
+        TransactionCallbacks.afterRollback(original, () -> counter.cancel(classId, 1));
+        execute(original, "INSERT INTO registration_requests (request_key) VALUES (?)", requestKey);
+        int enrollmentId = insert(original, "INSERT INTO enrollments (student_id, class_id, status) VALUES (1, ?, 0)", classId);
+        int paymentId = insert(original, "INSERT INTO payments (amount, status, enrollment_id) VALUES (?, 0, ?)",
+                TEST_AMOUNT, enrollmentId);
+        execute(original, "UPDATE registration_requests SET payload_hash = ?, enrollment_id = ?, payment_id = ? WHERE request_key = ?",
+                EnrollmentAggregateService.payloadHash(newEnrollments(classId, 1).get(0), newPayments(1).get(0)),
+                enrollmentId, paymentId, requestKey);
+        return new int[]{enrollmentId, paymentId};
+    }
+
+    @AfterEach
+    void tearDown() {
+        deleteClass(testClassId);
+    }
+
+    // 테스트 전용 수업 등록 (커밋됨)
+    static int createClass(int capacity) {
+        String sql = "INSERT INTO classes (class_name, class_time, capacity, price) VALUES (?, ?, ?, ?)";
+        try (Connection connection = JDBCConnection.getConnection();
+             PreparedStatement ps = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+            ps.setString(1, "테스트 수업");
+            ps.setString(2, "상시");
+            ps.setInt(3, capacity);
+            ps.setBigDecimal(4, TEST_AMOUNT);
+            ps.executeUpdate();
+            try (ResultSet keys = ps.getGeneratedKeys()) {
+                keys.next();
+                return keys.getInt(1);
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("테스트 수업 등록 중 오류 발생 : " + e.getMessage());
+        }
+    }
+
+    // 테스트 수업과 연결된 행 삭제 (수강신청, 결제, 리뷰, 집계 행)
+    static void deleteClass(int classId) {
+        List<String> statements = List.of(
+                "DELETE q FROM registration_requests q JOIN enrollments e ON e.enrollment_id = q.enrollment_id WHERE e.class_id = ?",
+                "DELETE r FROM reviews r JOIN enrollments e ON e.enrollment_id = r.enrollment_id WHERE e.class_id = ?",
+                "DELETE p FROM payments p JOIN enrollments e ON e.enrollment_id = p.enrollment_id WHERE e.class_id = ?",
+                "DELETE FROM enrollments WHERE class_id = ?",
+                "DELETE FROM class_seats WHERE class_id = ?",
+                "DELETE FROM class_rating_stats WHERE class_id = ?",
+                "DELETE FROM revenue_rollups WHERE class_id = ?",
+                "DELETE FROM classes WHERE class_id = ?");
+        try (Connection connection = JDBCConnection.getConnection()) {
+            for (String sql : statements) {
+                try (PreparedStatement ps = connection.prepareStatement(sql)) {
+                    ps.setInt(1, classId);
+                    ps.executeUpdate();
+                }
+            }
+            System.out.println("테스트 완료 : 테스트 수업 데이터 삭제 성공");
+        } catch (SQLException e) {
+            System.out.println("테스트 종류 중 오류 발생 : " + e.getMessage());
+        }
+    }
+
+    static int countActiveEnrollments(int classId) {
+        return selectInt("SELECT COUNT(*) FROM enrollments WHERE class_id = ? AND status = 0", classId);
+    }
+
+    // DB 카운터의 좌석 수 (메모리 카운터에 쌓인 증감을 먼저 반영한 뒤 조회)
+    static int selectReservedSeats(int classId) {
+        assertTrue(new ClassSeatService().flush(), "좌석 증감이 DB 카운터에 반영되어야 합니다.");
+        return selectInt("SELECT COALESCE(MAX(reserved), 0) FROM class_seats WHERE class_id = ?", classId);
+    }
+
+    private static void execute(String sql, Object... params) {
+        try (Connection connection = JDBCConnection.getConnection()) {
+            execute(connection, sql, params);
+        } catch (SQLException e) {
+            throw new RuntimeException("테스트 데이터 준비 중 오류 발생 : " + e.getMessage());
+        }
+    }
+
+    private static void execute(Connection connection, String sql, Object... params) throws SQLException {
+        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+            bind(ps, params);
+            ps.executeUpdate();
+        }
+    }
+
+    private static int insert(Connection connection, String sql, Object... params) throws SQLException {
+        try (PreparedStatement ps = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+            bind(ps, params);
+            ps.executeUpdate();
+            try (ResultSet keys = ps.getGeneratedKeys()) {
+                keys.next();
+                return keys.getInt(1);
+            }
+        }
+    }
+
+    private static void bind(PreparedStatement ps, Object... params) throws SQLException {
+        for (int i = 0; i < params.length; i++) {
+            ps.setObject(i + 1, params[i]);
+        }
+    }
 
-}
\ No newline at end of file
+    private static int selectInt(String sql, int param) {
+        try (Connection connection = JDBCConnection.getConnection();
+             PreparedStatement ps = connection.prepareStatement(sql)) {
+            ps.setInt(1, param);
+            try (ResultSet rs = ps.executeQuery()) {
+                rs.next();
+                return rs.getInt(1);
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("테스트 데이터 조회 중 오류 발생 : " + e.getMessage());
+        }
+    }
+}
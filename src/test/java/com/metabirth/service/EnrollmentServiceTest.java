@@ -1,6 +1,134 @@
 package com.metabirth.service;
 
+import com.metabirth.cache.ClassSeatCounter;
+import com.metabirth.config.JDBCConnection;
+import com.metabirth.model.Enrollment;
+import com.metabirth.model.Payment;
+import com.metabirth.util.TransactionManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
 import static org.junit.jupiter.api.Assertions.*;
+
 class EnrollmentServiceTest {
-  
-}
\ No newline at end of file
+    private final CountDownLatch streaming = new CountDownLatch(1);
+    private final CountDownLatch statementCancelled = new CountDownLatch(1);
+    private final CountDownLatch connectionClosed = new CountDownLatch(1);
+
+    // cancel()이 호출될 때까지 다음 행을 기다리는 스트리밍 커서를 반환하는 가짜 커넥션
+    private Connection fakeConnection() {
+        ResultSet resultSet = (ResultSet) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[]{ResultSet.class}, (proxy, method, args) -> switch (method.getName()) {
+                    case "next" -> {
+                        streaming.countDown();
+                        awaitUninterruptibly(statementCancelled);
+                        throw new SQLException("Query execution was interrupted", "70100");
+                    }
+                    default -> null;
+                });
+        PreparedStatement statement = (PreparedStatement) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[]{PreparedStatement.class}, (proxy, method, args) -> switch (method.getName()) {
+                    case "executeQuery" -> resultSet;
+                    case "cancel" -> {
+                        statementCancelled.countDown();
+                        yield null;
+                    }
+                    default -> null;
+                });
+        return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[]{Connection.class}, (proxy, method, args) -> switch (method.getName()) {
+                    case "prepareStatement" -> statement;
+                    case "getAutoCommit" -> true;
+                    case "close" -> {
+                        connectionClosed.countDown();
+                        yield null;
+                    }
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    default -> null;
+                });
+    }
+
+    // 작업 취소 시 스레드가 인터럽트되어도 문장 취소까지 기다린다.
+    private static void awaitUninterruptibly(CountDownLatch latch) {
+        boolean interrupted = false;
+        while (true) {
+            try {
+                latch.await(5, TimeUnit.SECONDS);
+                break;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Test
+    @DisplayName("전체 조회 Future 취소 시 스트리밍 중인 문장이 취소되고 커넥션이 반납되는지 테스트")
+    void testCancelGetAllEnrollmentsAsync() throws Exception {
+        TransactionManager.setConnectionProvider(this::fakeConnection);
+
+        CompletableFuture<List<Enrollment>> future = new EnrollmentService().getAllEnrollmentsAsync();
+
+        assertTrue(streaming.await(5, TimeUnit.SECONDS), "스트리밍 조회가 시작되어야 합니다.");
+        assertTrue(future.cancel(true));
+        assertTrue(statementCancelled.await(5, TimeUnit.SECONDS), "스트리밍 중인 문장이 취소되어야 합니다.");
+        assertTrue(connectionClosed.await(5, TimeUnit.SECONDS), "Stream을 닫으면서 커넥션이 반납되어야 합니다.");
+        assertTrue(future.isCancelled());
+    }
+
+    @Test
+    @DisplayName("수강신청을 다른 수업으로 옮기면 새 수업의 정원을 확인하고 좌석을 옮기는지 테스트")
+    void testUpdateEnrollmentMovesSeat() {
+        EnrollmentAggregateService aggregateService = new EnrollmentAggregateService();
+        int fromClassId = EnrollmentAggregateServiceTest.createClass(1);
+        int fullClassId = EnrollmentAggregateServiceTest.createClass(1);
+        int toClassId = EnrollmentAggregateServiceTest.createClass(1);
+        try {
+            Enrollment moving = new Enrollment(0, 1, fromClassId, (byte) 0, null, null, null);
+            assertTrue(aggregateService.registerEnrollmentAndPayment(moving, newPayment()));
+            assertTrue(aggregateService.registerEnrollmentAndPayment(
+                    new Enrollment(0, 2, fullClassId, (byte) 0, null, null, null), newPayment()));
+            EnrollmentService enrollmentService = new EnrollmentService();
+
+            moving.setClassId(fullClassId);
+            assertFalse(enrollmentService.updateEnrollment(moving), "정원이 찬 수업으로는 옮기지 않아야 합니다.");
+            assertEquals(1, EnrollmentAggregateServiceTest.selectReservedSeats(fromClassId));
+            assertEquals(1, EnrollmentAggregateServiceTest.selectReservedSeats(fullClassId));
+
+            moving.setClassId(toClassId);
+            assertTrue(enrollmentService.updateEnrollment(moving));
+            assertEquals(0, EnrollmentAggregateServiceTest.selectReservedSeats(fromClassId));
+            assertEquals(1, EnrollmentAggregateServiceTest.selectReservedSeats(toClassId));
+            assertEquals(1, ClassSeatCounter.getInstance().getRemaining(fromClassId), "커밋 후 기존 수업의 메모리 좌석이 반납되어야 합니다.");
+            assertEquals(0, ClassSeatCounter.getInstance().getRemaining(toClassId));
+        } finally {
+            EnrollmentAggregateServiceTest.deleteClass(fromClassId);
+            EnrollmentAggregateServiceTest.deleteClass(fullClassId);
+            EnrollmentAggregateServiceTest.deleteClass(toClassId);
+        }
+    }
+
+    private static Payment newPayment() {
+        return new Payment(0, new BigDecimal("150000.00"), (byte) 0, null, null, null, 0);
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionManager.setConnectionProvider(JDBCConnection::getConnection);
+    }
+}
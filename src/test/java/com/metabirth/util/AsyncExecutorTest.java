@@ -0,0 +1,88 @@
+package com.metabirth.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AsyncExecutorTest {
+
+    @Test
+    @DisplayName("동시 실행 작업 수가 bulkhead 크기를 넘지 않는지 테스트")
+    void testBulkhead() throws Exception {
+        AsyncExecutor executor = new AsyncExecutor(3);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+
+        List<CompletableFuture<Integer>> futures = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            int value = i;
+            futures.add(executor.supply(() -> {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                try {
+                    Thread.sleep(5);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                running.decrementAndGet();
+                return value;
+            }));
+        }
+
+        for (int i = 0; i < futures.size(); i++) {
+            assertEquals(i, futures.get(i).get(5, TimeUnit.SECONDS));
+        }
+        assertTrue(maxRunning.get() <= 3, "최대 동시 실행 수: " + maxRunning.get());
+    }
+
+    @Test
+    @DisplayName("Future 취소 시 실행 중인 문장이 취소되는지 테스트")
+    void testCancelPropagatesToStatement() throws Exception {
+        AsyncExecutor executor = new AsyncExecutor(1);
+        CountDownLatch executing = new CountDownLatch(1);
+        CountDownLatch statementCancelled = new CountDownLatch(1);
+
+        // cancel()이 호출될 때까지 실행이 끝나지 않는 문장
+        Statement statement = (Statement) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[]{Statement.class}, (proxy, method, args) -> {
+                    if (method.getName().equals("cancel")) {
+                        statementCancelled.countDown();
+                    }
+                    return null;
+                });
+
+        CompletableFuture<String> future = executor.supply(() -> {
+            try {
+                QueryCancellation.beforeExecute(statement);
+                executing.countDown();
+                statementCancelled.await();
+                QueryCancellation.afterExecute();
+                // 취소된 작업의 다음 문장은 실행되지 않아야 한다.
+                QueryCancellation.beforeExecute(statement);
+                return "executed";
+            } catch (SQLException e) {
+                return e.getSQLState();
+            } catch (InterruptedException e) {
+                return "interrupted";
+            }
+        });
+
+        assertTrue(executing.await(5, TimeUnit.SECONDS));
+        assertTrue(future.cancel(true));
+        assertTrue(statementCancelled.await(5, TimeUnit.SECONDS));
+        assertTrue(future.isCancelled());
+
+        // 취소 후에도 실행기는 다음 작업을 정상 처리해야 한다. (인터럽트 상태가 남지 않음)
+        assertEquals(Boolean.FALSE, executor.supply(() -> Thread.currentThread().isInterrupted()).get(5, TimeUnit.SECONDS));
+    }
+}
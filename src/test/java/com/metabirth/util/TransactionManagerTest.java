@@ -0,0 +1,164 @@
+package com.metabirth.util;
+
+import com.metabirth.config.JDBCConnection;
+import org.junit.jupiter.api.*;
+
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+class TransactionManagerTest {
+    private final List<String> calls = new ArrayList<>();
+    private int borrowed;
+
+    @BeforeEach
+    void setUp() {
+        TransactionManager.setConnectionProvider(() -> {
+            borrowed++;
+            return fakeConnection();
+        });
+    }
+
+    // 호출된 트랜잭션 관련 메서드만 기록하는 가짜 커넥션
+    private Connection fakeConnection() {
+        boolean[] autoCommit = {true};
+        return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "getAutoCommit" -> autoCommit[0];
+                    case "setAutoCommit" -> {
+                        autoCommit[0] = (boolean) args[0];
+                        yield null;
+                    }
+                    case "commit", "rollback", "close" -> {
+                        calls.add(method.getName());
+                        yield null;
+                    }
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    default -> null;
+                });
+    }
+
+    @Test
+    @DisplayName("중첩된 작업 단위는 커넥션 하나를 공유 테스트")
+    void testNestedScopeSharesConnection() throws SQLException {
+        try (ConnectionScope outer = TransactionManager.openScope()) {
+            try (ConnectionScope inner = TransactionManager.openScope()) {
+                Assertions.assertSame(outer.connection(), inner.connection());
+            }
+            Assertions.assertFalse(calls.contains("close"), "바깥 범위가 닫히기 전에는 반납되지 않아야 합니다.");
+        }
+
+        Assertions.assertEquals(1, borrowed);
+        Assertions.assertEquals(List.of("close"), calls);
+    }
+
+    @Test
+    @DisplayName("트랜잭션 정상 종료 시 커밋 및 커밋 이후 작업 실행 테스트")
+    void testInTransactionCommits() throws SQLException {
+        List<String> afterCommit = new ArrayList<>();
+
+        boolean result = TransactionManager.inTransaction(connection -> {
+            TransactionCallbacks.afterCommit(connection, () -> afterCommit.add("done"));
+            TransactionCallbacks.afterRollback(connection, () -> calls.add("afterRollback"));
+            Assertions.assertTrue(TransactionManager.isInTransaction());
+            return true;
+        });
+
+        Assertions.assertTrue(result);
+        Assertions.assertEquals(List.of("commit", "close"), calls);
+        Assertions.assertEquals(List.of("done"), afterCommit);
+        Assertions.assertFalse(TransactionManager.isInTransaction());
+    }
+
+    @Test
+    @DisplayName("setRollbackOnly 호출 시 롤백 및 롤백 작업 실행 테스트")
+    void testRollbackOnly() throws SQLException {
+        List<String> afterCommit = new ArrayList<>();
+
+        TransactionManager.inTransaction(connection -> {
+            TransactionCallbacks.afterCommit(connection, () -> afterCommit.add("done"));
+            TransactionCallbacks.afterRollback(connection, () -> calls.add("afterRollback"));
+            TransactionManager.setRollbackOnly();
+            return false;
+        });
+
+        // 롤백 작업은 잠금이 풀리기 전(rollback 호출 전)에 실행된다.
+        Assertions.assertEquals(List.of("afterRollback", "rollback", "close"), calls);
+        Assertions.assertTrue(afterCommit.isEmpty(), "롤백된 트랜잭션의 커밋 이후 작업은 실행되지 않아야 합니다.");
+    }
+
+    @Test
+    @DisplayName("예외 발생 시 롤백 후 반납 테스트")
+    void testExceptionRollsBack() {
+        Assertions.assertThrows(SQLException.class, () -> TransactionManager.inTransaction(connection -> {
+            throw new SQLException("테스트 예외");
+        }));
+
+        Assertions.assertEquals(List.of("rollback", "close"), calls);
+    }
+
+    @Test
+    @DisplayName("바인딩한 커넥션은 범위를 닫아도 반납하지 않음 테스트")
+    void testBoundConnectionIsNotClosed() throws SQLException {
+        Connection connection = fakeConnection();
+
+        try (ConnectionScope bound = TransactionManager.bind(connection)) {
+            try (ConnectionScope scope = TransactionManager.openScope()) {
+                Assertions.assertSame(connection, scope.connection());
+            }
+        }
+
+        Assertions.assertEquals(0, borrowed);
+        Assertions.assertTrue(calls.isEmpty());
+    }
+
+    @Test
+    @DisplayName("읽기 범위는 복제본을 사용하고, 트랜잭션 안과 쓰기 직후에는 주 DB를 사용 테스트")
+    void testReadScopeRouting() throws SQLException {
+        Connection replica = fakeConnection();
+        TransactionManager.setReadConnectionProvider(() -> replica, 60_000);
+
+        try (ConnectionScope read = TransactionManager.openReadScope()) {
+            Assertions.assertSame(replica, read.connection());
+            Assertions.assertTrue(read.isReplica());
+            // 읽기 범위 안에서 연 쓰기 범위는 복제본에 참여하지 않는다.
+            try (ConnectionScope write = TransactionManager.openScope()) {
+                Assertions.assertNotSame(replica, write.connection());
+            }
+        }
+        Assertions.assertEquals(1, borrowed);
+
+        TransactionManager.inTransaction(connection -> {
+            try (ConnectionScope read = TransactionManager.openReadScope()) {
+                Assertions.assertSame(connection, read.connection());
+            }
+            return null;
+        });
+
+        // 쓰기 직후에는 자신이 쓴 값을 읽도록 주 DB에서 읽는다.
+        try (ConnectionScope read = TransactionManager.openReadScope()) {
+            Assertions.assertFalse(read.isReplica());
+        }
+    }
+
+    @Test
+    @DisplayName("사용 가능한 복제본이 없으면 주 DB에서 읽기 테스트")
+    void testReadScopeFallsBackToPrimary() throws SQLException {
+        TransactionManager.setReadConnectionProvider(() -> null, 0);
+
+        try (ConnectionScope read = TransactionManager.openReadScope()) {
+            Assertions.assertFalse(read.isReplica());
+        }
+        Assertions.assertEquals(1, borrowed);
+        Assertions.assertEquals(List.of("close"), calls);
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionManager.setConnectionProvider(JDBCConnection::getConnection);
+        TransactionManager.setReadConnectionProvider(null, 0);
+    }
+}
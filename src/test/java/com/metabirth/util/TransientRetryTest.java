@@ -0,0 +1,125 @@
+package com.metabirth.util;
+
+import com.metabirth.dao.TransientDataAccessException;
+import com.metabirth.metrics.RetryStats;
+import com.metabirth.metrics.SqlErrorStats;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLException;
+import java.sql.SQLTransactionRollbackException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TransientRetryTest {
+
+    @BeforeEach
+    void setUp() {
+        TransientRetry.configure(new TransientRetry.Config(3, 1, 2, 0.1, 20));
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransientRetry.configure(TransientRetry.Config.DEFAULT);
+    }
+
+    private static TransientDataAccessException deadlock() {
+        return new TransientDataAccessException(
+                new SQLException("Deadlock found when trying to get lock", "40001", SqlErrorStats.DEADLOCK));
+    }
+
+    @Test
+    @DisplayName("교착 상태 / 잠금 대기 초과만 일시적 오류로 분류하는지 테스트")
+    void testIsTransient() {
+        assertTrue(TransientDataAccessException.isTransient(
+                new SQLException("Deadlock", "40001", SqlErrorStats.DEADLOCK)));
+        assertTrue(TransientDataAccessException.isTransient(
+                new SQLException("Lock wait timeout exceeded", "HY000", SqlErrorStats.LOCK_WAIT_TIMEOUT)));
+        assertTrue(TransientDataAccessException.isTransient(new SQLTransactionRollbackException("rollback")));
+        assertFalse(TransientDataAccessException.isTransient(
+                new SQLException("Duplicate entry", "23000", SqlErrorStats.DUPLICATE_KEY)));
+    }
+
+    @Test
+    @DisplayName("일시적 오류는 성공할 때까지 다시 실행하는지 테스트")
+    void testRetryUntilSuccess() throws SQLException {
+        String operation = "TransientRetryTest.recovered";
+        AtomicInteger attempts = new AtomicInteger();
+
+        String result = TransientRetry.call(operation, () -> {
+            if (attempts.incrementAndGet() < 3) {
+                throw deadlock();
+            }
+            return "ok";
+        });
+
+        assertEquals("ok", result);
+        assertEquals(3, attempts.get());
+        assertEquals(2, RetryStats.retries(operation));
+        assertTrue(RetryStats.snapshot().contains("recovered=1"));
+    }
+
+    @Test
+    @DisplayName("최대 시도 횟수를 넘으면 예외를 그대로 던지는지 테스트")
+    void testExhausted() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        assertThrows(TransientDataAccessException.class, () -> TransientRetry.call("TransientRetryTest.exhausted", () -> {
+            attempts.incrementAndGet();
+            throw deadlock();
+        }));
+        assertEquals(3, attempts.get(), "첫 시도를 포함해 maxAttempts 번만 실행되어야 합니다.");
+        assertFalse(TransientRetry.callOrElse("TransientRetryTest.exhausted", () -> {
+            throw deadlock();
+        }, false));
+    }
+
+    @Test
+    @DisplayName("일시적 오류가 아니면 재시도하지 않는지 테스트")
+    void testNonTransientNotRetried() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        assertThrows(SQLException.class, () -> TransientRetry.call("TransientRetryTest.nonTransient", () -> {
+            attempts.incrementAndGet();
+            throw new SQLException("Duplicate entry", "23000", SqlErrorStats.DUPLICATE_KEY);
+        }));
+        assertEquals(1, attempts.get());
+        assertEquals(0, RetryStats.retries("TransientRetryTest.nonTransient"));
+    }
+
+    @Test
+    @DisplayName("재시도 예산을 다 쓰면 재시도하지 않는지 테스트")
+    void testBudget() {
+        TransientRetry.configure(new TransientRetry.Config(3, 1, 2, 0.1, 1));
+        AtomicInteger attempts = new AtomicInteger();
+        TransientRetry.Attempt<Void> alwaysDeadlock = () -> {
+            attempts.incrementAndGet();
+            throw deadlock();
+        };
+
+        // 토큰 1개(+ 이번 호출의 0.1개)로 재시도 한 번만 가능
+        assertThrows(TransientDataAccessException.class, () -> TransientRetry.call("TransientRetryTest.budget", alwaysDeadlock));
+        assertEquals(2, attempts.get());
+        assertTrue(TransientRetry.getBudgetTokens() < 1);
+
+        attempts.set(0);
+        assertThrows(TransientDataAccessException.class, () -> TransientRetry.call("TransientRetryTest.budget", alwaysDeadlock));
+        assertEquals(1, attempts.get(), "예산이 없으면 첫 시도만 실행되어야 합니다.");
+        assertTrue(RetryStats.snapshot().contains("budgetDenied=2"));
+    }
+
+    @Test
+    @DisplayName("재시도 대기 시간이 상한을 넘지 않는지 테스트")
+    void testBackoffBound() {
+        TransientRetry.Config config = new TransientRetry.Config(10, 20, 100, 0.1, 20);
+        for (int i = 0; i < 1000; i++) {
+            assertTrue(TransientRetry.backoffMillis(config, 1) <= 20);
+            assertTrue(TransientRetry.backoffMillis(config, 3) <= 80);
+            assertTrue(TransientRetry.backoffMillis(config, 9) <= 100);
+            assertTrue(TransientRetry.backoffMillis(config, 64) >= 0);
+        }
+    }
+}